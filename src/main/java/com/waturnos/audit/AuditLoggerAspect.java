@@ -13,9 +13,7 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 
 import com.waturnos.audit.annotations.AuditAspect;
 import com.waturnos.entity.Audit;
-import com.waturnos.entity.Organization;
 import com.waturnos.entity.User;
-import com.waturnos.repository.OrganizationRepository;
 import com.waturnos.utils.SessionUtil;
 
 import lombok.RequiredArgsConstructor;
@@ -33,8 +31,8 @@ public class AuditLoggerAspect {
     /** The audit service. */
     private final AuditService auditService;
     
-    /** The organization repository. */
-    private final OrganizationRepository organizationRepository;
+    /** The organization name cache. */
+    private final OrganizationNameCache organizationNameCache;
 
     /**
      * Around audit.
@@ -87,10 +85,7 @@ public class AuditLoggerAspect {
             if (orgId == null) {
                 orgId = SessionUtil.getOrganizationId();
                 if (orgId != null) {
-                    Organization org = organizationRepository.findById(orgId).orElse(null);
-                    if (org != null) {
-                        orgName = org.getName();
-                    }
+                    orgName = organizationNameCache.getName(orgId);
                 }
             }
             
@@ -130,10 +125,7 @@ public class AuditLoggerAspect {
             if (orgId == null) {
                 orgId = SessionUtil.getOrganizationId();
                 if (orgId != null) {
-                    Organization org = organizationRepository.findById(orgId).orElse(null);
-                    if (org != null) {
-                        orgName = org.getName();
-                    }
+                    orgName = organizationNameCache.getName(orgId);
                 }
             }
             
@@ -0,0 +1,140 @@
+package com.waturnos.audit;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.waturnos.schedule.annotations.LeaderOnly;
+import com.waturnos.utils.DateUtils;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mantiene las particiones mensuales de la tabla audit: crea por adelantado
+ * las de los próximos meses (así la partición default queda vacía) y, si se
+ * configura una retención, elimina las anteriores. Corre al iniciar y una vez
+ * por día, en una sola réplica.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuditPartitionManager {
+
+	private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+	private static final String PARTITION_PREFIX = "audit_";
+
+	/** The jdbc template. */
+	private final JdbcTemplate jdbcTemplate;
+
+	/** The transaction manager. */
+	private final PlatformTransactionManager transactionManager;
+
+	/** Meses que se crean por adelantado. */
+	@Value("${app.audit.partitions.months-ahead:2}")
+	private int monthsAhead;
+
+	/**
+	 * Meses que se conservan; las particiones anteriores se eliminan. Por
+	 * defecto 0: la auditoría no se borra salvo que se configure.
+	 */
+	@Value("${app.audit.partitions.retention-months:0}")
+	private int retentionMonths;
+
+	/**
+	 * Crea las particiones faltantes y elimina las vencidas.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(cron = "${app.audit.partitions.cron:0 30 3 * * *}")
+	@LeaderOnly(value = "AUDIT_PARTITIONS", leaseSeconds = 600)
+	public void maintainPartitions() {
+		try {
+			YearMonth current = YearMonth.from(DateUtils.getCurrentDateTime());
+			for (int i = 0; i <= monthsAhead; i++) {
+				createPartition(current.plusMonths(i));
+			}
+			if (retentionMonths > 0) {
+				dropPartitionsBefore(current.minusMonths(retentionMonths - 1L));
+			}
+		} catch (Exception e) {
+			log.error("Error manteniendo las particiones de audit", e);
+		}
+	}
+
+	/**
+	 * Crea la partición del mes. Si la default ya tiene filas de ese mes (por
+	 * ejemplo, porque el mantenimiento no corrió a tiempo) Postgres no permite
+	 * crearla directamente: la partición se crea suelta, se le mueven esas filas
+	 * y se adjunta, todo en una transacción.
+	 */
+	private void createPartition(YearMonth month) {
+		String partition = PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+		if (Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class,
+				partition))) {
+			return;
+		}
+		LocalDate from = month.atDay(1);
+		LocalDate to = month.plusMonths(1).atDay(1);
+		String range = String.format("event_date >= '%s' AND event_date < '%s'", from, to);
+		String bounds = String.format("FROM ('%s') TO ('%s')", from, to);
+
+		Long stray = jdbcTemplate.queryForObject("SELECT count(*) FROM audit_default WHERE " + range, Long.class);
+		if (stray == null || stray == 0) {
+			jdbcTemplate.execute(String.format("CREATE TABLE IF NOT EXISTS %s PARTITION OF audit FOR VALUES %s",
+					partition, bounds));
+			return;
+		}
+
+		log.warn("audit_default tiene {} filas de {}: se mueven a la nueva partición {}", stray, month, partition);
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			jdbcTemplate.execute(String.format(
+					"CREATE TABLE %s (LIKE audit INCLUDING DEFAULTS INCLUDING CONSTRAINTS)", partition));
+			jdbcTemplate.execute(String.format("INSERT INTO %s SELECT * FROM audit_default WHERE %s", partition,
+					range));
+			jdbcTemplate.execute("DELETE FROM audit_default WHERE " + range);
+			jdbcTemplate.execute(String.format("ALTER TABLE audit ATTACH PARTITION %s FOR VALUES %s", partition,
+					bounds));
+		});
+	}
+
+	private void dropPartitionsBefore(YearMonth oldestKept) {
+		List<String> partitions = jdbcTemplate.queryForList("""
+				SELECT c.relname FROM pg_inherits i
+				JOIN pg_class c ON c.oid = i.inhrelid
+				JOIN pg_class p ON p.oid = i.inhparent
+				WHERE p.relname = 'audit'
+				""", String.class);
+		for (String partition : partitions) {
+			YearMonth month = monthOf(partition);
+			if (month != null && month.isBefore(oldestKept)) {
+				jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+				log.info("Partición de auditoría {} eliminada por retención", partition);
+			}
+		}
+	}
+
+	/**
+	 * Mes de una partición audit_yyyy_MM, o null si es otra (por ejemplo la default).
+	 */
+	private YearMonth monthOf(String partition) {
+		if (!partition.startsWith(PARTITION_PREFIX)) {
+			return null;
+		}
+		try {
+			return YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+		} catch (RuntimeException e) {
+			return null;
+		}
+	}
+}
@@ -1,21 +1,188 @@
 package com.waturnos.audit;
 
-import org.springframework.scheduling.annotation.Async;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
 import com.waturnos.entity.Audit;
-import com.waturnos.repository.AuditRepository;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Escritura de la auditoría. Los eventos se encolan sin bloquear la request en
+ * una cola acotada y un único hilo los inserta por lotes vía JDBC cada
+ * batch-size eventos o flush-ms milisegundos. Con la cola llena el evento se
+ * descarta y se cuenta; al apagar la aplicación se escribe lo pendiente.
+ */
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class AuditService {
 
-    private final AuditRepository auditRepository;
+	private static final String INSERT_SQL = "INSERT INTO audit (event_date, event, username, email, organization_id, "
+			+ "organization_name, provider_id, provider_name, role, success, error_message, method_signature, "
+			+ "duration_ms, ip_address, request_id, service_id, service_name, object) "
+			+ "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+	/** The jdbc template. */
+	private final JdbcTemplate jdbcTemplate;
+
+	/** Eventos en espera como máximo; los siguientes se descartan. */
+	@Value("${app.audit.queue-capacity:10000}")
+	private int queueCapacity;
+
+	/** Eventos por INSERT. */
+	@Value("${app.audit.batch-size:200}")
+	private int batchSize;
+
+	/** Espera máxima de un evento en la cola antes de escribirse. */
+	@Value("${app.audit.flush-ms:500}")
+	private long flushMs;
+
+	private final Queue<Audit> queue = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger queued = new AtomicInteger();
+
+	private final LongAdder written = new LongAdder();
+	private final LongAdder dropped = new LongAdder();
+	private final LongAdder failed = new LongAdder();
+	private long droppedReported;
+
+	private volatile boolean running;
+	private Thread writer;
+
+	@PostConstruct
+	void start() {
+		running = true;
+		writer = new Thread(this::writeLoop, "audit-writer");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	@PreDestroy
+	void stop() throws InterruptedException {
+		running = false;
+		LockSupport.unpark(writer);
+		writer.join(TimeUnit.SECONDS.toMillis(30));
+		flush();
+		log.info("Auditoría detenida: {}", describeStats());
+	}
+
+	/**
+	 * Encola el evento para su escritura. Nunca bloquea ni lanza excepción.
+	 *
+	 * @param audit the audit
+	 */
+	public void save(Audit audit) {
+		if (queued.incrementAndGet() > queueCapacity) {
+			queued.decrementAndGet();
+			dropped.increment();
+			return;
+		}
+		queue.offer(audit);
+		if (queued.get() >= batchSize) {
+			LockSupport.unpark(writer);
+		}
+	}
+
+	/**
+	 * Resumen de uso, para el log.
+	 *
+	 * @return the stats
+	 */
+	public String describeStats() {
+		return String.format("escritos=%d, descartados=%d, fallidos=%d, en cola=%d", written.sum(), dropped.sum(),
+				failed.sum(), queued.get());
+	}
+
+	private void writeLoop() {
+		while (running) {
+			if (queued.get() < batchSize) {
+				LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(flushMs));
+			}
+			try {
+				flush();
+			} catch (Exception e) {
+				log.error("Error escribiendo la auditoría", e);
+			}
+			reportDropped();
+		}
+	}
+
+	/**
+	 * Escribe todos los eventos en cola, de a batch-size por INSERT.
+	 */
+	private synchronized void flush() {
+		List<Audit> batch = new ArrayList<>(batchSize);
+		Audit audit;
+		while ((audit = queue.poll()) != null) {
+			queued.decrementAndGet();
+			batch.add(audit);
+			if (batch.size() >= batchSize) {
+				write(batch);
+				batch.clear();
+			}
+		}
+		if (!batch.isEmpty()) {
+			write(batch);
+		}
+	}
+
+	private void write(List<Audit> batch) {
+		try {
+			jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), this::bind);
+			written.add(batch.size());
+		} catch (Exception e) {
+			failed.add(batch.size());
+			log.error("No se pudieron escribir {} eventos de auditoría: {}", batch.size(), e.getMessage());
+		}
+	}
+
+	private void bind(PreparedStatement ps, Audit audit) throws SQLException {
+		ps.setTimestamp(1, audit.getDate() != null ? Timestamp.valueOf(audit.getDate()) : null);
+		ps.setString(2, audit.getEvent());
+		ps.setString(3, audit.getUsername());
+		ps.setString(4, audit.getEmail());
+		ps.setObject(5, audit.getOrganizationId(), Types.BIGINT);
+		ps.setString(6, audit.getOrganizationName());
+		ps.setObject(7, audit.getProviderId(), Types.BIGINT);
+		ps.setString(8, audit.getProviderName());
+		ps.setString(9, audit.getRole());
+		ps.setObject(10, audit.getSuccess(), Types.BOOLEAN);
+		ps.setString(11, audit.getErrorMessage());
+		ps.setString(12, audit.getMethodSignature());
+		ps.setObject(13, audit.getDurationMs(), Types.BIGINT);
+		ps.setString(14, audit.getIpAddress());
+		ps.setString(15, audit.getRequestId());
+		ps.setObject(16, audit.getServiceId(), Types.BIGINT);
+		ps.setString(17, audit.getServiceName());
+		ps.setString(18, audit.getObject());
+	}
 
-    @Async
-    public void save(Audit audit) {
-        auditRepository.save(audit);
-    }
+	/**
+	 * Loguea los eventos descartados desde el último aviso.
+	 */
+	private void reportDropped() {
+		long total = dropped.sum();
+		if (total > droppedReported) {
+			log.warn("Auditoría: {} eventos descartados por cola llena ({})", total - droppedReported,
+					describeStats());
+			droppedReported = total;
+		}
+	}
 }
@@ -0,0 +1,67 @@
+package com.waturnos.audit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.waturnos.entity.Organization;
+import com.waturnos.repository.OrganizationRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Nombres de organización para la auditoría. Evita buscar la organización en
+ * la base en el hilo de la request cada vez que el AuditContext no trae el
+ * nombre; OrganizationServiceImpl invalida la entrada cuando la organización
+ * cambia y el TTL cubre los cambios hechos por otra réplica.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrganizationNameCache {
+
+	/** The organization repository. */
+	private final OrganizationRepository organizationRepository;
+
+	/** Tiempo de vida de cada nombre. */
+	@Value("${app.audit.organization-cache-ttl-seconds:600}")
+	private long ttlSeconds;
+
+	private final Map<Long, Entry> names = new ConcurrentHashMap<>();
+
+	/**
+	 * Nombre de la organización, desde la caché o la base.
+	 *
+	 * @param organizationId the organization id
+	 * @return the name, or null if the organization does not exist
+	 */
+	public String getName(Long organizationId) {
+		if (organizationId == null) {
+			return null;
+		}
+		Entry entry = names.get(organizationId);
+		long now = System.nanoTime();
+		if (entry != null && entry.expiresAt > now) {
+			return entry.name;
+		}
+		String name = organizationRepository.findById(organizationId).map(Organization::getName).orElse(null);
+		names.put(organizationId, new Entry(name, now + TimeUnit.SECONDS.toNanos(ttlSeconds)));
+		return name;
+	}
+
+	/**
+	 * Descarta el nombre cacheado de la organización.
+	 *
+	 * @param organizationId the organization id
+	 */
+	public void evict(Long organizationId) {
+		if (organizationId != null) {
+			names.remove(organizationId);
+		}
+	}
+
+	private record Entry(String name, long expiresAt) {
+	}
+}
@@ -86,7 +86,11 @@ public class AppConfig {
 				.authorizeHttpRequests(auth -> auth
 						.requestMatchers("/auth/**", "/api/auth/**", "/swagger-ui.html", "/swagger-ui/**",
 								"/api-docs/**", "/v3/api-docs/**", "/public/**", "/images/**")
-						.permitAll().anyRequest().authenticated())
+						.permitAll()
+						// Métricas y SQL lento sólo para ADMIN; health queda abierto para el balanceador
+						.requestMatchers("/actuator/health").permitAll()
+						.requestMatchers("/actuator/**").hasRole("ADMIN")
+						.anyRequest().authenticated())
 				// Manejar errores de autenticación con 401 en lugar de 403
 				.exceptionHandling(ex -> ex
 						.authenticationEntryPoint((request, response, authException) -> {
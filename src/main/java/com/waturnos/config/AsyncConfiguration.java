@@ -2,6 +2,7 @@ package com.waturnos.config;
 
 import java.util.concurrent.Executor;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -31,4 +32,24 @@ public class AsyncConfiguration {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * Executor de las particiones de los jobs nocturnos (ver PartitionedJobRunner).
+     * Por defecto usa un hilo por core para que la ventana nocturna escale con la máquina.
+     * @param workers cantidad de hilos (0 = cores disponibles)
+     * @return executor configurado
+     */
+    @Bean(name = "jobExecutor")
+    public ThreadPoolTaskExecutor jobExecutor(@Value("${app.scheduling.jobs.workers:0}") int workers) {
+        int size = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(size);
+        executor.setMaxPoolSize(size);
+        executor.setQueueCapacity(Integer.MAX_VALUE); // Las particiones esperan en cola, nunca se rechazan
+        executor.setThreadNamePrefix("job-partition-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
 }
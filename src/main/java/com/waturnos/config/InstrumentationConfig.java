@@ -0,0 +1,82 @@
+package com.waturnos.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.waturnos.instrumentation.CountingStatementInspector;
+import com.waturnos.instrumentation.EntityLoadInterceptor;
+import com.waturnos.instrumentation.JdbcTimingSessionListener;
+import com.waturnos.instrumentation.RequestInstrumentationInterceptor;
+import com.waturnos.instrumentation.SlowQueryLog;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Instrumentación del SQL por request: engancha los contadores en Hibernate y
+ * registra el interceptor que los publica por método de controller
+ * (app.request.* en /actuator/prometheus).
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.instrumentation.enabled", havingValue = "true", matchIfMissing = true)
+public class InstrumentationConfig {
+
+	/**
+	 * Hooks de Hibernate que alimentan los contadores.
+	 *
+	 * @return the hibernate properties customizer
+	 */
+	@Bean
+	public HibernatePropertiesCustomizer instrumentationHibernateCustomizer() {
+		return properties -> {
+			properties.put(AvailableSettings.STATEMENT_INSPECTOR, new CountingStatementInspector());
+			properties.put(AvailableSettings.INTERCEPTOR, new EntityLoadInterceptor());
+			properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, JdbcTimingSessionListener.class.getName());
+		};
+	}
+
+	/**
+	 * Top de sentencias lentas (/actuator/slowqueries).
+	 *
+	 * @param capacity cantidad de sentencias que se conservan
+	 * @return the slow query log
+	 */
+	@Bean
+	public SlowQueryLog slowQueryLog(@Value("${app.instrumentation.slow-queries:20}") int capacity) {
+		return new SlowQueryLog(capacity);
+	}
+
+	/**
+	 * Interceptor que mide cada request muestreada.
+	 *
+	 * @param meterRegistry the meter registry
+	 * @param slowQueryLog the slow query log
+	 * @return the interceptor
+	 */
+	@Bean
+	public RequestInstrumentationInterceptor requestInstrumentationInterceptor(MeterRegistry meterRegistry,
+			SlowQueryLog slowQueryLog) {
+		return new RequestInstrumentationInterceptor(meterRegistry, slowQueryLog);
+	}
+
+	/**
+	 * Registra el interceptor en MVC.
+	 *
+	 * @param interceptor the interceptor
+	 * @return the web mvc configurer
+	 */
+	@Bean
+	public WebMvcConfigurer instrumentationWebMvcConfigurer(RequestInstrumentationInterceptor interceptor) {
+		return new WebMvcConfigurer() {
+			@Override
+			public void addInterceptors(InterceptorRegistry registry) {
+				registry.addInterceptor(interceptor);
+			}
+		};
+	}
+}
@@ -1,5 +1,6 @@
 package com.waturnos.config;
 
+import java.util.HashMap;
 import java.util.Map;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -17,6 +18,9 @@ public class NotificationChannelConfig {
 	// Ejemplo: notification.channels.EMAIL se mapea a "EMAIL"
 	private Map<String, String> channels;
 
+	/** Envíos simultáneos por canal (notification.concurrency.EMAIL). */
+	private Map<String, Integer> concurrency = new HashMap<>();
+
 	/**
 	 * Gets the channels.
 	 *
@@ -34,4 +38,22 @@ public class NotificationChannelConfig {
 	public void setChannels(Map<String, String> channels) {
 		this.channels = channels;
 	}
+
+	/**
+	 * Gets the concurrency.
+	 *
+	 * @return the concurrency
+	 */
+	public Map<String, Integer> getConcurrency() {
+		return concurrency;
+	}
+
+	/**
+	 * Sets the concurrency.
+	 *
+	 * @param concurrency the concurrency
+	 */
+	public void setConcurrency(Map<String, Integer> concurrency) {
+		this.concurrency = concurrency;
+	}
 }
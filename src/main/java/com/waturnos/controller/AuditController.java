@@ -3,9 +3,6 @@ package com.waturnos.controller;
 import java.time.LocalDateTime;
 import java.util.List;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,6 +12,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.waturnos.dto.response.AuditDTO;
 import com.waturnos.dto.response.AuditEventDTO;
+import com.waturnos.dto.response.CursorPageDTO;
 import com.waturnos.entity.Audit;
 import com.waturnos.service.AuditQueryService;
 import com.waturnos.mapper.AuditMapper;
@@ -47,24 +45,27 @@ public class AuditController {
      * @param event optional event code filter
      * @param serviceId optional service filter
      * @param providerId optional provider filter
-     * @param page page number (0-based)
+     * @param cursor cursor of the next page, as returned in the previous response
      * @param size page size
-     * @return page of audit entries
+     * @return page of audit entries, newest first
      */
     @GetMapping("/logs")
-    public ResponseEntity<ApiResponse<Page<AuditDTO>>> getAudits(
+    public ResponseEntity<ApiResponse<CursorPageDTO<AuditDTO>>> getAudits(
             @RequestParam(required = false) Long organizationId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
             @RequestParam(required = false) String event,
             @RequestParam(required = false) Long serviceId,
             @RequestParam(required = false) Long providerId,
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "20") int size) {
         
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Audit> audits = auditQueryService.getAuditsForCurrentUser(organizationId, startDate, endDate, event, serviceId, providerId, pageable);
-        Page<AuditDTO> dtoPage = audits.map(a -> auditMapper.toDto(a, auditLabelResolver));
+        CursorPageDTO<Audit> audits = auditQueryService.getAuditsForCurrentUser(organizationId, startDate, endDate, event, serviceId, providerId, cursor, size);
+        CursorPageDTO<AuditDTO> dtoPage = CursorPageDTO.<AuditDTO>builder()
+                .content(audits.getContent().stream().map(a -> auditMapper.toDto(a, auditLabelResolver)).toList())
+                .nextCursor(audits.getNextCursor())
+                .hasMore(audits.isHasMore())
+                .build();
         return ResponseEntity.ok(new ApiResponse<>(true, "Audits retrieved", dtoPage));
     }
 
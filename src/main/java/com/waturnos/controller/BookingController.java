@@ -25,8 +25,11 @@ import com.waturnos.dto.request.OverBookingDTO;
 import com.waturnos.dto.request.ReassignBooking;
 import com.waturnos.dto.response.BookingDetailsDTO;
 import com.waturnos.dto.response.BookingExtendedDTO;
+import com.waturnos.dto.response.CalendarDayDTO;
 import com.waturnos.dto.response.CheckRecurrenceResponse;
 import com.waturnos.dto.response.CountBookingDTO;
+import com.waturnos.dto.response.CursorPageDTO;
+import com.waturnos.dto.response.LockStripeStatsDTO;
 import com.waturnos.dto.response.RecurrenceDTO;
 import com.waturnos.dto.response.ServiceListWithBookingDTO;
 import com.waturnos.dto.response.ServiceWithBookingsDTO;
@@ -106,11 +109,13 @@ public class BookingController {
 	@PostMapping("/assign")
 	public ResponseEntity<ApiResponse<BookingDTO>> assingBooking(@RequestBody AssignBooking dto) {
 
-		Booking updated = service.assignBookingToClient(dto.getId(), dto.getClientId());
+		// Sin id se trata de un turno virtual: se identifica por servicio + horario
+		Booking updated = dto.getId() != null ? service.assignBookingToClient(dto.getId(), dto.getClientId())
+				: service.assignSlotToClient(dto.getServiceId(), dto.getStartTime(), dto.getClientId());
 		
 		// Guardar booking props si existen
 		if (dto.getBookingProps() != null && !dto.getBookingProps().isEmpty()) {
-			service.saveBookingProps(dto.getId(), dto.getBookingProps());
+			service.saveBookingProps(updated.getId(), dto.getBookingProps());
 		}
 		
 		return ResponseEntity.ok(new ApiResponse<>(true, "Booking assigned", mapper.toDto(updated)));
@@ -244,6 +249,39 @@ public class BookingController {
 
 	    return ResponseEntity.ok(new ApiResponse<>(true, "Bookings grouped by day", result));
 	}
+
+	/**
+	 * Gets the bookings by date range, by pages of whole days (scroll infinito).
+	 *
+	 * @param providerId the provider id
+	 * @param startDate the start date
+	 * @param endDate the end date
+	 * @param serviceId the service id
+	 * @param cursor the cursor returned with the previous page
+	 * @param size max bookings per page
+	 * @return the days of the page
+	 */
+	@GetMapping("/range/page")
+	public ResponseEntity<ApiResponse<CursorPageDTO<CalendarDayDTO>>> getBookingsByRangePage(
+	        @RequestParam Long providerId,
+	        @RequestParam String startDate,
+	        @RequestParam String endDate,
+	        @RequestParam(required = false) Long serviceId,
+	        @RequestParam(required = false) String cursor,
+	        @RequestParam(defaultValue = "500") int size) {
+
+	    CursorPageDTO<CalendarDayDTO> page = service.findByRangePage(providerId, LocalDate.parse(startDate),
+	            LocalDate.parse(endDate), serviceId, cursor, size);
+
+	    if (!page.getContent().isEmpty()) {
+	        var paymentProviders = paymentProviderService.getAllPaymentProviders(providerId);
+	        page.getContent().forEach(day -> day.getServices().forEach(serviceDto ->
+	            serviceDto.setPaymentProviders(paymentProviders)
+	        ));
+	    }
+
+	    return ResponseEntity.ok(new ApiResponse<>(true, "Bookings grouped by day", page));
+	}
 	/**
 	 * Obtiene el conteo de reservas por estado (CANCELLED, RESERVED, COMPLETED,
 	 * PENDING) para un día o rango de días específico y un Provider ID.
@@ -290,6 +328,16 @@ public class BookingController {
 		return ResponseEntity.ok(new ApiResponse<>(true, "Grouped availability retrieved", availability));
 	}
 	
+	/**
+	 * Gets the contention metrics of the reservation lock, per stripe.
+	 *
+	 * @return the lock stats
+	 */
+	@GetMapping("/locks/stats")
+	public ResponseEntity<ApiResponse<List<LockStripeStatsDTO>>> getReservationLockStats() {
+		return ResponseEntity.ok(new ApiResponse<>(true, "Reservation lock stats", service.getReservationLockStats()));
+	}
+	
 	// ========== RECURRENCE ENDPOINTS ==========
 	
 	/**
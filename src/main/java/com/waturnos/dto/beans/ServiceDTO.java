@@ -19,6 +19,7 @@ public class ServiceDTO {
 	private Integer capacity;
 	private boolean waitList;
 	private Integer waitListTime;
+	private Integer waitListFanOut;
 	private Integer offsetMinutes;
 	private Boolean isBasic;
 	private Boolean allowsRecurrence;
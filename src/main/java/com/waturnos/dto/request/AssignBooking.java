@@ -1,5 +1,6 @@
 package com.waturnos.dto.request;
 
+import java.time.LocalDateTime;
 import java.util.Map;
 
 import lombok.AllArgsConstructor;
@@ -14,6 +15,8 @@ import lombok.NoArgsConstructor;
 public class AssignBooking {
 	private Long id;
 	private Long clientId;
+	private Long serviceId;
+	private LocalDateTime startTime;
 	private Map<String, String> bookingProps;
 
 }
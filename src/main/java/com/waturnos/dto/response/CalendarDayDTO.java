@@ -0,0 +1,19 @@
+package com.waturnos.dto.response;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Turnos de un día del calendario del prestador, agrupados por servicio.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CalendarDayDTO {
+	private LocalDate date;
+	private List<ServiceWithBookingsDTO> services;
+}
@@ -0,0 +1,30 @@
+package com.waturnos.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Página de una consulta paginada por cursor (keyset). No incluye el total de
+ * filas: nextCursor se envía para pedir la página siguiente.
+ *
+ * @param <T> the element type
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+
+    /** Elementos de la página. */
+    private List<T> content;
+
+    /** Cursor de la página siguiente, null si no hay más. */
+    private String nextCursor;
+
+    /** Indica si hay más elementos. */
+    private boolean hasMore;
+}
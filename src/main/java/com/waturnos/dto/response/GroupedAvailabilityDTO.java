@@ -33,6 +33,9 @@ public class GroupedAvailabilityDTO {
 	/** List of available booking IDs for this slot. */
 	private List<Long> availableBookingIds;
 	
+	/** List of services with a free slot at this time (includes virtual slots). */
+	private List<Long> availableServiceIds;
+	
 	/** Is this time slot completely booked? */
 	private Boolean isFullyBooked;
 }
@@ -0,0 +1,22 @@
+package com.waturnos.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Métricas de contención de un stripe del lock de reservas.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class LockStripeStatsDTO {
+    private int stripe;
+    private long acquired; // Locks obtenidos
+    private long contended; // Locks que tuvieron que esperar
+    private long timeouts; // Reservas rechazadas por espera agotada
+    private long waitMillis; // Tiempo total de espera acumulado
+    private int queueLength; // Hilos esperando en este momento
+}
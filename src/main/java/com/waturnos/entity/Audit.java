@@ -17,10 +17,9 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "audit", indexes = {
-    @Index(name = "idx_audit_date", columnList = "event_date"),
-    @Index(name = "idx_audit_org", columnList = "organization_id"),
-    @Index(name = "idx_audit_service", columnList = "service_id"),
-    @Index(name = "idx_audit_provider", columnList = "provider_id")
+    @Index(name = "idx_audit_org_date", columnList = "organization_id, event_date DESC, id DESC"),
+    @Index(name = "idx_audit_org_email_date", columnList = "organization_id, email, event_date DESC, id DESC"),
+    @Index(name = "idx_audit_service_date", columnList = "service_id, event_date DESC, id DESC")
 })
 @Data
 @NoArgsConstructor
@@ -0,0 +1,50 @@
+package com.waturnos.entity;
+
+import java.time.LocalDateTime;
+
+import com.waturnos.enums.DeadlineType;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Vencimiento pendiente. La fila se borra al ejecutarse, por lo que la tabla
+ * sólo contiene lo que todavía no venció (o falló y se reintenta).
+ */
+@Entity
+@Table(name = "deadline")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Deadline {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 40)
+    private DeadlineType type;
+
+    @Column(name = "ref_id", nullable = false)
+    private Long refId;
+
+    @Column(name = "due_at", nullable = false)
+    private LocalDateTime dueAt;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "created_at", insertable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,74 @@
+package com.waturnos.entity;
+
+import java.time.LocalDateTime;
+
+import com.waturnos.enums.NotificationStatus;
+import com.waturnos.notification.enums.NotificationType;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outbox de notificaciones: una fila por notificación y canal, pendiente de
+ * envío por el NotificationDispatcher.
+ */
+@Entity
+@Table(name = "notification")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", length = 50)
+    private NotificationType type;
+
+    @Column(name = "target")
+    private String target;
+
+    @Column(name = "message", columnDefinition = "text")
+    private String message;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 50)
+    private NotificationStatus status;
+
+    @Column(name = "channel", length = 50)
+    private String channel;
+
+    @Column(name = "related_booking_id")
+    private Long relatedBookingId;
+
+    /** NotificationRequest serializado en JSON. */
+    @Column(name = "payload", columnDefinition = "text")
+    private String payload;
+
+    @Column(name = "attempts")
+    private int attempts;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", columnDefinition = "text")
+    private String lastError;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
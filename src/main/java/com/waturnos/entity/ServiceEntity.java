@@ -60,6 +60,10 @@ public class ServiceEntity {
     @Builder.Default
     private Integer waitListTime = 15;
     
+    /** Clientes de la lista de espera avisados a la vez cuando se libera un turno; reserva el primero. */
+    @Builder.Default
+    private Integer waitListFanOut = 1;
+    
     @Builder.Default
     private Integer offsetMinutes = 0;
     
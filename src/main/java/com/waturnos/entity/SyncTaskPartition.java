@@ -0,0 +1,61 @@
+package com.waturnos.entity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.waturnos.enums.ExecutionStatus;
+import com.waturnos.enums.ScheduleType;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "sync_task_partition")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyncTaskPartition {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "schedule_type", nullable = false, length = 80)
+    private ScheduleType scheduleType;
+
+    @Column(name = "execution_date", nullable = false)
+    private LocalDate executionDate;
+
+    @Column(name = "partition_key", nullable = false, length = 80)
+    private String partitionKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private ExecutionStatus status;
+
+    @Column(name = "success_count")
+    private long successCount;
+
+    @Column(name = "error_count")
+    private long errorCount;
+
+    @Column(name = "attempts")
+    private int attempts;
+
+    @Column(name = "details", columnDefinition = "text")
+    private String details;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -4,8 +4,10 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import com.waturnos.enums.UserRole;
+import com.waturnos.security.PrincipalCacheListener;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
@@ -26,6 +28,7 @@ import lombok.ToString;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(PrincipalCacheListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
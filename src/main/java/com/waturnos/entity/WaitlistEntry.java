@@ -20,6 +20,7 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -32,7 +33,7 @@ import lombok.ToString;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@ToString(exclude = {"client", "service", "user", "organization", "specificBooking"})
+@ToString(exclude = {"client", "service", "user", "organization", "specificBooking", "notifiedBooking"})
 public class WaitlistEntry {
     
     @Id
@@ -63,6 +64,11 @@ public class WaitlistEntry {
     @JoinColumn(name = "specific_booking_id")
     private Booking specificBooking;
     
+    /** Turno ofrecido mientras la entrada está NOTIFIED. */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "notified_booking_id")
+    private Booking notifiedBooking;
+    
     @Column(nullable = false)
     private LocalDate date;
     
@@ -77,7 +83,8 @@ public class WaitlistEntry {
     @Builder.Default
     private WaitlistStatus status = WaitlistStatus.WAITING;
     
-    @Column(nullable = false)
+    /** Posición en la cola; no se persiste, se deriva al leer (ver findWaitingPositions). */
+    @Transient
     private Integer position;
     
     @Column(name = "expiration_minutes", nullable = false)
@@ -0,0 +1,11 @@
+package com.waturnos.enums;
+
+/**
+ * Vencimientos que atiende el DeadlineScheduler; ref_id es el id de la entidad.
+ */
+public enum DeadlineType {
+    WAITLIST_EXPIRY,        // Fin del plazo de un cliente NOTIFIED de la waitlist
+    WAITLIST_OFFER_EXPIRY,  // Fin del plazo de un turno avisado a varios clientes (ref_id = booking)
+    ACCESS_TOKEN,           // Código de acceso (OTP) vencido
+    PASSWORD_RESET          // Token de cambio de contraseña vencido
+}
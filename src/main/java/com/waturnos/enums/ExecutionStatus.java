@@ -2,5 +2,6 @@ package com.waturnos.enums;
 
 public enum ExecutionStatus {
     SUCCESS,
-    FAIL
+    FAIL,
+    IN_PROGRESS
 }
@@ -0,0 +1,8 @@
+package com.waturnos.enums;
+
+public enum NotificationStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    DEAD
+}
@@ -0,0 +1,18 @@
+package com.waturnos.instrumentation;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Cuenta las sentencias que prepara Hibernate y guarda la última para
+ * atribuirle el tiempo de ejecución.
+ */
+public class CountingStatementInspector implements StatementInspector {
+
+	private static final long serialVersionUID = 1L;
+
+	@Override
+	public String inspect(String sql) {
+		QueryMetrics.onStatement(sql);
+		return sql;
+	}
+}
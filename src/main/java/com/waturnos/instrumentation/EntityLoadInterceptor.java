@@ -0,0 +1,16 @@
+package com.waturnos.instrumentation;
+
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+/**
+ * Cuenta las entidades que Hibernate hidrata en la request.
+ */
+public class EntityLoadInterceptor implements Interceptor {
+
+	@Override
+	public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+		QueryMetrics.onEntityLoad();
+		return false;
+	}
+}
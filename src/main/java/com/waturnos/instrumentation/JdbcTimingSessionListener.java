@@ -0,0 +1,43 @@
+package com.waturnos.instrumentation;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Mide el tiempo de ejecución JDBC de cada sentencia y lote, y la espera por
+ * la conexión del pool. Hibernate crea una instancia por sesión
+ * (hibernate.session.events.auto).
+ */
+public class JdbcTimingSessionListener implements SessionEventListener {
+
+	private static final long serialVersionUID = 1L;
+
+	@Override
+	public void jdbcConnectionAcquisitionStart() {
+		QueryMetrics.onConnectionAcquireStart();
+	}
+
+	@Override
+	public void jdbcConnectionAcquisitionEnd() {
+		QueryMetrics.onConnectionAcquireEnd();
+	}
+
+	@Override
+	public void jdbcExecuteStatementStart() {
+		QueryMetrics.onExecuteStart();
+	}
+
+	@Override
+	public void jdbcExecuteStatementEnd() {
+		QueryMetrics.onExecuteEnd();
+	}
+
+	@Override
+	public void jdbcExecuteBatchStart() {
+		QueryMetrics.onExecuteStart();
+	}
+
+	@Override
+	public void jdbcExecuteBatchEnd() {
+		QueryMetrics.onExecuteEnd();
+	}
+}
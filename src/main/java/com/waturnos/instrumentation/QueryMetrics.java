@@ -0,0 +1,162 @@
+package com.waturnos.instrumentation;
+
+/**
+ * Contadores de SQL de la request en curso, por hilo. Los hooks de Hibernate
+ * llaman a estos métodos en cada sentencia: si la request no fue muestreada
+ * sólo leen un boolean, y si lo fue actualizan campos primitivos de un objeto
+ * reutilizado por hilo, sin reservar memoria.
+ */
+public final class QueryMetrics {
+
+	/** Sentencias más lentas que se conservan por request. */
+	static final int SLOWEST = 3;
+
+	private static final ThreadLocal<Context> CONTEXT = ThreadLocal.withInitial(Context::new);
+
+	private QueryMetrics() {
+	}
+
+	/**
+	 * Empieza a medir la request del hilo.
+	 *
+	 * @param endpoint the controller method
+	 * @return the context of the request
+	 */
+	static Context begin(String endpoint) {
+		Context context = CONTEXT.get();
+		context.reset(endpoint);
+		context.active = true;
+		return context;
+	}
+
+	/**
+	 * Contexto de la request medida en el hilo.
+	 *
+	 * @return the context, or null if the request is not being measured
+	 */
+	static Context current() {
+		Context context = CONTEXT.get();
+		return context.active ? context : null;
+	}
+
+	/**
+	 * Deja de medir en el hilo.
+	 */
+	static void end() {
+		CONTEXT.get().active = false;
+	}
+
+	/**
+	 * Sentencia preparada por Hibernate.
+	 *
+	 * @param sql the sql
+	 */
+	static void onStatement(String sql) {
+		Context context = CONTEXT.get();
+		if (context.active) {
+			context.statements++;
+			context.currentSql = sql;
+		}
+	}
+
+	/**
+	 * Inicio de la ejecución de una sentencia o lote.
+	 */
+	static void onExecuteStart() {
+		Context context = CONTEXT.get();
+		if (context.active) {
+			context.executeStart = System.nanoTime();
+		}
+	}
+
+	/**
+	 * Fin de la ejecución de una sentencia o lote.
+	 */
+	static void onExecuteEnd() {
+		Context context = CONTEXT.get();
+		if (context.active && context.executeStart != 0) {
+			long nanos = System.nanoTime() - context.executeStart;
+			context.executeStart = 0;
+			context.jdbcNanos += nanos;
+			context.recordSlow(context.currentSql, nanos);
+		}
+	}
+
+	/**
+	 * Hibernate pide una conexión al pool.
+	 */
+	static void onConnectionAcquireStart() {
+		Context context = CONTEXT.get();
+		if (context.active) {
+			context.acquireStart = System.nanoTime();
+		}
+	}
+
+	/**
+	 * Hibernate obtuvo la conexión: la espera se suma a la de la request.
+	 */
+	static void onConnectionAcquireEnd() {
+		Context context = CONTEXT.get();
+		if (context.active && context.acquireStart != 0) {
+			context.connectionWaitNanos += System.nanoTime() - context.acquireStart;
+			context.acquireStart = 0;
+		}
+	}
+
+	/**
+	 * Entidad cargada por Hibernate.
+	 */
+	static void onEntityLoad() {
+		Context context = CONTEXT.get();
+		if (context.active) {
+			context.entityLoads++;
+		}
+	}
+
+	/** Mediciones de una request. */
+	static final class Context {
+		boolean active;
+		String endpoint;
+		int statements;
+		int entityLoads;
+		long jdbcNanos;
+		long executeStart;
+		long connectionWaitNanos;
+		long acquireStart;
+		String currentSql;
+		final String[] slowSql = new String[SLOWEST];
+		final long[] slowNanos = new long[SLOWEST];
+
+		private void reset(String endpoint) {
+			this.endpoint = endpoint;
+			statements = 0;
+			entityLoads = 0;
+			jdbcNanos = 0;
+			executeStart = 0;
+			connectionWaitNanos = 0;
+			acquireStart = 0;
+			currentSql = null;
+			for (int i = 0; i < SLOWEST; i++) {
+				slowSql[i] = null;
+				slowNanos[i] = 0;
+			}
+		}
+
+		/**
+		 * Inserta la sentencia en el top de las más lentas (ordenado de mayor a menor).
+		 */
+		private void recordSlow(String sql, long nanos) {
+			if (nanos <= slowNanos[SLOWEST - 1]) {
+				return;
+			}
+			int i = SLOWEST - 1;
+			while (i > 0 && slowNanos[i - 1] < nanos) {
+				slowNanos[i] = slowNanos[i - 1];
+				slowSql[i] = slowSql[i - 1];
+				i--;
+			}
+			slowNanos[i] = nanos;
+			slowSql[i] = sql;
+		}
+	}
+}
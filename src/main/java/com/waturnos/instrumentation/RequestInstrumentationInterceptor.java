@@ -0,0 +1,126 @@
+package com.waturnos.instrumentation;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mide el SQL de una muestra de las requests (app.instrumentation.sample-rate)
+ * y lo publica por método de controller: sentencias, tiempo JDBC, espera por
+ * conexión del pool y entidades cargadas. Las requests que superan los umbrales se loguean con sus
+ * sentencias más lentas, que también quedan en {@link SlowQueryLog}.
+ */
+@Slf4j
+public class RequestInstrumentationInterceptor implements HandlerInterceptor {
+
+	/** The meter registry. */
+	private final MeterRegistry meterRegistry;
+
+	/** The slow query log. */
+	private final SlowQueryLog slowQueryLog;
+
+	/** Fracción de requests medidas (0 a 1). */
+	@Value("${app.instrumentation.sample-rate:0.1}")
+	private double sampleRate;
+
+	/** Sentencias por request a partir de las cuales se loguea. */
+	@Value("${app.instrumentation.log-threshold.statements:30}")
+	private int statementsThreshold;
+
+	/** Tiempo JDBC por request a partir del cual se loguea. */
+	@Value("${app.instrumentation.log-threshold.jdbc-ms:500}")
+	private long jdbcMsThreshold;
+
+	/** Medidores por método de controller, creados una sola vez. */
+	private final Map<Method, EndpointMeters> meters = new ConcurrentHashMap<>();
+
+	public RequestInstrumentationInterceptor(MeterRegistry meterRegistry, SlowQueryLog slowQueryLog) {
+		this.meterRegistry = meterRegistry;
+		this.slowQueryLog = slowQueryLog;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		if (handler instanceof HandlerMethod method && sampleRate > 0
+				&& (sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate)) {
+			QueryMetrics.begin(endpointMeters(method).endpoint);
+		}
+		return true;
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+			Exception ex) {
+		QueryMetrics.Context context = QueryMetrics.current();
+		if (context == null || !(handler instanceof HandlerMethod method)) {
+			return;
+		}
+		try {
+			EndpointMeters endpoint = endpointMeters(method);
+			endpoint.statements.record(context.statements);
+			endpoint.jdbcTime.record(context.jdbcNanos, TimeUnit.NANOSECONDS);
+			endpoint.connectionWait.record(context.connectionWaitNanos, TimeUnit.NANOSECONDS);
+			endpoint.entityLoads.record(context.entityLoads);
+			if (context.slowSql[0] != null) {
+				slowQueryLog.offer(context);
+			}
+
+			long jdbcMs = TimeUnit.NANOSECONDS.toMillis(context.jdbcNanos);
+			if (context.statements >= statementsThreshold || jdbcMs >= jdbcMsThreshold) {
+				log.warn("{}: {} sentencias, {} ms JDBC, {} entidades. Más lentas: {}", context.endpoint,
+						context.statements, jdbcMs, context.entityLoads, describeSlowest(context));
+			}
+		} finally {
+			QueryMetrics.end();
+		}
+	}
+
+	private String describeSlowest(QueryMetrics.Context context) {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < QueryMetrics.SLOWEST && context.slowSql[i] != null; i++) {
+			text.append("\n  ").append(TimeUnit.NANOSECONDS.toMillis(context.slowNanos[i])).append(" ms: ")
+					.append(context.slowSql[i]);
+		}
+		return text.toString();
+	}
+
+	private EndpointMeters endpointMeters(HandlerMethod handler) {
+		return meters.computeIfAbsent(handler.getMethod(), method -> new EndpointMeters(
+				handler.getBeanType().getSimpleName() + "." + method.getName(), meterRegistry));
+	}
+
+	/** Medidores de un método de controller. */
+	private static final class EndpointMeters {
+		private final String endpoint;
+		private final DistributionSummary statements;
+		private final Timer jdbcTime;
+		private final Timer connectionWait;
+		private final DistributionSummary entityLoads;
+
+		private EndpointMeters(String endpoint, MeterRegistry registry) {
+			this.endpoint = endpoint;
+			this.statements = DistributionSummary.builder("app.request.sql.statements")
+					.description("Sentencias SQL por request").tag("endpoint", endpoint).register(registry);
+			this.jdbcTime = Timer.builder("app.request.jdbc.time").description("Tiempo JDBC por request")
+					.tag("endpoint", endpoint).register(registry);
+			this.connectionWait = Timer.builder("app.request.connection.wait")
+					.description("Espera por conexión del pool por request").tag("endpoint", endpoint)
+					.register(registry);
+			this.entityLoads = DistributionSummary.builder("app.request.entity.loads")
+					.description("Entidades cargadas por request").tag("endpoint", endpoint).register(registry);
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package com.waturnos.instrumentation;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import com.waturnos.utils.DateUtils;
+
+/**
+ * Las sentencias más lentas vistas en las requests medidas, expuestas en
+ * /actuator/slowqueries. Sólo se toma el lock cuando una sentencia supera a la
+ * más rápida del top.
+ */
+@Endpoint(id = "slowqueries")
+public class SlowQueryLog {
+
+	private final int capacity;
+	private final List<SlowQuery> slowest;
+	private volatile long minNanos;
+
+	public SlowQueryLog(int capacity) {
+		this.capacity = Math.max(1, capacity);
+		this.slowest = new ArrayList<>(this.capacity + 1);
+	}
+
+	/**
+	 * Incorpora las sentencias más lentas de la request.
+	 *
+	 * @param context the request context
+	 */
+	void offer(QueryMetrics.Context context) {
+		for (int i = 0; i < QueryMetrics.SLOWEST && context.slowSql[i] != null; i++) {
+			long nanos = context.slowNanos[i];
+			if (nanos <= minNanos) {
+				return;
+			}
+			add(new SlowQuery(context.endpoint, context.slowSql[i], TimeUnit.NANOSECONDS.toMicros(nanos) / 1000d,
+					DateUtils.getCurrentDateTime()));
+		}
+	}
+
+	private synchronized void add(SlowQuery query) {
+		// Una entrada por sentencia: se conserva su ejecución más lenta
+		for (int i = 0; i < slowest.size(); i++) {
+			if (slowest.get(i).sql().equals(query.sql())) {
+				if (slowest.get(i).millis() >= query.millis()) {
+					return;
+				}
+				slowest.remove(i);
+				break;
+			}
+		}
+		slowest.add(query);
+		slowest.sort(Comparator.comparingDouble(SlowQuery::millis).reversed());
+		if (slowest.size() > capacity) {
+			slowest.remove(slowest.size() - 1);
+			minNanos = (long) (slowest.get(slowest.size() - 1).millis() * 1_000_000);
+		}
+	}
+
+	/**
+	 * Top de sentencias más lentas.
+	 *
+	 * @return the slowest statements, slowest first
+	 */
+	@ReadOperation
+	public synchronized List<SlowQuery> slowest() {
+		return new ArrayList<>(slowest);
+	}
+
+	/** Sentencia lenta y el endpoint que la ejecutó. */
+	public record SlowQuery(String endpoint, String sql, double millis, LocalDateTime seenAt) {
+	}
+}
@@ -1,6 +1,6 @@
 package com.waturnos.mapper;
 
-import java.util.List;
+import java.util.ArrayList;
 
 import org.springframework.stereotype.Component;
 
@@ -8,27 +8,35 @@ import com.waturnos.dto.response.BookingSimpleDTO;
 import com.waturnos.dto.response.ServiceWithBookingsDTO;
 import com.waturnos.entity.Booking;
 import com.waturnos.entity.ServiceEntity;
+import com.waturnos.repository.projection.BookingRangeView;
 
 @Component
 public class ServiceBookingMapper {
 
-    public ServiceWithBookingsDTO toServiceGroup(ServiceEntity service, List<Booking> bookings) {
-
+    /**
+     * Grupo del servicio sin turnos, para completarlo fila por fila.
+     */
+    public ServiceWithBookingsDTO toServiceHeader(ServiceEntity service) {
         ServiceWithBookingsDTO dto = new ServiceWithBookingsDTO();
         dto.setServiceId(service.getId());
         dto.setServiceName(service.getName());
         dto.setServiceDescription(service.getDescription());
         dto.setServicePrice(service.getPrice());
+        dto.setBookings(new ArrayList<>());
+        return dto;
+    }
 
-        List<BookingSimpleDTO> simpleList = bookings.stream()
-                .map(this::toSimple)
-                .toList();
-
-        dto.setBookings(simpleList);
+    public BookingSimpleDTO toSimple(BookingRangeView view) {
+        BookingSimpleDTO dto = new BookingSimpleDTO();
+        dto.setId(view.getId());
+        dto.setStartTime(view.getStartTime());
+        dto.setEndTime(view.getEndTime());
+        dto.setStatus(view.getStatus());
+        dto.setIsOverbooking(view.getIsOverbooking());
         return dto;
     }
 
-    private BookingSimpleDTO toSimple(Booking b) {
+    public BookingSimpleDTO toSimple(Booking b) {
         BookingSimpleDTO dto = new BookingSimpleDTO();
         dto.setId(b.getId());
         dto.setStartTime(b.getStartTime());
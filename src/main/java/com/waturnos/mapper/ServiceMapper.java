@@ -45,6 +45,7 @@ public abstract class ServiceMapper {
 	@Mapping(target = "updatedAt", ignore = true)
 	@Mapping(target = "location", ignore = true)
 	@Mapping(target = "user", ignore = true)
+	@Mapping(target = "waitListFanOut", defaultValue = "1")
 	public abstract ServiceEntity toEntity(ServiceDTO dto);
 
 	/**
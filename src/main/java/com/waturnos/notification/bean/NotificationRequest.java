@@ -6,9 +6,11 @@ import com.waturnos.notification.enums.NotificationType;
 
 import lombok.Builder;
 import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
 
 @Getter
 @Builder 
+@Jacksonized
 public class NotificationRequest {
 
     /** The subject. */
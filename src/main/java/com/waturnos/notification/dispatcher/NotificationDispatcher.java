@@ -0,0 +1,282 @@
+package com.waturnos.notification.dispatcher;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.waturnos.config.NotificationChannelConfig;
+import com.waturnos.entity.NotificationEntity;
+import com.waturnos.enums.NotificationStatus;
+import com.waturnos.notification.factory.NotificationFactory;
+import com.waturnos.notification.mail.EmailTemplateRenderer;
+import com.waturnos.notification.mail.SmtpTransportPool;
+import com.waturnos.repository.NotificationRepository;
+import com.waturnos.schedule.annotations.LeaderOnly;
+import com.waturnos.utils.DateUtils;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drena el outbox de notificaciones. Cada canal tiene su propio pool con un
+ * límite de envíos simultáneos (notification.concurrency); cada envío lleva
+ * hasta send-batch-size notificaciones y sólo se toman del outbox las que
+ * entran en los lugares libres, por lo que la cola en memoria está acotada.
+ * Los fallos se reintentan con backoff exponencial hasta max-attempts; después
+ * la notificación queda DEAD. Las enviadas se borran pasados retention-days.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationDispatcher {
+
+	/** Máximo entre reintentos. */
+	private static final long MAX_BACKOFF_SECONDS = 3600;
+
+	/** Filas borradas por transacción al purgar el outbox. */
+	private static final int PURGE_BATCH_SIZE = 1000;
+
+	/** The notification repository. */
+	private final NotificationRepository notificationRepository;
+
+	/** The notification factory. */
+	private final NotificationFactory notificationFactory;
+
+	/** The notification channel config. */
+	private final NotificationChannelConfig channelConfig;
+
+	/** The transaction manager. */
+	private final PlatformTransactionManager transactionManager;
+
+	/** The smtp transport pool. */
+	private final SmtpTransportPool smtpTransportPool;
+
+	/** The email template renderer. */
+	private final EmailTemplateRenderer emailTemplateRenderer;
+
+	/** Notificaciones tomadas del outbox por consulta. */
+	@Value("${app.notification.outbox.batch-size:50}")
+	private int batchSize;
+
+	/** Intentos antes de pasar la notificación a DEAD. */
+	@Value("${app.notification.outbox.max-attempts:6}")
+	private int maxAttempts;
+
+	/** Espera del primer reintento; se duplica en cada intento. */
+	@Value("${app.notification.outbox.retry-base-seconds:30}")
+	private long retryBaseSeconds;
+
+	/** Plazo de envío; vencido, otra réplica puede retomar la notificación. */
+	@Value("${app.notification.outbox.sending-timeout-seconds:300}")
+	private long sendingTimeoutSeconds;
+
+	/** Días que se conservan las notificaciones enviadas (0 = sin límite). */
+	@Value("${app.notification.outbox.retention-days:30}")
+	private int retentionDays;
+
+	/** Notificaciones de un canal enviadas juntas (en email, por una misma conexión SMTP). */
+	@Value("${app.notification.outbox.send-batch-size:10}")
+	private int sendBatchSize;
+
+	/** Envíos simultáneos de los canales sin configuración propia. */
+	@Value("${app.notification.outbox.default-concurrency:2}")
+	private int defaultConcurrency;
+
+	private final Map<String, ExecutorService> executors = new HashMap<>();
+	private final Map<String, Semaphore> permits = new HashMap<>();
+	private final Map<String, LongAdder> sentByChannel = new HashMap<>();
+	private final Map<String, LongAdder> failedByChannel = new HashMap<>();
+	private volatile long lastReport = System.nanoTime();
+
+	@PostConstruct
+	void init() {
+		Map<String, Integer> concurrency = channelConfig.getConcurrency() != null ? channelConfig.getConcurrency()
+				: Collections.emptyMap();
+		for (String channel : notificationFactory.getChannels()) {
+			int threads = Math.max(1, concurrency.getOrDefault(channel, defaultConcurrency));
+			AtomicInteger counter = new AtomicInteger();
+			executors.put(channel, Executors.newFixedThreadPool(threads, runnable -> {
+				Thread thread = new Thread(runnable, "notify-" + channel.toLowerCase() + "-" + counter.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}));
+			permits.put(channel, new Semaphore(threads));
+			sentByChannel.put(channel, new LongAdder());
+			failedByChannel.put(channel, new LongAdder());
+			log.info("Dispatcher de notificaciones: canal {} con {} envíos simultáneos", channel, threads);
+		}
+	}
+
+	@PreDestroy
+	void shutdown() throws InterruptedException {
+		for (ExecutorService executor : executors.values()) {
+			executor.shutdown();
+		}
+		for (ExecutorService executor : executors.values()) {
+			executor.awaitTermination(30, TimeUnit.SECONDS);
+		}
+	}
+
+	/**
+	 * Toma notificaciones pendientes de cada canal y las envía en su pool.
+	 */
+	@Scheduled(fixedDelayString = "${app.notification.outbox.poll-ms:1000}")
+	public void drain() {
+		for (String channel : executors.keySet()) {
+			try {
+				drainChannel(channel);
+			} catch (Exception e) {
+				log.error("Error drenando el outbox del canal {}", channel, e);
+			}
+		}
+		reportThroughput();
+	}
+
+	/**
+	 * Borra en lotes las notificaciones enviadas hace más de retention-days.
+	 */
+	@Scheduled(cron = "${app.notification.outbox.purge-cron:0 45 3 * * *}")
+	@LeaderOnly(value = "NOTIFICATION_OUTBOX_PURGE", leaseSeconds = 600)
+	public void purgeSent() {
+		if (retentionDays <= 0) {
+			return;
+		}
+		LocalDateTime before = DateUtils.getCurrentDateTime().minusDays(retentionDays);
+		TransactionTemplate tx = new TransactionTemplate(transactionManager);
+		long deleted = 0;
+		int batch;
+		try {
+			do {
+				batch = tx.execute(status -> notificationRepository.deleteSentBefore(before, PURGE_BATCH_SIZE));
+				deleted += batch;
+			} while (batch == PURGE_BATCH_SIZE);
+		} catch (Exception e) {
+			log.error("Error borrando notificaciones enviadas antes de {}", before, e);
+		}
+		log.info("Outbox de notificaciones: {} enviadas antes de {} borradas", deleted, before);
+	}
+
+	/**
+	 * Loguea cada minuto los envíos por canal y su throughput.
+	 */
+	private void reportThroughput() {
+		long elapsed = System.nanoTime() - lastReport;
+		if (elapsed < TimeUnit.MINUTES.toNanos(1)) {
+			return;
+		}
+		lastReport = System.nanoTime();
+		double seconds = elapsed / 1_000_000_000d;
+		for (String channel : executors.keySet()) {
+			long sent = sentByChannel.get(channel).sumThenReset();
+			long failed = failedByChannel.get(channel).sumThenReset();
+			if (sent > 0 || failed > 0) {
+				log.info("Notificaciones {}: {} enviadas, {} fallidas ({} msg/s)", channel, sent, failed,
+						String.format("%.2f", sent / seconds));
+			}
+		}
+		log.info("Pool SMTP: {} / Plantillas: {}", smtpTransportPool.describeStats(),
+				emailTemplateRenderer.describeStats());
+	}
+
+	private void drainChannel(String channel) {
+		Semaphore available = permits.get(channel);
+		int chunk = Math.max(1, sendBatchSize);
+		while (true) {
+			int limit = Math.min(batchSize, available.availablePermits() * chunk);
+			if (limit == 0) {
+				return;
+			}
+			List<NotificationEntity> batch = claim(channel, limit);
+			// Cada envío agrupado ocupa un lugar del pool del canal
+			for (int from = 0; from < batch.size(); from += chunk) {
+				List<NotificationEntity> group = batch.subList(from, Math.min(batch.size(), from + chunk));
+				available.acquireUninterruptibly();
+				executors.get(channel).execute(() -> {
+					try {
+						deliver(channel, group);
+					} finally {
+						available.release();
+					}
+				});
+			}
+			if (batch.size() < limit) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Bloquea y marca como SENDING el próximo lote del canal en una transacción
+	 * corta, para que otras réplicas no lo tomen mientras se envía.
+	 */
+	private List<NotificationEntity> claim(String channel, int limit) {
+		return new TransactionTemplate(transactionManager).execute(status -> {
+			LocalDateTime now = DateUtils.getCurrentDateTime();
+			List<NotificationEntity> batch = notificationRepository.lockNextBatch(channel, now, limit);
+			if (!batch.isEmpty()) {
+				notificationRepository.markSending(batch.stream().map(NotificationEntity::getId).toList(),
+						now.plusSeconds(sendingTimeoutSeconds));
+			}
+			return batch;
+		});
+	}
+
+	private void deliver(String channel, List<NotificationEntity> group) {
+		List<Exception> errors;
+		try {
+			errors = notificationFactory.dispatchAll(channel,
+					group.stream().map(NotificationEntity::getPayload).toList());
+		} catch (Exception e) {
+			errors = Collections.nCopies(group.size(), e);
+		}
+		TransactionTemplate tx = new TransactionTemplate(transactionManager);
+		List<Long> sent = new ArrayList<>(group.size());
+		for (int i = 0; i < group.size(); i++) {
+			if (errors.get(i) == null) {
+				sent.add(group.get(i).getId());
+			} else {
+				onFailure(tx, group.get(i), errors.get(i));
+			}
+		}
+		if (!sent.isEmpty()) {
+			tx.executeWithoutResult(status -> notificationRepository.markSent(sent, DateUtils.getCurrentDateTime()));
+			sentByChannel.get(channel).add(sent.size());
+		}
+	}
+
+	private void onFailure(TransactionTemplate tx, NotificationEntity notification, Exception e) {
+		int attempt = notification.getAttempts() + 1;
+		failedByChannel.get(notification.getChannel()).increment();
+		String error = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+		if (attempt >= maxAttempts) {
+			log.error("Notificación {} ({} a {}) descartada tras {} intentos: {}", notification.getId(),
+					notification.getType(), notification.getTarget(), attempt, error);
+			tx.executeWithoutResult(status -> notificationRepository.markFailed(notification.getId(),
+					NotificationStatus.DEAD, null, error));
+			return;
+		}
+		long delay = Math.min(MAX_BACKOFF_SECONDS, retryBaseSeconds << Math.min(attempt - 1, 20));
+		log.warn("Notificación {} ({} a {}) falló (intento {}/{}), se reintenta en {} s: {}",
+				notification.getId(), notification.getType(), notification.getTarget(), attempt, maxAttempts,
+				delay, error);
+		tx.executeWithoutResult(status -> notificationRepository.markFailed(notification.getId(),
+				NotificationStatus.PENDING, DateUtils.getCurrentDateTime().plusSeconds(delay), error));
+	}
+}
@@ -1,5 +1,6 @@
 package com.waturnos.notification.factory;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -7,16 +8,23 @@ import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.waturnos.config.NotificationChannelConfig;
+import com.waturnos.entity.NotificationEntity;
+import com.waturnos.enums.NotificationStatus;
 import com.waturnos.notification.bean.NotificationRequest;
 import com.waturnos.notification.enums.NotificationType;
 import com.waturnos.notification.service.NotificationService;
+import com.waturnos.repository.NotificationRepository;
+import com.waturnos.utils.DateUtils;
 
 @Component
 public class NotificationFactory {
@@ -24,10 +32,20 @@ public class NotificationFactory {
 	private final Map<String, NotificationService> serviceMap;
     private final Map<NotificationType, List<NotificationService>> subscriptions;
 
+    /** Outbox de notificaciones. */
+    private final NotificationRepository notificationRepository;
+
+    private final ObjectMapper objectMapper;
+
     public NotificationFactory(
         List<NotificationService> notificationServices,
-        NotificationChannelConfig config) {
+        NotificationChannelConfig config,
+        NotificationRepository notificationRepository,
+        ObjectMapper objectMapper) {
         
+        this.notificationRepository = notificationRepository;
+        this.objectMapper = objectMapper;
+
         // 1. Mapear todos los servicios por su nombre de canal (key: "EMAIL", value: EmailService)
         this.serviceMap = notificationServices.stream()
             .collect(Collectors.toMap(NotificationService::getChannelName, Function.identity()));
@@ -107,11 +125,77 @@ public class NotificationFactory {
     
     
     /**
-     * Envía la notificación a TODOS los canales suscritos para ese tipo de notificación.
-     * Este es el método que llamarás desde tu UserService.
+     * Encola la notificación en el outbox, una fila por canal suscrito. Se
+     * ejecuta en la transacción del llamador, por lo que la notificación se
+     * persiste junto con el cambio que la origina; el NotificationDispatcher la
+     * envía después.
+     */
+    @Transactional
+    public void enqueue(NotificationRequest request) {
+        List<NotificationService> services = subscriptions.getOrDefault(request.getType(), Collections.emptyList());
+        if (services.isEmpty()) {
+            return;
+        }
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(request);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Notification " + request.getType() + " is not serializable", e);
+        }
+        LocalDateTime now = DateUtils.getCurrentDateTime();
+        List<NotificationEntity> rows = new ArrayList<>(services.size());
+        for (NotificationService service : services) {
+            rows.add(NotificationEntity.builder()
+                .type(request.getType())
+                .channel(service.getChannelName())
+                .target(request.getEmail() != null ? request.getEmail() : request.getPhone())
+                .status(NotificationStatus.PENDING)
+                .payload(payload)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
+        }
+        notificationRepository.saveAll(rows);
+    }
+
+    /**
+     * Envía un lote de notificaciones del outbox por un canal. Un payload
+     * inválido o un envío fallido no cortan el lote.
+     *
+     * @param channel  the channel name
+     * @param payloads the serialized requests
+     * @return el error de cada payload en el mismo orden, null si se envió
+     */
+    public List<Exception> dispatchAll(String channel, List<String> payloads) {
+        NotificationService service = serviceMap.get(channel);
+        if (service == null) {
+            return Collections.nCopies(payloads.size(),
+                new IllegalStateException("No notification service for channel " + channel));
+        }
+        List<Exception> errors = new ArrayList<>(Collections.nCopies(payloads.size(), null));
+        List<NotificationRequest> requests = new ArrayList<>(payloads.size());
+        List<Integer> positions = new ArrayList<>(payloads.size());
+        for (int i = 0; i < payloads.size(); i++) {
+            try {
+                requests.add(objectMapper.readValue(payloads.get(i), NotificationRequest.class));
+                positions.add(i);
+            } catch (JsonProcessingException e) {
+                errors.set(i, new IllegalArgumentException("Invalid notification payload", e));
+            }
+        }
+        List<Exception> results = service.sendNotifications(requests);
+        for (int j = 0; j < results.size(); j++) {
+            errors.set(positions.get(j), results.get(j));
+        }
+        return errors;
+    }
+
+    /**
+     * Canales con implementación.
+     *
+     * @return the channel names
      */
-    @Async
-    public void sendAsync(NotificationRequest request) {
-    	 this.sendPrivate(request);
+    public Set<String> getChannels() {
+        return serviceMap.keySet();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,125 @@
+package com.waturnos.notification.mail;
+
+import java.io.StringWriter;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+
+import com.waturnos.notification.enums.NotificationType;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Render de las plantillas de email. Con spring.thymeleaf.cache activo cada
+ * plantilla (idioma, tipo) se parsea una sola vez y las siguientes veces sólo
+ * se renderiza, sobre un buffer reutilizado por hilo. Con
+ * app.mail.templates.hot-reload se descarta la plantilla cacheada antes de
+ * cada render para poder editarla sin reiniciar (perfil dev).
+ */
+@Component
+@Slf4j
+public class EmailTemplateRenderer {
+
+	/** Capacidad a partir de la cual el buffer del hilo se descarta en vez de reutilizarse. */
+	private static final int MAX_RETAINED_BUFFER = 256 * 1024;
+
+	/** The template engine. */
+	private final SpringTemplateEngine templateEngine;
+
+	/** Recarga las plantillas en cada render. */
+	@Value("${app.mail.templates.hot-reload:false}")
+	private boolean hotReload;
+
+	/** Nombre de plantilla y Locale por (idioma, tipo), resueltos una vez. */
+	private final Map<String, TemplateKey> templates = new ConcurrentHashMap<>();
+
+	private final ThreadLocal<StringWriter> buffers = ThreadLocal.withInitial(() -> new StringWriter(8 * 1024));
+
+	/**
+	 * Renders de una plantilla (idioma, tipo) por primera vez y repetidos. No
+	 * miden la caché de Thymeleaf: con hot-reload o spring.thymeleaf.cache
+	 * apagado también se parsea en los repetidos.
+	 */
+	private final LongAdder firstRenders = new LongAdder();
+	private final LongAdder repeatRenders = new LongAdder();
+	private final LongAdder renders = new LongAdder();
+	private final LongAdder renderNanos = new LongAdder();
+
+	public EmailTemplateRenderer(SpringTemplateEngine templateEngine) {
+		this.templateEngine = templateEngine;
+	}
+
+	/**
+	 * Renderiza la plantilla del tipo de notificación en el idioma dado.
+	 *
+	 * @param language   the language code
+	 * @param type       the notification type
+	 * @param properties the template variables
+	 * @return the rendered html
+	 */
+	public String render(String language, NotificationType type, Map<String, String> properties) {
+		String lang = language.toLowerCase();
+		String cacheKey = lang + "/" + type.name();
+		TemplateKey template = templates.get(cacheKey);
+		if (template == null) {
+			firstRenders.increment();
+			template = templates.computeIfAbsent(cacheKey,
+					k -> new TemplateKey(lang + "/" + type.name().toLowerCase(), new Locale(lang)));
+		} else {
+			repeatRenders.increment();
+		}
+		if (hotReload) {
+			templateEngine.clearTemplateCacheFor(template.name);
+		}
+
+		Context context = new Context(template.locale);
+		if (properties != null) {
+			for (Map.Entry<String, String> entry : properties.entrySet()) {
+				context.setVariable(entry.getKey(), entry.getValue());
+			}
+		}
+
+		long start = System.nanoTime();
+		StringWriter buffer = buffers.get();
+		buffer.getBuffer().setLength(0);
+		try {
+			templateEngine.process(template.name, context, buffer);
+			return buffer.toString();
+		} finally {
+			renderNanos.add(System.nanoTime() - start);
+			renders.increment();
+			if (buffer.getBuffer().capacity() > MAX_RETAINED_BUFFER) {
+				buffers.remove();
+			}
+		}
+	}
+
+	/**
+	 * Resumen de uso, para el log de throughput.
+	 *
+	 * @return the stats
+	 */
+	public String describeStats() {
+		long count = renders.sum();
+		return String.format("renders=%d, primeros=%d, repetidos=%d, promedio=%d µs", count, firstRenders.sum(),
+				repeatRenders.sum(), count > 0 ? TimeUnit.NANOSECONDS.toMicros(renderNanos.sum() / count) : 0);
+	}
+
+	/** Plantilla resuelta. */
+	private static final class TemplateKey {
+		private final String name;
+		private final Locale locale;
+
+		private TemplateKey(String name, Locale locale) {
+			this.name = name;
+			this.locale = locale;
+		}
+	}
+}
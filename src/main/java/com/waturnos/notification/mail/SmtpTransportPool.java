@@ -0,0 +1,202 @@
+package com.waturnos.notification.mail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pool de conexiones SMTP. Cada conexión queda abierta (STARTTLS y auth se
+ * hacen una sola vez) y envía varios mensajes hasta llegar a
+ * max-messages-per-connection o quedar inactiva más de idle-timeout-seconds;
+ * ahí se cierra y se abre otra. El dispatcher del outbox envía por sendAll los
+ * lotes de cada canal.
+ */
+@Component
+@Slf4j
+public class SmtpTransportPool {
+
+	/** The mail sender. */
+	private final JavaMailSender mailSender;
+
+	/** Conexiones simultáneas. */
+	@Value("${app.mail.pool.size:4}")
+	private int poolSize;
+
+	/** Mensajes por conexión antes de reconectar. */
+	@Value("${app.mail.pool.max-messages-per-connection:100}")
+	private int maxMessagesPerConnection;
+
+	/** Inactividad tras la cual la conexión se descarta (el servidor la cierra). */
+	@Value("${app.mail.pool.idle-timeout-seconds:60}")
+	private long idleTimeoutSeconds;
+
+	private BlockingQueue<PooledTransport> idle;
+	private Semaphore slots;
+
+	private final LongAdder sent = new LongAdder();
+	private final LongAdder failed = new LongAdder();
+	private final LongAdder connectionsOpened = new LongAdder();
+	private final LongAdder sendNanos = new LongAdder();
+
+	public SmtpTransportPool(JavaMailSender mailSender) {
+		this.mailSender = mailSender;
+	}
+
+	@PostConstruct
+	void init() {
+		int size = Math.max(1, poolSize);
+		idle = new ArrayBlockingQueue<>(size);
+		slots = new Semaphore(size, true);
+	}
+
+	@PreDestroy
+	void shutdown() {
+		List<PooledTransport> transports = new ArrayList<>();
+		idle.drainTo(transports);
+		transports.forEach(this::close);
+	}
+
+	/**
+	 * Envía los mensajes por una misma conexión del pool.
+	 *
+	 * @param messages the messages
+	 * @throws MessagingException the first send error, after trying every message
+	 */
+	public void send(MimeMessage... messages) throws MessagingException {
+		for (MessagingException error : sendAll(Arrays.asList(messages))) {
+			if (error != null) {
+				throw error;
+			}
+		}
+	}
+
+	/**
+	 * Envía un lote por una misma conexión del pool. Un mensaje que falla no
+	 * corta el lote: se descarta la conexión y el siguiente abre otra.
+	 *
+	 * @param messages the messages
+	 * @return el error de cada mensaje en el mismo orden, null si se envió
+	 */
+	public List<MessagingException> sendAll(List<MimeMessage> messages) {
+		List<MessagingException> errors = new ArrayList<>(messages.size());
+		if (!(mailSender instanceof JavaMailSenderImpl sender)) {
+			for (MimeMessage message : messages) {
+				try {
+					mailSender.send(message);
+					errors.add(null);
+				} catch (MailException e) {
+					errors.add(new MessagingException(e.getMessage(), e));
+				}
+			}
+			return errors;
+		}
+		try {
+			slots.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			MessagingException error = new MessagingException("Interrupted waiting for an SMTP connection");
+			messages.forEach(message -> errors.add(error));
+			return errors;
+		}
+		PooledTransport transport = idle.poll();
+		try {
+			for (MimeMessage message : messages) {
+				try {
+					if (transport == null || !transport.isUsable()) {
+						close(transport);
+						transport = null;
+						transport = open(sender);
+					}
+					long start = System.nanoTime();
+					if (message.getSentDate() == null) {
+						message.setSentDate(new Date());
+					}
+					message.saveChanges();
+					transport.transport.sendMessage(message, message.getAllRecipients());
+					sendNanos.add(System.nanoTime() - start);
+					sent.increment();
+					transport.messages++;
+					transport.lastUsed = System.nanoTime();
+					errors.add(null);
+				} catch (MessagingException e) {
+					failed.increment();
+					// La conexión puede haber quedado en un estado inválido
+					close(transport);
+					transport = null;
+					errors.add(e);
+				}
+			}
+		} finally {
+			if (transport != null && !idle.offer(transport)) {
+				close(transport);
+			}
+			slots.release();
+		}
+		return errors;
+	}
+
+	/**
+	 * Resumen de uso del pool, para el log de throughput.
+	 *
+	 * @return the stats
+	 */
+	public String describeStats() {
+		long count = sent.sum();
+		return String.format("enviados=%d, fallidos=%d, conexiones=%d, promedio=%d ms", count, failed.sum(),
+				connectionsOpened.sum(), count > 0 ? TimeUnit.NANOSECONDS.toMillis(sendNanos.sum() / count) : 0);
+	}
+
+	private PooledTransport open(JavaMailSenderImpl sender) throws MessagingException {
+		Transport transport = sender.getSession().getTransport(sender.getProtocol() != null ? sender.getProtocol() : "smtp");
+		transport.connect(sender.getHost(), sender.getPort(), sender.getUsername(), sender.getPassword());
+		connectionsOpened.increment();
+		return new PooledTransport(transport);
+	}
+
+	private void close(PooledTransport transport) {
+		if (transport == null) {
+			return;
+		}
+		try {
+			transport.transport.close();
+		} catch (MessagingException e) {
+			log.debug("Error cerrando conexión SMTP: {}", e.getMessage());
+		}
+	}
+
+	/** Conexión SMTP con su contador de mensajes. */
+	private final class PooledTransport {
+		private final Transport transport;
+		private int messages;
+		private long lastUsed = System.nanoTime();
+
+		private PooledTransport(Transport transport) {
+			this.transport = transport;
+		}
+
+		private boolean isUsable() {
+			return messages < maxMessagesPerConnection
+					&& System.nanoTime() - lastUsed < TimeUnit.SECONDS.toNanos(idleTimeoutSeconds)
+					&& transport.isConnected();
+		}
+	}
+}
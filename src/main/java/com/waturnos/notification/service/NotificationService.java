@@ -1,5 +1,8 @@
 package com.waturnos.notification.service;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import com.waturnos.notification.bean.NotificationRequest;
 
 /**
@@ -21,4 +24,24 @@ public interface NotificationService {
      */
     void sendNotification(NotificationRequest request);
 
+    /**
+     * Envía un lote de notificaciones. Por defecto una por una; los canales
+     * que pueden agrupar envíos lo sobreescriben.
+     *
+     * @param requests the requests
+     * @return el error de cada request en el mismo orden, null si se envió
+     */
+    default List<Exception> sendNotifications(List<NotificationRequest> requests) {
+        List<Exception> errors = new ArrayList<>(requests.size());
+        for (NotificationRequest request : requests) {
+            try {
+                sendNotification(request);
+                errors.add(null);
+            } catch (Exception e) {
+                errors.add(e);
+            }
+        }
+        return errors;
+    }
+
 }
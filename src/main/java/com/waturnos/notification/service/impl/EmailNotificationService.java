@@ -1,18 +1,20 @@
 package com.waturnos.notification.service.impl;
 
-import java.util.Locale;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.context.Context;
-import org.thymeleaf.spring6.SpringTemplateEngine;
 
 import com.waturnos.notification.bean.NotificationRequest;
+import com.waturnos.notification.mail.EmailTemplateRenderer;
+import com.waturnos.notification.mail.SmtpTransportPool;
 import com.waturnos.notification.service.NotificationService;
 
+import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.extern.slf4j.Slf4j;
 
@@ -28,19 +30,25 @@ public class EmailNotificationService implements NotificationService {
 	/** The mail sender. */
 	private final JavaMailSender mailSender;
 	
-	/** The template engine. */
-	private final SpringTemplateEngine templateEngine; // Para procesar plantillas HTML
+	/** The template renderer. */
+	private final EmailTemplateRenderer templateRenderer; // Para procesar plantillas HTML
+
+	/** Pool de conexiones SMTP. */
+	private final SmtpTransportPool smtpTransportPool;
 
 	/**
 	 * Instantiates a new email notification service.
 	 *
 	 * @param mailSender the mail sender
-	 * @param templateEngine the template engine
+	 * @param templateRenderer the template renderer
+	 * @param smtpTransportPool the smtp transport pool
 	 */
 	@Autowired
-	public EmailNotificationService(JavaMailSender mailSender, SpringTemplateEngine templateEngine) {
+	public EmailNotificationService(JavaMailSender mailSender, EmailTemplateRenderer templateRenderer,
+			SmtpTransportPool smtpTransportPool) {
 		this.mailSender = mailSender;
-		this.templateEngine = templateEngine;
+		this.templateRenderer = templateRenderer;
+		this.smtpTransportPool = smtpTransportPool;
 	}
 
 	/**
@@ -60,39 +68,60 @@ public class EmailNotificationService implements NotificationService {
 	 */
 	@Override
 	public void sendNotification(NotificationRequest request) {
-		try {
-			Context context = new Context(new Locale(request.getLanguage()));
-			if (request.getProperties() != null) {
-				for (Map.Entry<String, String> entry : request.getProperties().entrySet()) {
-					context.setVariable(entry.getKey(), entry.getValue());
-				}
-			}
-	        String languageCode = request.getLanguage().toLowerCase();
-	        String templateName = languageCode + "/" + getTemplateName(request.getType().name());
-			String htmlContent = templateEngine.process(templateName, context);
-			MimeMessage message = mailSender.createMimeMessage();
-			MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-			helper.setFrom("no-reply@turnero.com");
-			helper.setTo(request.getEmail());
-			helper.setSubject(request.getSubject());
-			helper.setText(htmlContent, true);
-			mailSender.send(message);
-			log.info("✅ Email de " + request.getType() + " enviado a: " + request.getEmail());
-
-		} catch (Exception e) {
-			System.err.println("❌ Error al enviar email a " + request.getEmail() + ": " + e.getMessage());
-			// Manejo de errores real (lanzar excepción, logging, etc.)
+		Exception error = sendNotifications(List.of(request)).get(0);
+		if (error instanceof RuntimeException runtime) {
+			throw runtime;
 		}
 	}
 
 	/**
-	 * Resuelve el nombre del archivo de plantilla. Ejemplo: RESET_PASSWORD ->
-	 * "reset_password"
+	 * Envía el lote por una misma conexión del pool SMTP.
 	 *
-	 * @param notificationType the notification type
-	 * @return the template name
+	 * @param requests the requests
+	 * @return el error de cada request en el mismo orden, null si se envió
+	 */
+	@Override
+	public List<Exception> sendNotifications(List<NotificationRequest> requests) {
+		List<Exception> errors = new ArrayList<>(Collections.nCopies(requests.size(), null));
+		List<MimeMessage> messages = new ArrayList<>(requests.size());
+		List<Integer> positions = new ArrayList<>(requests.size());
+		for (int i = 0; i < requests.size(); i++) {
+			try {
+				messages.add(buildMessage(requests.get(i)));
+				positions.add(i);
+			} catch (Exception e) {
+				errors.set(i, failure(requests.get(i), e));
+			}
+		}
+		List<MessagingException> results = smtpTransportPool.sendAll(messages);
+		for (int j = 0; j < results.size(); j++) {
+			NotificationRequest request = requests.get(positions.get(j));
+			if (results.get(j) == null) {
+				log.info("✅ Email de " + request.getType() + " enviado a: " + request.getEmail());
+			} else {
+				errors.set(positions.get(j), failure(request, results.get(j)));
+			}
+		}
+		return errors;
+	}
+
+	private MimeMessage buildMessage(NotificationRequest request) throws MessagingException {
+		String htmlContent = templateRenderer.render(request.getLanguage(), request.getType(),
+				request.getProperties());
+		MimeMessage message = mailSender.createMimeMessage();
+		MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+		helper.setFrom("no-reply@turnero.com");
+		helper.setTo(request.getEmail());
+		helper.setSubject(request.getSubject());
+		helper.setText(htmlContent, true);
+		return message;
+	}
+
+	/**
+	 * Se propaga para que el dispatcher del outbox reintente el envío.
 	 */
-	private String getTemplateName(String notificationType) {
-		return notificationType.toLowerCase();
+	private IllegalStateException failure(NotificationRequest request, Exception e) {
+		log.warn("❌ Error al enviar email a {}: {}", request.getEmail(), e.getMessage());
+		return new IllegalStateException("Email to " + request.getEmail() + " failed: " + e.getMessage(), e);
 	}
-}
\ No newline at end of file
+}
@@ -1,9 +1,8 @@
 package com.waturnos.repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,41 +10,41 @@ import org.springframework.data.repository.query.Param;
 import com.waturnos.entity.Audit;
 
 /**
- * Repository for Audit entities with role-based filtering
+ * Repository for Audit entities with role-based filtering.
+ * <p>
+ * La tabla está particionada por mes sobre event_date: el rango de fechas es
+ * obligatorio para que Postgres consulte sólo las particiones del rango. Las
+ * consultas paginan por clave (event_date, id) desde el cursor
+ * (beforeDate, beforeId), sin OFFSET ni COUNT.
  */
 public interface AuditRepository extends JpaRepository<Audit, Long> {
 
     /**
-     * Find audits by organization with optional date range, event, service and provider filters
+     * Find audits by organization with date range, optional event, service and provider filters
      */
     @Query(value = """
         SELECT * FROM audit a 
         WHERE a.organization_id = :organizationId
-          AND (COALESCE(:fromDate, a.event_date) = a.event_date OR a.event_date >= :fromDate)
-          AND (COALESCE(:toDate, a.event_date) = a.event_date OR a.event_date <= :toDate)
-          AND (COALESCE(:event, a.event) = a.event)
-          AND (COALESCE(:serviceId, a.service_id, -1) = COALESCE(a.service_id, -1))
-          AND (COALESCE(:providerId, a.provider_id, -1) = COALESCE(a.provider_id, -1))
-        ORDER BY a.event_date DESC
-        """, 
-        countQuery = """
-        SELECT COUNT(*) FROM audit a 
-        WHERE a.organization_id = :organizationId
-          AND (COALESCE(:fromDate, a.event_date) = a.event_date OR a.event_date >= :fromDate)
-          AND (COALESCE(:toDate, a.event_date) = a.event_date OR a.event_date <= :toDate)
+          AND a.event_date >= :fromDate
+          AND a.event_date <= :toDate
+          AND (a.event_date, a.id) < (:beforeDate, :beforeId)
           AND (COALESCE(:event, a.event) = a.event)
           AND (COALESCE(:serviceId, a.service_id, -1) = COALESCE(a.service_id, -1))
           AND (COALESCE(:providerId, a.provider_id, -1) = COALESCE(a.provider_id, -1))
+        ORDER BY a.event_date DESC, a.id DESC
+        LIMIT :limit
         """,
         nativeQuery = true)
-    Page<Audit> findByOrganization(
+    List<Audit> findByOrganization(
         @Param("organizationId") Long organizationId,
         @Param("fromDate") LocalDateTime fromDate,
         @Param("toDate") LocalDateTime toDate,
         @Param("event") String event,
         @Param("serviceId") Long serviceId,
         @Param("providerId") Long providerId,
-        Pageable pageable
+        @Param("beforeDate") LocalDateTime beforeDate,
+        @Param("beforeId") Long beforeId,
+        @Param("limit") int limit
     );
 
     /**
@@ -54,28 +53,24 @@ public interface AuditRepository extends JpaRepository<Audit, Long> {
     @Query(value = """
         SELECT * FROM audit a 
         WHERE a.service_id = :serviceId
-          AND (COALESCE(:fromDate, a.event_date) = a.event_date OR a.event_date >= :fromDate)
-          AND (COALESCE(:toDate, a.event_date) = a.event_date OR a.event_date <= :toDate)
-          AND (COALESCE(:event, a.event) = a.event)
-          AND (COALESCE(:providerId, a.provider_id, -1) = COALESCE(a.provider_id, -1))
-        ORDER BY a.event_date DESC
-        """,
-        countQuery = """
-        SELECT COUNT(*) FROM audit a 
-        WHERE a.service_id = :serviceId
-          AND (COALESCE(:fromDate, a.event_date) = a.event_date OR a.event_date >= :fromDate)
-          AND (COALESCE(:toDate, a.event_date) = a.event_date OR a.event_date <= :toDate)
+          AND a.event_date >= :fromDate
+          AND a.event_date <= :toDate
+          AND (a.event_date, a.id) < (:beforeDate, :beforeId)
           AND (COALESCE(:event, a.event) = a.event)
           AND (COALESCE(:providerId, a.provider_id, -1) = COALESCE(a.provider_id, -1))
+        ORDER BY a.event_date DESC, a.id DESC
+        LIMIT :limit
         """,
         nativeQuery = true)
-    Page<Audit> findByService(
+    List<Audit> findByService(
         @Param("serviceId") Long serviceId,
         @Param("fromDate") LocalDateTime fromDate,
         @Param("toDate") LocalDateTime toDate,
         @Param("event") String event,
         @Param("providerId") Long providerId,
-        Pageable pageable
+        @Param("beforeDate") LocalDateTime beforeDate,
+        @Param("beforeId") Long beforeId,
+        @Param("limit") int limit
     );
 
     /**
@@ -85,25 +80,17 @@ public interface AuditRepository extends JpaRepository<Audit, Long> {
         SELECT * FROM audit a 
         WHERE a.organization_id = :organizationId
           AND a.email = :email
-          AND (COALESCE(:fromDate, a.event_date) = a.event_date OR a.event_date >= :fromDate)
-          AND (COALESCE(:toDate, a.event_date) = a.event_date OR a.event_date <= :toDate)
-          AND (COALESCE(:event, a.event) = a.event)
-          AND (COALESCE(:serviceId, a.service_id, -1) = COALESCE(a.service_id, -1))
-          AND (COALESCE(:providerId, a.provider_id, -1) = COALESCE(a.provider_id, -1))
-        ORDER BY a.event_date DESC
-        """,
-        countQuery = """
-        SELECT COUNT(*) FROM audit a 
-        WHERE a.organization_id = :organizationId
-          AND a.email = :email
-          AND (COALESCE(:fromDate, a.event_date) = a.event_date OR a.event_date >= :fromDate)
-          AND (COALESCE(:toDate, a.event_date) = a.event_date OR a.event_date <= :toDate)
+          AND a.event_date >= :fromDate
+          AND a.event_date <= :toDate
+          AND (a.event_date, a.id) < (:beforeDate, :beforeId)
           AND (COALESCE(:event, a.event) = a.event)
           AND (COALESCE(:serviceId, a.service_id, -1) = COALESCE(a.service_id, -1))
           AND (COALESCE(:providerId, a.provider_id, -1) = COALESCE(a.provider_id, -1))
+        ORDER BY a.event_date DESC, a.id DESC
+        LIMIT :limit
         """,
         nativeQuery = true)
-    Page<Audit> findByOrganizationAndEmail(
+    List<Audit> findByOrganizationAndEmail(
         @Param("organizationId") Long organizationId,
         @Param("email") String email,
         @Param("fromDate") LocalDateTime fromDate,
@@ -111,7 +98,8 @@ public interface AuditRepository extends JpaRepository<Audit, Long> {
         @Param("event") String event,
         @Param("serviceId") Long serviceId,
         @Param("providerId") Long providerId,
-        Pageable pageable
+        @Param("beforeDate") LocalDateTime beforeDate,
+        @Param("beforeId") Long beforeId,
+        @Param("limit") int limit
     );
 }
-
@@ -1,5 +1,6 @@
 package com.waturnos.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,7 +10,9 @@ import com.waturnos.entity.AvailabilityEntity;
 
 public interface AvailabilityRepository extends JpaRepository<AvailabilityEntity, Long> {
 	List<AvailabilityEntity> findByServiceId(Long serviceId);
-	
+
+	List<AvailabilityEntity> findByServiceIdIn(Collection<Long> serviceIds);
+
 	@Modifying
 	void deleteByServiceId(Long serviceId);
 }
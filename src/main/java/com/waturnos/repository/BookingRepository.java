@@ -3,7 +3,10 @@ package com.waturnos.repository;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -13,6 +16,8 @@ import com.waturnos.entity.Booking;
 import com.waturnos.entity.extended.BookingReminder;
 import com.waturnos.entity.extended.BookingSummaryDetail;
 import com.waturnos.enums.BookingStatus;
+import com.waturnos.repository.projection.BookingRangeView;
+import com.waturnos.repository.projection.ClientUpcomingBookingView;
 
 /**
  * The Interface BookingRepository.
@@ -27,6 +32,28 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 	 */
 	List<Booking> findByServiceId(Long serviceId);
 
+	/**
+	 * Find by service id with the recurrence fetched, for the listing of the
+	 * service bookings (BookingMapper lee la recurrencia de cada turno).
+	 *
+	 * @param serviceId the service id
+	 * @return the list
+	 */
+	@EntityGraph(attributePaths = "recurrence")
+	@Query("SELECT b FROM Booking b WHERE b.service.id = :serviceId")
+	List<Booking> findWithRecurrenceByServiceId(@Param("serviceId") Long serviceId);
+
+	/**
+	 * Find by id with booking clients and their clients fetched, for the booking
+	 * details view.
+	 *
+	 * @param bookingId the booking id
+	 * @return the booking
+	 */
+	@EntityGraph(attributePaths = { "bookingClients", "bookingClients.client" })
+	@Query("SELECT b FROM Booking b WHERE b.id = :bookingId")
+	Optional<Booking> findDetailsById(@Param("bookingId") Long bookingId);
+
 	/**
 	 * Find by service id with booking clients fetched.
 	 * Evita N+1 queries al cargar bookingClients en una sola consulta.
@@ -153,6 +180,40 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
         """, nativeQuery = true)
 List<BookingReminder> findBookingsForTomorrow();
 
+	/**
+	 * Same as {@link #findBookingsForTomorrow()} restricted to a hash bucket of
+	 * the booking id, used by the partitioned reminder job.
+	 *
+	 * @param buckets the bucket count
+	 * @param bucket  the bucket
+	 * @return the list
+	 */
+	@Query(value = """
+            SELECT
+                c.full_name AS fullName,
+                c.email AS email,
+                b.start_time AS startTime,
+                s.name AS serviceName
+            FROM
+                booking b
+            JOIN
+                booking_client bc ON b.id = bc.booking_id  -- Nuevo JOIN a la tabla N:N
+            JOIN
+                client c ON bc.client_id = c.id          -- JOIN al cliente a través de bc
+            JOIN
+                service s ON b.service_id = s.id
+            WHERE
+                (b.status = 'RESERVED' or b.status = 'PARTIALLY_RESERVED' ) 
+                AND b.start_time >= (CURRENT_DATE + INTERVAL '1 day')
+                AND b.start_time < (CURRENT_DATE + INTERVAL '2 days')
+                AND b.id % :buckets = :bucket
+            ORDER BY
+                b.start_time
+        """, nativeQuery = true)
+List<BookingReminder> findBookingsForTomorrowInBucket(
+		@Param("buckets") int buckets,
+		@Param("bucket") int bucket);
+
 	/**
 	 * Find reserved with client and service between.
 	 *
@@ -209,25 +270,34 @@ List<BookingReminder> findBookingsForTomorrow();
 			@Param("end") LocalDateTime end);
 
 	/**
-	 * Find by provider service and range.
+	 * Turnos del prestador en el rango, sólo con las columnas del calendario,
+	 * ordenados por (startTime, id) y a partir del último leído (keyset). Se
+	 * llama por bloques de {@code limit} filas para no cargar todo el rango.
 	 *
 	 * @param providerId the provider id
-	 * @param serviceId the service id
-	 * @param start the start
-	 * @param end the end
-	 * @return the list
+	 * @param serviceId the service id, or null for every service of the provider
+	 * @param start the start (inclusive)
+	 * @param end the end (exclusive)
+	 * @param afterStart start time of the last row read
+	 * @param afterId id of the last row read
+	 * @param limit rows per chunk
+	 * @return the next chunk
 	 */
 	@Query("""
-			    SELECT b
+			    SELECT b.id AS id, s.id AS serviceId, b.startTime AS startTime, b.endTime AS endTime,
+			           b.status AS status, b.isOverbooking AS isOverbooking
 			    FROM Booking b
 			    JOIN b.service s
 			    WHERE s.user.id = :providerId
-			      AND s.id = :serviceId
+			      AND (:serviceId IS NULL OR s.id = :serviceId)
 			      AND b.startTime >= :start
 			      AND b.startTime < :end
+			      AND (b.startTime > :afterStart OR (b.startTime = :afterStart AND b.id > :afterId))
+			    ORDER BY b.startTime, b.id
 			""")
-	List<Booking> findByProviderServiceAndRange(@Param("providerId") Long providerId,
-			@Param("serviceId") Long serviceId, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+	List<BookingRangeView> findRangeChunk(@Param("providerId") Long providerId, @Param("serviceId") Long serviceId,
+			@Param("start") LocalDateTime start, @Param("end") LocalDateTime end,
+			@Param("afterStart") LocalDateTime afterStart, @Param("afterId") Long afterId, Limit limit);
 
 	/**
 	 * Find upcoming bookings for a client starting from now, ordered by date ascending.
@@ -237,16 +307,18 @@ List<BookingReminder> findBookingsForTomorrow();
 	 * @param fromDate start of date range filter (inclusive)
 	 * @param toDate end of date range filter (exclusive)
 	 * @param organizationId optional organization id filter
-	 * @return the list of bookings
+	 * @return the upcoming bookings, with service, provider and organization names
 	 */
 	@Query("""
-			SELECT b
+			SELECT b.id AS bookingId, b.startTime AS startTime, b.endTime AS endTime, b.status AS status,
+			       b.notes AS notes, s.name AS serviceName, s.durationMinutes AS serviceDurationMinutes,
+			       u.fullName AS providerName, o.name AS organizationName
 			FROM Booking b
 			JOIN b.bookingClients bc
-			JOIN FETCH b.service s
-			JOIN FETCH s.user u
-			JOIN FETCH s.location l
-			JOIN FETCH l.organization o
+			JOIN b.service s
+			JOIN s.user u
+			JOIN s.location l
+			JOIN l.organization o
 			WHERE bc.client.id = :clientId
 			  AND b.startTime >= :fromDate
 			  AND (CAST(:toDate AS timestamp) IS NULL OR b.startTime < :toDate)
@@ -254,7 +326,7 @@ List<BookingReminder> findBookingsForTomorrow();
 			  AND b.status NOT IN ('CANCELLED')
 			ORDER BY b.startTime ASC
 			""")
-	List<Booking> findUpcomingBookingsByClient(@Param("clientId") Long clientId, 
+	List<ClientUpcomingBookingView> findUpcomingBookingsByClient(@Param("clientId") Long clientId, 
 	                                             @Param("fromDate") LocalDateTime fromDate,
 	                                             @Param("toDate") LocalDateTime toDate,
 	                                             @Param("organizationId") Long organizationId);
@@ -281,10 +353,11 @@ List<BookingReminder> findBookingsForTomorrow();
 	 * @param categoryId the category/type id
 	 * @param start start of date range (inclusive)
 	 * @param end end of date range (exclusive)
-	 * @return the list of bookings
+	 * @return the bookings, only the columns of the slot
 	 */
 	@Query("""
-			SELECT b
+			SELECT b.id AS id, s.id AS serviceId, b.startTime AS startTime, b.endTime AS endTime,
+			       b.status AS status, b.isOverbooking AS isOverbooking
 			FROM Booking b
 			JOIN b.service s
 			WHERE s.user.id = :providerId
@@ -293,7 +366,7 @@ List<BookingReminder> findBookingsForTomorrow();
 			  AND b.startTime < :end
 			ORDER BY b.startTime ASC
 			""")
-	List<Booking> findByProviderAndTypeAndDateRange(
+	List<BookingRangeView> findByProviderAndTypeAndDateRange(
 			@Param("providerId") Long providerId,
 			@Param("categoryId") Long categoryId,
 			@Param("start") LocalDateTime start,
@@ -313,21 +386,47 @@ List<BookingReminder> findBookingsForTomorrow();
 			@Param("serviceId") Long serviceId,
 			@Param("start") LocalDateTime start,
 			@Param("end") LocalDateTime end);
-	
+
 	/**
-	 * Find bookings with RESERVED or RESERVED_AFTER_CANCEL status before given time.
-	 * Used by the nightly job to complete reserved bookings.
-	 * 
-	 * @param endTime the end time to search (inclusive)
-	 * @param statuses the list of statuses to search for
-	 * @return the list of bookings
+	 * Horarios ya materializados del servicio en el rango (turnos regulares).
+	 *
+	 * @param serviceId the service id
+	 * @param start     the start (inclusive)
+	 * @param end       the end (exclusive)
+	 * @return the start times
 	 */
-	@Query("SELECT b FROM Booking b WHERE b.startTime <= :endTime " +
-	       "AND b.status IN :statuses " +
-	       "ORDER BY b.startTime ASC")
-	List<Booking> findByStartTimeBeforeAndStatusIn(
+	@Query("SELECT b.startTime FROM Booking b WHERE b.service.id = :serviceId " +
+	       "AND b.startTime >= :start AND b.startTime < :end AND b.isOverbooking = false")
+	List<LocalDateTime> findStartTimesByServiceIdAndRange(
+			@Param("serviceId") Long serviceId,
+			@Param("start") LocalDateTime start,
+			@Param("end") LocalDateTime end);
+
+	/**
+	 * Moves every booking of a hash bucket of the booking id from one status to
+	 * another up to the given time in a single statement, used by the
+	 * partitioned completion job. Nothing is loaded into the persistence context.
+	 *
+	 * @param fromStatus the current status
+	 * @param toStatus   the new status
+	 * @param endTime    the end time to search (inclusive)
+	 * @param now        the update timestamp
+	 * @param buckets    the bucket count
+	 * @param bucket     the bucket
+	 * @return the number of bookings updated
+	 */
+	@Modifying
+	@Query("UPDATE Booking b SET b.status = :toStatus, b.updatedAt = :now " +
+	       "WHERE b.startTime <= :endTime " +
+	       "AND b.status = :fromStatus " +
+	       "AND MOD(b.id, :buckets) = :bucket")
+	int updateStatusBeforeInBucket(
+			@Param("fromStatus") BookingStatus fromStatus,
+			@Param("toStatus") BookingStatus toStatus,
 			@Param("endTime") LocalDateTime endTime,
-			@Param("statuses") List<BookingStatus> statuses);
+			@Param("now") LocalDateTime now,
+			@Param("buckets") int buckets,
+			@Param("bucket") int bucket);
 			
 	/**
 	 * Find bookings by service IDs and time range overlap.
@@ -348,4 +447,151 @@ List<BookingReminder> findBookingsForTomorrow();
 			@Param("rangeStart") LocalDateTime rangeStart,
 			@Param("rangeEnd") LocalDateTime rangeEnd);
 
+	/**
+	 * Cambia en una sola sentencia el estado de los bookings de los servicios
+	 * dados que se solapan con el rango y están en alguno de los estados origen.
+	 * Lo usa la exclusión entre servicios de un mismo prestador; no carga nada
+	 * en el persistence context.
+	 *
+	 * @param serviceIds   the service IDs to update
+	 * @param rangeStart   the start of the time range
+	 * @param rangeEnd     the end of the time range
+	 * @param fromStatuses the source statuses
+	 * @param toStatus     the new status
+	 * @param now          the update timestamp
+	 * @return the number of bookings updated
+	 */
+	@Modifying(flushAutomatically = true)
+	@Query("UPDATE Booking b SET b.status = :toStatus, b.updatedAt = :now " +
+	       "WHERE b.service.id IN :serviceIds " +
+	       "AND b.startTime < :rangeEnd " +
+	       "AND b.endTime > :rangeStart " +
+	       "AND b.status IN :fromStatuses")
+	int updateStatusOfOverlapping(
+			@Param("serviceIds") List<Long> serviceIds,
+			@Param("rangeStart") LocalDateTime rangeStart,
+			@Param("rangeEnd") LocalDateTime rangeEnd,
+			@Param("fromStatuses") List<BookingStatus> fromStatuses,
+			@Param("toStatus") BookingStatus toStatus,
+			@Param("now") LocalDateTime now);
+
+	/**
+	 * Find the persisted rows of a slot (serviceId, startTime), excluding overbookings.
+	 * Used by the slot engine to resolve a virtual slot to its row.
+	 *
+	 * @param serviceId the service id
+	 * @param startTime the slot start time
+	 * @return the list of rows, oldest first
+	 */
+	@Query("SELECT b FROM Booking b WHERE b.service.id = :serviceId " +
+	       "AND b.startTime = :startTime " +
+	       "AND (b.isOverbooking = false OR b.isOverbooking IS NULL) " +
+	       "ORDER BY b.id ASC")
+	List<Booking> findSlotRows(
+			@Param("serviceId") Long serviceId,
+			@Param("startTime") LocalDateTime startTime);
+
+	/**
+	 * Insert a FREE row for a virtual slot unless another transaction already did.
+	 * Relies on the partial unique index uq_booking_service_slot.
+	 *
+	 * @param serviceId the service id
+	 * @param startTime the slot start time
+	 * @param endTime the slot end time
+	 * @param freeSlots the service capacity
+	 * @param now the creation timestamp
+	 * @return the number of inserted rows (0 or 1)
+	 */
+	@Modifying
+	@Query(value = """
+			INSERT INTO booking (id, start_time, end_time, status, service_id, free_slots, is_overbooking, created_at, updated_at)
+			VALUES (nextval('booking_id_seq'), :startTime, :endTime, 'FREE', :serviceId, :freeSlots, false, :now, :now)
+			ON CONFLICT (service_id, start_time) WHERE is_overbooking = false DO NOTHING
+			""", nativeQuery = true)
+	int insertFreeSlot(
+			@Param("serviceId") Long serviceId,
+			@Param("startTime") LocalDateTime startTime,
+			@Param("endTime") LocalDateTime endTime,
+			@Param("freeSlots") Integer freeSlots,
+			@Param("now") LocalDateTime now);
+
+	/**
+	 * Atomically take one place of a booking. The row is only updated while it
+	 * still has free slots, so concurrent reservations cannot oversell it. The
+	 * status follows the same rules as {@link Booking#addBookingClient}.
+	 *
+	 * @param bookingId the booking id
+	 * @param now the update timestamp
+	 * @return 1 if a place was taken, 0 if the booking was already full
+	 */
+	@Modifying(flushAutomatically = true)
+	@Query(value = """
+			UPDATE booking
+			SET free_slots = free_slots - 1,
+			    status = CASE
+			        WHEN status NOT IN ('FREE', 'FREE_AFTER_CANCEL', 'PARTIALLY_RESERVED') THEN status
+			        WHEN free_slots - 1 > 0 THEN 'PARTIALLY_RESERVED'
+			        WHEN status = 'FREE_AFTER_CANCEL' THEN 'RESERVED_AFTER_CANCEL'
+			        ELSE 'RESERVED'
+			    END,
+			    updated_at = :now
+			WHERE id = :bookingId AND free_slots > 0
+			""", nativeQuery = true)
+	int takeFreeSlot(
+			@Param("bookingId") Long bookingId,
+			@Param("now") LocalDateTime now);
+
+	/**
+	 * Register a client in a booking unless already registered.
+	 * Relies on the unique constraint uk_booking_client.
+	 *
+	 * @param bookingId the booking id
+	 * @param clientId the client id
+	 * @return 1 if the client was registered, 0 if it already was
+	 */
+	@Modifying(flushAutomatically = true)
+	@Query(value = """
+			INSERT INTO booking_client (booking_id, client_id)
+			VALUES (:bookingId, :clientId)
+			ON CONFLICT ON CONSTRAINT uk_booking_client DO NOTHING
+			""", nativeQuery = true)
+	int insertBookingClient(
+			@Param("bookingId") Long bookingId,
+			@Param("clientId") Long clientId);
+
+	/**
+	 * Try to take a transaction-scoped Postgres advisory lock for a slot. The lock
+	 * is released automatically on commit or rollback.
+	 *
+	 * @param serviceKey the service key
+	 * @param slotKey the slot key (start time in epoch minutes)
+	 * @return true if the lock was taken
+	 */
+	@Query(value = "SELECT pg_try_advisory_xact_lock(:serviceKey, :slotKey)", nativeQuery = true)
+	boolean tryAdvisoryXactLock(
+			@Param("serviceKey") int serviceKey,
+			@Param("slotKey") int slotKey);
+
+	/**
+	 * Last booking date of every active service of an id range in a single pass,
+	 * used by the nightly extension job. Services without bookings return a null
+	 * date.
+	 *
+	 * @param fromId the first service id (inclusive)
+	 * @param toId   the last service id (inclusive)
+	 * @return rows of (serviceId, lastDate)
+	 */
+	@Query(value = """
+			SELECT s.id, CAST(MAX(b.start_time) AS date)
+			FROM service s
+			LEFT JOIN booking b ON b.service_id = s.id AND b.is_overbooking = false
+			WHERE s.deleted = false
+			  AND s.id BETWEEN :fromId AND :toId
+			GROUP BY s.id
+			ORDER BY s.id
+			""", nativeQuery = true)
+	List<Object[]> findLastBookingDatePerActiveService(
+			@Param("fromId") Long fromId,
+			@Param("toId") Long toId);
+
 }
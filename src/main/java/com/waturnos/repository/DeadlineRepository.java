@@ -0,0 +1,66 @@
+package com.waturnos.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.waturnos.entity.Deadline;
+import com.waturnos.enums.DeadlineType;
+
+public interface DeadlineRepository extends JpaRepository<Deadline, Long> {
+
+	/**
+	 * Agenda el vencimiento o, si ya existía para la entidad, lo mueve a la
+	 * nueva hora y reinicia los intentos.
+	 *
+	 * @param type  the deadline type
+	 * @param refId the entity id
+	 * @param dueAt the due time
+	 * @return the affected rows
+	 */
+	@Modifying
+	@Query(value = """
+			INSERT INTO deadline (type, ref_id, due_at, attempts)
+			VALUES (:type, :refId, :dueAt, 0)
+			ON CONFLICT (type, ref_id) DO UPDATE SET due_at = EXCLUDED.due_at, attempts = 0
+			""", nativeQuery = true)
+	int upsert(
+			@Param("type") String type,
+			@Param("refId") Long refId,
+			@Param("dueAt") LocalDateTime dueAt);
+
+	/**
+	 * Toma el vencimiento para ejecutarlo: sólo la réplica que borra la fila
+	 * sigue adelante. No borra nada si todavía no venció o si se reprogramó.
+	 *
+	 * @param type  the deadline type
+	 * @param refId the entity id
+	 * @param now   the current time
+	 * @return 1 if this replica claimed it
+	 */
+	@Modifying
+	@Query("DELETE FROM Deadline d WHERE d.type = :type AND d.refId = :refId AND d.dueAt <= :now")
+	int claim(
+			@Param("type") DeadlineType type,
+			@Param("refId") Long refId,
+			@Param("now") LocalDateTime now);
+
+	@Modifying
+	@Query("DELETE FROM Deadline d WHERE d.type = :type AND d.refId = :refId")
+	int deleteByTypeAndRefId(@Param("type") DeadlineType type, @Param("refId") Long refId);
+
+	Optional<Deadline> findByTypeAndRefId(DeadlineType type, Long refId);
+
+	/**
+	 * Vencimientos hasta una hora, para cargarlos en memoria.
+	 *
+	 * @param until the horizon
+	 * @return the deadlines ordered by due time
+	 */
+	List<Deadline> findByDueAtBeforeOrderByDueAt(LocalDateTime until);
+}
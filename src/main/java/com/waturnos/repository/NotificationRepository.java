@@ -0,0 +1,79 @@
+package com.waturnos.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.waturnos.entity.NotificationEntity;
+import com.waturnos.enums.NotificationStatus;
+
+public interface NotificationRepository extends JpaRepository<NotificationEntity, Long> {
+
+	/**
+	 * Lock de las próximas notificaciones a enviar de un canal. Incluye las
+	 * SENDING cuyo plazo venció (la réplica que las tomó murió). SKIP LOCKED
+	 * permite que varias réplicas drenen el outbox sin pisarse.
+	 *
+	 * @param channel the channel
+	 * @param now     the current time
+	 * @param limit   the batch size
+	 * @return the notifications to send
+	 */
+	@Query(value = """
+			SELECT * FROM notification
+			WHERE channel = :channel
+			  AND status IN ('PENDING', 'SENDING')
+			  AND next_attempt_at <= :now
+			ORDER BY next_attempt_at
+			LIMIT :limit
+			FOR UPDATE SKIP LOCKED
+			""", nativeQuery = true)
+	List<NotificationEntity> lockNextBatch(
+			@Param("channel") String channel,
+			@Param("now") LocalDateTime now,
+			@Param("limit") int limit);
+
+	/**
+	 * Marca las notificaciones como tomadas hasta el plazo dado.
+	 *
+	 * @param ids   the ids
+	 * @param until the sending deadline
+	 * @return the updated count
+	 */
+	@Modifying
+	@Query("UPDATE NotificationEntity n SET n.status = com.waturnos.enums.NotificationStatus.SENDING, " +
+	       "n.nextAttemptAt = :until, n.attempts = n.attempts + 1 WHERE n.id IN :ids")
+	int markSending(@Param("ids") Collection<Long> ids, @Param("until") LocalDateTime until);
+
+	@Modifying
+	@Query("UPDATE NotificationEntity n SET n.status = com.waturnos.enums.NotificationStatus.SENT, " +
+	       "n.sentAt = :sentAt, n.lastError = null WHERE n.id IN :ids")
+	int markSent(@Param("ids") Collection<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+
+	@Modifying
+	@Query("UPDATE NotificationEntity n SET n.status = :status, n.nextAttemptAt = :nextAttemptAt, " +
+	       "n.lastError = :error WHERE n.id = :id")
+	int markFailed(@Param("id") Long id, @Param("status") NotificationStatus status,
+			@Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("error") String error);
+
+	/**
+	 * Borra un lote de notificaciones enviadas antes de la fecha dada.
+	 *
+	 * @param before the sent_at limit
+	 * @param limit  the batch size
+	 * @return the deleted count
+	 */
+	@Modifying
+	@Query(value = """
+			DELETE FROM notification WHERE id IN (
+			    SELECT id FROM notification
+			    WHERE status = 'SENT' AND sent_at < :before
+			    LIMIT :limit)
+			""", nativeQuery = true)
+	int deleteSentBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+}
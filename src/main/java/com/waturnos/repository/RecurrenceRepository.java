@@ -1,6 +1,7 @@
 package com.waturnos.repository;
 
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -59,4 +60,10 @@ public interface RecurrenceRepository extends JpaRepository<Recurrence, Long> {
         @Param("serviceId") Long serviceId,
         @Param("dayOfWeek") Integer dayOfWeek
     );
+    
+    /**
+     * Busca las recurrencias activas de un conjunto de servicios (con el cliente cargado)
+     */
+    @Query("SELECT r FROM Recurrence r JOIN FETCH r.client WHERE r.service.id IN :serviceIds AND r.active = true")
+    List<Recurrence> findActiveByServiceIdIn(@Param("serviceIds") Collection<Long> serviceIds);
 }
@@ -0,0 +1,69 @@
+package com.waturnos.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.waturnos.entity.SchedulerLease;
+
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+	/**
+	 * Toma el lease si no existe o si ya venció. Se usa el reloj de la base para
+	 * que todas las réplicas compartan la misma hora.
+	 *
+	 * @param name    the lease name
+	 * @param owner   the owner
+	 * @param seconds the lease duration
+	 * @return 1 if the lease was taken
+	 */
+	@Modifying
+	@Query(value = """
+			INSERT INTO scheduler_lease (name, owner, acquired_at, expires_at)
+			VALUES (:name, :owner, now(), now() + make_interval(secs => :seconds))
+			ON CONFLICT (name) DO UPDATE
+			SET owner = EXCLUDED.owner, acquired_at = EXCLUDED.acquired_at, expires_at = EXCLUDED.expires_at
+			WHERE scheduler_lease.expires_at <= now()
+			""", nativeQuery = true)
+	int tryAcquire(
+			@Param("name") String name,
+			@Param("owner") String owner,
+			@Param("seconds") long seconds);
+
+	/**
+	 * Extiende el lease si sigue siendo del owner.
+	 *
+	 * @param name    the lease name
+	 * @param owner   the owner
+	 * @param seconds the new duration from now
+	 * @return 1 if the lease was renewed
+	 */
+	@Modifying
+	@Query(value = """
+			UPDATE scheduler_lease SET expires_at = now() + make_interval(secs => :seconds)
+			WHERE name = :name AND owner = :owner
+			""", nativeQuery = true)
+	int renew(
+			@Param("name") String name,
+			@Param("owner") String owner,
+			@Param("seconds") long seconds);
+
+	/**
+	 * Libera el lease del owner, conservándolo hasta acquired_at + holdSeconds.
+	 *
+	 * @param name        the lease name
+	 * @param owner       the owner
+	 * @param holdSeconds the minimum hold time
+	 * @return 1 if the lease was released
+	 */
+	@Modifying
+	@Query(value = """
+			UPDATE scheduler_lease SET expires_at = GREATEST(now(), acquired_at + make_interval(secs => :holdSeconds))
+			WHERE name = :name AND owner = :owner
+			""", nativeQuery = true)
+	int release(
+			@Param("name") String name,
+			@Param("owner") String owner,
+			@Param("holdSeconds") long holdSeconds);
+}
@@ -20,7 +20,13 @@ public interface ServiceRepository extends JpaRepository<ServiceEntity, Long> {
 	
 	@Query("SELECT s FROM ServiceEntity s WHERE s.user.id = :userId AND s.deleted = false")
 	List<ServiceEntity> findByUserId(@Param("userId") Long userId);
+
+	@Query("SELECT s.id FROM ServiceEntity s WHERE s.user.id = :userId AND s.deleted = false")
+	List<Long> findIdsByUserId(@Param("userId") Long userId);
 	
+	@Query("SELECT s FROM ServiceEntity s WHERE s.user.id = :userId AND s.type.id = :typeId AND s.deleted = false")
+	List<ServiceEntity> findByUserIdAndTypeId(@Param("userId") Long userId, @Param("typeId") Long typeId);
+
 	@Query("SELECT s FROM ServiceEntity s WHERE s.location.id = :locationId AND s.deleted = false")
 	List<ServiceEntity> findActiveByLocationId(@Param("locationId") Long locationId);
 	
@@ -33,6 +39,12 @@ public interface ServiceRepository extends JpaRepository<ServiceEntity, Long> {
 
 	@Query("SELECT s FROM ServiceEntity s WHERE s.deleted = false")
 	Page<ServiceEntity> findAllActive(Pageable pageable);
+
+	@Query("SELECT s.id FROM ServiceEntity s WHERE s.deleted = false ORDER BY s.id")
+	List<Long> findAllActiveIds();
+
+	@Query("SELECT s FROM ServiceEntity s WHERE s.deleted = false AND s.id BETWEEN :fromId AND :toId ORDER BY s.id")
+	List<ServiceEntity> findActiveByIdBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
 	
 	@Modifying
 	@Query("DELETE FROM ServiceEntity s WHERE s.user.id = :userId")
@@ -0,0 +1,15 @@
+package com.waturnos.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.waturnos.entity.SyncTaskPartition;
+import com.waturnos.enums.ScheduleType;
+
+public interface SyncTaskPartitionRepository extends JpaRepository<SyncTaskPartition, Long> {
+    List<SyncTaskPartition> findByScheduleTypeAndExecutionDate(ScheduleType type, LocalDate date);
+    Optional<SyncTaskPartition> findByScheduleTypeAndExecutionDateAndPartitionKey(ScheduleType type, LocalDate date, String partitionKey);
+}
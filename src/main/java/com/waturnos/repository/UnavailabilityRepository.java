@@ -1,8 +1,12 @@
 package com.waturnos.repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.waturnos.entity.UnavailabilityEntity;
@@ -14,6 +18,23 @@ import com.waturnos.entity.UnavailabilityEntity;
 public interface UnavailabilityRepository extends JpaRepository<UnavailabilityEntity, Long> {
 
 	List<UnavailabilityEntity> findByServiceId(Long serviceId);
-	
+
 	List<UnavailabilityEntity> findByServiceIsNull();
+
+	/**
+	 * Find the unavailabilities of the given services that may overlap the range.
+	 *
+	 * @param serviceIds the service ids
+	 * @param from       the from date (inclusive)
+	 * @param to         the to date (inclusive)
+	 * @return the list
+	 */
+	@Query("""
+			SELECT u FROM UnavailabilityEntity u
+			WHERE u.service.id IN :serviceIds
+			  AND (u.startDay IS NULL OR u.startDay <= :to)
+			  AND (u.endDay IS NULL OR u.endDay >= :from)
+			""")
+	List<UnavailabilityEntity> findByServiceIdInAndRange(@Param("serviceIds") Collection<Long> serviceIds,
+			@Param("from") LocalDate from, @Param("to") LocalDate to);
 }
@@ -4,6 +4,8 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.waturnos.entity.User;
 import com.waturnos.enums.UserRole;
@@ -34,4 +36,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
 	 * @return the list
 	 */
 	List<User> findByOrganizationIdAndRoleOrderByFullNameAsc(Long organizationId, UserRole userRole);
+
+	/**
+	 * Flag de servicios exclusivos del usuario, sin cargar la entidad.
+	 *
+	 * @param id the user id
+	 * @return the flag, empty if the user does not exist
+	 */
+	@Query("SELECT u.exclusiveServices FROM User u WHERE u.id = :id")
+	Optional<Boolean> findExclusiveServicesById(@Param("id") Long id);
 }
@@ -1,10 +1,10 @@
 package com.waturnos.repository;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -12,6 +12,7 @@ import org.springframework.data.repository.query.Param;
 
 import com.waturnos.entity.WaitlistEntry;
 import com.waturnos.enums.WaitlistStatus;
+import com.waturnos.repository.projection.WaitlistPositionView;
 
 public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
     
@@ -56,39 +57,52 @@ public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Lo
     );
     
     /**
-     * Cuenta las entradas en espera para un servicio (para calcular posición)
+     * Posición de las entradas indicadas en la cola de su servicio: orden de
+     * llegada (created_at, id) entre las WAITING, sobre idx_waitlist_service.
+     * Las entradas que no están WAITING no se devuelven.
      */
-    Integer countByServiceIdAndStatus(
-        Long serviceId,
-        WaitlistStatus status
-    );
-    
-    /**
-     * Busca entradas ordenadas por fecha de creación (para recalcular posiciones)
-     */
-    List<WaitlistEntry> findByServiceIdAndStatusOrderByCreatedAtAsc(
-        Long serviceId,
-        WaitlistStatus status
+    @Query(value = """
+        SELECT ranked.id AS id, ranked.position AS position
+        FROM (
+          SELECT w.id,
+                 ROW_NUMBER() OVER (PARTITION BY w.service_id ORDER BY w.created_at, w.id) AS position
+          FROM waitlist_entries w
+          WHERE w.service_id IN (:serviceIds)
+            AND w.status = 'WAITING'
+        ) ranked
+        WHERE ranked.id IN (:ids)
+        """, nativeQuery = true)
+    List<WaitlistPositionView> findWaitingPositions(
+        @Param("serviceIds") Set<Long> serviceIds,
+        @Param("ids") List<Long> ids
     );
     
     /**
      * Busca candidatos para notificar cuando se libera un turno
-     * Prioridad: SPECIFIC primero, luego TIME_WINDOW, ordenados por position
+     * Prioridad: SPECIFIC primero, luego TIME_WINDOW, por orden de llegada.
+     * Los SPECIFIC se buscan por idx_waitlist_booking y los TIME_WINDOW por el
+     * índice GiST sobre (service_id, time_window), sin recorrer la cola del servicio.
      */
     @Query(value = """
-        SELECT w.* FROM waitlist_entries w
-        WHERE w.service_id = :serviceId
-          AND w.status = 'WAITING'
-          AND w.date = :date
-          AND w.time_from <= :time
-          AND w.time_to >= :time
-          AND (
-            (w.type = 'SPECIFIC' AND w.specific_booking_id = :bookingId)
-            OR w.type = 'TIME_WINDOW'
-          )
-        ORDER BY 
-          CASE WHEN w.type = 'SPECIFIC' THEN 0 ELSE 1 END,
-          w.position ASC
+        SELECT c.* FROM (
+          (SELECT w.*, 0 AS priority FROM waitlist_entries w
+           WHERE w.specific_booking_id = :bookingId
+             AND w.type = 'SPECIFIC'
+             AND w.status = 'WAITING'
+             AND w.service_id = :serviceId
+             AND w.time_window @> (CAST(:date AS date) + CAST(:time AS time))
+           ORDER BY w.created_at, w.id
+           LIMIT 1)
+          UNION ALL
+          (SELECT w.*, 1 AS priority FROM waitlist_entries w
+           WHERE w.service_id = :serviceId
+             AND w.type = 'TIME_WINDOW'
+             AND w.status = 'WAITING'
+             AND w.time_window @> (CAST(:date AS date) + CAST(:time AS time))
+           ORDER BY w.created_at, w.id
+           LIMIT 1)
+        ) c
+        ORDER BY c.priority
         LIMIT 1
         """, nativeQuery = true)
     List<WaitlistEntry> findCandidatesForBooking(
@@ -99,12 +113,46 @@ public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Lo
     );
     
     /**
-     * Busca notificaciones vencidas (para el cron job)
+     * Como findCandidatesForBooking, pero hasta limit candidatos en orden de
+     * prioridad, para avisar a varios a la vez.
      */
-    @Query("SELECT w FROM WaitlistEntry w " +
-           "WHERE w.status = 'NOTIFIED' " +
-           "AND w.expiresAt < :now")
-    List<WaitlistEntry> findExpiredNotifications(@Param("now") LocalDateTime now);
+    @Query(value = """
+        SELECT c.* FROM (
+          (SELECT w.*, 0 AS priority FROM waitlist_entries w
+           WHERE w.specific_booking_id = :bookingId
+             AND w.type = 'SPECIFIC'
+             AND w.status = 'WAITING'
+             AND w.service_id = :serviceId
+             AND w.time_window @> (CAST(:date AS date) + CAST(:time AS time))
+           ORDER BY w.created_at, w.id
+           LIMIT :limit)
+          UNION ALL
+          (SELECT w.*, 1 AS priority FROM waitlist_entries w
+           WHERE w.service_id = :serviceId
+             AND w.type = 'TIME_WINDOW'
+             AND w.status = 'WAITING'
+             AND w.time_window @> (CAST(:date AS date) + CAST(:time AS time))
+           ORDER BY w.created_at, w.id
+           LIMIT :limit)
+        ) c
+        ORDER BY c.priority, c.created_at, c.id
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<WaitlistEntry> findTopCandidatesForBooking(
+        @Param("serviceId") Long serviceId,
+        @Param("date") LocalDate date,
+        @Param("time") LocalTime time,
+        @Param("bookingId") Long bookingId,
+        @Param("limit") int limit
+    );
+    
+    /**
+     * Entradas a las que se les ofreció un turno, con cierto estado
+     */
+    List<WaitlistEntry> findByNotifiedBookingIdAndStatus(
+        Long bookingId,
+        WaitlistStatus status
+    );
     
     /**
      * Busca una entrada de un cliente para un servicio y fecha con cierto estado
@@ -0,0 +1,24 @@
+package com.waturnos.repository.projection;
+
+import java.time.LocalDateTime;
+
+import com.waturnos.enums.BookingStatus;
+
+/**
+ * Columnas de un turno necesarias para el calendario del prestador. Se lee sin
+ * cargar la entidad Booking ni su servicio.
+ */
+public interface BookingRangeView {
+
+	Long getId();
+
+	Long getServiceId();
+
+	LocalDateTime getStartTime();
+
+	LocalDateTime getEndTime();
+
+	BookingStatus getStatus();
+
+	Boolean getIsOverbooking();
+}
@@ -0,0 +1,30 @@
+package com.waturnos.repository.projection;
+
+import java.time.LocalDateTime;
+
+import com.waturnos.enums.BookingStatus;
+
+/**
+ * Turno próximo de un cliente con los datos de servicio, prestador y
+ * organización, leídos en la misma consulta.
+ */
+public interface ClientUpcomingBookingView {
+
+	Long getBookingId();
+
+	LocalDateTime getStartTime();
+
+	LocalDateTime getEndTime();
+
+	BookingStatus getStatus();
+
+	String getNotes();
+
+	String getServiceName();
+
+	Integer getServiceDurationMinutes();
+
+	String getProviderName();
+
+	String getOrganizationName();
+}
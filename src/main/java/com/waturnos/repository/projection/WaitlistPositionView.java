@@ -0,0 +1,11 @@
+package com.waturnos.repository.projection;
+
+/**
+ * Posición de una entrada WAITING en la cola de su servicio.
+ */
+public interface WaitlistPositionView {
+
+	Long getId();
+
+	Long getPosition();
+}
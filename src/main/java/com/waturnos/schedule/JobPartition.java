@@ -0,0 +1,57 @@
+package com.waturnos.schedule;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Partición de un job nocturno. Puede ser un rango de ids (inclusive) o un
+ * bucket de hash (id % buckets = bucket). La key identifica la partición en
+ * sync_task_partition, por lo que debe ser estable entre reintentos del día.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class JobPartition {
+
+	/** The partition key. */
+	private final String key;
+
+	/** Primer id del rango (particiones por rango). */
+	private final Long fromId;
+
+	/** Último id del rango (particiones por rango). */
+	private final Long toId;
+
+	/** Bucket de la partición (particiones por hash). */
+	private final int bucket;
+
+	/** Cantidad de buckets (particiones por hash). */
+	private final int buckets;
+
+	/**
+	 * Partición por rango de ids.
+	 *
+	 * @param fromId the first id
+	 * @param toId   the last id
+	 * @return the partition
+	 */
+	public static JobPartition ofRange(Long fromId, Long toId) {
+		return new JobPartition("ids:" + fromId + "-" + toId, fromId, toId, 0, 1);
+	}
+
+	/**
+	 * Partición por bucket de hash del id.
+	 *
+	 * @param bucket  the bucket
+	 * @param buckets the bucket count
+	 * @return the partition
+	 */
+	public static JobPartition ofBucket(int bucket, int buckets) {
+		return new JobPartition("bucket:" + bucket + "/" + buckets, null, null, bucket, buckets);
+	}
+
+	@Override
+	public String toString() {
+		return key;
+	}
+}
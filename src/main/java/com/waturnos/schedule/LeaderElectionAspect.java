@@ -0,0 +1,51 @@
+package com.waturnos.schedule;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.waturnos.schedule.annotations.LeaderOnly;
+import com.waturnos.service.SchedulerLeaseService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Elección de líder para los métodos anotados con {@link LeaderOnly}. Corre
+ * antes que la transacción del método, por lo que una réplica sin el lease no
+ * abre transacción ni ejecuta consultas del job.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class LeaderElectionAspect {
+
+    /** The scheduler lease service. */
+    private final SchedulerLeaseService schedulerLeaseService;
+
+    /**
+     * Around leader only.
+     *
+     * @param pjp the pjp
+     * @param leaderOnly the leader only annotation
+     * @return the object
+     * @throws Throwable the throwable
+     */
+    @Around("@annotation(leaderOnly)")
+    public Object aroundLeaderOnly(ProceedingJoinPoint pjp, LeaderOnly leaderOnly) throws Throwable {
+        if (!schedulerLeaseService.tryAcquire(leaderOnly.value(), leaderOnly.leaseSeconds())) {
+            log.debug("Job {} en ejecución en otra réplica, se omite", leaderOnly.value());
+            return null;
+        }
+        try {
+            return pjp.proceed();
+        } finally {
+            schedulerLeaseService.release(leaderOnly.value(), leaderOnly.holdSeconds());
+        }
+    }
+}
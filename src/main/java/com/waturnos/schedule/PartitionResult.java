@@ -0,0 +1,19 @@
+package com.waturnos.schedule;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Resultado del procesamiento de una partición. Los errores de items
+ * individuales se cuentan aquí; una excepción marca la partición como fallida.
+ */
+@Getter
+@AllArgsConstructor
+public class PartitionResult {
+
+	/** Items procesados correctamente. */
+	private final long successCount;
+
+	/** Items con error. */
+	private final long errorCount;
+}
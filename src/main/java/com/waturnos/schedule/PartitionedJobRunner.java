@@ -0,0 +1,25 @@
+package com.waturnos.schedule;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Function;
+
+import com.waturnos.enums.ScheduleType;
+
+public interface PartitionedJobRunner {
+
+	/**
+	 * Ejecuta las particiones de un job en el pool de jobs. Las particiones ya
+	 * completadas ese día se omiten, por lo que volver a ejecutar un job fallido
+	 * sólo reprocesa las particiones que fallaron. El estado de cada partición y
+	 * el resumen del job se registran en sync_task_partition y sync_task.
+	 *
+	 * @param type       the schedule type
+	 * @param date       the execution date
+	 * @param partitions the partitions
+	 * @param work       the work for a single partition
+	 * @return true if every partition finished successfully
+	 */
+	boolean run(ScheduleType type, LocalDate date, List<JobPartition> partitions,
+			Function<JobPartition, PartitionResult> work);
+}
@@ -0,0 +1,26 @@
+package com.waturnos.schedule.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Ejecuta el método sólo en la réplica que obtiene el lease del job. Las demás
+ * réplicas lo omiten sin ejecutar nada. El método debe ser void.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface LeaderOnly {
+
+    /** Nombre del lease (uno por job). */
+    String value();
+
+    /** Duración del lease; si el líder muere, otra réplica lo toma al vencer. */
+    long leaseSeconds() default 3600;
+
+    /** Tiempo mínimo que se conserva el lease desde que se tomó, aunque el job termine antes. */
+    long holdSeconds() default 0;
+}
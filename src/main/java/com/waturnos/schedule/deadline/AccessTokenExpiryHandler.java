@@ -0,0 +1,29 @@
+package com.waturnos.schedule.deadline;
+
+import org.springframework.stereotype.Component;
+
+import com.waturnos.enums.DeadlineType;
+import com.waturnos.repository.AccessTokenRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Borra el código de acceso al vencer.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccessTokenExpiryHandler implements DeadlineHandler {
+
+	/** The access token repository. */
+	private final AccessTokenRepository accessTokenRepository;
+
+	@Override
+	public DeadlineType type() {
+		return DeadlineType.ACCESS_TOKEN;
+	}
+
+	@Override
+	public void onDeadline(Long refId) {
+		accessTokenRepository.deleteById(refId);
+	}
+}
@@ -0,0 +1,25 @@
+package com.waturnos.schedule.deadline;
+
+import com.waturnos.enums.DeadlineType;
+
+/**
+ * Acción de un tipo de vencimiento. Corre dentro de la transacción que tomó el
+ * vencimiento: si falla, la fila vuelve y se reintenta. Debe tolerar que la
+ * entidad ya no exista o ya no esté pendiente.
+ */
+public interface DeadlineHandler {
+
+	/**
+	 * Tipo que atiende.
+	 *
+	 * @return the deadline type
+	 */
+	DeadlineType type();
+
+	/**
+	 * Ejecuta el vencimiento.
+	 *
+	 * @param refId the entity id
+	 */
+	void onDeadline(Long refId);
+}
@@ -0,0 +1,242 @@
+package com.waturnos.schedule.deadline;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.waturnos.entity.Deadline;
+import com.waturnos.enums.DeadlineType;
+import com.waturnos.repository.DeadlineRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Ejecuta cada vencimiento de la tabla deadline a su hora, con una demora menor
+ * a un tick, en lugar de barrer las tablas periódicamente.
+ * <p>
+ * Cada réplica tiene un {@link TimingWheel} en memoria con los vencimientos
+ * que agendó ella misma y con los que vencen dentro del horizonte, que carga
+ * al iniciar y vuelve a leer cada refill-ms (así retoma los de una réplica
+ * caída). Varias réplicas pueden tener el mismo vencimiento: lo ejecuta la que
+ * logra borrar la fila, en la misma transacción que el {@link DeadlineHandler}.
+ * Si el handler falla, la fila se reprograma con backoff hasta max-attempts.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DeadlineScheduler {
+
+	/** The deadline repository. */
+	private final DeadlineRepository deadlineRepository;
+
+	/** The transaction manager. */
+	private final PlatformTransactionManager transactionManager;
+
+	/** Se resuelven al iniciar: los handlers dependen de servicios que agendan vencimientos. */
+	private final ObjectProvider<DeadlineHandler> handlerProvider;
+
+	/** Resolución de la rueda. */
+	@Value("${app.deadlines.tick-ms:1000}")
+	private long tickMs;
+
+	/** Casilleros por nivel de la rueda. */
+	@Value("${app.deadlines.wheel-size:64}")
+	private int wheelSize;
+
+	/** Vencimientos que se cargan desde la base al iniciar y en cada refill. */
+	@Value("${app.deadlines.horizon-minutes:30}")
+	private long horizonMinutes;
+
+	/** Hilos que ejecutan los handlers. */
+	@Value("${app.deadlines.workers:2}")
+	private int workers;
+
+	/** Intentos antes de descartar un vencimiento que falla. */
+	@Value("${app.deadlines.max-attempts:5}")
+	private int maxAttempts;
+
+	/** Espera del primer reintento; se duplica en cada intento. */
+	@Value("${app.deadlines.retry-base-seconds:30}")
+	private long retryBaseSeconds;
+
+	private final Map<DeadlineType, DeadlineHandler> handlers = new EnumMap<>(DeadlineType.class);
+
+	/** Hora (epoch ms) vigente de cada vencimiento cargado en la rueda. */
+	private final Map<DeadlineKey, Long> pending = new ConcurrentHashMap<>();
+
+	private TimingWheel<DeadlineKey> wheel;
+	private ScheduledExecutorService ticker;
+	private ExecutorService executor;
+	private TransactionTemplate transactionTemplate;
+
+	private record DeadlineKey(DeadlineType type, Long refId) {
+	}
+
+	@PostConstruct
+	void init() {
+		wheel = new TimingWheel<>(tickMs, wheelSize, System.currentTimeMillis());
+		transactionTemplate = new TransactionTemplate(transactionManager);
+		ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "deadline-ticker");
+			thread.setDaemon(true);
+			return thread;
+		});
+		AtomicInteger counter = new AtomicInteger();
+		executor = Executors.newFixedThreadPool(Math.max(1, workers), runnable -> {
+			Thread thread = new Thread(runnable, "deadline-" + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+	}
+
+	@PreDestroy
+	void shutdown() throws InterruptedException {
+		ticker.shutdownNow();
+		executor.shutdown();
+		executor.awaitTermination(30, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Registra los handlers y carga los vencimientos persistidos.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void rehydrate() {
+		handlerProvider.orderedStream().forEach(handler -> handlers.put(handler.type(), handler));
+		int loaded = loadHorizon();
+		log.info("Scheduler de vencimientos: {} cargados, tick {} ms, handlers {}", loaded, tickMs,
+				handlers.keySet());
+	}
+
+	/**
+	 * Carga los vencimientos del horizonte que esta réplica no tiene en memoria.
+	 */
+	@Scheduled(fixedDelayString = "${app.deadlines.refill-ms:300000}",
+			initialDelayString = "${app.deadlines.refill-ms:300000}")
+	public void refill() {
+		log.debug("Scheduler de vencimientos: {} leídos de la base", loadHorizon());
+	}
+
+	private int loadHorizon() {
+		List<Deadline> deadlines = deadlineRepository
+				.findByDueAtBeforeOrderByDueAt(LocalDateTime.now().plusMinutes(horizonMinutes));
+		deadlines.forEach(deadline -> register(deadline.getType(), deadline.getRefId(), deadline.getDueAt()));
+		return deadlines.size();
+	}
+
+	/**
+	 * Agenda en memoria un vencimiento ya persistido. Si ya venció se ejecuta
+	 * enseguida.
+	 *
+	 * @param type  the deadline type
+	 * @param refId the entity id
+	 * @param dueAt the due time
+	 */
+	public void register(DeadlineType type, Long refId, LocalDateTime dueAt) {
+		DeadlineKey key = new DeadlineKey(type, refId);
+		long dueMs = dueAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+		Long previous = pending.put(key, dueMs);
+		if (previous != null && previous == dueMs) {
+			return;
+		}
+		boolean added;
+		synchronized (wheel) {
+			added = wheel.add(dueMs, key);
+		}
+		if (!added) {
+			executor.execute(() -> fire(key));
+		}
+	}
+
+	/**
+	 * Olvida un vencimiento cancelado. Lo que quede en la rueda se descarta al
+	 * vencer.
+	 *
+	 * @param type  the deadline type
+	 * @param refId the entity id
+	 */
+	public void forget(DeadlineType type, Long refId) {
+		pending.remove(new DeadlineKey(type, refId));
+	}
+
+	private void tick() {
+		List<DeadlineKey> due = new ArrayList<>();
+		try {
+			synchronized (wheel) {
+				wheel.advance(System.currentTimeMillis(), due);
+			}
+			due.forEach(key -> executor.execute(() -> fire(key)));
+		} catch (RuntimeException e) {
+			log.error("Error en el tick del scheduler de vencimientos: {}", e.getMessage(), e);
+		}
+	}
+
+	private void fire(DeadlineKey key) {
+		Long dueMs = pending.get(key);
+		// Cancelado, ya ejecutado o reprogramado para más adelante
+		if (dueMs == null || dueMs > System.currentTimeMillis() || !pending.remove(key, dueMs)) {
+			return;
+		}
+		DeadlineHandler handler = handlers.get(key.type());
+		if (handler == null) {
+			log.warn("Sin handler para el vencimiento {} {}, se reintenta en el próximo refill", key.type(),
+					key.refId());
+			return;
+		}
+		try {
+			Boolean claimed = transactionTemplate.execute(status -> {
+				if (deadlineRepository.claim(key.type(), key.refId(), LocalDateTime.now()) == 0) {
+					return false;
+				}
+				handler.onDeadline(key.refId());
+				return true;
+			});
+			if (Boolean.TRUE.equals(claimed)) {
+				log.debug("Vencimiento {} {} ejecutado", key.type(), key.refId());
+			}
+		} catch (RuntimeException e) {
+			log.error("Error al ejecutar el vencimiento {} {}: {}", key.type(), key.refId(), e.getMessage(), e);
+			retry(key);
+		}
+	}
+
+	private void retry(DeadlineKey key) {
+		LocalDateTime next = transactionTemplate.execute(status -> deadlineRepository
+				.findByTypeAndRefId(key.type(), key.refId()).map(deadline -> {
+					int attempts = deadline.getAttempts() + 1;
+					if (attempts >= maxAttempts) {
+						log.error("Vencimiento {} {} descartado tras {} intentos", key.type(), key.refId(), attempts);
+						deadlineRepository.delete(deadline);
+						return null;
+					}
+					deadline.setAttempts(attempts);
+					deadline.setDueAt(LocalDateTime.now().plusSeconds(retryBaseSeconds << (attempts - 1)));
+					deadlineRepository.save(deadline);
+					return deadline.getDueAt();
+				}).orElse(null));
+		if (next != null) {
+			register(key.type(), key.refId(), next);
+		}
+	}
+}
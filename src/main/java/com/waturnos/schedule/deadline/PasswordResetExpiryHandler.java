@@ -0,0 +1,29 @@
+package com.waturnos.schedule.deadline;
+
+import org.springframework.stereotype.Component;
+
+import com.waturnos.enums.DeadlineType;
+import com.waturnos.repository.PasswordResetTokenRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Borra el token de cambio de contraseña al vencer.
+ */
+@Component
+@RequiredArgsConstructor
+public class PasswordResetExpiryHandler implements DeadlineHandler {
+
+	/** The password reset token repository. */
+	private final PasswordResetTokenRepository passwordResetTokenRepository;
+
+	@Override
+	public DeadlineType type() {
+		return DeadlineType.PASSWORD_RESET;
+	}
+
+	@Override
+	public void onDeadline(Long refId) {
+		passwordResetTokenRepository.deleteById(refId);
+	}
+}
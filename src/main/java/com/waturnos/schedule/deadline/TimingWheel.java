@@ -0,0 +1,119 @@
+package com.waturnos.schedule.deadline;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+/**
+ * Timing wheel jerárquico. Cada nivel tiene wheelSize casilleros de tickMs; lo
+ * que vence más allá del intervalo de un nivel va al siguiente, con casilleros
+ * wheelSize veces más anchos, y baja de nivel a medida que avanza el reloj.
+ * Agregar y vencer cuesta O(1) por nivel sin importar cuántos elementos haya.
+ * <p>
+ * Un elemento vence en el primer tick igual o posterior a su hora, nunca
+ * antes. No es thread-safe: lo sincroniza quien lo usa.
+ *
+ * @param <T> the element type
+ */
+final class TimingWheel<T> {
+
+	private final long tickMs;
+	private final int wheelSize;
+	private final long interval;
+	private final ArrayDeque<Timer<T>>[] buckets;
+	private long currentTime;
+	private TimingWheel<T> overflow;
+
+	/** slotMs: hora de vencimiento redondeada hacia arriba al tick del primer nivel. */
+	private record Timer<T>(long slotMs, T element) {
+	}
+
+	/**
+	 * @param tickMs    the tick of this level
+	 * @param wheelSize the buckets per level
+	 * @param startMs   the initial clock in epoch millis
+	 */
+	@SuppressWarnings("unchecked")
+	TimingWheel(long tickMs, int wheelSize, long startMs) {
+		this.tickMs = tickMs;
+		this.wheelSize = wheelSize;
+		this.interval = tickMs * wheelSize;
+		this.currentTime = startMs - startMs % tickMs;
+		this.buckets = new ArrayDeque[wheelSize];
+		for (int i = 0; i < wheelSize; i++) {
+			buckets[i] = new ArrayDeque<>();
+		}
+	}
+
+	/**
+	 * Agrega un elemento.
+	 *
+	 * @param expirationMs the due time in epoch millis
+	 * @param element      the element
+	 * @return false si ya venció: no se agrega y lo ejecuta quien llama
+	 */
+	boolean add(long expirationMs, T element) {
+		long slotMs = (expirationMs + tickMs - 1) / tickMs * tickMs;
+		if (slotMs <= currentTime) {
+			return false;
+		}
+		insert(new Timer<>(slotMs, element));
+		return true;
+	}
+
+	/**
+	 * Avanza el reloj tick por tick hasta nowMs.
+	 *
+	 * @param nowMs the current time in epoch millis
+	 * @param due   recibe los elementos vencidos
+	 */
+	void advance(long nowMs, List<T> due) {
+		while (nowMs >= currentTime + tickMs) {
+			currentTime += tickMs;
+			if (overflow != null) {
+				overflow.cascade(currentTime, this, due);
+			}
+			drain(bucket(currentTime), this, due);
+		}
+	}
+
+	private void insert(Timer<T> timer) {
+		if (timer.slotMs() < currentTime + interval) {
+			bucket(timer.slotMs()).add(timer);
+			return;
+		}
+		if (overflow == null) {
+			overflow = new TimingWheel<>(interval, wheelSize, currentTime);
+		}
+		overflow.insert(timer);
+	}
+
+	/**
+	 * En los niveles superiores: al llegar el reloj al inicio de un casillero,
+	 * sus elementos se reparten en el primer nivel.
+	 */
+	private void cascade(long timeMs, TimingWheel<T> root, List<T> due) {
+		if (timeMs < currentTime + tickMs) {
+			return;
+		}
+		currentTime = timeMs - timeMs % tickMs;
+		if (overflow != null) {
+			overflow.cascade(timeMs, root, due);
+		}
+		drain(bucket(currentTime), root, due);
+	}
+
+	private static <T> void drain(ArrayDeque<Timer<T>> bucket, TimingWheel<T> root, List<T> due) {
+		Timer<T> timer;
+		while ((timer = bucket.poll()) != null) {
+			if (timer.slotMs() <= root.currentTime) {
+				due.add(timer.element());
+			} else {
+				root.insert(timer);
+			}
+		}
+	}
+
+	private ArrayDeque<Timer<T>> bucket(long timeMs) {
+		return buckets[(int) ((timeMs / tickMs) % wheelSize)];
+	}
+}
@@ -0,0 +1,30 @@
+package com.waturnos.schedule.deadline;
+
+import org.springframework.stereotype.Component;
+
+import com.waturnos.enums.DeadlineType;
+import com.waturnos.service.WaitlistService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Vence el plazo de un cliente notificado de la waitlist y avisa al siguiente
+ * en la cola en el mismo momento.
+ */
+@Component
+@RequiredArgsConstructor
+public class WaitlistExpiryHandler implements DeadlineHandler {
+
+	/** The waitlist service. */
+	private final WaitlistService waitlistService;
+
+	@Override
+	public DeadlineType type() {
+		return DeadlineType.WAITLIST_EXPIRY;
+	}
+
+	@Override
+	public void onDeadline(Long refId) {
+		waitlistService.expireNotification(refId);
+	}
+}
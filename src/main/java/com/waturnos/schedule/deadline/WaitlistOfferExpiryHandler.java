@@ -0,0 +1,30 @@
+package com.waturnos.schedule.deadline;
+
+import org.springframework.stereotype.Component;
+
+import com.waturnos.enums.DeadlineType;
+import com.waturnos.service.WaitlistService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Vence la oferta de un turno avisado a varios clientes de la waitlist sin que
+ * ninguno reservara, y lo ofrece a los siguientes.
+ */
+@Component
+@RequiredArgsConstructor
+public class WaitlistOfferExpiryHandler implements DeadlineHandler {
+
+	/** The waitlist service. */
+	private final WaitlistService waitlistService;
+
+	@Override
+	public DeadlineType type() {
+		return DeadlineType.WAITLIST_OFFER_EXPIRY;
+	}
+
+	@Override
+	public void onDeadline(Long refId) {
+		waitlistService.expireOffer(refId);
+	}
+}
@@ -0,0 +1,170 @@
+package com.waturnos.schedule.impl;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import com.waturnos.entity.SyncTaskPartition;
+import com.waturnos.enums.ExecutionStatus;
+import com.waturnos.enums.ScheduleType;
+import com.waturnos.schedule.JobPartition;
+import com.waturnos.schedule.PartitionResult;
+import com.waturnos.schedule.PartitionedJobRunner;
+import com.waturnos.service.SchedulerLeaseService;
+import com.waturnos.service.SyncTaskService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Ejecuta los jobs nocturnos por particiones sobre el pool "jobExecutor". Cada
+ * partición se reintenta hasta max-attempts y su resultado queda registrado en
+ * sync_task_partition; el resumen del job en sync_task es SUCCESS sólo si
+ * todas las particiones terminaron bien.
+ */
+@Service
+@Slf4j
+public class PartitionedJobRunnerImpl implements PartitionedJobRunner {
+
+	private static final String SUMMARY_FORMAT = "{\"partitions\":%d,\"failedPartitions\":%d,\"successCount\":%d,\"errorCount\":%d,\"elapsedMs\":%d}";
+
+	/** The sync task service. */
+	private final SyncTaskService syncTaskService;
+
+	/** The job executor. */
+	private final ThreadPoolTaskExecutor jobExecutor;
+
+	/** The scheduler lease service. */
+	private final SchedulerLeaseService schedulerLeaseService;
+
+	/** Intentos por partición antes de marcarla como fallida. */
+	@Value("${app.scheduling.jobs.max-attempts:3}")
+	private int maxAttempts;
+
+	/** Duración de los leases de partición y de la renovación del lease del job. */
+	@Value("${app.scheduling.jobs.lease-seconds:3600}")
+	private long leaseSeconds;
+
+	public PartitionedJobRunnerImpl(SyncTaskService syncTaskService,
+			@Qualifier("jobExecutor") ThreadPoolTaskExecutor jobExecutor,
+			SchedulerLeaseService schedulerLeaseService) {
+		this.syncTaskService = syncTaskService;
+		this.jobExecutor = jobExecutor;
+		this.schedulerLeaseService = schedulerLeaseService;
+	}
+
+	@Override
+	public boolean run(ScheduleType type, LocalDate date, List<JobPartition> partitions,
+			Function<JobPartition, PartitionResult> work) {
+		long start = System.currentTimeMillis();
+		Map<String, SyncTaskPartition> previous = new HashMap<>();
+		for (SyncTaskPartition partition : syncTaskService.findPartitions(type, date)) {
+			previous.put(partition.getPartitionKey(), partition);
+		}
+
+		List<JobPartition> pending = partitions.stream()
+				.filter(p -> !isCompleted(previous.get(p.getKey())))
+				.toList();
+		if (pending.size() < partitions.size()) {
+			log.info("{}: {} de {} particiones ya completadas hoy, se procesan las restantes", type,
+					partitions.size() - pending.size(), partitions.size());
+		}
+		syncTaskService.recordExecution(type, date, ExecutionStatus.IN_PROGRESS,
+				String.format(SUMMARY_FORMAT, partitions.size(), pending.size(), 0, 0, 0));
+
+		List<CompletableFuture<Boolean>> futures = new ArrayList<>(pending.size());
+		for (JobPartition partition : pending) {
+			futures.add(CompletableFuture.supplyAsync(() -> runPartition(type, date, partition, work), jobExecutor));
+		}
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+		// Totales del día, incluyendo las particiones completadas en ejecuciones anteriores.
+		// Una partición omitida (tomada por otra réplica) queda pendiente para el próximo intento.
+		Map<String, SyncTaskPartition> recorded = new HashMap<>();
+		for (SyncTaskPartition partition : syncTaskService.findPartitions(type, date)) {
+			recorded.put(partition.getPartitionKey(), partition);
+		}
+		long success = 0;
+		long error = 0;
+		int failed = 0;
+		for (JobPartition partition : partitions) {
+			SyncTaskPartition row = recorded.get(partition.getKey());
+			if (row != null) {
+				success += row.getSuccessCount();
+				error += row.getErrorCount();
+			}
+			if (!isCompleted(row)) {
+				failed++;
+			}
+		}
+		long elapsed = System.currentTimeMillis() - start;
+		String details = String.format(SUMMARY_FORMAT, partitions.size(), failed, success, error, elapsed);
+		ExecutionStatus status = failed == 0 ? ExecutionStatus.SUCCESS : ExecutionStatus.FAIL;
+		syncTaskService.recordExecution(type, date, status, details);
+		log.info("{} finalizado con estado {} en {} ms con {} hilos: {}", type, status, elapsed,
+				jobExecutor.getMaxPoolSize(), details);
+		return failed == 0;
+	}
+
+	/**
+	 * Procesa una partición bajo su propio lease, de modo que nunca la procesen
+	 * dos réplicas a la vez, y renueva el lease del job mientras avanza.
+	 */
+	private boolean runPartition(ScheduleType type, LocalDate date, JobPartition partition,
+			Function<JobPartition, PartitionResult> work) {
+		String lease = type.name() + ":" + date + ":" + partition.getKey();
+		if (!schedulerLeaseService.tryAcquire(lease, leaseSeconds)) {
+			log.info("{} partición {} en proceso en otra réplica, se omite", type, partition);
+			return false;
+		}
+		try {
+			return runPartitionWithRetries(type, date, partition, work);
+		} finally {
+			schedulerLeaseService.release(lease, 0);
+			schedulerLeaseService.renew(type.name(), leaseSeconds);
+		}
+	}
+
+	/**
+	 * Procesa una partición con reintentos y registra su resultado. Nunca lanza
+	 * excepción para no cortar el resto de las particiones.
+	 */
+	private boolean runPartitionWithRetries(ScheduleType type, LocalDate date, JobPartition partition,
+			Function<JobPartition, PartitionResult> work) {
+		Exception lastError = null;
+		for (int attempt = 1; attempt <= Math.max(1, maxAttempts); attempt++) {
+			try {
+				PartitionResult result = work.apply(partition);
+				syncTaskService.recordPartition(type, date, partition.getKey(), ExecutionStatus.SUCCESS,
+						result.getSuccessCount(), result.getErrorCount(), attempt, null);
+				log.debug("{} partición {} terminada: {} ok, {} error", type, partition, result.getSuccessCount(),
+						result.getErrorCount());
+				return true;
+			} catch (Exception e) {
+				lastError = e;
+				log.warn("{} partición {} falló (intento {}/{}): {}", type, partition, attempt, maxAttempts,
+						e.getMessage());
+			}
+		}
+		log.error("{} partición {} marcada como fallida", type, partition, lastError);
+		try {
+			syncTaskService.recordPartition(type, date, partition.getKey(), ExecutionStatus.FAIL, 0, 0,
+					Math.max(1, maxAttempts), lastError != null ? lastError.getMessage() : null);
+		} catch (Exception e) {
+			log.error("No se pudo registrar el fallo de la partición {} de {}", partition, type, e);
+		}
+		return false;
+	}
+
+	private boolean isCompleted(SyncTaskPartition partition) {
+		return partition != null && partition.getStatus() == ExecutionStatus.SUCCESS;
+	}
+}
@@ -1,31 +1,36 @@
 package com.waturnos.schedule.impl;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import com.waturnos.entity.Booking;
-import com.waturnos.entity.ServiceEntity;
 import com.waturnos.entity.extended.BookingReminder;
 import com.waturnos.enums.BookingStatus;
-import com.waturnos.enums.ExecutionStatus;
 import com.waturnos.enums.ScheduleType;
 import com.waturnos.notification.bean.NotificationRequest;
 import com.waturnos.notification.enums.NotificationType;
 import com.waturnos.notification.factory.NotificationFactory;
 import com.waturnos.repository.BookingRepository;
-import com.waturnos.repository.ServiceRepository;
+import com.waturnos.schedule.JobPartition;
+import com.waturnos.schedule.PartitionResult;
+import com.waturnos.schedule.PartitionedJobRunner;
 import com.waturnos.schedule.ScheduledTasks;
+import com.waturnos.schedule.annotations.LeaderOnly;
 import com.waturnos.service.SyncTaskService;
-import com.waturnos.service.impl.ServiceEntityServiceImpl;
+import com.waturnos.service.UnavailabilityService;
+import com.waturnos.service.process.BookingExtensionProcessor;
 import com.waturnos.utils.DateUtils;
 
 import lombok.RequiredArgsConstructor;
@@ -52,115 +57,73 @@ public class ScheduledTasksServiceImpl implements ScheduledTasks{
 	/** The message source. */
 	private final MessageSource messageSource;
 
-	/** Service repository to iterate services. */
-	private final ServiceRepository serviceRepository;
-
-	/** Service logic to generate bookings per day. */
-	private final ServiceEntityServiceImpl serviceEntityService;
+	/** Set-based extension of the services agenda. */
+	private final BookingExtensionProcessor bookingExtensionProcessor;
 
 	/** Unavailability service for holidays. */
-	private final com.waturnos.service.UnavailabilityService unavailabilityService;
+	private final UnavailabilityService unavailabilityService;
 
 	private final SyncTaskService syncTaskService;
+
+	/** The partitioned job runner. */
+	private final PartitionedJobRunner partitionedJobRunner;
+
+	/** The transaction manager. */
+	private final PlatformTransactionManager transactionManager;
+
+	/** Particiones por hash de los jobs de recordatorios y cierre de turnos. */
+	@Value("${app.scheduling.jobs.partitions:8}")
+	private int partitionCount;
 	
 	/**
 	 * Remember booking to users.
+	 * Los recordatorios se dividen en buckets por id de turno y se encolan en paralelo.
 	 */
 	@Override
     @Scheduled(cron = "${app.scheduling.notify-clients-cron}")
+	@LeaderOnly("REMEMBER_BOOKING_TO_USERS")
 	public void rememberBookingToUsers() {
-		java.time.LocalDate today = java.time.LocalDate.now();
+		LocalDate today = LocalDate.now();
 		// Evitar doble ejecución en el mismo día si ya fue registrada
 		if (syncTaskService.wasExecutedOn(ScheduleType.REMEMBER_BOOKING_TO_USERS, today)) {
 			log.info("REMEMBER_BOOKING_TO_USERS ya se ejecutó hoy, se omite ejecución.");
 			return;
 		}
-		List<BookingReminder> reminders = bookingRepository.findBookingsForTomorrow();
-
-        if (reminders.isEmpty()) {
-           log.info("No hay reservas para notificar mañana.");
-			syncTaskService.recordExecution(ScheduleType.REMEMBER_BOOKING_TO_USERS, java.time.LocalDate.now(),
-					ExecutionStatus.SUCCESS, String.format("{\"successCount\":%d,\"errorCount\":%d}", 0, 0));
-           return;
-        }
-		int success = 0;
-		int error = 0;
-		for (BookingReminder reminder : reminders) {
-			try {
-				notificationFactory.send(buildRequestReminderBooking(reminder));
-				success++;
-			} catch (Exception e) {
-				log.error("Error enviando recordatorio a {}", reminder.getEmail(), e);
-				error++;
-			}
-		}
-		String details = String.format("{\"successCount\":%d,\"errorCount\":%d}", success, error);
-		syncTaskService.recordExecution(ScheduleType.REMEMBER_BOOKING_TO_USERS, java.time.LocalDate.now(), ExecutionStatus.SUCCESS, details);
-		
+		partitionedJobRunner.run(ScheduleType.REMEMBER_BOOKING_TO_USERS, today, bucketPartitions(),
+				partition -> new TransactionTemplate(transactionManager)
+						.execute(status -> rememberBookingsInBucket(partition)));
 	}
 
 	/**
-	 * Extends bookings by one day from the last existing booking date.
-	 * Ejecuta a medianoche: extiende la agenda de cada servicio agregando 1 día más.
+	 * Extends bookings up to each service horizon (today + futureDays).
+	 * Ejecuta a medianoche: extiende en bloque la agenda de todos los servicios, por rangos de ids.
 	 */
-
-	@Value("${app.scheduling.add-bookings-page-size:10}")
-	private int addBookingsPageSize;
-
 	@Override
 	@Scheduled(cron = "${app.scheduling.add-free-bookings-cron}")
+	@LeaderOnly("ADD_NEW_BOOKINGS")
 	public void addBookingNextDay() {
-		java.time.LocalDate today = java.time.LocalDate.now();
+		LocalDate today = LocalDate.now();
 		// Evitar doble ejecución en el mismo día si ya fue registrada
 		if (syncTaskService.wasExecutedOn(ScheduleType.ADD_NEW_BOOKINGS, today)) {
 			log.info("ADD_NEW_BOOKINGS ya se ejecutó hoy, se omite ejecución.");
 			return;
 		}
-
-		int page = 0;
-		int success = 0;
-		int error = 0;
-		boolean hasMore = true;
-		org.springframework.data.domain.Pageable pageable = org.springframework.data.domain.PageRequest.of(page, addBookingsPageSize, org.springframework.data.domain.Sort.by("id").ascending());
-		java.util.Set<java.time.LocalDate> unavailabilities = unavailabilityService.getHolidays();
-
-		do {
-			org.springframework.data.domain.Page<ServiceEntity> servicePage = serviceRepository.findAllActive(pageable);
-			List<ServiceEntity> services = servicePage.getContent();
-			if (services.isEmpty() && page == 0) {
-				log.info("No hay servicios para extender bookings");
-				syncTaskService.recordExecution(ScheduleType.ADD_NEW_BOOKINGS, java.time.LocalDate.now(),
-						ExecutionStatus.SUCCESS, String.format("{\"successCount\":%d,\"errorCount\":%d}", 0, 0));
-				return;
-			}
-			for (ServiceEntity service : services) {
-				try {
-					serviceEntityService.extendBookingsByOneDay(service, unavailabilities);
-					success++;
-				} catch (Exception e) {
-					log.error("Error extendiendo bookings para servicio {}", service.getId(), e);
-					error++;
-				}
-			}
-			hasMore = servicePage.hasNext();
-			page++;
-			pageable = org.springframework.data.domain.PageRequest.of(page, addBookingsPageSize, org.springframework.data.domain.Sort.by("id").ascending());
-		} while (hasMore);
-
-		String details = String.format("{\"successCount\":%d,\"errorCount\":%d}", success, error);
-		syncTaskService.recordExecution(ScheduleType.ADD_NEW_BOOKINGS, java.time.LocalDate.now(), ExecutionStatus.SUCCESS, details);
+		Set<LocalDate> holidays = unavailabilityService.getHolidays();
+		partitionedJobRunner.run(ScheduleType.ADD_NEW_BOOKINGS, today, bookingExtensionProcessor.partitions(),
+				partition -> bookingExtensionProcessor.extendPartition(partition, today, holidays));
 	}
 	
 	/**
 	 * Completes reserved bookings at end of day.
 	 * Runs at 23:50 to convert RESERVED to COMPLETED and RESERVED_AFTER_CANCEL to COMPLETED_AFTER_CANCEL.
 	 * Processes all bookings up to current time to handle any missed executions from previous days.
+	 * Cada bucket de ids se completa en su propia transacción.
 	 */
 	@Override
 	@Scheduled(cron = "${app.scheduling.complete-reserved-bookings-cron:0 50 23 * * *}")
-	@Transactional
+	@LeaderOnly("COMPLETE_RESERVED_BOOKINGS")
 	public void completeReservedBookings() {
-		java.time.LocalDate today = java.time.LocalDate.now();
+		LocalDate today = LocalDate.now();
 		
 		// Evitar doble ejecución en el mismo día si ya fue registrada
 		if (syncTaskService.wasExecutedOn(ScheduleType.COMPLETE_RESERVED_BOOKINGS, today)) {
@@ -171,44 +134,54 @@ public class ScheduledTasksServiceImpl implements ScheduledTasks{
 		// Procesar todos los bookings hasta el momento actual (23:50)
 		// Esto garantiza que si falló la ejecución anterior, se procesen los pendientes
 		LocalDateTime now = LocalDateTime.now();
-		List<BookingStatus> statusesToComplete = List.of(BookingStatus.RESERVED, BookingStatus.RESERVED_AFTER_CANCEL);
-		
-		List<Booking> bookingsToComplete = bookingRepository.findByStartTimeBeforeAndStatusIn(now, statusesToComplete);
-		
-		if (bookingsToComplete.isEmpty()) {
-			log.info("No hay turnos para completar hasta las {}", now);
-			syncTaskService.recordExecution(ScheduleType.COMPLETE_RESERVED_BOOKINGS, today,
-					ExecutionStatus.SUCCESS, String.format("{\"processedCount\":%d,\"reservedToCompleted\":%d,\"reservedAfterCancelToCompletedAfterCancel\":%d}", 0, 0, 0));
-			return;
+		partitionedJobRunner.run(ScheduleType.COMPLETE_RESERVED_BOOKINGS, today, bucketPartitions(),
+				partition -> new TransactionTemplate(transactionManager)
+						.execute(status -> completeBookingsInBucket(partition, now)));
+	}
+
+	/**
+	 * Encola en el outbox los recordatorios de mañana de un bucket, en una sola
+	 * transacción para que reintentar el bucket no duplique recordatorios. Un
+	 * error en cualquier recordatorio deshace el bucket completo y el
+	 * PartitionedJobRunner lo reintenta: enqueue participa de la transacción,
+	 * por lo que no se puede seguir con el resto después de una falla.
+	 */
+	private PartitionResult rememberBookingsInBucket(JobPartition partition) {
+		List<BookingReminder> reminders = bookingRepository.findBookingsForTomorrowInBucket(partition.getBuckets(),
+				partition.getBucket());
+		for (BookingReminder reminder : reminders) {
+			notificationFactory.enqueue(buildRequestReminderBooking(reminder));
 		}
-		
-		int reservedToCompleted = 0;
-		int reservedAfterCancelToCompletedAfterCancel = 0;
-		
-		for (Booking booking : bookingsToComplete) {
-			if (booking.getStatus() == BookingStatus.RESERVED) {
-				booking.setStatus(BookingStatus.COMPLETED);
-				booking.setUpdatedAt(LocalDateTime.now());
-				reservedToCompleted++;
-				log.debug("Turno {} cambiado de RESERVED a COMPLETED (startTime: {})", 
-						booking.getId(), booking.getStartTime());
-			} else if (booking.getStatus() == BookingStatus.RESERVED_AFTER_CANCEL) {
-				booking.setStatus(BookingStatus.COMPLETED_AFTER_CANCEL);
-				booking.setUpdatedAt(LocalDateTime.now());
-				reservedAfterCancelToCompletedAfterCancel++;
-				log.debug("Turno {} cambiado de RESERVED_AFTER_CANCEL a COMPLETED_AFTER_CANCEL (startTime: {})", 
-						booking.getId(), booking.getStartTime());
-			}
+		return new PartitionResult(reminders.size(), 0);
+	}
+
+	/**
+	 * Completa los turnos reservados de un bucket hasta el momento dado con dos
+	 * UPDATE, sin cargar los turnos en memoria.
+	 */
+	private PartitionResult completeBookingsInBucket(JobPartition partition, LocalDateTime now) {
+		LocalDateTime updatedAt = LocalDateTime.now();
+		int reservedToCompleted = bookingRepository.updateStatusBeforeInBucket(BookingStatus.RESERVED,
+				BookingStatus.COMPLETED, now, updatedAt, partition.getBuckets(), partition.getBucket());
+		int reservedAfterCancelToCompletedAfterCancel = bookingRepository.updateStatusBeforeInBucket(
+				BookingStatus.RESERVED_AFTER_CANCEL, BookingStatus.COMPLETED_AFTER_CANCEL, now, updatedAt,
+				partition.getBuckets(), partition.getBucket());
+
+		log.info("Bucket {}: {} RESERVED->COMPLETED, {} RESERVED_AFTER_CANCEL->COMPLETED_AFTER_CANCEL", 
+				partition, reservedToCompleted, reservedAfterCancelToCompletedAfterCancel);
+		return new PartitionResult(reservedToCompleted + reservedAfterCancelToCompletedAfterCancel, 0);
+	}
+
+	/**
+	 * Particiones por hash del id para los jobs sin un rango natural.
+	 */
+	private List<JobPartition> bucketPartitions() {
+		int buckets = Math.max(1, partitionCount);
+		List<JobPartition> partitions = new ArrayList<>(buckets);
+		for (int bucket = 0; bucket < buckets; bucket++) {
+			partitions.add(JobPartition.ofBucket(bucket, buckets));
 		}
-		
-		bookingRepository.saveAll(bookingsToComplete);
-		
-		log.info("Turnos completados exitosamente: {} RESERVED->COMPLETED, {} RESERVED_AFTER_CANCEL->COMPLETED_AFTER_CANCEL", 
-				reservedToCompleted, reservedAfterCancelToCompletedAfterCancel);
-		
-		String details = String.format("{\"processedCount\":%d,\"reservedToCompleted\":%d,\"reservedAfterCancelToCompletedAfterCancel\":%d}", 
-				bookingsToComplete.size(), reservedToCompleted, reservedAfterCancelToCompletedAfterCancel);
-		syncTaskService.recordExecution(ScheduleType.COMPLETE_RESERVED_BOOKINGS, today, ExecutionStatus.SUCCESS, details);
+		return partitions;
 	}
 	
 
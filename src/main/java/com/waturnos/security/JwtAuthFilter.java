@@ -40,6 +40,9 @@ public class JwtAuthFilter extends GenericFilter {
     /** The user repository. */
     private final UserRepository userRepository;
 
+    /** The principal cache. */
+    private final PrincipalCache principalCache;
+
     /**
      * Do filter.
      *
@@ -59,14 +62,16 @@ public class JwtAuthFilter extends GenericFilter {
             String token = authHeader.replace("Bearer ", "");
 
             try {
-                if (jwtUtil.isTokenValid(token)) {
-                    String role = jwtUtil.getRoleFromToken(token);
+                // Los claims se verifican y leen una sola vez por request
+                JwtClaims claims = jwtUtil.getClaims(token);
+                if (claims != null) {
+                    String role = claims.getRole();
                     
                     if ("CLIENT".equals(role)) {
                         // Handle client authentication
-                        String identifier = jwtUtil.getEmailFromToken(token);
-                        Long clientId = jwtUtil.getClientIdFromToken(token);
-                        Long organizationId = jwtUtil.getOrganizationIdFromToken(token);
+                        String identifier = claims.getSubject();
+                        Long clientId = claims.getClientId();
+                        Long organizationId = claims.getOrganizationId();
                         
                         SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_CLIENT");
                         List<SimpleGrantedAuthority> authorities = Collections.singletonList(authority);
@@ -77,12 +82,10 @@ public class JwtAuthFilter extends GenericFilter {
                         SecurityContextHolder.getContext().setAuthentication(auth);
                     } else {
                         // Handle user authentication (ADMIN, MANAGER, PROVIDER)
-                        String email = jwtUtil.getEmailFromToken(token);
-                        User user = userRepository.findByEmail(email).orElse(null);
+                        User user = resolveUser(claims.getSubject());
                         if (user != null) {
                             SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + user.getRole());
                             List<SimpleGrantedAuthority> authorities = Collections.singletonList(authority);
-                            user.setIdOrganization(user.getOrganization() != null ? user.getOrganization().getId() : null);
                             var auth = new UsernamePasswordAuthenticationToken(user, null, authorities);
                             SecurityContextHolder.getContext().setAuthentication(auth);
                         }
@@ -107,4 +110,18 @@ public class JwtAuthFilter extends GenericFilter {
 
         chain.doFilter(request, response);
     }
+
+    /**
+     * Resuelve el usuario del token, primero desde la caché de principals.
+     *
+     * @param email the email
+     * @return the user, or null if it does not exist
+     */
+    private User resolveUser(String email) {
+        User user = principalCache.get(email);
+        if (user != null) {
+            return user;
+        }
+        return userRepository.findByEmail(email).map(found -> principalCache.put(email, found)).orElse(null);
+    }
 }
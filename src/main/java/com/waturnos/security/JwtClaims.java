@@ -0,0 +1,24 @@
+package com.waturnos.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Claims de un token ya verificado, leídos una sola vez por request.
+ */
+@Getter
+@AllArgsConstructor
+public final class JwtClaims {
+
+	/** The subject (email o teléfono). */
+	private final String subject;
+
+	/** The role. */
+	private final String role;
+
+	/** The client id (sólo tokens de cliente). */
+	private final Long clientId;
+
+	/** The organization id (sólo tokens de cliente). */
+	private final Long organizationId;
+}
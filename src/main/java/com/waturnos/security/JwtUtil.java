@@ -8,6 +8,7 @@ import org.springframework.stereotype.Component;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
@@ -29,12 +30,16 @@ public class JwtUtil {
 	/** The key. */
 	private Key key;
 
+	/** Parser compartido: es inmutable y thread-safe. */
+	private JwtParser parser;
+
 	/**
 	 * Inits the.
 	 */
 	@PostConstruct
 	public void init() {
 		key = Keys.hmacShaKeyFor(secret.getBytes());
+		parser = Jwts.parserBuilder().setSigningKey(key).build();
 	}
 
     /**
@@ -74,6 +79,24 @@ public class JwtUtil {
                 .compact();
     }
 
+    /**
+     * Devuelve todos los claims del token en un solo objeto, validando firma
+     * y vencimiento con el parser compartido.
+     *
+     * @param token the token
+     * @return the claims, or null if the token is invalid or expired
+     */
+    public JwtClaims getClaims(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        try {
+            return toJwtClaims(parseClaims(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     /**
      * Gets the email from token.
      *
@@ -81,7 +104,7 @@ public class JwtUtil {
      * @return the email from token
      */
     public String getEmailFromToken(String token) {
-        return parseClaims(token).getSubject();
+        return requireClaims(token).getSubject();
     }
 
     /**
@@ -91,7 +114,7 @@ public class JwtUtil {
      * @return the role from token
      */
     public String getRoleFromToken(String token) {
-        return (String) parseClaims(token).get("role");
+        return requireClaims(token).getRole();
     }
     
     /**
@@ -101,8 +124,7 @@ public class JwtUtil {
      * @return the client id from token
      */
     public Long getClientIdFromToken(String token) {
-        Object clientId = parseClaims(token).get("clientId");
-        return clientId != null ? ((Number) clientId).longValue() : null;
+        return requireClaims(token).getClientId();
     }
     
     /**
@@ -112,8 +134,7 @@ public class JwtUtil {
      * @return the organization id from token
      */
     public Long getOrganizationIdFromToken(String token) {
-        Object orgId = parseClaims(token).get("organizationId");
-        return orgId != null ? ((Number) orgId).longValue() : null;
+        return requireClaims(token).getOrganizationId();
     }
 
     /**
@@ -123,12 +144,7 @@ public class JwtUtil {
      * @return true, if is token valid
      */
     public boolean isTokenValid(String token) {
-        try {
-            parseClaims(token);
-            return true;
-        } catch (JwtException e) {
-            return false;
-        }
+        return getClaims(token) != null;
     }
 
     /**
@@ -138,6 +154,22 @@ public class JwtUtil {
      * @return the claims
      */
     private Claims parseClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    private JwtClaims requireClaims(String token) {
+        JwtClaims claims = getClaims(token);
+        if (claims == null) {
+            throw new JwtException("Invalid or expired token");
+        }
+        return claims;
+    }
+
+    private JwtClaims toJwtClaims(Claims claims) {
+        Object clientId = claims.get("clientId");
+        Object organizationId = claims.get("organizationId");
+        return new JwtClaims(claims.getSubject(), claims.get("role", String.class),
+                clientId != null ? ((Number) clientId).longValue() : null,
+                organizationId != null ? ((Number) organizationId).longValue() : null);
     }
 }
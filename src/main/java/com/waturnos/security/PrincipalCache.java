@@ -0,0 +1,166 @@
+package com.waturnos.security;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.waturnos.entity.Organization;
+import com.waturnos.entity.User;
+import com.waturnos.enums.UserRole;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Caché acotada (LRU) con TTL de los usuarios autenticados, por email. Evita
+ * buscar el usuario en la base en cada request. Guarda una copia inmutable de
+ * los datos del principal, no la entidad, y cada request recibe su propio
+ * User armado desde esa copia. PrincipalCacheListener la invalida cuando se
+ * modifica o se elimina un usuario, por cualquier camino que pase por JPA, y
+ * el TTL acota el tiempo que un cambio hecho por otra réplica tarda en verse.
+ */
+@Component
+@Slf4j
+public class PrincipalCache {
+
+	/** Tiempo de vida de cada entrada. */
+	@Value("${app.security.principal-cache.ttl-seconds:60}")
+	private long ttlSeconds;
+
+	/** Cantidad máxima de usuarios en caché. */
+	@Value("${app.security.principal-cache.max-size:10000}")
+	private int maxSize;
+
+	private Map<String, Entry> entries;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	@PostConstruct
+	void init() {
+		entries = new LinkedHashMap<>(256, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	/**
+	 * Usuario cacheado para el email, si no venció.
+	 *
+	 * @param email the email
+	 * @return a new principal for this request, or null
+	 */
+	public User get(String email) {
+		String key = email.toLowerCase();
+		synchronized (entries) {
+			Entry entry = entries.get(key);
+			if (entry != null && entry.expiresAt > System.nanoTime()) {
+				hits.increment();
+				return entry.principal.toUser();
+			}
+			if (entry != null) {
+				entries.remove(key);
+			}
+		}
+		misses.increment();
+		return null;
+	}
+
+	/**
+	 * Guarda el usuario resuelto.
+	 *
+	 * @param email the email
+	 * @param user the user
+	 * @return a new principal for this request, built like the cached ones
+	 */
+	public User put(String email, User user) {
+		CachedPrincipal principal = CachedPrincipal.of(user);
+		Entry entry = new Entry(principal, System.nanoTime() + TimeUnit.SECONDS.toNanos(ttlSeconds));
+		synchronized (entries) {
+			entries.put(email.toLowerCase(), entry);
+		}
+		return principal.toUser();
+	}
+
+	/**
+	 * Invalida el usuario, cualquiera sea el email con el que se cacheó. Dentro
+	 * de una transacción se invalida después del commit: antes, una request
+	 * concurrente volvería a cachear el estado anterior.
+	 *
+	 * @param userId the user id
+	 */
+	public void evictUser(Long userId) {
+		if (userId == null) {
+			return;
+		}
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					remove(userId);
+				}
+			});
+			return;
+		}
+		remove(userId);
+	}
+
+	private void remove(Long userId) {
+		synchronized (entries) {
+			entries.values().removeIf(entry -> userId.equals(entry.principal.id()));
+		}
+		log.debug("Usuario {} eliminado de la caché de principals", userId);
+	}
+
+	/**
+	 * Resumen de uso.
+	 *
+	 * @return the stats
+	 */
+	public String describeStats() {
+		synchronized (entries) {
+			return String.format("size=%d, hits=%d, misses=%d", entries.size(), hits.sum(), misses.sum());
+		}
+	}
+
+	/** Datos del principal, sin la entidad ni sus asociaciones lazy. */
+	private record CachedPrincipal(Long id, String email, String fullName, String phone, String avatar,
+			String photoUrl, UserRole role, Boolean active, Boolean exclusiveServices, Long organizationId) {
+
+		private static CachedPrincipal of(User user) {
+			Long organizationId = user.getOrganization() != null ? user.getOrganization().getId()
+					: user.getIdOrganization();
+			return new CachedPrincipal(user.getId(), user.getEmail(), user.getFullName(), user.getPhone(),
+					user.getAvatar(), user.getPhotoUrl(), user.getRole(), user.getActive(),
+					user.getExclusiveServices(), organizationId);
+		}
+
+		private User toUser() {
+			return User.builder().id(id).email(email).fullName(fullName).phone(phone).avatar(avatar)
+					.photoUrl(photoUrl).role(role).active(active).exclusiveServices(exclusiveServices)
+					.organization(organizationId != null ? Organization.builder().id(organizationId).build() : null)
+					.idOrganization(organizationId).build();
+		}
+	}
+
+	/** Usuario cacheado con su vencimiento. */
+	private static final class Entry {
+		private final CachedPrincipal principal;
+		private final long expiresAt;
+
+		private Entry(CachedPrincipal principal, long expiresAt) {
+			this.principal = principal;
+			this.expiresAt = expiresAt;
+		}
+	}
+}
@@ -0,0 +1,28 @@
+package com.waturnos.security;
+
+import org.springframework.beans.factory.ObjectProvider;
+
+import com.waturnos.entity.User;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Listener JPA de User: invalida la caché de principals en cada update o
+ * delete del usuario (perfil, rol, activación, reset de contraseña), sin que
+ * cada servicio tenga que acordarse de hacerlo. Hibernate lo crea a través del
+ * contexto de Spring, que inyecta sus dependencias.
+ */
+@RequiredArgsConstructor
+public class PrincipalCacheListener {
+
+	/** No existe en los contextos de test que sólo levantan JPA. */
+	private final ObjectProvider<PrincipalCache> principalCache;
+
+	@PostUpdate
+	@PostRemove
+	void evict(User user) {
+		principalCache.ifAvailable(cache -> cache.evictUser(user.getId()));
+	}
+}
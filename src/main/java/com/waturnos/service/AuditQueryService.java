@@ -3,10 +3,8 @@ package com.waturnos.service;
 import java.time.LocalDateTime;
 import java.util.List;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-
 import com.waturnos.dto.response.AuditEventDTO;
+import com.waturnos.dto.response.CursorPageDTO;
 import com.waturnos.entity.Audit;
 
 /**
@@ -21,22 +19,24 @@ public interface AuditQueryService {
      * - PROVIDER: can see only their own service-related audits
      * 
      * @param organizationId optional organization filter
-     * @param fromDate optional start date
-     * @param toDate optional end date
+     * @param fromDate optional start date (defaults to app.audit.default-range-days before toDate)
+     * @param toDate optional end date (defaults to now)
      * @param event optional event code filter
      * @param serviceId optional service filter
      * @param providerId optional provider filter
-     * @param pageable pagination parameters
-     * @return page of audit entries the current user can access
+     * @param cursor cursor returned with the previous page, null for the first page
+     * @param size page size
+     * @return page of audit entries the current user can access, newest first
      */
-    Page<Audit> getAuditsForCurrentUser(
+    CursorPageDTO<Audit> getAuditsForCurrentUser(
         Long organizationId,
         LocalDateTime fromDate,
         LocalDateTime toDate,
         String event,
         Long serviceId,
         Long providerId,
-        Pageable pageable
+        String cursor,
+        int size
     );
 
     /**
@@ -1,10 +1,14 @@
 package com.waturnos.service;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
+import com.waturnos.dto.response.CalendarDayDTO;
 import com.waturnos.dto.response.CountBookingDTO;
+import com.waturnos.dto.response.CursorPageDTO;
+import com.waturnos.dto.response.LockStripeStatsDTO;
 import com.waturnos.dto.response.ServiceWithBookingsDTO;
 import com.waturnos.entity.Booking;
 import com.waturnos.entity.extended.BookingSummaryDetail;
@@ -49,6 +53,17 @@ public interface BookingService {
 	 */
 	Booking assignBookingToClient(Long id, Long clientId);
 
+	/**
+	 * Assign a slot identified by service and start time, materializing it if it
+	 * is virtual.
+	 *
+	 * @param serviceId the service id
+	 * @param startTime the start time
+	 * @param clientId  the client id
+	 * @return the booking
+	 */
+	Booking assignSlotToClient(Long serviceId, LocalDateTime startTime, Long clientId);
+
 	/**
 	 * Cancel.
 	 *
@@ -99,6 +114,23 @@ public interface BookingService {
 	Map<LocalDate, List<ServiceWithBookingsDTO>> findByRange(Long providerId, LocalDate start, LocalDate end,
 			Long serviceId);
 
+	/**
+	 * Turnos del prestador por páginas de días completos, para calendarios con
+	 * scroll infinito. Cada página tiene como mucho {@code size} turnos
+	 * persistidos (salvo que un solo día tenga más) y una cantidad acotada de
+	 * días, por lo que la memoria usada no depende del ancho del rango.
+	 *
+	 * @param providerId the provider id
+	 * @param start the start date
+	 * @param end the end date (inclusive)
+	 * @param serviceId optional service filter
+	 * @param cursor cursor returned with the previous page, null for the first page
+	 * @param size max persisted bookings per page
+	 * @return the days of the page, in order
+	 */
+	CursorPageDTO<CalendarDayDTO> findByRangePage(Long providerId, LocalDate start, LocalDate end, Long serviceId,
+			String cursor, int size);
+
 	/**
 	 * Find booking details by id.
 	 *
@@ -115,6 +147,13 @@ public interface BookingService {
 	 */
 	LocalDate findMaxBookingDateByServiceId(Long serviceId);
 
+	/**
+	 * Contention metrics of the reservation lock, per stripe.
+	 *
+	 * @return the stats
+	 */
+	List<LockStripeStatsDTO> getReservationLockStats();
+
 	/**
 	 * Find grouped availability by service type (category) for a specific date.
 	 * This groups all services of the same type and shows aggregated availability.
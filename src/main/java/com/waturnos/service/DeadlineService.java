@@ -0,0 +1,26 @@
+package com.waturnos.service;
+
+import java.time.LocalDateTime;
+
+import com.waturnos.enums.DeadlineType;
+
+public interface DeadlineService {
+
+    /**
+     * Agenda (o reprograma) el vencimiento de una entidad. Se persiste en la
+     * transacción actual y se carga en memoria al confirmarse.
+     *
+     * @param type  the deadline type
+     * @param refId the entity id
+     * @param dueAt the due time
+     */
+    void schedule(DeadlineType type, Long refId, LocalDateTime dueAt);
+
+    /**
+     * Descarta el vencimiento de una entidad que dejó de estar pendiente.
+     *
+     * @param type  the deadline type
+     * @param refId the entity id
+     */
+    void cancel(DeadlineType type, Long refId);
+}
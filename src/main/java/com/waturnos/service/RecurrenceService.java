@@ -5,6 +5,7 @@ import com.waturnos.dto.response.CheckRecurrenceResponse;
 import com.waturnos.dto.response.RecurrenceDTO;
 import com.waturnos.entity.Recurrence;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface RecurrenceService {
@@ -42,4 +43,12 @@ public interface RecurrenceService {
      * @return Lista de DTOs de recurrencias
      */
     List<RecurrenceDTO> getRecurrencesByClient(Long clientId);
+    
+    /**
+     * Indica si la recurrencia sigue vigente para la fecha según su tipo
+     * @param recurrence la recurrencia
+     * @param date la fecha a verificar
+     * @return true si la recurrencia aplica a la fecha
+     */
+    boolean isRecurrenceValidForDate(Recurrence recurrence, LocalDate date);
 }
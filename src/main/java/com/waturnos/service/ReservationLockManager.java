@@ -0,0 +1,30 @@
+package com.waturnos.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.waturnos.dto.response.LockStripeStatsDTO;
+
+/**
+ * Serializa las reservas de un mismo turno (serviceId, startTime).
+ */
+public interface ReservationLockManager {
+
+	/**
+	 * Toma el lock del turno hasta el fin de la transacción actual. Dentro de la
+	 * JVM usa un lock por stripe y entre réplicas un advisory lock de Postgres.
+	 * Si no se obtiene dentro del tiempo de espera configurado lanza
+	 * ServiceException con ErrorCode.BOOKING_BUSY.
+	 *
+	 * @param serviceId the service id
+	 * @param startTime the slot start time
+	 */
+	void acquire(Long serviceId, LocalDateTime startTime);
+
+	/**
+	 * Métricas de contención por stripe.
+	 *
+	 * @return the stats
+	 */
+	List<LockStripeStatsDTO> getStripeStats();
+}
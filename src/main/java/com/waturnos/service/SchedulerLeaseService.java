@@ -0,0 +1,37 @@
+package com.waturnos.service;
+
+public interface SchedulerLeaseService {
+
+    /**
+     * Intenta tomar el lease para esta réplica.
+     *
+     * @param name    the lease name
+     * @param seconds the lease duration
+     * @return true if this replica holds the lease
+     */
+    boolean tryAcquire(String name, long seconds);
+
+    /**
+     * Extiende un lease que esta réplica ya tiene.
+     *
+     * @param name    the lease name
+     * @param seconds the new duration from now
+     * @return true if the lease is still held
+     */
+    boolean renew(String name, long seconds);
+
+    /**
+     * Libera el lease de esta réplica.
+     *
+     * @param name        the lease name
+     * @param holdSeconds the minimum hold time since it was taken
+     */
+    void release(String name, long holdSeconds);
+
+    /**
+     * Identificador de esta réplica.
+     *
+     * @return the owner id
+     */
+    String getOwner();
+}
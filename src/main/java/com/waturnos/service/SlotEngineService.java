@@ -0,0 +1,61 @@
+package com.waturnos.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.waturnos.entity.Booking;
+import com.waturnos.entity.ServiceEntity;
+
+/**
+ * Motor de turnos virtuales.
+ * Calcula los turnos FREE a partir de availability, unavailability, feriados y
+ * offsetMinutes, de modo que la tabla booking solo contenga filas reservadas,
+ * bloqueadas o de sobreturno.
+ */
+public interface SlotEngineService {
+
+	/**
+	 * Indica si los turnos libres se calculan al vuelo en lugar de materializarse.
+	 *
+	 * @return true si el modo virtual está activo
+	 */
+	boolean isVirtualSlotsEnabled();
+
+	/**
+	 * Combina los bookings persistidos con los turnos virtuales del rango.
+	 * Si el modo virtual está desactivado devuelve los persistidos sin cambios.
+	 *
+	 * @param services  los servicios a expandir
+	 * @param persisted los bookings ya persistidos en el rango
+	 * @param from      fecha desde (inclusive)
+	 * @param to        fecha hasta (inclusive)
+	 * @return bookings persistidos + virtuales ordenados por startTime
+	 */
+	List<Booking> buildSlots(List<ServiceEntity> services, List<Booking> persisted, LocalDate from, LocalDate to);
+
+	/**
+	 * Calcula solo los turnos virtuales (sin id) que no están ocupados por una
+	 * fila persistida.
+	 *
+	 * @param services los servicios a expandir
+	 * @param occupied horarios ya persistidos por servicio
+	 * @param from     fecha desde (inclusive)
+	 * @param to       fecha hasta (inclusive)
+	 * @return los turnos virtuales
+	 */
+	List<Booking> buildVirtualSlots(List<ServiceEntity> services, Map<Long, Set<LocalDateTime>> occupied,
+			LocalDate from, LocalDate to);
+
+	/**
+	 * Devuelve la fila persistida del turno (serviceId, startTime), creándola como
+	 * FREE si el turno es válido según las reglas del servicio y aún no existe.
+	 *
+	 * @param serviceId el id del servicio
+	 * @param startTime el inicio del turno
+	 * @return el booking administrado
+	 */
+	Booking materializeSlot(Long serviceId, LocalDateTime startTime);
+}
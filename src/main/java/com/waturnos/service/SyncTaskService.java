@@ -1,11 +1,16 @@
 package com.waturnos.service;
 
 import java.time.LocalDate;
+import java.util.List;
 
+import com.waturnos.entity.SyncTaskPartition;
 import com.waturnos.enums.ExecutionStatus;
 import com.waturnos.enums.ScheduleType;
 
 public interface SyncTaskService {
     boolean wasExecutedOn(ScheduleType type, LocalDate date);
     void recordExecution(ScheduleType type, LocalDate date, ExecutionStatus status, String jsonDetails);
+    List<SyncTaskPartition> findPartitions(ScheduleType type, LocalDate date);
+    void recordPartition(ScheduleType type, LocalDate date, String partitionKey, ExecutionStatus status,
+            long successCount, long errorCount, int attempts, String details);
 }
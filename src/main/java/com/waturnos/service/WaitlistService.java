@@ -34,18 +34,27 @@ public interface WaitlistService {
     void cancelEntry(Long entryId, Long clientId);
     
     /**
-     * Recalcula las posiciones de la cola para un servicio
+     * Notifica al siguiente en la fila cuando se libera un turno
      * 
-     * @param serviceId ID del servicio
+     * @param booking el turno que se liberó
      */
-    void recalculatePositions(Long serviceId);
+    void notifyNextInLine(Booking booking);
     
     /**
-     * Notifica al siguiente en la fila cuando se libera un turno
+     * Vence el plazo de una entrada NOTIFIED y notifica al siguiente en la fila.
+     * No hace nada si la entrada ya no está NOTIFIED.
      * 
-     * @param booking el turno que se liberó
+     * @param entryId ID de la entrada
      */
-    void notifyNextInLine(Booking booking);
+    void expireNotification(Long entryId);
+    
+    /**
+     * Vence la oferta de un turno avisado a varios clientes a la vez: los que no
+     * reservaron quedan EXPIRED y se avisa a los siguientes.
+     * 
+     * @param bookingId ID del turno ofrecido
+     */
+    void expireOffer(Long bookingId);
     
     /**
      * Marca una entrada de waitlist como FULFILLED cuando el cliente reserva
@@ -27,6 +27,8 @@ public enum ErrorCode {
     BOOKING_INVALID_STATUS("1201","error.message.booking.invalid.status"),
     BOOKING_FULL("1202","error.message.booking.full"),
     BOOKING_ALREADY_RESERVED_BYCLIENT("1203","error.message.booking.already.reserved"),
+    BOOKING_SLOT_TAKEN("1204","error.message.booking.slot.taken"),
+    BOOKING_BUSY("1205","error.message.booking.busy"),
     
     //CLIENT
     CLIENT_NOT_FOUND("1300","error.message.client.not.exist"),
@@ -13,11 +13,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.waturnos.entity.AccessToken;
+import com.waturnos.enums.DeadlineType;
 import com.waturnos.notification.bean.NotificationRequest;
 import com.waturnos.notification.enums.NotificationType;
 import com.waturnos.notification.factory.NotificationFactory;
 import com.waturnos.repository.AccessTokenRepository;
 import com.waturnos.service.AccessTokenService;
+import com.waturnos.service.DeadlineService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -33,6 +35,9 @@ public class AccessTokenServiceImpl implements AccessTokenService {
     private final NotificationFactory notificationFactory;
     
     private final MessageSource messageSource;
+
+    /** Borra el token al vencer. */
+    private final DeadlineService deadlineService;
     
     @Value("${app.bypass.accessToken:false}")
     private Boolean bypassAccessToken;
@@ -60,9 +65,10 @@ public class AccessTokenServiceImpl implements AccessTokenService {
                 .expiryDate(expiry)
                 .build();
         repository.save(token);
+        deadlineService.schedule(DeadlineType.ACCESS_TOKEN, token.getId(), expiry);
         // Si está el bypass activo NO enviamos email
         if (!Boolean.TRUE.equals(bypassAccessToken)) {
-            notificationFactory.sendAsync(buildRequest(token));
+            notificationFactory.enqueue(buildRequest(token));
         }
     }
     
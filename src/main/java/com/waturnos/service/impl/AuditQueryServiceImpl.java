@@ -5,18 +5,20 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.waturnos.config.AuditEventsProperties;
 import com.waturnos.mapper.AuditLabelResolver;
 import com.waturnos.dto.response.AuditEventDTO;
+import com.waturnos.dto.response.CursorPageDTO;
 import com.waturnos.entity.Audit;
 import com.waturnos.entity.User;
 import com.waturnos.enums.UserRole;
 import com.waturnos.repository.AuditRepository;
 import com.waturnos.service.AuditQueryService;
+import com.waturnos.utils.DateUtils;
+import com.waturnos.utils.KeysetCursor;
 import com.waturnos.utils.SessionUtil;
 
 import lombok.RequiredArgsConstructor;
@@ -31,54 +33,87 @@ public class AuditQueryServiceImpl implements AuditQueryService {
 
     // Eventos se cargan desde application.yml vía AuditEventsProperties
 
+    /** Tamaño máximo de página. */
+    private static final int MAX_PAGE_SIZE = 200;
+
+    /** Días hacia atrás que se consultan si no se indica fecha desde. */
+    @Value("${app.audit.default-range-days:90}")
+    private long defaultRangeDays;
+
 
     @Override
-    public Page<Audit> getAuditsForCurrentUser(Long organizationId, LocalDateTime fromDate, 
+    public CursorPageDTO<Audit> getAuditsForCurrentUser(Long organizationId, LocalDateTime fromDate, 
                                                 LocalDateTime toDate, String event, Long serviceId, 
-                                                Long providerId, Pageable pageable) {
+                                                Long providerId, String cursor, int size) {
         User currentUser = SessionUtil.getCurrentUser();
         if (currentUser == null) {
-            return Page.empty(pageable);
+            return emptyPage();
         }
 
         // Ajustar toDate a final del día (23:59:59.999999999) si viene con hora 00:00:00
-        LocalDateTime adjustedToDate = toDate;
+        LocalDateTime adjustedToDate = toDate != null ? toDate : DateUtils.getCurrentDateTime();
         if (toDate != null && toDate.toLocalTime().equals(java.time.LocalTime.MIN)) {
             adjustedToDate = toDate.toLocalDate().atTime(23, 59, 59, 999999999);
         }
+        // El rango acotado permite a Postgres leer sólo las particiones mensuales involucradas
+        LocalDateTime adjustedFromDate = fromDate != null ? fromDate : adjustedToDate.minusDays(defaultRangeDays);
+
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        LocalDateTime beforeDate = after != null ? after.date() : adjustedToDate;
+        Long beforeId = after != null ? after.id() : Long.MAX_VALUE;
 
         UserRole role = currentUser.getRole();
         Long userOrgId = SessionUtil.getOrganizationId();
 
+        List<Audit> audits;
         switch (role) {
             case ADMIN:
                 // ADMIN puede ver auditorías de cualquier organización
                 Long targetOrgId = organizationId != null ? organizationId : userOrgId;
                 if (targetOrgId == null) {
-                    return Page.empty(pageable);
+                    return emptyPage();
                 }
-                return auditRepository.findByOrganization(targetOrgId, fromDate, adjustedToDate, event, serviceId, providerId, pageable);
+                audits = auditRepository.findByOrganization(targetOrgId, adjustedFromDate, adjustedToDate, event,
+                        serviceId, providerId, beforeDate, beforeId, limit + 1);
+                break;
 
             case MANAGER:
                 // MANAGER solo ve auditorías de su propia organización
                 if (userOrgId == null) {
-                    return Page.empty(pageable);
+                    return emptyPage();
                 }
-                return auditRepository.findByOrganization(userOrgId, fromDate, adjustedToDate, event, serviceId, providerId, pageable);
+                audits = auditRepository.findByOrganization(userOrgId, adjustedFromDate, adjustedToDate, event,
+                        serviceId, providerId, beforeDate, beforeId, limit + 1);
+                break;
 
             case PROVIDER:
                 // PROVIDER solo ve auditorías relacionadas con sus servicios
                 // Filtramos por email del provider para obtener solo sus acciones
                 if (userOrgId == null || currentUser.getEmail() == null) {
-                    return Page.empty(pageable);
+                    return emptyPage();
                 }
-                return auditRepository.findByOrganizationAndEmail(
-                    userOrgId, currentUser.getEmail(), fromDate, adjustedToDate, event, serviceId, providerId, pageable
-                );
+                audits = auditRepository.findByOrganizationAndEmail(userOrgId, currentUser.getEmail(),
+                        adjustedFromDate, adjustedToDate, event, serviceId, providerId, beforeDate, beforeId, limit + 1);
+                break;
 
             default:
-                return Page.empty(pageable);
+                return emptyPage();
         }
+
+        // Se pide una fila de más para saber si hay página siguiente sin contar
+        boolean hasMore = audits.size() > limit;
+        List<Audit> content = hasMore ? audits.subList(0, limit) : audits;
+        String nextCursor = null;
+        if (hasMore) {
+            Audit last = content.get(content.size() - 1);
+            nextCursor = new KeysetCursor(last.getDate(), last.getId()).encode();
+        }
+        return CursorPageDTO.<Audit>builder().content(content).nextCursor(nextCursor).hasMore(hasMore).build();
+    }
+
+    private CursorPageDTO<Audit> emptyPage() {
+        return CursorPageDTO.<Audit>builder().content(List.of()).hasMore(false).build();
     }
 
     @Override
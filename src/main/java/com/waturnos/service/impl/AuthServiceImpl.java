@@ -16,6 +16,7 @@ import com.waturnos.entity.Client;
 import com.waturnos.entity.CommonUser;
 import com.waturnos.entity.PasswordResetToken;
 import com.waturnos.entity.User;
+import com.waturnos.enums.DeadlineType;
 import com.waturnos.notification.bean.NotificationRequest;
 import com.waturnos.notification.enums.NotificationType;
 import com.waturnos.notification.factory.NotificationFactory;
@@ -23,6 +24,7 @@ import com.waturnos.repository.ClientRepository;
 import com.waturnos.repository.PasswordResetTokenRepository;
 import com.waturnos.repository.UserRepository;
 import com.waturnos.service.AuthService;
+import com.waturnos.service.DeadlineService;
 import com.waturnos.service.exceptions.ErrorCode;
 import com.waturnos.service.exceptions.ServiceException;
 
@@ -41,6 +43,7 @@ public class AuthServiceImpl implements AuthService {
     private final PasswordEncoder passwordEncoder;
     private final NotificationFactory notificationFactory; 
     private final MessageSource messageSource;
+    private final DeadlineService deadlineService;
 
     @Value("${app.notification.RESET_PASSWORD}")
     private String baseUrlResetPassword; 
@@ -83,9 +86,10 @@ public class AuthServiceImpl implements AuthService {
 		}
         
         tokenRepository.save(resetToken);
+        deadlineService.schedule(DeadlineType.PASSWORD_RESET, resetToken.getId(), resetToken.getExpiryDate());
 
         // 4. Envía el email con el enlace
-        notificationFactory.sendAsync(buildRequestRestPassword(user, resetToken));
+        notificationFactory.enqueue(buildRequestRestPassword(user, resetToken));
     }
 	
 
@@ -128,5 +132,6 @@ public class AuthServiceImpl implements AuthService {
 	        clientRepository.save(client);
         }    
         tokenRepository.delete(resetToken);
+        deadlineService.cancel(DeadlineType.PASSWORD_RESET, resetToken.getId());
     }
 }
\ No newline at end of file
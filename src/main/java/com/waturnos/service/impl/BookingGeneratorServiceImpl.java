@@ -1,9 +1,8 @@
 package com.waturnos.service.impl;
 
-import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
@@ -20,11 +19,11 @@ import com.waturnos.enums.BookingStatus;
 import com.waturnos.enums.RecurrenceType;
 import com.waturnos.repository.BookingRepository;
 import com.waturnos.service.BookingGeneratorService;
-import com.waturnos.service.BookingService;
 import com.waturnos.service.RecurrenceService;
+import com.waturnos.service.SlotEngineService;
+import com.waturnos.service.process.BookingBulkWriter;
 import com.waturnos.utils.DateUtils;
 
-import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -36,97 +35,71 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class BookingGeneratorServiceImpl implements BookingGeneratorService {
 
-    private final BookingService bookingService;
-    private final EntityManager entityManager;
+    private final BookingBulkWriter bookingBulkWriter;
     private final RecurrenceService recurrenceService;
     private final BookingRepository bookingRepository;
+    private final SlotEngineService slotEngineService;
 
     /**
      * Genera bookings de forma asíncrona procesando en chunks para optimizar memoria.
      * Este método se ejecuta en un hilo separado del pool async.
-     * Nota: No lleva @Transactional aquí porque cada llamada a bookingService.create()
-     * ya maneja su propia transacción, lo que permite que Hibernate use batch inserts correctamente.
+     * Nota: No lleva @Transactional aquí porque cada chunk se inserta con COPY en su
+     * propia transacción, sin crear entidades ni pasar por el contexto de persistencia.
      */
     @Override
     @Async("taskExecutor")
     public void generateBookingsAsync(ServiceEntity service, List<AvailabilityEntity> availabilities,
                                       Set<LocalDate> unavailabilities) {
+        // Con turnos virtuales los FREE se calculan al vuelo: no hay nada que pre-generar
+        if (slotEngineService.isVirtualSlotsEnabled()) {
+            log.info("Turnos virtuales activos, se omite la generación de bookings para servicio ID: {}", service.getId());
+            return;
+        }
+
         log.info("Iniciando generación asíncrona de bookings para servicio ID: {}, futureDays: {}", 
                 service.getId(), service.getFutureDays());
         
         LocalDate startDate = LocalDate.now();
         LocalDate endDate = startDate.plusDays(service.getFutureDays());
+        int duration = service.getDurationMinutes();
+        int offset = service.getOffsetMinutes() != null ? service.getOffsetMinutes() : 0;
+        
+        if (duration + offset <= 0) {
+            log.warn("Interval minutes must be greater than 0 for service {}. Skipping generation.", service.getId());
+            return;
+        }
         
-        // Procesar en chunks de 30 días para reducir memoria
+        // Procesar en chunks de 30 días: cada chunk se escribe con un COPY en su propia transacción
         final int DAYS_PER_CHUNK = 30;
-        final int BATCH_SIZE = 250; // Reducido para turnos de 5 minutos
+        final long totalDays = ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        final long startedAt = System.nanoTime();
         
         long totalBookings = 0;
+        long processedDays = 0;
         
-        for (LocalDate chunkStart = startDate; chunkStart.isBefore(endDate); chunkStart = chunkStart.plusDays(DAYS_PER_CHUNK)) {
-            LocalDate chunkEnd = chunkStart.plusDays(DAYS_PER_CHUNK).isAfter(endDate) 
+        for (LocalDate chunkStart = startDate; !chunkStart.isAfter(endDate); chunkStart = chunkStart.plusDays(DAYS_PER_CHUNK)) {
+            LocalDate chunkEnd = chunkStart.plusDays(DAYS_PER_CHUNK - 1).isAfter(endDate) 
                     ? endDate 
-                    : chunkStart.plusDays(DAYS_PER_CHUNK);
-            
-            List<Booking> bookings = new ArrayList<>();
+                    : chunkStart.plusDays(DAYS_PER_CHUNK - 1);
             
+            List<LocalDateTime> starts = new ArrayList<>();
             for (LocalDate date = chunkStart; !date.isAfter(chunkEnd); date = date.plusDays(1)) {
-                final LocalDate currentDate = date;
-                DayOfWeek dayOfWeek = currentDate.getDayOfWeek();
-
-                if (unavailabilities == null || !unavailabilities.contains(currentDate)) {
-                    // Usar getReference para evitar cargar el servicio completo y sus relaciones lazy
-                    ServiceEntity serviceRef = entityManager.getReference(ServiceEntity.class, service.getId());
-                    
-                    availabilities.stream()
-                            .filter(a -> a.getDayOfWeek() == dayOfWeek.getValue())
-                            .forEach(a -> {
-                                LocalTime currentTime = a.getStartTime();
-                                // Calcular el intervalo real entre turnos: duración + offset
-                                int intervalMinutes = service.getDurationMinutes() + 
-                                                    (service.getOffsetMinutes() != null ? service.getOffsetMinutes() : 0);
-                                
-                                if (intervalMinutes <= 0) {
-                                	log.warn("Interval minutes must be greater than 0 for service {}. Skipping generation for day {}.", service.getId(), currentDate);
-                                	return;
-                                }
-                                
-                                while (!currentTime.plusMinutes(service.getDurationMinutes()).isAfter(a.getEndTime())) {
-                                    Booking booking = new Booking();
-                                    booking.setStartTime(LocalDateTime.of(currentDate, currentTime));
-                                    booking.setEndTime(LocalDateTime.of(currentDate, 
-                                            currentTime.plusMinutes(service.getDurationMinutes())));
-                                    booking.setStatus(BookingStatus.FREE);
-                                    booking.setService(serviceRef);
-                                    booking.setFreeSlots(service.getCapacity());
-                                    booking.setCreatedAt(DateUtils.getCurrentDateTime());
-                                    bookings.add(booking);
-                                    // Avanzar usando el intervalo (duración + offset)
-                                    currentTime = currentTime.plusMinutes(intervalMinutes);
-
-                                    // Flush inmediato al alcanzar el batch
-                                    if (bookings.size() >= BATCH_SIZE) {
-                                        bookingService.create(new ArrayList<>(bookings));
-                                        bookings.clear();
-                                    }
-                                }
-                            });
+                if (unavailabilities == null || !unavailabilities.contains(date)) {
+                    starts.addAll(SlotEngineServiceImpl.computeSlotStarts(date, availabilities, duration, offset));
                 }
             }
-
-            // Guardar bookings restantes del chunk
-            if (!bookings.isEmpty()) {
-                bookingService.create(bookings);
-                totalBookings += bookings.size();
-                bookings.clear();
-            }
             
-            log.debug("Chunk procesado: {} a {} ({} bookings acumulados)", 
-                    chunkStart, chunkEnd, totalBookings);
+            totalBookings += bookingBulkWriter.writeFreeBookings(service.getId(), starts, duration, service.getCapacity());
+            processedDays += ChronoUnit.DAYS.between(chunkStart, chunkEnd) + 1;
+            
+            double elapsedSeconds = Math.max((System.nanoTime() - startedAt) / 1_000_000_000d, 0.001);
+            log.info("Servicio {}: {}/{} días ({}%), {} bookings, {} bookings/s", 
+                    service.getId(), processedDays, totalDays, processedDays * 100 / totalDays,
+                    totalBookings, Math.round(totalBookings / elapsedSeconds));
         }
         
-        log.info("Generación de bookings completada para servicio ID: {} - Total: {} bookings", 
-                service.getId(), totalBookings);
+        log.info("Generación de bookings completada para servicio ID: {} - Total: {} bookings en {} ms", 
+                service.getId(), totalBookings, (System.nanoTime() - startedAt) / 1_000_000);
         
         // Aplicar recurrencias activas a los bookings recién generados
         applyRecurrencesToNewBookings(service.getId(), startDate, endDate);
@@ -7,30 +7,36 @@ import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
+import org.springframework.data.domain.Limit;
 import org.springframework.context.i18n.LocaleContextHolder;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.waturnos.audit.AuditContext;
 import com.waturnos.audit.annotations.AuditAspect;
+import com.waturnos.dto.response.BookingSimpleDTO;
+import com.waturnos.dto.response.CalendarDayDTO;
 import com.waturnos.dto.response.CountBookingDTO;
+import com.waturnos.dto.response.CursorPageDTO;
+import com.waturnos.dto.response.LockStripeStatsDTO;
 import com.waturnos.dto.response.ServiceWithBookingsDTO;
 import com.waturnos.entity.Booking;
 import com.waturnos.entity.BookingClient;
 import com.waturnos.entity.Client;
 import com.waturnos.entity.ClientOrganization;
 import com.waturnos.entity.ServiceEntity;
-import com.waturnos.entity.User;
 import com.waturnos.entity.extended.BookingSummaryDetail;
 import com.waturnos.enums.BookingStatus;
 import com.waturnos.enums.UserRole;
@@ -42,19 +48,23 @@ import com.waturnos.repository.BookingRepository;
 import com.waturnos.repository.ClientOrganizationRepository;
 import com.waturnos.repository.ClientRepository;
 import com.waturnos.repository.ServiceRepository;
-import com.waturnos.repository.UserRepository;
 import com.waturnos.repository.WaitlistEntryRepository;
+import com.waturnos.repository.projection.BookingRangeView;
 import com.waturnos.repository.BookingPropsRepository;
 import com.waturnos.entity.BookingPropsEntity;
 import com.waturnos.security.SecurityAccessEntity;
 import com.waturnos.security.annotations.RequireRole;
 import com.waturnos.service.BookingService;
+import com.waturnos.service.ReservationLockManager;
+import com.waturnos.service.SlotEngineService;
 import com.waturnos.service.WaitlistService;
 import com.waturnos.service.exceptions.EntityNotFoundException;
 import com.waturnos.service.exceptions.ErrorCode;
 import com.waturnos.service.exceptions.ServiceException;
 import com.waturnos.utils.DateUtils;
+import com.waturnos.utils.KeysetCursor;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 
 // TODO: Auto-generated Javadoc
@@ -101,14 +111,23 @@ public class BookingServiceImpl implements BookingService {
 	/** The waitlist service. */
 	private final WaitlistService waitlistService;
 	
-	/** The user repositoy. */
-	private final UserRepository userRepositoy;
+	/** The provider exclusivity cache. */
+	private final ProviderExclusivityCache providerExclusivityCache;
 
 	private final WaitlistEntryRepository waitlistRepo;
 	
 	/** The booking props repository. */
 	private final BookingPropsRepository bookingPropsRepository;
 
+	/** The slot engine service. */
+	private final SlotEngineService slotEngineService;
+
+	/** The entity manager. */
+	private final EntityManager entityManager;
+
+	/** The reservation lock manager. */
+	private final ReservationLockManager reservationLockManager;
+
 	/** The Constant DATE_FORMATTER. */
 	private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
@@ -120,6 +139,18 @@ public class BookingServiceImpl implements BookingService {
 	@Value("${app.notification.HOME}")
 	private String urlHome;
 
+	/** Filas leídas por consulta en el calendario del prestador. */
+	@Value("${app.booking.range.chunk-size:500}")
+	private int rangeChunkSize;
+
+	/** Días máximos por página del calendario del prestador. */
+	@Value("${app.booking.range.max-days-per-page:7}")
+	private int rangeMaxDaysPerPage;
+
+	/** Días máximos de una consulta sin paginar del calendario. */
+	@Value("${app.booking.range.max-days:62}")
+	private int rangeMaxDays;
+
 	/**
 	 * Creates the.
 	 *
@@ -211,9 +242,33 @@ public class BookingServiceImpl implements BookingService {
 	@Transactional(readOnly = false)
 	@AuditAspect("BOOKING_ASSIGN_CLIENT")
 	public Booking assignBookingToClient(Long bookingId, Long clientId) {
+		Booking booking = bookingRepository.findById(bookingId)
+				.orElseThrow(() -> new ServiceException(ErrorCode.BOOKING_NOT_FOUND, "Booking not found"));
+		reservationLockManager.acquire(booking.getService().getId(), booking.getStartTime());
+		// Se releen lugares y estado: la entidad se cargó antes de tener el lock
+		entityManager.refresh(booking);
 		return assignBooking(bookingId, clientId, true);
 	}
 
+	/**
+	 * Assign slot to client. Materializa el turno (si es virtual) y lo asigna al
+	 * cliente.
+	 *
+	 * @param serviceId the service id
+	 * @param startTime the start time
+	 * @param clientId  the client id
+	 * @return the updated Booking
+	 */
+	@Override
+	@RequireRole({ UserRole.MANAGER, UserRole.ADMIN, UserRole.PROVIDER, UserRole.CLIENT })
+	@Transactional(readOnly = false)
+	@AuditAspect("BOOKING_ASSIGN_CLIENT")
+	public Booking assignSlotToClient(Long serviceId, LocalDateTime startTime, Long clientId) {
+		reservationLockManager.acquire(serviceId, startTime);
+		Booking slot = slotEngineService.materializeSlot(serviceId, startTime);
+		return assignBooking(slot.getId(), clientId, true);
+	}
+
 	/**
 	 * Assign booking.
 	 *
@@ -249,24 +304,13 @@ public class BookingServiceImpl implements BookingService {
 			throw new ServiceException(ErrorCode.BOOKING_FULL, "Booking is full, no free slots available");
 		}
 
-		if (booking.getBookingClients().stream().anyMatch(bc -> bc.getClient().getId().equals(clientId))) {
-			throw new ServiceException(ErrorCode.BOOKING_ALREADY_RESERVED_BYCLIENT,
-					"Client is already registered for this booking.");
-		}
-
-		// Agregar el cliente al booking (mantener lógica original HEAD)
-		BookingClient bookingClient = BookingClient.builder().booking(booking).client(client).build();
-		booking.addBookingClient(bookingClient);
-
-		// Actualizar timestamp y disparar notificación
-		booking.setUpdatedAt(DateUtils.getCurrentDateTime());
+		// Reserva atómica del lugar (registro del cliente + UPDATE condicional)
+		Booking savedBooking = reserveSeat(booking, clientId);
 
 		if (sendEmail) {
-			notificationFactory.sendAsync(buildRequest(booking, client, NotificationType.BOOKING_ASSIGN,
+			notificationFactory.enqueue(buildRequest(savedBooking, client, NotificationType.BOOKING_ASSIGN,
 					"notification.subject.assign.booking"));
 		}
-		// Guardar booking
-		Booking savedBooking = bookingRepository.save(booking);
 
 		// Verificar si cumple una waitlist (solo si el servicio tiene waitList activo)
 		ServiceEntity service = savedBooking.getService();
@@ -279,6 +323,30 @@ public class BookingServiceImpl implements BookingService {
 		return savedBooking;
 	}
 	
+	/**
+	 * Reserva atómicamente un lugar del booking para el cliente. El cliente se
+	 * registra con un INSERT que ignora duplicados y el lugar se descuenta con un
+	 * UPDATE condicional sobre free_slots, de modo que dos reservas concurrentes no
+	 * pueden sobrevender el turno. Ambas sentencias corren en la transacción del
+	 * llamador: si alguna falla, se deshacen las dos.
+	 *
+	 * @param booking  the booking
+	 * @param clientId the client id
+	 * @return the booking refreshed from the database
+	 */
+	private Booking reserveSeat(Booking booking, Long clientId) {
+		if (bookingRepository.insertBookingClient(booking.getId(), clientId) == 0) {
+			throw new ServiceException(ErrorCode.BOOKING_ALREADY_RESERVED_BYCLIENT,
+					"Client is already registered for this booking.");
+		}
+		if (bookingRepository.takeFreeSlot(booking.getId(), DateUtils.getCurrentDateTime()) == 0) {
+			throw new ServiceException(ErrorCode.BOOKING_SLOT_TAKEN,
+					"Booking " + booking.getId() + " was taken by another client");
+		}
+		entityManager.refresh(booking);
+		return booking;
+	}
+
 	/**
 	 * Validate booking lock by exclusion.
 	 * Si el proveedor tiene servicios exclusivos, bloquea todos los bookings
@@ -286,7 +354,6 @@ public class BookingServiceImpl implements BookingService {
 	 *
 	 * @param booking the booking
 	 */
-	@Async
 	private void validateBookingLockByExclusion(Booking booking) {
 		processExclusiveBookings(
 			booking, 
@@ -302,7 +369,6 @@ public class BookingServiceImpl implements BookingService {
 	 *
 	 * @param booking the booking cancelado
 	 */
-	@Async
 	private void unlockBookingsByExclusion(Booking booking) {
 		processExclusiveBookings(
 			booking,
@@ -314,53 +380,31 @@ public class BookingServiceImpl implements BookingService {
 	/**
 	 * Process exclusive bookings.
 	 * Método genérico que procesa bookings de servicios exclusivos del mismo proveedor,
-	 * cambiando su estado según los parámetros especificados.
+	 * cambiando su estado según los parámetros especificados. Corre en la
+	 * transacción del llamador: la exclusividad sale de ProviderExclusivityCache
+	 * y el cambio de estado es un único UPDATE condicional.
 	 *
 	 * @param booking the booking de referencia
 	 * @param sourceStatuses los estados origen a filtrar
 	 * @param targetStatus el estado destino a establecer
 	 */
 	private void processExclusiveBookings(Booking booking, List<BookingStatus> sourceStatuses, BookingStatus targetStatus) {
-		// 1. Obtener el servicio y validar que existe
-		ServiceEntity service = serviceRepository.findById(booking.getService().getId())
-				.orElseThrow(() -> new EntityNotFoundException("Service not found"));
-		
-		// 2. Obtener el proveedor y validar que existe
-		User provider = userRepositoy.findById(service.getUser().getId())
-				.orElseThrow(() -> new EntityNotFoundException("Provider not found"));
+		ServiceEntity service = booking.getService();
+		if (service == null || service.getUser() == null) {
+			return;
+		}
 		
-		// 3. Verificar si el proveedor tiene servicios exclusivos activados
-		if(Boolean.TRUE.equals(provider.getExclusiveServices())) {
-			// 4. Obtener todos los servicios del proveedor
-			List<ServiceEntity> serviceProviderList = serviceRepository.findByUserId(provider.getId());
-			
-			// 5. Extraer IDs de servicios excluyendo el servicio del booking actual
-			List<Long> otherServiceIds = serviceProviderList.stream()
-					.map(ServiceEntity::getId)
-					.filter(id -> !id.equals(service.getId()))
-					.collect(Collectors.toList());
-			
-			// 6. Si no hay otros servicios, no hay nada que procesar
-			if(otherServiceIds.isEmpty()) {
-				return;
-			}
-			
-			// 7. Buscar todos los bookings de otros servicios que coincidan en horario
-			List<Booking> affectedBookings = bookingRepository.findByServiceIdInAndStartTimeBetween(
-					otherServiceIds, 
-					booking.getStartTime(), 
-					booking.getEndTime()
-			);
-			
-			// 8. Cambiar estado de los bookings que coinciden con los estados origen
-			affectedBookings.stream()
-					.filter(b -> sourceStatuses.contains(b.getStatus()))
-					.forEach(b -> {
-						b.setStatus(targetStatus);
-						b.setUpdatedAt(DateUtils.getCurrentDateTime());
-						bookingRepository.save(b);
-					});
+		// Vacío si el proveedor no tiene servicios exclusivos activados
+		List<Long> otherServiceIds = providerExclusivityCache.getExclusiveServiceIds(service.getUser().getId())
+				.stream()
+				.filter(id -> !id.equals(service.getId()))
+				.toList();
+		if (otherServiceIds.isEmpty()) {
+			return;
 		}
+		
+		bookingRepository.updateStatusOfOverlapping(otherServiceIds, booking.getStartTime(), booking.getEndTime(),
+				sourceStatuses, targetStatus, DateUtils.getCurrentDateTime());
 	}
 
 	/**
@@ -429,6 +473,12 @@ public class BookingServiceImpl implements BookingService {
 		}
 		booking.setCancelReason(reason);
 
+		// Los lugares vuelven al turno en la misma transacción, para que la waitlist pueda tomarlo
+		List<Client> cancelledClients = booking.getBookingClients().stream().map(BookingClient::getClient)
+				.toList();
+		booking.getBookingClients().clear();
+		booking.setFreeSlots(booking.getFreeSlots() + cancelledClients.size());
+
 		Booking savedBooking = bookingRepository.save(booking);
 
 		// Notificar waitlist solo si el servicio tiene habilitada la lista de espera
@@ -436,8 +486,8 @@ public class BookingServiceImpl implements BookingService {
 			waitlistService.notifyNextInLine(savedBooking);
 		}
 
-		savedBooking.getBookingClients().stream().map(bookingClient -> bookingClient.getClient()).forEach(client -> {
-			notificationFactory.sendAsync(buildRequest(booking, client, NotificationType.BOOKING_CANCELED,
+		cancelledClients.forEach(client -> {
+			notificationFactory.enqueue(buildRequest(booking, client, NotificationType.BOOKING_CANCELED,
 					"notification.subject.canceled.booking"));
 		});
 
@@ -452,7 +502,7 @@ public class BookingServiceImpl implements BookingService {
 	 */
 	@Override
 	public List<Booking> findByServiceId(Long serviceId) {
-		return bookingRepository.findByServiceId(serviceId);
+		return bookingRepository.findWithRecurrenceByServiceId(serviceId);
 	}
 
 	/**
@@ -506,7 +556,42 @@ public class BookingServiceImpl implements BookingService {
 		List<Object[]> rawCounts = bookingRepository.countBookingsByDayAndStatus(fromDate, exclusiveEndDate,
 				providerId);
 
-		return rawCountsToDTO(rawCounts);
+		List<CountBookingDTO> counts = rawCountsToDTO(rawCounts);
+		if (slotEngineService.isVirtualSlotsEnabled()) {
+			counts = addVirtualFreeCounts(counts, fromDate, toDate, providerId);
+		}
+		return counts;
+	}
+
+	/**
+	 * Suma a los conteos los turnos FREE virtuales del rango.
+	 *
+	 * @param counts     the counts
+	 * @param fromDate   the from date
+	 * @param toDate     the to date
+	 * @param providerId the provider id
+	 * @return the list ordered by date
+	 */
+	private List<CountBookingDTO> addVirtualFreeCounts(List<CountBookingDTO> counts, LocalDate fromDate,
+			LocalDate toDate, Long providerId) {
+		List<ServiceEntity> services = serviceRepository.findByUserId(providerId);
+		List<Booking> persisted = bookingRepository.findByProviderAndRange(providerId, fromDate.atStartOfDay(),
+				toDate.plusDays(1).atStartOfDay());
+		Map<Long, Set<LocalDateTime>> occupied = persisted.stream()
+				.filter(b -> !Boolean.TRUE.equals(b.getIsOverbooking()))
+				.collect(Collectors.groupingBy(b -> b.getService().getId(),
+						Collectors.mapping(Booking::getStartTime, Collectors.toSet())));
+
+		Map<String, CountBookingDTO> countsByDate = new TreeMap<>();
+		counts.forEach(c -> countsByDate.put(c.getDate(), c));
+		slotEngineService.buildVirtualSlots(services, occupied, fromDate, toDate).stream()
+				.filter(b -> b.getStatus() == BookingStatus.FREE).forEach(b -> {
+					String dateKey = b.getStartTime().toLocalDate().format(DATE_FORMATTER);
+					CountBookingDTO dto = countsByDate.computeIfAbsent(dateKey,
+							k -> CountBookingDTO.builder().date(k).build());
+					dto.setCountFree(dto.getCountFree() + 1);
+				});
+		return new ArrayList<>(countsByDate.values());
 	}
 
 	/**
@@ -516,7 +601,7 @@ public class BookingServiceImpl implements BookingService {
 	 * @param rawCounts the raw counts
 	 * @return the list
 	 */
-	private List<CountBookingDTO> rawCountsToDTO(List<Object[]> rawCounts) {
+	public static List<CountBookingDTO> rawCountsToDTO(List<Object[]> rawCounts) {
 		Map<String, CountBookingDTO> countsByDate = new LinkedHashMap<>();
 
 		for (Object[] row : rawCounts) {
@@ -557,7 +642,8 @@ public class BookingServiceImpl implements BookingService {
 	}
 
 	/**
-	 * Find by range.
+	 * Find by range. El rango está acotado a range.max-days días; para rangos
+	 * más largos se usa {@link #findByRangePage}.
 	 *
 	 * @param providerId   the provider id
 	 * @param start        the start
@@ -567,43 +653,116 @@ public class BookingServiceImpl implements BookingService {
 	 */
 	public Map<LocalDate, List<ServiceWithBookingsDTO>> findByRange(Long providerId, LocalDate start, LocalDate end,
 			Long serviceIdOpt) {
-
-		LocalDateTime startDT = start.atStartOfDay();
-		LocalDateTime endDT = end.plusDays(1).atStartOfDay();
-
-		List<Booking> bookings;
-
-		// 1) SI VIENE serviceId → QUERY DIRECTA
-		if (serviceIdOpt != null) {
-			bookings = bookingRepository.findByProviderServiceAndRange(providerId, serviceIdOpt, startDT, endDT);
-		}
-		// 2) SI NO → TODAS
-		else {
-			bookings = bookingRepository.findByProviderAndRange(providerId, startDT, endDT);
+		if (start.plusDays(rangeMaxDays).isBefore(end.plusDays(1))) {
+			throw new ServiceException(ErrorCode.BAD_REQUEST,
+					"Range exceeds " + rangeMaxDays + " days, use /bookings/range/page");
 		}
-
-		// 3) Agrupar por día
-		Map<LocalDate, List<Booking>> groupedByDay = bookings.stream()
-				.collect(Collectors.groupingBy(b -> b.getStartTime().toLocalDate()));
-
+		RangeChunk range = readRange(providerId, serviceIdOpt, start, end, Integer.MAX_VALUE, rangeMaxDays);
 		Map<LocalDate, List<ServiceWithBookingsDTO>> response = new TreeMap<>();
+		range.days.forEach((day, byService) -> response.put(day, new ArrayList<>(byService.values())));
+		return response;
+	}
 
-		// 4) Dentro de cada día: agrupar por servicio (usando ID para evitar lazy
-		// loading en hashCode)
-		groupedByDay.forEach((day, dayList) -> {
+	@Override
+	public CursorPageDTO<CalendarDayDTO> findByRangePage(Long providerId, LocalDate start, LocalDate end,
+			Long serviceId, String cursor, int size) {
+		KeysetCursor after = KeysetCursor.decode(cursor);
+		LocalDate from = after != null ? after.date().toLocalDate() : start;
+		if (from.isAfter(end)) {
+			return CursorPageDTO.<CalendarDayDTO>builder().content(List.of()).hasMore(false).build();
+		}
 
-			Map<Long, List<Booking>> byServiceId = dayList.stream()
-					.collect(Collectors.groupingBy(b -> b.getService().getId()));
+		RangeChunk range = readRange(providerId, serviceId, from, end, Math.max(1, size), rangeMaxDaysPerPage);
+		List<CalendarDayDTO> content = new ArrayList<>(range.days.size());
+		range.days.forEach((day, byService) -> content.add(new CalendarDayDTO(day, new ArrayList<>(byService.values()))));
 
-			List<ServiceWithBookingsDTO> dtoList = byServiceId.entrySet().stream().map(e -> {
-				ServiceEntity service = e.getValue().get(0).getService();
-				return mapper.toServiceGroup(service, e.getValue());
-			}).toList();
+		boolean hasMore = range.lastDay.isBefore(end);
+		String nextCursor = hasMore ? new KeysetCursor(range.lastDay.plusDays(1).atStartOfDay(), 0L).encode() : null;
+		return CursorPageDTO.<CalendarDayDTO>builder().content(content).nextCursor(nextCursor).hasMore(hasMore).build();
+	}
 
-			response.put(day, dtoList);
-		});
+	/**
+	 * Lee los turnos del prestador desde {@code from} por bloques de
+	 * range-chunk-size filas (keyset sobre startTime, id), agrupándolos por día y
+	 * servicio a medida que llegan. Sólo se leen las columnas del calendario. La
+	 * lectura termina en un cambio de día una vez alcanzadas {@code size} filas,
+	 * o al cumplirse {@code maxDays} días (0 = sin límite); después se agregan
+	 * los turnos virtuales de los días leídos.
+	 */
+	private RangeChunk readRange(Long providerId, Long serviceId, LocalDate from, LocalDate end, int size,
+			int maxDays) {
+		List<ServiceEntity> services = serviceId != null
+				? serviceRepository.findById(serviceId).map(List::of).orElse(List.of())
+				: serviceRepository.findByUserId(providerId);
+		Map<Long, ServiceEntity> servicesById = new HashMap<>();
+		services.forEach(service -> servicesById.put(service.getId(), service));
+
+		LocalDate lastDay = maxDays > 0 && from.plusDays(maxDays - 1L).isBefore(end) ? from.plusDays(maxDays - 1L)
+				: end;
+		LocalDateTime startDT = from.atStartOfDay();
+		LocalDateTime endDT = lastDay.plusDays(1).atStartOfDay();
+		boolean virtual = slotEngineService.isVirtualSlotsEnabled();
+
+		RangeChunk range = new RangeChunk();
+		Map<Long, Set<LocalDateTime>> occupied = new HashMap<>();
+		LocalDateTime afterStart = startDT;
+		long afterId = -1L;
+		LocalDate currentDay = null;
+		int count = 0;
+		read: while (true) {
+			List<BookingRangeView> chunk = bookingRepository.findRangeChunk(providerId, serviceId, startDT, endDT,
+					afterStart, afterId, Limit.of(rangeChunkSize));
+			for (BookingRangeView row : chunk) {
+				LocalDate day = row.getStartTime().toLocalDate();
+				if (count >= size && !day.equals(currentDay)) {
+					// Página completa: termina en el último día leído entero
+					lastDay = currentDay;
+					break read;
+				}
+				range.group(day, row.getServiceId(), servicesById).getBookings().add(mapper.toSimple(row));
+				if (virtual && !Boolean.TRUE.equals(row.getIsOverbooking())) {
+					occupied.computeIfAbsent(row.getServiceId(), k -> new HashSet<>()).add(row.getStartTime());
+				}
+				currentDay = day;
+				afterStart = row.getStartTime();
+				afterId = row.getId();
+				count++;
+			}
+			if (chunk.size() < rangeChunkSize) {
+				break;
+			}
+		}
+		range.lastDay = lastDay;
+
+		// Completar con los turnos libres calculados al vuelo
+		if (virtual) {
+			List<Booking> slots = slotEngineService.buildVirtualSlots(services, occupied, from, lastDay);
+			for (Booking slot : slots) {
+				range.group(slot.getStartTime().toLocalDate(), slot.getService().getId(), servicesById).getBookings()
+						.add(mapper.toSimple(slot));
+			}
+			if (!slots.isEmpty()) {
+				range.days.values().forEach(byService -> byService.values().forEach(group -> group.getBookings()
+						.sort(Comparator.comparing(BookingSimpleDTO::getStartTime))));
+			}
+		}
+		return range;
+	}
 
-		return response;
+	/** Turnos leídos, por día y por servicio, y el último día cubierto. */
+	private final class RangeChunk {
+		private final Map<LocalDate, Map<Long, ServiceWithBookingsDTO>> days = new TreeMap<>();
+		private LocalDate lastDay;
+
+		private ServiceWithBookingsDTO group(LocalDate day, Long serviceId, Map<Long, ServiceEntity> servicesById) {
+			return days.computeIfAbsent(day, d -> new LinkedHashMap<>()).computeIfAbsent(serviceId, id -> {
+				// Servicio eliminado con turnos en el rango: no vino en findByUserId
+				ServiceEntity service = servicesById.computeIfAbsent(id,
+						k -> serviceRepository.findById(k).orElseThrow(
+								() -> new EntityNotFoundException("Service not found with id: " + k)));
+				return mapper.toServiceHeader(service);
+			});
+		}
 	}
 
 	/**
@@ -614,7 +773,8 @@ public class BookingServiceImpl implements BookingService {
 	 */
 	@Override
 	public com.waturnos.dto.response.BookingDetailsDTO findBookingDetailsById(Long bookingId) {
-		Booking booking = bookingRepository.findById(bookingId)
+		// Clientes del turno en la misma consulta
+		Booking booking = bookingRepository.findDetailsById(bookingId)
 				.orElseThrow(() -> new EntityNotFoundException("Booking not found with id: " + bookingId));
 
 		com.waturnos.dto.response.BookingDetailsDTO detailsDTO = new com.waturnos.dto.response.BookingDetailsDTO();
@@ -655,6 +815,17 @@ public class BookingServiceImpl implements BookingService {
 		return bookingRepository.findMaxBookingDateByServiceId(serviceId);
 	}
 
+	/**
+	 * Gets the reservation lock stats.
+	 *
+	 * @return the stats per stripe
+	 */
+	@Override
+	@RequireRole({ UserRole.ADMIN })
+	public List<LockStripeStatsDTO> getReservationLockStats() {
+		return reservationLockManager.getStripeStats();
+	}
+
 	/**
 	 * Find grouped availability by service type (category) for a specific date.
 	 * This aggregates all services of the same type/category and shows time slots
@@ -672,38 +843,64 @@ public class BookingServiceImpl implements BookingService {
 		LocalDateTime startOfDay = date.atStartOfDay();
 		LocalDateTime endOfDay = date.atTime(LocalTime.MAX);
 
-		// Buscar todos los bookings del día, filtrados por provider y tipo de servicio
-		List<Booking> bookings = bookingRepository.findByProviderAndTypeAndDateRange(providerId, categoryId, startOfDay,
-				endOfDay);
+		// Buscar los turnos del día, filtrados por provider y tipo de servicio, sólo con las columnas del slot
+		List<BookingRangeView> persisted = bookingRepository.findByProviderAndTypeAndDateRange(providerId,
+				categoryId, startOfDay, endOfDay);
+		List<GroupedSlot> slots = new ArrayList<>(persisted.size());
+		Map<Long, Set<LocalDateTime>> occupied = new HashMap<>();
+		for (BookingRangeView view : persisted) {
+			slots.add(new GroupedSlot(view.getId(), view.getServiceId(), view.getStartTime(), view.getEndTime(),
+					view.getStatus()));
+			if (!Boolean.TRUE.equals(view.getIsOverbooking())) {
+				occupied.computeIfAbsent(view.getServiceId(), k -> new HashSet<>()).add(view.getStartTime());
+			}
+		}
+		if (slotEngineService.isVirtualSlotsEnabled()) {
+			for (Booking slot : slotEngineService.buildVirtualSlots(
+					serviceRepository.findByUserIdAndTypeId(providerId, categoryId), occupied, date, date)) {
+				slots.add(new GroupedSlot(null, slot.getService().getId(), slot.getStartTime(), slot.getEndTime(),
+						slot.getStatus()));
+			}
+		}
 
 		// Agrupar por time slot (startTime)
-		Map<LocalDateTime, List<Booking>> groupedByTime = bookings.stream()
-				.collect(Collectors.groupingBy(Booking::getStartTime));
+		Map<LocalDateTime, List<GroupedSlot>> groupedByTime = slots.stream()
+				.collect(Collectors.groupingBy(GroupedSlot::startTime));
 
 		// Contar cuántos servicios únicos del provider tiene este tipo
-		Long totalServices = bookings.stream().map(b -> b.getService().getId()).distinct().count();
+		Long totalServices = slots.stream().map(GroupedSlot::serviceId).distinct().count();
 
 		// Construir DTOs
 		return groupedByTime.entrySet().stream().map(entry -> {
 			LocalDateTime timeSlot = entry.getKey();
-			List<Booking> slotsAtThisTime = entry.getValue();
+			List<GroupedSlot> slotsAtThisTime = entry.getValue();
 
 			// Filtrar los que están FREE
-			List<Booking> availableSlots = slotsAtThisTime.stream().filter(b -> b.getStatus() == BookingStatus.FREE)
+			List<GroupedSlot> availableSlots = slotsAtThisTime.stream().filter(b -> b.status() == BookingStatus.FREE)
 					.collect(Collectors.toList());
 
-			List<Long> availableBookingIds = availableSlots.stream().map(Booking::getId).collect(Collectors.toList());
+			// Los turnos virtuales no tienen id: se reservan por servicio + horario
+			List<Long> availableBookingIds = availableSlots.stream().map(GroupedSlot::id).filter(id -> id != null)
+					.collect(Collectors.toList());
+			List<Long> availableServiceIds = availableSlots.stream().map(GroupedSlot::serviceId)
+					.collect(Collectors.toList());
 
 			// Si hay al menos un servicio de este tipo, endTime es el mismo para todos
 			LocalDateTime endTime = slotsAtThisTime.isEmpty() ? timeSlot.plusHours(1)
-					: slotsAtThisTime.get(0).getEndTime();
+					: slotsAtThisTime.get(0).endTime();
 
 			return com.waturnos.dto.response.GroupedAvailabilityDTO.builder().startTime(timeSlot).endTime(endTime)
 					.totalServices(totalServices.intValue()).availableCount(availableSlots.size())
-					.availableBookingIds(availableBookingIds).isFullyBooked(availableSlots.isEmpty()).build();
+					.availableBookingIds(availableBookingIds).availableServiceIds(availableServiceIds)
+					.isFullyBooked(availableSlots.isEmpty()).build();
 		}).sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime())).collect(Collectors.toList());
 	}
 
+	/** Turno persistido o virtual de la vista agrupada por tipo (id null si es virtual). */
+	private record GroupedSlot(Long id, Long serviceId, LocalDateTime startTime, LocalDateTime endTime,
+			BookingStatus status) {
+	}
+
 	/**
 	 * Create overbooking - creates a booking with status RESERVED and assigns it to
 	 * a client. Validates that the client belongs to the organization and the
@@ -759,7 +956,7 @@ public class BookingServiceImpl implements BookingService {
 		AuditContext.setProvider(service.getUser());
 		AuditContext.setOrganization(service.getUser().getOrganization());
 
-		notificationFactory.sendAsync(
+		notificationFactory.enqueue(
 				buildRequest(booking, client, NotificationType.BOOKING_ASSIGN, "notification.subject.assign.booking"));
 
 		return savedBooking;
@@ -805,7 +1002,7 @@ public class BookingServiceImpl implements BookingService {
 		Client client = clientRepository.findById(clientId)
 				.orElseThrow(() -> new ServiceException(ErrorCode.CLIENT_NOT_FOUND, "Client not found"));
 
-		notificationFactory.sendAsync(buildRequest(newBooking, client, NotificationType.BOOKING_REASSIGN,
+		notificationFactory.enqueue(buildRequest(newBooking, client, NotificationType.BOOKING_REASSIGN,
 				"notification.subject.reassign.booking"));
 
 		return newBooking;
@@ -826,6 +1023,9 @@ public class BookingServiceImpl implements BookingService {
 		// 1. Obtener el booking y validar que existe
 		Booking booking = bookingRepository.findById(bookingId).orElseThrow(
 				() -> new ServiceException(ErrorCode.BOOKING_NOT_FOUND, "Booking not found with id: " + bookingId));
+		reservationLockManager.acquire(booking.getService().getId(), booking.getStartTime());
+		// Se releen lugares y estado: la entidad se cargó antes de tener el lock
+		entityManager.refresh(booking);
 
 		// 2. Validar que el cliente existe
 		Client client = clientRepository.findById(clientId).orElseThrow(
@@ -843,27 +1043,24 @@ public class BookingServiceImpl implements BookingService {
 			throw new ServiceException(ErrorCode.BOOKING_FULL, "Booking is full, no free slots available");
 		}
 
-		// 5. Validar que el cliente no esté ya asignado
-		if (booking.getBookingClients().stream().anyMatch(bc -> bc.getClient().getId().equals(clientId))) {
-			throw new ServiceException(ErrorCode.BOOKING_ALREADY_RESERVED_BYCLIENT,
-					"Client is already registered for this booking.");
-		}
-
-		// 6. Crear la relación BookingClient
-		BookingClient bookingClient = BookingClient.builder().booking(booking).client(client).build();
-
-		// 7. Agregar el cliente al booking
-		booking.addBookingClient(bookingClient);
+		// 5. Reservar atómicamente el lugar (valida también que el cliente no esté ya asignado);
+		// entre varios avisados a la vez gana el primero, el resto recibe BOOKING_SLOT_TAKEN
+		reserveSeat(booking, clientId);
 
-		// 8. Establecer el estado RESERVED_AFTER_CANCEL
+		// 6. Establecer el estado RESERVED_AFTER_CANCEL
 		booking.setStatus(BookingStatus.RESERVED_AFTER_CANCEL);
 		booking.setUpdatedAt(DateUtils.getCurrentDateTime());
 
-		// 9. Guardar el booking
+		// 7. Guardar el booking
 		Booking savedBooking = bookingRepository.save(booking);
 
-		// 10. Enviar notificación
-		notificationFactory.sendAsync(buildRequest(savedBooking, client, NotificationType.BOOKING_ASSIGN,
+		// Cierra la entrada de waitlist del cliente y devuelve a la cola a los demás avisados
+		if (Boolean.TRUE.equals(savedBooking.getService().getWaitList())) {
+			waitlistService.fulfillWaitlist(savedBooking, clientId);
+		}
+
+		// 8. Enviar notificación
+		notificationFactory.enqueue(buildRequest(savedBooking, client, NotificationType.BOOKING_ASSIGN,
 				"notification.subject.assign.booking"));
 
 		return savedBooking;
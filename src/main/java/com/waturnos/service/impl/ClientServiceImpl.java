@@ -15,7 +15,6 @@ import com.waturnos.audit.AuditContext;
 import com.waturnos.audit.annotations.AuditAspect;
 import com.waturnos.dto.beans.ClientNotificationDTO;
 import com.waturnos.dto.response.ClientBookingDTO;
-import com.waturnos.entity.Booking;
 import com.waturnos.entity.Client;
 import com.waturnos.entity.ClientOrganization;
 import com.waturnos.entity.Organization;
@@ -27,6 +26,7 @@ import com.waturnos.repository.BookingRepository;
 import com.waturnos.repository.ClientOrganizationRepository;
 import com.waturnos.repository.ClientRepository;
 import com.waturnos.repository.OrganizationRepository;
+import com.waturnos.repository.projection.ClientUpcomingBookingView;
 import com.waturnos.security.SecurityAccessEntity;
 import com.waturnos.security.annotations.RequireRole;
 import com.waturnos.service.ClientService;
@@ -297,7 +297,7 @@ public class ClientServiceImpl implements ClientService {
 		AuditContext.setOrganization(organization);
 		AuditContext.get().setObject(client.getFullName());
 		
-		notificationFactory.sendAsync(request);
+		notificationFactory.enqueue(request);
 	}
 	
     /**
@@ -492,7 +492,7 @@ public class ClientServiceImpl implements ClientService {
 		// Si no se especifica fromDate, usar now()
 		LocalDateTime effectiveFromDate = fromDate != null ? fromDate : LocalDateTime.now();
 		
-		List<Booking> bookings = bookingRepository.findUpcomingBookingsByClient(clientId, effectiveFromDate, toDate, organizationId);
+		List<ClientUpcomingBookingView> bookings = bookingRepository.findUpcomingBookingsByClient(clientId, effectiveFromDate, toDate, organizationId);
 
 		// Formatter para fecha en español desde configuración
 		DateTimeFormatter formatter = DateTimeFormatter.ofPattern(bookingDateFormat, new Locale("es", "ES"));
@@ -504,14 +504,14 @@ public class ClientServiceImpl implements ClientService {
 					formattedDate = formattedDate.substring(0, 1).toUpperCase() + formattedDate.substring(1);
 
 					return ClientBookingDTO.builder()
-							.bookingId(booking.getId())
+							.bookingId(booking.getBookingId())
 							.formattedDate(formattedDate)
 							.startTime(booking.getStartTime())
 							.endTime(booking.getEndTime())
-							.serviceName(booking.getService().getName())
-							.serviceDurationMinutes(booking.getService().getDurationMinutes())
-							.providerName(booking.getService().getUser().getFullName())
-							.organizationName(booking.getService().getLocation().getOrganization().getName())
+							.serviceName(booking.getServiceName())
+							.serviceDurationMinutes(booking.getServiceDurationMinutes())
+							.providerName(booking.getProviderName())
+							.organizationName(booking.getOrganizationName())
 							.status(booking.getStatus() != null ? booking.getStatus().name() : null)
 							.notes(booking.getNotes())
 							.build();
@@ -0,0 +1,49 @@
+package com.waturnos.service.impl;
+
+import java.time.LocalDateTime;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.waturnos.enums.DeadlineType;
+import com.waturnos.repository.DeadlineRepository;
+import com.waturnos.schedule.deadline.DeadlineScheduler;
+import com.waturnos.service.DeadlineService;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class DeadlineServiceImpl implements DeadlineService {
+
+	private final DeadlineRepository deadlineRepository;
+	private final DeadlineScheduler deadlineScheduler;
+
+	@Override
+	@Transactional
+	public void schedule(DeadlineType type, Long refId, LocalDateTime dueAt) {
+		deadlineRepository.upsert(type.name(), refId, dueAt);
+		afterCommit(() -> deadlineScheduler.register(type, refId, dueAt));
+	}
+
+	@Override
+	@Transactional
+	public void cancel(DeadlineType type, Long refId) {
+		deadlineRepository.deleteByTypeAndRefId(type, refId);
+		afterCommit(() -> deadlineScheduler.forget(type, refId));
+	}
+
+	/**
+	 * La rueda en memoria sólo se entera de lo que quedó confirmado en la base.
+	 */
+	private static void afterCommit(Runnable action) {
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
+	}
+}
@@ -16,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.waturnos.entity.Location;
 import com.waturnos.audit.AuditContext;
+import com.waturnos.audit.OrganizationNameCache;
 import com.waturnos.audit.annotations.AuditAspect;
 import com.waturnos.entity.Organization;
 import com.waturnos.entity.User;
@@ -47,6 +48,8 @@ public class OrganizationServiceImpl implements OrganizationService {
 	
 	private final UserProcess userProcess;
 	
+	private final OrganizationNameCache organizationNameCache;
+	
 	@Override
 	public Optional<Organization> findById(Long id) {
 		return organizationRepository.findById(id);
@@ -59,6 +62,7 @@ public class OrganizationServiceImpl implements OrganizationService {
 		if (!organizationRepository.existsById(id))
 			throw new EntityNotFoundException("Organization not found");
 		organizationRepository.deleteById(id);
+		organizationNameCache.evict(id);
 	}
 
 	/**
@@ -137,6 +141,7 @@ public class OrganizationServiceImpl implements OrganizationService {
 		organizationDB.setModificator(SessionUtil.getUserName());
 		organizationDB.setUpdatedAt(DateUtils.getCurrentDateTime());
 		Organization organizationupdated = organizationRepository.save(organizationDB);
+		organizationNameCache.evict(organizationupdated.getId());
 		AuditContext.setOrganization(organizationupdated);
 		AuditContext.get().setObject(organizationupdated.getName());
 		return organizationupdated;
@@ -0,0 +1,87 @@
+package com.waturnos.service.impl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.waturnos.repository.ServiceRepository;
+import com.waturnos.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Servicios de cada prestador con servicios exclusivos, para propagar la
+ * exclusión al reservar y cancelar sin leer el prestador y sus servicios cada
+ * vez. Un prestador sin exclusividad se cachea como lista vacía.
+ * UserServiceImpl y ServiceEntityServiceImpl invalidan la entrada cuando el
+ * prestador o sus servicios cambian; el TTL cubre los cambios de otra réplica.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProviderExclusivityCache {
+
+	/** The user repository. */
+	private final UserRepository userRepository;
+
+	/** The service repository. */
+	private final ServiceRepository serviceRepository;
+
+	/** Tiempo de vida de cada entrada. */
+	@Value("${app.booking.exclusivity-cache-ttl-seconds:300}")
+	private long ttlSeconds;
+
+	private final Map<Long, Entry> providers = new ConcurrentHashMap<>();
+
+	/**
+	 * Servicios activos del prestador si tiene servicios exclusivos.
+	 *
+	 * @param providerId the provider id
+	 * @return the service ids, empty if the provider is not exclusive
+	 */
+	public List<Long> getExclusiveServiceIds(Long providerId) {
+		if (providerId == null) {
+			return List.of();
+		}
+		Entry entry = providers.get(providerId);
+		long now = System.nanoTime();
+		if (entry != null && entry.expiresAt > now) {
+			return entry.serviceIds;
+		}
+		boolean exclusive = userRepository.findExclusiveServicesById(providerId).orElse(false);
+		List<Long> serviceIds = exclusive ? List.copyOf(serviceRepository.findIdsByUserId(providerId)) : List.of();
+		providers.put(providerId, new Entry(serviceIds, now + TimeUnit.SECONDS.toNanos(ttlSeconds)));
+		return serviceIds;
+	}
+
+	/**
+	 * Descarta la entrada cacheada del prestador. Dentro de una transacción se
+	 * descarta después del commit, para que una lectura concurrente no vuelva a
+	 * cachear los datos anteriores al cambio.
+	 *
+	 * @param providerId the provider id
+	 */
+	public void evict(Long providerId) {
+		if (providerId == null) {
+			return;
+		}
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					providers.remove(providerId);
+				}
+			});
+			return;
+		}
+		providers.remove(providerId);
+	}
+
+	private record Entry(List<Long> serviceIds, long expiresAt) {
+	}
+}
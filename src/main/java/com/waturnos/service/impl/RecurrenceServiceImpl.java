@@ -17,6 +17,7 @@ import com.waturnos.repository.RecurrenceRepository;
 import com.waturnos.repository.ServiceRepository;
 import com.waturnos.repository.UserRepository;
 import com.waturnos.service.RecurrenceService;
+import com.waturnos.service.SlotEngineService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -44,6 +45,7 @@ public class RecurrenceServiceImpl implements RecurrenceService {
     private final ClientRepository clientRepository;
     private final ServiceRepository serviceRepository;
     private final UserRepository userRepository;
+    private final SlotEngineService slotEngineService;
     
     @Override
     @Transactional(readOnly = true)
@@ -78,11 +80,13 @@ public class RecurrenceServiceImpl implements RecurrenceService {
         LocalDate startDate = booking.getStartTime().toLocalDate().plusWeeks(1); // Empezar desde la próxima semana
         LocalDate endDate = startDate.plusMonths(6); // Buscar hasta 6 meses adelante
         
-        List<Booking> futureBookings = bookingRepository.findByServiceIdAndDateRange(
-            service.getId(),
-            startDate.atStartOfDay(),
-            endDate.atTime(23, 59, 59)
-        );
+        // Incluye los turnos virtuales si están activos
+        List<Booking> futureBookings = slotEngineService.buildSlots(List.of(service),
+            bookingRepository.findByServiceIdAndDateRange(
+                service.getId(),
+                startDate.atStartOfDay(),
+                endDate.atTime(23, 59, 59)
+            ), startDate, endDate);
         
         // Filtrar por día de la semana y hora exacta
         List<Booking> matchingSlots = futureBookings.stream()
@@ -211,11 +215,13 @@ public class RecurrenceServiceImpl implements RecurrenceService {
         log.info("Buscando turnos desde {} hasta {}", startDate, endDate);
         
         // Obtener todos los bookings futuros del servicio
-        List<Booking> futureBookings = bookingRepository.findByServiceIdAndDateRange(
-            service.getId(),
-            startDate.atStartOfDay(),
-            endDate.atTime(23, 59, 59)
-        );
+        // Incluye los turnos virtuales si están activos
+        List<Booking> futureBookings = slotEngineService.buildSlots(List.of(service),
+            bookingRepository.findByServiceIdAndDateRange(
+                service.getId(),
+                startDate.atStartOfDay(),
+                endDate.atTime(23, 59, 59)
+            ), startDate, endDate);
         
         // Filtrar por día de la semana y hora exacta
         // FREE_AFTER_CANCEL también se considera disponible
@@ -236,6 +242,11 @@ public class RecurrenceServiceImpl implements RecurrenceService {
         
         log.info("Asignando {} turnos futuros", matchingSlots.size());
         
+        // Los turnos virtuales se materializan antes de asignarlos
+        matchingSlots = matchingSlots.stream()
+            .map(b -> b.getId() != null ? b : slotEngineService.materializeSlot(service.getId(), b.getStartTime()))
+            .collect(Collectors.toList());
+        
         // Asignar cada turno al cliente
         for (Booking booking : matchingSlots) {
             BookingClient bc = BookingClient.builder()
@@ -295,6 +306,19 @@ public class RecurrenceServiceImpl implements RecurrenceService {
             .collect(Collectors.toList());
     }
     
+    @Override
+    public boolean isRecurrenceValidForDate(Recurrence recurrence, LocalDate date) {
+        if (!Boolean.TRUE.equals(recurrence.getActive())) {
+            return false;
+        }
+        // END_DATE: verificar que la fecha no supere el límite
+        if (recurrence.getRecurrenceType() == RecurrenceType.END_DATE) {
+            return recurrence.getEndDate() != null && !date.isAfter(recurrence.getEndDate());
+        }
+        // FOREVER siempre es válido; COUNT se controla al crear la recurrencia
+        return true;
+    }
+    
     private RecurrenceDTO convertToDTO(Recurrence recurrence) {
         return RecurrenceDTO.builder()
             .id(recurrence.getId())
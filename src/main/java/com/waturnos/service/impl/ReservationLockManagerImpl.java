@@ -0,0 +1,162 @@
+package com.waturnos.service.impl;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.waturnos.dto.response.LockStripeStatsDTO;
+import com.waturnos.repository.BookingRepository;
+import com.waturnos.service.ReservationLockManager;
+import com.waturnos.service.exceptions.ErrorCode;
+import com.waturnos.service.exceptions.ServiceException;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Lock de reservas por turno con striping. Cada turno se mapea a uno de N
+ * ReentrantLock (fair) para que, por nodo, un solo hilo compita por la fila en
+ * Postgres; el advisory lock transaccional cubre la concurrencia entre réplicas.
+ * Ambos se liberan al terminar la transacción.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationLockManagerImpl implements ReservationLockManager {
+
+	/** Intervalo entre reintentos del advisory lock. */
+	private static final long ADVISORY_RETRY_MILLIS = 10;
+
+	/** The booking repository. */
+	private final BookingRepository bookingRepository;
+
+	/** Cantidad de stripes (se redondea a potencia de 2). */
+	@Value("${app.booking.lock.stripes:64}")
+	private int stripeCount;
+
+	/** Espera máxima por el lock antes de rechazar la reserva. */
+	@Value("${app.booking.lock.wait-ms:300}")
+	private long waitMillis;
+
+	private ReentrantLock[] stripes;
+	private LongAdder[] acquired;
+	private LongAdder[] contended;
+	private LongAdder[] timeouts;
+	private LongAdder[] waitNanos;
+
+	@PostConstruct
+	void init() {
+		int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+		stripes = new ReentrantLock[size];
+		acquired = new LongAdder[size];
+		contended = new LongAdder[size];
+		timeouts = new LongAdder[size];
+		waitNanos = new LongAdder[size];
+		for (int i = 0; i < size; i++) {
+			stripes[i] = new ReentrantLock(true);
+			acquired[i] = new LongAdder();
+			contended[i] = new LongAdder();
+			timeouts[i] = new LongAdder();
+			waitNanos[i] = new LongAdder();
+		}
+	}
+
+	@Override
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void acquire(Long serviceId, LocalDateTime startTime) {
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMillis);
+		int epochMinutes = (int) (startTime.toEpochSecond(ZoneOffset.UTC) / 60);
+		int index = stripeIndex(serviceId, epochMinutes);
+		ReentrantLock lock = stripes[index];
+
+		if (!lock.tryLock()) {
+			contended[index].increment();
+			long start = System.nanoTime();
+			boolean locked;
+			try {
+				locked = lock.tryLock(waitMillis, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				locked = false;
+			}
+			waitNanos[index].add(System.nanoTime() - start);
+			if (!locked) {
+				timeouts[index].increment();
+				throw busy(serviceId, startTime);
+			}
+		}
+		acquired[index].increment();
+
+		// El lock local se libera al terminar la transacción, después del commit
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				if (lock.isHeldByCurrentThread()) {
+					lock.unlock();
+				}
+			}
+		});
+
+		if (!tryAdvisoryLock(serviceId.intValue(), epochMinutes, deadline)) {
+			timeouts[index].increment();
+			throw busy(serviceId, startTime);
+		}
+	}
+
+	@Override
+	public List<LockStripeStatsDTO> getStripeStats() {
+		List<LockStripeStatsDTO> stats = new ArrayList<>(stripes.length);
+		for (int i = 0; i < stripes.length; i++) {
+			stats.add(LockStripeStatsDTO.builder().stripe(i).acquired(acquired[i].sum())
+					.contended(contended[i].sum()).timeouts(timeouts[i].sum())
+					.waitMillis(TimeUnit.NANOSECONDS.toMillis(waitNanos[i].sum()))
+					.queueLength(stripes[i].getQueueLength()).build());
+		}
+		return stats;
+	}
+
+	/**
+	 * Intenta el advisory lock transaccional hasta el deadline. Se reintenta con
+	 * pg_try_advisory_xact_lock para no bloquear la conexión más de lo previsto.
+	 */
+	private boolean tryAdvisoryLock(int serviceKey, int slotKey, long deadline) {
+		while (true) {
+			if (bookingRepository.tryAdvisoryXactLock(serviceKey, slotKey)) {
+				return true;
+			}
+			if (System.nanoTime() >= deadline) {
+				return false;
+			}
+			try {
+				Thread.sleep(ADVISORY_RETRY_MILLIS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		}
+	}
+
+	private int stripeIndex(Long serviceId, int epochMinutes) {
+		int h = 31 * Long.hashCode(serviceId) + epochMinutes;
+		h ^= (h >>> 16);
+		return h & (stripes.length - 1);
+	}
+
+	private ServiceException busy(Long serviceId, LocalDateTime startTime) {
+		log.warn("Timeout esperando el lock del turno {} del servicio {}", startTime, serviceId);
+		return new ServiceException(ErrorCode.BOOKING_BUSY,
+				"Slot " + startTime + " of service " + serviceId + " is being reserved, try again");
+	}
+}
@@ -0,0 +1,59 @@
+package com.waturnos.service.impl;
+
+import java.lang.management.ManagementFactory;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.waturnos.repository.SchedulerLeaseRepository;
+import com.waturnos.service.SchedulerLeaseService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Leases de jobs en la tabla scheduler_lease. Cada operación hace commit en
+ * su propia transacción para que las demás réplicas la vean de inmediato.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SchedulerLeaseServiceImpl implements SchedulerLeaseService {
+
+    /** Identificador de la réplica: proceso + sufijo aleatorio (distinto en cada arranque). */
+    private static final String OWNER = ManagementFactory.getRuntimeMXBean().getName() + ":"
+            + UUID.randomUUID().toString().substring(0, 8);
+
+    private final SchedulerLeaseRepository repository;
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean tryAcquire(String name, long seconds) {
+        boolean acquired = repository.tryAcquire(name, OWNER, seconds) == 1;
+        if (acquired) {
+            log.debug("Lease {} tomado por {} por {} s", name, OWNER, seconds);
+        }
+        return acquired;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean renew(String name, long seconds) {
+        return repository.renew(name, OWNER, seconds) == 1;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void release(String name, long holdSeconds) {
+        if (repository.release(name, OWNER, holdSeconds) == 0) {
+            log.warn("El lease {} ya no era de {} al liberarlo (venció durante la ejecución)", name, OWNER);
+        }
+    }
+
+    @Override
+    public String getOwner() {
+        return OWNER;
+    }
+}
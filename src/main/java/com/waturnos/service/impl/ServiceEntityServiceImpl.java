@@ -1,6 +1,5 @@
 package com.waturnos.service.impl;
 
-import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -29,7 +28,6 @@ import com.waturnos.entity.ServiceEntity;
 import com.waturnos.entity.UnavailabilityEntity;
 import com.waturnos.entity.User;
 import com.waturnos.enums.BookingStatus;
-import com.waturnos.enums.RecurrenceType;
 import com.waturnos.enums.UserRole;
 import com.waturnos.repository.AvailabilityRepository;
 import com.waturnos.repository.BookingRepository;
@@ -44,11 +42,14 @@ import com.waturnos.security.SecurityAccessEntity;
 import com.waturnos.security.annotations.RequireRole;
 import com.waturnos.service.BookingGeneratorService;
 import com.waturnos.service.BookingService;
+import com.waturnos.service.RecurrenceService;
 import com.waturnos.service.ServiceEntityService;
+import com.waturnos.service.SlotEngineService;
 import com.waturnos.service.UnavailabilityService;
 import com.waturnos.service.exceptions.ErrorCode;
 import com.waturnos.service.exceptions.ServiceException;
 import com.waturnos.service.process.BatchProcessor;
+import com.waturnos.utils.AvailabilityUtils;
 import com.waturnos.utils.DateUtils;
 import com.waturnos.utils.SessionUtil;
 
@@ -98,6 +99,15 @@ public class ServiceEntityServiceImpl implements ServiceEntityService {
 	
 	/** The service props repository. */
 	private final ServicePropsRepository servicePropsRepository;
+
+	/** The slot engine service. */
+	private final SlotEngineService slotEngineService;
+
+	/** The recurrence service. */
+	private final RecurrenceService recurrenceService;
+
+	/** The provider exclusivity cache. */
+	private final ProviderExclusivityCache providerExclusivityCache;
 	
 	/**
 	 * Creates the.
@@ -133,6 +143,7 @@ public class ServiceEntityServiceImpl implements ServiceEntityService {
 		serviceEntity.setCreator(SessionUtil.getUserName());
 		serviceEntity.setCreatedAt(LocalDateTime.now());
 		ServiceEntity serviceEntityResponse = serviceRepository.save(serviceEntity);
+		providerExclusivityCache.evict(userId);
 		AuditContext.setService(serviceEntityResponse);
 		AuditContext.setProvider(userDB.get());
 		AuditContext.get().setObject(serviceEntity.getName());
@@ -184,55 +195,12 @@ public class ServiceEntityServiceImpl implements ServiceEntityService {
 	 */
 	public void generateBookingsForDate(ServiceEntity service, LocalDate date, Set<LocalDate> unavailabilities) {
 		List<AvailabilityEntity> availabilities = availabilityRepository.findByServiceId(service.getId());
-		List<Booking> bookings = new ArrayList<>();
-		DayOfWeek dayOfWeek = date.getDayOfWeek();
-		if (unavailabilities == null || !unavailabilities.contains(date)) {
-			availabilities.stream()
-		    .filter(a -> a.getDayOfWeek() == dayOfWeek.getValue())
-		    .forEach(a -> {
-		        LocalTime currentTime = a.getStartTime();
-		        int duration = service.getDurationMinutes();
-		        int offset = (service.getOffsetMinutes() != null ? service.getOffsetMinutes() : 0);
-		        int intervalMinutes = duration + offset;
-		        
-		        if (intervalMinutes <= 0) {
-		        	log.error("Interval minutes must be greater than 0 for service {}. Skipping availability processing.", service.getId());
-		        	return;
-		        }
-
-		        // Convertimos el final a LocalDateTime para una comparación absoluta
-		        LocalDateTime endDateTime = LocalDateTime.of(date, a.getEndTime());
-
-		        while (true) {
-		            LocalDateTime currentStart = LocalDateTime.of(date, currentTime);
-		            LocalDateTime currentEnd = currentStart.plusMinutes(duration);
-
-		            // 1. Validar que el turno no exceda la hora de fin de disponibilidad
-		            // 2. Validar que no hayamos saltado al día siguiente (overflow de LocalTime)
-		            if (currentEnd.isAfter(endDateTime) || currentStart.toLocalDate().isAfter(date)) {
-		                break;
-		            }
-
-		            Booking booking = Booking.builder()
-		                .startTime(currentStart)
-		                .endTime(currentEnd)
-		                .status(BookingStatus.FREE)
-		                .service(service)
-		                .freeSlots(service.getCapacity())
-		                .createdAt(DateUtils.getCurrentDateTime())
-		                .build();
-		            
-		            bookings.add(booking);
-
-		            // Avanzar el tiempo
-		            currentTime = currentTime.plusMinutes(intervalMinutes);
-		            
-		            // Si el nuevo currentTime es menor al anterior, significa que cruzamos la medianoche
-		            if (currentTime.isBefore(currentStart.toLocalTime()) && intervalMinutes > 0) {
-		                break; 
-		            }
-		        }
-		    });
+		List<Booking> bookings = unavailabilities == null || !unavailabilities.contains(date)
+				? buildFreeBookings(service, date, availabilities)
+				: new ArrayList<>();
+		if (slotEngineService.isVirtualSlotsEnabled()) {
+			// Con turnos virtuales solo se materializan los horarios tomados por recurrencias
+			retainRecurrenceSlots(service, date, bookings);
 		}
 		if (!bookings.isEmpty()) {
 			bookingService.create(bookings);
@@ -241,6 +209,53 @@ public class ServiceEntityServiceImpl implements ServiceEntityService {
 		}
 	}
 
+	/**
+	 * Arma los turnos FREE de un día según las availabilities de su día de la
+	 * semana. No persiste nada.
+	 *
+	 * @param service        the service
+	 * @param date           the date
+	 * @param availabilities the service availabilities
+	 * @return the bookings, ordered by availability and start time
+	 */
+	public static List<Booking> buildFreeBookings(ServiceEntity service, LocalDate date,
+			List<AvailabilityEntity> availabilities) {
+		int duration = service.getDurationMinutes();
+		int offset = (service.getOffsetMinutes() != null ? service.getOffsetMinutes() : 0);
+		if (duration + offset <= 0) {
+			log.error("Interval minutes must be greater than 0 for service {}. Skipping availability processing.", service.getId());
+			return new ArrayList<>();
+		}
+		List<Booking> bookings = new ArrayList<>();
+		for (LocalDateTime start : SlotEngineServiceImpl.computeSlotStarts(date, availabilities, duration, offset)) {
+			bookings.add(Booking.builder()
+				.startTime(start)
+				.endTime(start.plusMinutes(duration))
+				.status(BookingStatus.FREE)
+				.service(service)
+				.freeSlots(service.getCapacity())
+				.createdAt(DateUtils.getCurrentDateTime())
+				.build());
+		}
+		return bookings;
+	}
+
+	/**
+	 * Retain only the slots that match a valid active recurrence for the date.
+	 *
+	 * @param service  the service
+	 * @param date     the date
+	 * @param bookings the candidate bookings (modified in place)
+	 */
+	private void retainRecurrenceSlots(ServiceEntity service, LocalDate date, List<Booking> bookings) {
+		Set<LocalTime> recurrenceTimes = recurrenceRepository
+				.findByServiceAndDayOfWeek(service.getId(), date.getDayOfWeek().getValue()).stream()
+				.filter(r -> recurrenceService.isRecurrenceValidForDate(r, date))
+				.map(Recurrence::getTimeSlot)
+				.collect(Collectors.toSet());
+		bookings.removeIf(b -> !recurrenceTimes.contains(b.getStartTime().toLocalTime()));
+	}
+
 	/**
 	 * Apply recurrences to newly created bookings.
 	 * When new bookings are generated, this method checks if there are active recurrences
@@ -275,7 +290,7 @@ public class ServiceEntityServiceImpl implements ServiceEntityService {
 		
 		for (Recurrence recurrence : activeRecurrences) {
 			// Verificar si la recurrencia aún está vigente para esta fecha
-			if (!isRecurrenceValidForDate(recurrence, date)) {
+			if (!recurrenceService.isRecurrenceValidForDate(recurrence, date)) {
 				log.debug("Recurrencia {} no es válida para la fecha {}", recurrence.getId(), date);
 				continue;
 			}
@@ -317,43 +332,6 @@ public class ServiceEntityServiceImpl implements ServiceEntityService {
 			recurrencesApplied, activeRecurrences.size(), date);
 	}
 	
-	/**
-	 * Checks if a recurrence is still valid for a given date based on its type and configuration.
-	 *
-	 * @param recurrence the recurrence
-	 * @param date the date to check
-	 * @return true if the recurrence is valid for the date
-	 */
-	private boolean isRecurrenceValidForDate(Recurrence recurrence, LocalDate date) {
-		if (!recurrence.getActive()) {
-			return false;
-		}
-		
-		// FOREVER siempre es válido
-		if (recurrence.getRecurrenceType() == RecurrenceType.FOREVER) {
-			return true;
-		}
-		
-		// END_DATE: verificar que la fecha no supere el límite
-		if (recurrence.getRecurrenceType() == RecurrenceType.END_DATE) {
-			return recurrence.getEndDate() != null && !date.isAfter(recurrence.getEndDate());
-		}
-		
-		// COUNT: necesitaríamos contar cuántas veces se ha aplicado, por ahora lo consideramos válido
-		// ya que el sistema de recurrencias maneja esto en otra parte
-		if (recurrence.getRecurrenceType() == RecurrenceType.COUNT) {
-			// Contar bookings existentes con esta recurrencia
-			// Si ya alcanzó el límite, no aplicar
-			if (recurrence.getOccurrenceCount() != null) {
-				// Esto es una aproximación, el conteo real debería hacerse en el servicio de recurrencia
-				// Por ahora, asumimos que es válido y el servicio de recurrencia lo manejará
-				return true;
-			}
-		}
-		
-		return true;
-	}
-
 	/**
 	 * Extend bookings by one day from the last existing booking date.
 	 * If no bookings exist, generates for the configured forward days.
@@ -449,7 +427,7 @@ public class ServiceEntityServiceImpl implements ServiceEntityService {
 		// Verificar si hay cambios en availability y procesar bookings afectados de forma asíncrona
 		List<AvailabilityEntity> currentAvailability = availabilityRepository.findByServiceId(service.getId());
 		
-		if (newAvailability != null && !newAvailability.isEmpty() && hasAvailabilityChanged(currentAvailability, newAvailability)) {
+		if (newAvailability != null && !newAvailability.isEmpty() && AvailabilityUtils.hasAvailabilityChanged(currentAvailability, newAvailability)) {
 			log.info("Availability changed for service {}, triggering async processing of affected bookings", service.getId());
 			
 			// Capturar el SecurityContext antes de ejecutar async
@@ -478,33 +456,13 @@ public class ServiceEntityServiceImpl implements ServiceEntityService {
 		serviceDB.setLocation(service.getLocation());
 		serviceDB.setPrice(service.getPrice());
 		serviceDB.setIsBasic(service.getIsBasic());
+		if (service.getWaitListFanOut() != null) {
+			serviceDB.setWaitListFanOut(service.getWaitListFanOut());
+		}
+		providerExclusivityCache.evict(serviceDB.getUser().getId());
 		return serviceRepository.save(serviceDB);
 	}
 	
-	/**
-	 * Verifica si hubo cambios en la configuración de availability.
-	 */
-	private boolean hasAvailabilityChanged(List<AvailabilityEntity> current, List<AvailabilityDTO> newList) {
-		if (current.size() != newList.size()) {
-			return true;
-		}
-		
-		// Comparar cada elemento
-		for (AvailabilityEntity currentAv : current) {
-			boolean found = newList.stream().anyMatch(newAv ->
-				newAv.getDayOfWeek() == currentAv.getDayOfWeek() &&
-				newAv.getStartTime().equals(currentAv.getStartTime()) &&
-				newAv.getEndTime().equals(currentAv.getEndTime())
-			);
-			
-			if (!found) {
-				return true; // Hubo un cambio
-			}
-		}
-		
-		return false;
-	}
-
 	/**
 	 * Delete.
 	 *
@@ -526,6 +484,7 @@ public class ServiceEntityServiceImpl implements ServiceEntityService {
 		
 		// Marcar como borrado INMEDIATAMENTE para que no aparezca en listados
 		serviceRepository.markAsDeleted(serviceId);
+		providerExclusivityCache.evict(serviceDB.get().getUser().getId());
 		
 		// Proceso async se encarga del borrado físico
 		batchProcessor.deleteServiceAsync(serviceDB.get().getId(), serviceDB.get().getName(), true);
@@ -584,7 +543,7 @@ public class ServiceEntityServiceImpl implements ServiceEntityService {
 		List<AffectedBookingDTO> affectedBookings = new ArrayList<>();
 		
 		for (Booking booking : futureBookings) {
-			if (!isBookingWithinAvailability(booking, newAvailability)) {
+			if (!AvailabilityUtils.isBookingWithinAvailability(booking, newAvailability)) {
 				// Este booking queda fuera del nuevo horario
 				// Obtener info de cada cliente en este booking
 				for (BookingClient bc : booking.getBookingClients()) {
@@ -607,26 +566,5 @@ public class ServiceEntityServiceImpl implements ServiceEntityService {
 				.build();
 	}
 	
-	/**
-	 * Verifica si un booking está dentro de los rangos de availability.
-	 *
-	 * @param booking el booking a verificar
-	 * @param availabilities la lista de availability
-	 * @return true si el booking está cubierto, false si queda fuera
-	 */
-	private boolean isBookingWithinAvailability(Booking booking, List<AvailabilityDTO> availabilities) {
-		DayOfWeek bookingDay = booking.getStartTime().getDayOfWeek();
-		LocalTime bookingStartTime = booking.getStartTime().toLocalTime();
-		LocalTime bookingEndTime = booking.getEndTime().toLocalTime();
-		
-		// Buscar si existe un availability para ese día que cubra el horario
-		return availabilities.stream()
-				.filter(av -> av.getDayOfWeek() == bookingDay.getValue())
-				.anyMatch(av -> {
-					// El booking debe estar completamente dentro del rango
-					return !bookingStartTime.isBefore(av.getStartTime()) && 
-						   !bookingEndTime.isAfter(av.getEndTime());
-				});
-	}
 }
 
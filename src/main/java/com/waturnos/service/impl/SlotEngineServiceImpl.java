@@ -0,0 +1,295 @@
+package com.waturnos.service.impl;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.waturnos.entity.AvailabilityEntity;
+import com.waturnos.entity.Booking;
+import com.waturnos.entity.ServiceEntity;
+import com.waturnos.entity.UnavailabilityEntity;
+import com.waturnos.entity.User;
+import com.waturnos.enums.BookingStatus;
+import com.waturnos.repository.AvailabilityRepository;
+import com.waturnos.repository.BookingRepository;
+import com.waturnos.repository.ServiceRepository;
+import com.waturnos.repository.UnavailabilityRepository;
+import com.waturnos.service.SlotEngineService;
+import com.waturnos.service.UnavailabilityService;
+import com.waturnos.service.exceptions.ErrorCode;
+import com.waturnos.service.exceptions.ServiceException;
+import com.waturnos.utils.DateUtils;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Implementación del motor de turnos virtuales.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SlotEngineServiceImpl implements SlotEngineService {
+
+	/** Estados que ocupan al proveedor y bloquean sus otros servicios exclusivos. */
+	private static final Set<BookingStatus> BUSY_STATUSES = EnumSet.of(BookingStatus.PARTIALLY_RESERVED,
+			BookingStatus.RESERVED, BookingStatus.RESERVED_AFTER_CANCEL, BookingStatus.COMPLETED,
+			BookingStatus.COMPLETED_AFTER_CANCEL, BookingStatus.NO_SHOW, BookingStatus.PENDING,
+			BookingStatus.CONFIRMED);
+
+	/** The availability repository. */
+	private final AvailabilityRepository availabilityRepository;
+
+	/** The unavailability repository. */
+	private final UnavailabilityRepository unavailabilityRepository;
+
+	/** The unavailability service. */
+	private final UnavailabilityService unavailabilityService;
+
+	/** The booking repository. */
+	private final BookingRepository bookingRepository;
+
+	/** The service repository. */
+	private final ServiceRepository serviceRepository;
+
+	/** Si true, los turnos FREE no se materializan y se calculan al vuelo. */
+	@Value("${app.booking.virtual-slots:false}")
+	private boolean virtualSlots;
+
+	@Override
+	public boolean isVirtualSlotsEnabled() {
+		return virtualSlots;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<Booking> buildSlots(List<ServiceEntity> services, List<Booking> persisted, LocalDate from,
+			LocalDate to) {
+		if (!virtualSlots || services == null || services.isEmpty()) {
+			return persisted;
+		}
+
+		Map<Long, Set<LocalDateTime>> occupied = new HashMap<>();
+		for (Booking booking : persisted) {
+			if (!Boolean.TRUE.equals(booking.getIsOverbooking())) {
+				occupied.computeIfAbsent(booking.getService().getId(), k -> new HashSet<>())
+						.add(booking.getStartTime());
+			}
+		}
+
+		List<Booking> result = new ArrayList<>(persisted);
+		result.addAll(buildVirtualSlots(services, occupied, from, to));
+		result.sort(Comparator.comparing(Booking::getStartTime));
+		return result;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<Booking> buildVirtualSlots(List<ServiceEntity> services, Map<Long, Set<LocalDateTime>> occupied,
+			LocalDate from, LocalDate to) {
+		if (!virtualSlots || services == null || services.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		// Los turnos virtuales solo existen dentro de la ventana [ahora, hoy + futureDays]
+		LocalDateTime now = DateUtils.getCurrentDateTime();
+		LocalDate today = now.toLocalDate();
+		LocalDate effectiveFrom = from.isBefore(today) ? today : from;
+		if (effectiveFrom.isAfter(to)) {
+			return Collections.emptyList();
+		}
+
+		List<Long> serviceIds = services.stream().map(ServiceEntity::getId).toList();
+		Map<Long, List<AvailabilityEntity>> availabilityByService = availabilityRepository
+				.findByServiceIdIn(serviceIds).stream()
+				.collect(Collectors.groupingBy(AvailabilityEntity::getServiceId));
+		Map<Long, List<UnavailabilityEntity>> unavailabilityByService = unavailabilityRepository
+				.findByServiceIdInAndRange(serviceIds, effectiveFrom, to).stream()
+				.collect(Collectors.groupingBy(u -> u.getService().getId()));
+		Set<LocalDate> holidays = unavailabilityService.getHolidays();
+		Map<Long, List<Booking>> busyByProvider = loadExclusiveBusyBookings(services, effectiveFrom, to);
+
+		List<Booking> slots = new ArrayList<>();
+		for (ServiceEntity service : services) {
+			List<AvailabilityEntity> availabilities = availabilityByService.get(service.getId());
+			if (availabilities == null || availabilities.isEmpty() || service.getFutureDays() == null) {
+				continue;
+			}
+			LocalDate horizon = today.plusDays(service.getFutureDays());
+			LocalDate serviceTo = to.isAfter(horizon) ? horizon : to;
+			int duration = service.getDurationMinutes();
+			int offset = service.getOffsetMinutes() != null ? service.getOffsetMinutes() : 0;
+			Set<LocalDateTime> taken = occupied.getOrDefault(service.getId(), Collections.emptySet());
+			List<UnavailabilityEntity> blocks = unavailabilityByService.getOrDefault(service.getId(),
+					Collections.emptyList());
+			List<Booking> providerBusy = service.getUser() != null
+					? busyByProvider.getOrDefault(service.getUser().getId(), Collections.emptyList())
+					: Collections.emptyList();
+
+			for (LocalDate date = effectiveFrom; !date.isAfter(serviceTo); date = date.plusDays(1)) {
+				if (holidays.contains(date)) {
+					continue;
+				}
+				for (LocalDateTime start : computeSlotStarts(date, availabilities, duration, offset)) {
+					LocalDateTime end = start.plusMinutes(duration);
+					if (!start.isAfter(now) || taken.contains(start) || isBlocked(start, end, blocks)) {
+						continue;
+					}
+					BookingStatus status = overlapsOtherService(service.getId(), start, end, providerBusy)
+							? BookingStatus.LOCK_BY_EXCLUSION
+							: BookingStatus.FREE;
+					slots.add(Booking.builder().startTime(start).endTime(end).status(status).service(service)
+							.freeSlots(service.getCapacity()).build());
+				}
+			}
+		}
+		return slots;
+	}
+
+	@Override
+	@Transactional
+	public Booking materializeSlot(Long serviceId, LocalDateTime startTime) {
+		List<Booking> rows = bookingRepository.findSlotRows(serviceId, startTime);
+		if (!rows.isEmpty()) {
+			return rows.get(0);
+		}
+
+		ServiceEntity service = serviceRepository.findById(serviceId)
+				.orElseThrow(() -> new ServiceException(ErrorCode.SERVICE_NOT_FOUND, "Service not found"));
+
+		List<Booking> virtual = buildVirtualSlots(List.of(service), Collections.emptyMap(),
+				startTime.toLocalDate(), startTime.toLocalDate());
+		Booking slot = virtual.stream().filter(b -> b.getStartTime().equals(startTime)).findFirst()
+				.orElseThrow(() -> new ServiceException(ErrorCode.BOOKING_NOT_FOUND,
+						"Slot " + startTime + " is not offered by service " + serviceId));
+		if (slot.getStatus() != BookingStatus.FREE) {
+			throw new ServiceException(ErrorCode.BOOKING_INVALID_STATUS,
+					"Slot " + startTime + " is locked by an exclusive service");
+		}
+
+		LocalDateTime now = DateUtils.getCurrentDateTime();
+		int inserted = bookingRepository.insertFreeSlot(serviceId, startTime, slot.getEndTime(),
+				service.getCapacity(), now);
+		log.debug("Turno virtual {} del servicio {} materializado (insertado={})", startTime, serviceId, inserted);
+
+		return bookingRepository.findSlotRows(serviceId, startTime).stream().findFirst()
+				.orElseThrow(() -> new ServiceException(ErrorCode.BOOKING_NOT_FOUND, "Slot could not be materialized"));
+	}
+
+	/**
+	 * Calcula los inicios de turno de un día según las availabilities del día de
+	 * la semana, la duración y el offset entre turnos. No cruza la medianoche.
+	 *
+	 * @param date           la fecha
+	 * @param availabilities las availabilities del servicio
+	 * @param duration       la duración del turno en minutos
+	 * @param offset         los minutos entre turnos
+	 * @return los inicios de turno ordenados por availability
+	 */
+	public static List<LocalDateTime> computeSlotStarts(LocalDate date, List<AvailabilityEntity> availabilities,
+			int duration, int offset) {
+		int interval = duration + offset;
+		if (interval <= 0 || duration <= 0) {
+			return Collections.emptyList();
+		}
+		int dayOfWeek = date.getDayOfWeek().getValue();
+		List<LocalDateTime> starts = new ArrayList<>();
+		for (AvailabilityEntity availability : availabilities) {
+			if (availability.getDayOfWeek() != dayOfWeek) {
+				continue;
+			}
+			LocalDateTime limit = LocalDateTime.of(date, availability.getEndTime());
+			LocalDateTime current = LocalDateTime.of(date, availability.getStartTime());
+			while (current.toLocalDate().equals(date) && !current.plusMinutes(duration).isAfter(limit)) {
+				starts.add(current);
+				current = current.plusMinutes(interval);
+			}
+		}
+		return starts;
+	}
+
+	/**
+	 * Verifica si el turno se solapa con algún bloqueo del servicio.
+	 */
+	private static boolean isBlocked(LocalDateTime start, LocalDateTime end, List<UnavailabilityEntity> blocks) {
+		for (UnavailabilityEntity u : blocks) {
+			if (u.getDayOfWeek() != null && u.getDayOfWeek() != start.getDayOfWeek().getValue()) {
+				continue;
+			}
+			LocalDate endDay = u.getEndDay() != null ? u.getEndDay() : u.getStartDay();
+			LocalDateTime blockStart = u.getStartDay() == null ? LocalDateTime.MIN
+					: LocalDateTime.of(u.getStartDay(), u.getStartTime() != null ? u.getStartTime() : LocalTime.MIN);
+			LocalDateTime blockEnd = endDay == null ? LocalDateTime.MAX
+					: LocalDateTime.of(endDay, u.getEndTime() != null ? u.getEndTime() : LocalTime.MAX);
+			if (u.getStartDay() == null && u.getDayOfWeek() != null) {
+				// Bloqueo semanal: se aplica sobre el horario del día del turno
+				blockStart = LocalDateTime.of(start.toLocalDate(),
+						u.getStartTime() != null ? u.getStartTime() : LocalTime.MIN);
+				blockEnd = LocalDateTime.of(start.toLocalDate(),
+						u.getEndTime() != null ? u.getEndTime() : LocalTime.MAX);
+			}
+			if (start.isBefore(blockEnd) && end.isAfter(blockStart)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Verifica si el turno se solapa con un booking ocupado de otro servicio del
+	 * mismo proveedor exclusivo.
+	 */
+	private static boolean overlapsOtherService(Long serviceId, LocalDateTime start, LocalDateTime end,
+			List<Booking> busy) {
+		for (Booking b : busy) {
+			if (!b.getService().getId().equals(serviceId) && b.getStartTime().isBefore(end)
+					&& b.getEndTime().isAfter(start)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Carga, por proveedor con servicios exclusivos, los bookings ocupados de todos
+	 * sus servicios en el rango.
+	 */
+	private Map<Long, List<Booking>> loadExclusiveBusyBookings(List<ServiceEntity> services, LocalDate from,
+			LocalDate to) {
+		Map<Long, List<Booking>> busyByProvider = new HashMap<>();
+		Set<Long> providerIds = new HashSet<>();
+		for (ServiceEntity service : services) {
+			User provider = service.getUser();
+			if (provider != null && Boolean.TRUE.equals(provider.getExclusiveServices())) {
+				providerIds.add(provider.getId());
+			}
+		}
+		for (Long providerId : providerIds) {
+			List<Long> providerServiceIds = serviceRepository.findByUserId(providerId).stream()
+					.map(ServiceEntity::getId).toList();
+			if (providerServiceIds.size() < 2) {
+				continue;
+			}
+			List<Booking> busy = bookingRepository
+					.findByServiceIdInAndStartTimeBetween(providerServiceIds, from.atStartOfDay(),
+							to.plusDays(1).atStartOfDay())
+					.stream().filter(b -> BUSY_STATUSES.contains(b.getStatus())).toList();
+			busyByProvider.put(providerId, busy);
+		}
+		return busyByProvider;
+	}
+}
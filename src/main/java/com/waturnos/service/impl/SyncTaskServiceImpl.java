@@ -2,13 +2,16 @@ package com.waturnos.service.impl;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.waturnos.entity.SyncTask;
+import com.waturnos.entity.SyncTaskPartition;
 import com.waturnos.enums.ExecutionStatus;
 import com.waturnos.enums.ScheduleType;
+import com.waturnos.repository.SyncTaskPartitionRepository;
 import com.waturnos.repository.SyncTaskRepository;
 import com.waturnos.service.SyncTaskService;
 
@@ -20,9 +23,14 @@ public class SyncTaskServiceImpl implements SyncTaskService {
 
     private final SyncTaskRepository repository;
 
+    private final SyncTaskPartitionRepository partitionRepository;
+
     @Override
     public boolean wasExecutedOn(ScheduleType type, LocalDate date) {
-        return repository.findByScheduleTypeAndLastExecutionDate(type, date).isPresent();
+        // Una ejecución FAIL o IN_PROGRESS (caída del nodo) se retoma con las particiones pendientes
+        return repository.findByScheduleTypeAndLastExecutionDate(type, date)
+            .filter(task -> task.getStatus() == ExecutionStatus.SUCCESS)
+            .isPresent();
     }
 
     @Override
@@ -39,4 +47,30 @@ public class SyncTaskServiceImpl implements SyncTaskService {
         task.setUpdatedAt(LocalDateTime.now());
         repository.save(task);
     }
+
+    @Override
+    public List<SyncTaskPartition> findPartitions(ScheduleType type, LocalDate date) {
+        return partitionRepository.findByScheduleTypeAndExecutionDate(type, date);
+    }
+
+    @Override
+    @Transactional
+    public void recordPartition(ScheduleType type, LocalDate date, String partitionKey, ExecutionStatus status,
+            long successCount, long errorCount, int attempts, String details) {
+        SyncTaskPartition partition = partitionRepository
+            .findByScheduleTypeAndExecutionDateAndPartitionKey(type, date, partitionKey).orElse(
+                SyncTaskPartition.builder()
+                    .scheduleType(type)
+                    .executionDate(date)
+                    .partitionKey(partitionKey)
+                    .build()
+            );
+        partition.setStatus(status);
+        partition.setSuccessCount(successCount);
+        partition.setErrorCount(errorCount);
+        partition.setAttempts(partition.getAttempts() + attempts);
+        partition.setDetails(details);
+        partition.setUpdatedAt(LocalDateTime.now());
+        partitionRepository.save(partition);
+    }
 }
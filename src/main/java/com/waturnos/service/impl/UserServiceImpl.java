@@ -12,6 +12,7 @@ import com.waturnos.entity.Organization;
 import com.waturnos.entity.User;
 import com.waturnos.enums.UserRole;
 import com.waturnos.repository.UserRepository;
+import com.waturnos.security.PrincipalCache;
 import com.waturnos.security.SecurityAccessEntity;
 import com.waturnos.security.annotations.RequireRole;
 import com.waturnos.service.UserService;
@@ -49,6 +50,12 @@ public class UserServiceImpl implements UserService {
 	
 	private final BatchProcessor batchProcessor;
 
+	/** The principal cache. */
+	private final PrincipalCache principalCache;
+
+	/** The provider exclusivity cache. */
+	private final ProviderExclusivityCache providerExclusivityCache;
+
 	/**
 	 * Find all.
 	 *
@@ -132,7 +139,9 @@ public class UserServiceImpl implements UserService {
 	@RequireRole({ UserRole.ADMIN, UserRole.MANAGER, UserRole.PROVIDER })
 	@AuditAspect("USER_UPDATE_MANAGER")
 	public User updateManager(User user) {
-		return userProcess.updateUser(user);
+		User updated = userProcess.updateUser(user);
+		providerExclusivityCache.evict(updated.getId());
+		return updated;
 	}
 
 	@AuditAspect("USER_DELETE_MANAGER")
@@ -195,6 +204,8 @@ public class UserServiceImpl implements UserService {
 			AuditContext.setOrganization(userDB.get().getOrganization());
 		}
 		validateCommons(providerId, UserRole.PROVIDER);
+		principalCache.evictUser(providerId);
+		providerExclusivityCache.evict(providerId);
 		batchProcessor.deleteProviderAsync(providerId);
 	}
 
@@ -202,6 +213,8 @@ public class UserServiceImpl implements UserService {
 	@RequireRole({ UserRole.ADMIN, UserRole.MANAGER, UserRole.PROVIDER })
 	@AuditAspect("USER_UPDATE_PROVIDER")
 	public User updateProvider(User provider) {
-		return userProcess.updateUser(provider);
+		User updated = userProcess.updateUser(provider);
+		providerExclusivityCache.evict(updated.getId());
+		return updated;
 	}
 }
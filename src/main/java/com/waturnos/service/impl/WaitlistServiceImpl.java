@@ -8,6 +8,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
@@ -22,6 +23,7 @@ import com.waturnos.entity.ServiceEntity;
 import com.waturnos.entity.User;
 import com.waturnos.entity.WaitlistEntry;
 import com.waturnos.enums.BookingStatus;
+import com.waturnos.enums.DeadlineType;
 import com.waturnos.enums.WaitlistStatus;
 import com.waturnos.enums.WaitlistType;
 import com.waturnos.notification.bean.NotificationRequest;
@@ -33,6 +35,8 @@ import com.waturnos.repository.OrganizationRepository;
 import com.waturnos.repository.ServiceRepository;
 import com.waturnos.repository.UserRepository;
 import com.waturnos.repository.WaitlistEntryRepository;
+import com.waturnos.repository.projection.WaitlistPositionView;
+import com.waturnos.service.DeadlineService;
 import com.waturnos.service.WaitlistService;
 import com.waturnos.service.exceptions.ErrorCode;
 import com.waturnos.service.exceptions.ServiceException;
@@ -45,6 +49,9 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class WaitlistServiceImpl implements WaitlistService {
 
+	/** Máximo de clientes avisados a la vez por turno liberado. */
+	private static final int MAX_FAN_OUT = 20;
+
 	private final WaitlistEntryRepository waitlistRepo;
 	private final ServiceRepository serviceRepo;
 	private final BookingRepository bookingRepo;
@@ -52,6 +59,7 @@ public class WaitlistServiceImpl implements WaitlistService {
 	private final UserRepository userRepo;
 	private final OrganizationRepository organizationRepo;
 	private final NotificationFactory notificationFactory;
+	private final DeadlineService deadlineService;
 
 	@Override
 	@Transactional
@@ -102,18 +110,16 @@ public class WaitlistServiceImpl implements WaitlistService {
 		Organization organization = organizationRepo.findById(request.getOrganizationId()).orElseThrow(
 				() -> new ServiceException(ErrorCode.ORGANIZATION_NOT_FOUND, "Organización no encontrada"));
 
-		// 6. Calcular posición
-		Integer position = waitlistRepo.countByServiceIdAndStatus(request.getServiceId(), WaitlistStatus.WAITING) + 1;
-
-		// 7. Crear entry
+		// 6. Crear entry (la posición sale del orden de llegada, no se guarda)
 		WaitlistEntry entry = WaitlistEntry.builder().client(client).service(service).user(provider)
 				.organization(organization).type(request.getType()).specificBooking(specificBooking)
-				.date(request.getDate()).timeFrom(request.getTimeFrom()).timeTo(request.getTimeTo()).position(position)
+				.date(request.getDate()).timeFrom(request.getTimeFrom()).timeTo(request.getTimeTo())
 				.expirationMinutes(service.getWaitListTime()).status(WaitlistStatus.WAITING).build();
 
 		entry = waitlistRepo.save(entry);
+		fillPositions(List.of(entry));
 
-		log.info("Entrada creada exitosamente con ID {} en posición {}", entry.getId(), position);
+		log.info("Entrada creada exitosamente con ID {} en posición {}", entry.getId(), entry.getPosition());
 
 		return toDTO(entry);
 	}
@@ -132,6 +138,7 @@ public class WaitlistServiceImpl implements WaitlistService {
 			entries = waitlistRepo.findByClientIdAndStatusIn(clientId, activeStatuses);
 		}
 
+		fillPositions(entries);
 		return entries.stream().map(this::toDTO).collect(Collectors.toList());
 	}
 
@@ -154,64 +161,110 @@ public class WaitlistServiceImpl implements WaitlistService {
 			throw new ServiceException(ErrorCode.BAD_REQUEST, "Ya saliste de esta lista");
 		}
 
-		Long serviceId = entry.getService().getId();
+		boolean wasNotified = entry.getStatus() == WaitlistStatus.NOTIFIED;
 
 		// 4. Marcar como cancelada
 		entry.setStatus(WaitlistStatus.CANCELLED);
 		waitlistRepo.save(entry);
+		if (wasNotified) {
+			deadlineService.cancel(DeadlineType.WAITLIST_EXPIRY, entryId);
+		}
 
+		// Las posiciones de los que siguen se derivan al leer: no hay que renumerar
 		log.info("Entry {} cancelada exitosamente", entryId);
-
-		// 5. Recalcular posiciones
-		recalculatePositions(serviceId);
 	}
 
 	@Override
 	@Transactional
-	public void recalculatePositions(Long serviceId) {
-		log.info("Recalculando posiciones para servicio {}", serviceId);
+	public void notifyNextInLine(Booking booking) {
+		log.info("Notificando siguiente en línea para booking {}", booking.getId());
+		int fanOut = fanOut(booking.getService());
 
-		List<WaitlistEntry> waitingEntries = waitlistRepo.findByServiceIdAndStatusOrderByCreatedAtAsc(serviceId,
-				WaitlistStatus.WAITING);
+		// 1. Buscar candidatos usando query nativa (varios si el servicio avisa a muchos a la vez)
+		List<WaitlistEntry> candidates = fanOut > 1
+				? waitlistRepo.findTopCandidatesForBooking(booking.getService().getId(),
+						booking.getStartTime().toLocalDate(), booking.getStartTime().toLocalTime(), booking.getId(),
+						fanOut)
+				: waitlistRepo.findCandidatesForBooking(booking.getService().getId(),
+						booking.getStartTime().toLocalDate(), booking.getStartTime().toLocalTime(), booking.getId());
 
-		for (int i = 0; i < waitingEntries.size(); i++) {
-			WaitlistEntry entry = waitingEntries.get(i);
-			entry.setPosition(i + 1);
-			waitlistRepo.save(entry);
+		if (candidates.isEmpty()) {
+			log.info("No hay candidatos en espera para este turno");
+			return;
+		}
+
+		// 2. Calcular expiración (la misma para todos los avisados)
+		LocalDateTime now = LocalDateTime.now();
+		LocalDateTime expiresAt = now.plusMinutes(candidates.get(0).getExpirationMinutes());
+
+		// 3. Actualizar estado a NOTIFIED
+		for (WaitlistEntry candidate : candidates) {
+			candidate.setStatus(WaitlistStatus.NOTIFIED);
+			candidate.setNotifiedAt(now);
+			candidate.setExpiresAt(expiresAt);
+			candidate.setNotifiedBooking(booking);
+			waitlistRepo.save(candidate);
+			log.info("Cliente {} notificado, tiene hasta {} para reservar", candidate.getClient().getId(), expiresAt);
 		}
 
-		log.info("Posiciones recalculadas: {} entradas actualizadas", waitingEntries.size());
+		// De a uno vence la entrada; con varios avisados vence la oferta del turno,
+		// y el primero que reserva libera al resto (ver fulfillWaitlist)
+		if (fanOut > 1) {
+			deadlineService.schedule(DeadlineType.WAITLIST_OFFER_EXPIRY, booking.getId(), expiresAt);
+		} else {
+			deadlineService.schedule(DeadlineType.WAITLIST_EXPIRY, candidates.get(0).getId(), expiresAt);
+		}
+
+		// Enviar notificación
+		candidates.forEach(candidate -> sendWaitlistNotification(candidate, booking));
 	}
 
 	@Override
 	@Transactional
-	public void notifyNextInLine(Booking booking) {
-		log.info("Notificando siguiente en línea para booking {}", booking.getId());
-
-		// 1. Buscar candidatos usando query nativa
-		List<WaitlistEntry> candidates = waitlistRepo.findCandidatesForBooking(booking.getService().getId(),
-				booking.getStartTime().toLocalDate(), booking.getStartTime().toLocalTime(), booking.getId());
-
-		if (candidates.isEmpty()) {
-			log.info("No hay candidatos en espera para este turno");
+	public void expireNotification(Long entryId) {
+		WaitlistEntry entry = waitlistRepo.findById(entryId).orElse(null);
+		if (entry == null || entry.getStatus() != WaitlistStatus.NOTIFIED) {
+			log.debug("Entrada de waitlist {} ya no está NOTIFIED, no se expira", entryId);
 			return;
 		}
 
-		WaitlistEntry winner = candidates.get(0);
+		log.info("Expirando notificación de waitlist ID={} para cliente={}, servicio={}, fecha={}", entry.getId(),
+				entry.getClient().getId(), entry.getService().getId(), entry.getDate());
+		entry.setStatus(WaitlistStatus.EXPIRED);
+		waitlistRepo.save(entry);
 
-		// 2. Calcular expiración
-		LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(winner.getExpirationMinutes());
+		// Se ofrece el mismo turno al siguiente
+		Booking offered = entry.getNotifiedBooking() != null ? entry.getNotifiedBooking()
+				: entry.getSpecificBooking();
+		if (offered != null) {
+			notifyNextInLine(offered);
+		} else {
+			log.info("Entrada de waitlist tipo TIME_WINDOW expirada, no hay booking específico para notificar");
+		}
+	}
 
-		// 3. Actualizar estado a NOTIFIED
-		winner.setStatus(WaitlistStatus.NOTIFIED);
-		winner.setNotifiedAt(LocalDateTime.now());
-		winner.setExpiresAt(expiresAt);
-		waitlistRepo.save(winner);
+	@Override
+	@Transactional
+	public void expireOffer(Long bookingId) {
+		List<WaitlistEntry> notified = waitlistRepo.findByNotifiedBookingIdAndStatus(bookingId,
+				WaitlistStatus.NOTIFIED);
+		if (notified.isEmpty()) {
+			// Los avisados cancelaron antes del vencimiento: si el turno sigue libre, pasa a los siguientes
+			bookingRepo.findById(bookingId)
+					.filter(booking -> booking.getFreeSlots() != null && booking.getFreeSlots() > 0)
+					.ifPresentOrElse(this::notifyNextInLine,
+							() -> log.debug("Oferta del booking {} sin avisados pendientes", bookingId));
+			return;
+		}
 
-		log.info("Cliente {} notificado, tiene hasta {} para reservar", winner.getClient().getId(), expiresAt);
+		log.info("Venció la oferta del booking {}: {} avisados sin reservar", bookingId, notified.size());
+		for (WaitlistEntry entry : notified) {
+			entry.setStatus(WaitlistStatus.EXPIRED);
+			waitlistRepo.save(entry);
+		}
 
-		// Enviar notificación
-		sendWaitlistNotification(winner, booking);
+		// Se ofrece el turno a los siguientes
+		notifyNextInLine(notified.get(0).getNotifiedBooking());
 	}
 
 	@Override
@@ -245,12 +298,66 @@ public class WaitlistServiceImpl implements WaitlistService {
 		if (isMatch) {
 			entry.setStatus(WaitlistStatus.FULFILLED);
 			waitlistRepo.save(entry);
+			deadlineService.cancel(DeadlineType.WAITLIST_EXPIRY, entry.getId());
+			releaseOffer(booking, entry.getId());
 			log.info("Waitlist entry {} marcada como FULFILLED", entry.getId());
 		} else {
 			log.debug("Booking no coincide con las expectativas de la waitlist entry {}", entry.getId());
 		}
 	}
 
+	/**
+	 * Devuelve a la cola a los demás avisados por el mismo turno: perdieron la
+	 * carrera y conservan su lugar por orden de llegada.
+	 */
+	private void releaseOffer(Booking booking, Long winnerId) {
+		List<WaitlistEntry> others = waitlistRepo.findByNotifiedBookingIdAndStatus(booking.getId(),
+				WaitlistStatus.NOTIFIED);
+		for (WaitlistEntry other : others) {
+			if (other.getId().equals(winnerId)) {
+				continue;
+			}
+			other.setStatus(WaitlistStatus.WAITING);
+			other.setNotifiedAt(null);
+			other.setExpiresAt(null);
+			other.setNotifiedBooking(null);
+			waitlistRepo.save(other);
+			log.info("Cliente {} vuelve a la cola: el turno {} ya fue tomado", other.getClient().getId(),
+					booking.getId());
+		}
+		deadlineService.cancel(DeadlineType.WAITLIST_OFFER_EXPIRY, booking.getId());
+	}
+
+	/**
+	 * Clientes a avisar a la vez para el servicio (1 si no está configurado).
+	 */
+	private static int fanOut(ServiceEntity service) {
+		Integer fanOut = service.getWaitListFanOut();
+		return fanOut == null ? 1 : Math.max(1, Math.min(fanOut, MAX_FAN_OUT));
+	}
+
+	/**
+	 * Completa la posición de las entradas WAITING con una sola consulta. Las
+	 * demás quedan sin posición.
+	 */
+	private void fillPositions(List<WaitlistEntry> entries) {
+		List<Long> ids = entries.stream().filter(entry -> entry.getStatus() == WaitlistStatus.WAITING)
+				.map(WaitlistEntry::getId).toList();
+		if (ids.isEmpty()) {
+			return;
+		}
+		Set<Long> serviceIds = entries.stream().map(entry -> entry.getService().getId())
+				.collect(Collectors.toSet());
+		Map<Long, Long> positions = waitlistRepo.findWaitingPositions(serviceIds, ids).stream()
+				.collect(Collectors.toMap(WaitlistPositionView::getId, WaitlistPositionView::getPosition));
+		for (WaitlistEntry entry : entries) {
+			Long position = positions.get(entry.getId());
+			if (position != null) {
+				entry.setPosition(position.intValue());
+			}
+		}
+	}
+
 	/**
 	 * Convierte una entidad WaitlistEntry a DTO
 	 */
@@ -304,7 +411,7 @@ public class WaitlistServiceImpl implements WaitlistService {
 					.properties(properties).build();
 
 			// Enviar notificación de forma asíncrona
-			notificationFactory.sendAsync(request);
+			notificationFactory.enqueue(request);
 
 			log.info("Notificación de waitlist enviada a {} ({})", client.getFullName(), client.getEmail());
 
@@ -0,0 +1,21 @@
+package com.waturnos.service.process;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingBulkWriter {
+
+	/**
+	 * Inserta turnos FREE directamente en la tabla booking con COPY, sin pasar por
+	 * el contexto de persistencia. Los ids se toman de booking_id_seq en bloques.
+	 * Dentro de una transacción de Spring usa su conexión y se confirma con ella;
+	 * fuera de una, cada llamada se confirma en su propia transacción.
+	 *
+	 * @param serviceId       the service id
+	 * @param starts          the slot start times
+	 * @param durationMinutes the slot duration
+	 * @param capacity        the free slots of each booking
+	 * @return the number of rows written
+	 */
+	long writeFreeBookings(Long serviceId, List<LocalDateTime> starts, int durationMinutes, int capacity);
+}
@@ -0,0 +1,31 @@
+package com.waturnos.service.process;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import com.waturnos.schedule.JobPartition;
+import com.waturnos.schedule.PartitionResult;
+
+public interface BookingExtensionProcessor {
+
+	/**
+	 * Divide los servicios activos en rangos de ids consecutivos de
+	 * add-bookings-page-size servicios.
+	 *
+	 * @return the partitions
+	 */
+	List<JobPartition> partitions();
+
+	/**
+	 * Extiende la agenda de los servicios activos de la partición hasta su
+	 * horizonte (runDate + futureDays). Es idempotente: volver a ejecutarlo el
+	 * mismo día no genera turnos repetidos.
+	 *
+	 * @param partition the id range partition
+	 * @param runDate   the run date
+	 * @param holidays  the holidays to skip
+	 * @return services extended ok / with error
+	 */
+	PartitionResult extendPartition(JobPartition partition, LocalDate runDate, Set<LocalDate> holidays);
+}
@@ -1,8 +1,6 @@
 package com.waturnos.service.process.impl;
 
-import java.time.DayOfWeek;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -36,6 +34,7 @@ import com.waturnos.repository.ServiceRepository;
 import com.waturnos.repository.UserRepository;
 import com.waturnos.service.BookingService;
 import com.waturnos.service.process.BatchProcessor;
+import com.waturnos.utils.AvailabilityUtils;
 import com.waturnos.utils.DateUtils;
 
 import lombok.RequiredArgsConstructor;
@@ -103,7 +102,7 @@ public class BatchProcessorImpl implements BatchProcessor {
 	            booking.getBookingClients().stream()
 	                .map(bookingClient -> bookingClient.getClient())
 	                .forEach(client -> {
-	                    notificationFactory.send(buildRequest(booking, client, serviceName));
+	                    notificationFactory.enqueue(buildRequest(booking, client, serviceName));
 	                });
 	        }
 	    });
@@ -179,7 +178,7 @@ public class BatchProcessorImpl implements BatchProcessor {
                 booking.getBookingClients().stream()
                     .map(bookingClient -> bookingClient.getClient())
                     .forEach(client -> {
-                        notificationFactory.send(buildRequest(booking, client, serviceEntity.getName()));
+                        notificationFactory.enqueue(buildRequest(booking, client, serviceEntity.getName()));
                     });
             }
 		});
@@ -215,7 +214,7 @@ public class BatchProcessorImpl implements BatchProcessor {
 			List<AffectedBookingDTO> affectedBookings = new ArrayList<>();
 			
 			for (Booking booking : futureBookings) {
-				if (!isBookingWithinAvailability(booking, newAvailability)) {
+				if (!AvailabilityUtils.isBookingWithinAvailability(booking, newAvailability)) {
 					// Este booking queda fuera del nuevo horario
 					// Obtener info de cada cliente en este booking
 					for (BookingClient bc : booking.getBookingClients()) {
@@ -262,7 +261,7 @@ public class BatchProcessorImpl implements BatchProcessor {
 										.properties(properties)
 										.build();
 								
-								notificationFactory.send(notificationRequest);
+								notificationFactory.enqueue(notificationRequest);
 								
 								log.info("Notified client {} about booking {} cancellation", 
 										clientData.getClientEmail(), bookingId);
@@ -288,22 +287,4 @@ public class BatchProcessorImpl implements BatchProcessor {
 		}
 	}
 	
-	/**
-	 * Verifica si un booking está dentro de los rangos de availability.
-	 */
-	private boolean isBookingWithinAvailability(Booking booking, List<AvailabilityDTO> availabilities) {
-		DayOfWeek bookingDay = booking.getStartTime().getDayOfWeek();
-		LocalTime bookingStartTime = booking.getStartTime().toLocalTime();
-		LocalTime bookingEndTime = booking.getEndTime().toLocalTime();
-		
-		// Buscar si existe un availability para ese día que cubra el horario
-		return availabilities.stream()
-				.filter(av -> av.getDayOfWeek() == bookingDay.getValue())
-				.anyMatch(av -> {
-					// El booking debe estar completamente dentro del rango
-					return !bookingStartTime.isBefore(av.getStartTime()) && 
-						   !bookingEndTime.isAfter(av.getEndTime());
-				});
-	}
-
 }
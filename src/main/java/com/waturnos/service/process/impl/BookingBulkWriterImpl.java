@@ -0,0 +1,154 @@
+package com.waturnos.service.process.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+
+import com.waturnos.service.exceptions.ErrorCode;
+import com.waturnos.service.exceptions.ServiceException;
+import com.waturnos.service.process.BookingBulkWriter;
+import com.waturnos.utils.DateUtils;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Escritura masiva de turnos FREE con COPY de Postgres.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookingBulkWriterImpl implements BookingBulkWriter {
+
+	/**
+	 * Tamaño de bloque de ids. Debe coincidir con el INCREMENT BY de
+	 * booking_id_seq y el allocationSize de Booking: igual que el optimizer pooled
+	 * de Hibernate, un nextval V reserva el rango [V - 99, V].
+	 */
+	private static final int ID_BLOCK_SIZE = 100;
+
+	/** Filas acumuladas antes de enviar un buffer al COPY. */
+	private static final int ROWS_PER_WRITE = 1000;
+
+	private static final String NEXT_BLOCKS_SQL = "SELECT nextval('booking_id_seq') FROM generate_series(1, ?)";
+
+	private static final String COPY_SQL = "COPY booking (id, start_time, end_time, status, service_id, free_slots, "
+			+ "is_overbooking, created_at, updated_at) FROM STDIN (FORMAT text)";
+
+	private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
+
+	/** The data source. */
+	private final DataSource dataSource;
+
+	/** Zona en la que Hibernate persiste los LocalDateTime. */
+	@Value("${spring.jpa.properties.hibernate.jdbc.time_zone:America/Argentina/Buenos_Aires}")
+	private String jdbcTimeZone;
+
+	@Override
+	public long writeFreeBookings(Long serviceId, List<LocalDateTime> starts, int durationMinutes, int capacity) {
+		if (starts.isEmpty()) {
+			return 0;
+		}
+		ZoneId zone = ZoneId.of(jdbcTimeZone);
+		String now = DateUtils.getCurrentDateTime().atZone(zone).format(TIMESTAMP_FORMAT);
+
+		// Dentro de una transacción de Spring se usa su conexión y el COPY se confirma con ella
+		Connection connection = DataSourceUtils.getConnection(dataSource);
+		boolean managed = DataSourceUtils.isConnectionTransactional(connection, dataSource);
+		try {
+			if (!managed) {
+				connection.setAutoCommit(false);
+			}
+			try {
+				// Los ids se reservan antes del COPY: la conexión no admite otras consultas mientras está activo
+				List<Long> blocks = allocateIdBlocks(connection, starts.size());
+				CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+				CopyIn copyIn = copyManager.copyIn(COPY_SQL);
+				try {
+					StringBuilder buffer = new StringBuilder(ROWS_PER_WRITE * 128);
+					for (int i = 0; i < starts.size(); i++) {
+						LocalDateTime start = starts.get(i);
+						long id = blocks.get(i / ID_BLOCK_SIZE) - (ID_BLOCK_SIZE - 1) + (i % ID_BLOCK_SIZE);
+						buffer.append(id).append('\t')
+								.append(start.atZone(zone).format(TIMESTAMP_FORMAT)).append('\t')
+								.append(start.plusMinutes(durationMinutes).atZone(zone).format(TIMESTAMP_FORMAT))
+								.append("\tFREE\t").append(serviceId).append('\t').append(capacity)
+								.append("\tf\t").append(now).append('\t').append(now).append('\n');
+						if ((i + 1) % ROWS_PER_WRITE == 0) {
+							write(copyIn, buffer);
+						}
+					}
+					write(copyIn, buffer);
+					copyIn.endCopy();
+				} finally {
+					if (copyIn.isActive()) {
+						copyIn.cancelCopy();
+					}
+				}
+				if (!managed) {
+					connection.commit();
+				}
+				return starts.size();
+			} catch (SQLException e) {
+				if (!managed) {
+					connection.rollback();
+				}
+				throw e;
+			}
+		} catch (SQLException e) {
+			log.error("Error en COPY de bookings para servicio {}: {}", serviceId, e.getMessage(), e);
+			throw new ServiceException(ErrorCode.GLOBAL_ERROR, "Bulk booking insert failed for service " + serviceId);
+		} finally {
+			DataSourceUtils.releaseConnection(connection, dataSource);
+		}
+	}
+
+	/**
+	 * Reserva los bloques de ids necesarios para la cantidad de filas. Se
+	 * descartan los valores menores al tamaño de bloque (secuencia recién creada)
+	 * porque su rango incluiría ids no válidos.
+	 */
+	private List<Long> allocateIdBlocks(Connection connection, int rows) throws SQLException {
+		int needed = (rows + ID_BLOCK_SIZE - 1) / ID_BLOCK_SIZE;
+		List<Long> blocks = new ArrayList<>(needed);
+		try (PreparedStatement ps = connection.prepareStatement(NEXT_BLOCKS_SQL)) {
+			while (blocks.size() < needed) {
+				ps.setInt(1, needed - blocks.size());
+				try (ResultSet rs = ps.executeQuery()) {
+					while (rs.next()) {
+						long value = rs.getLong(1);
+						if (value >= ID_BLOCK_SIZE) {
+							blocks.add(value);
+						}
+					}
+				}
+			}
+		}
+		return blocks;
+	}
+
+	private void write(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+		if (buffer.length() == 0) {
+			return;
+		}
+		byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+		copyIn.writeToCopy(bytes, 0, bytes.length);
+		buffer.setLength(0);
+	}
+}
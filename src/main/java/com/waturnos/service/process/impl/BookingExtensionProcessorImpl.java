@@ -0,0 +1,241 @@
+package com.waturnos.service.process.impl;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.waturnos.entity.AvailabilityEntity;
+import com.waturnos.entity.Booking;
+import com.waturnos.entity.BookingClient;
+import com.waturnos.entity.Recurrence;
+import com.waturnos.entity.ServiceEntity;
+import com.waturnos.enums.BookingStatus;
+import com.waturnos.repository.AvailabilityRepository;
+import com.waturnos.repository.BookingRepository;
+import com.waturnos.repository.RecurrenceRepository;
+import com.waturnos.repository.ServiceRepository;
+import com.waturnos.schedule.JobPartition;
+import com.waturnos.schedule.PartitionResult;
+import com.waturnos.service.RecurrenceService;
+import com.waturnos.service.SlotEngineService;
+import com.waturnos.service.impl.SlotEngineServiceImpl;
+import com.waturnos.service.process.BookingBulkWriter;
+import com.waturnos.service.process.BookingExtensionProcessor;
+import com.waturnos.utils.DateUtils;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Extensión nocturna de agendas en bloque. Los servicios se dividen en
+ * particiones por rangos de ids de ancho fijo; por partición, con una consulta
+ * se obtiene la última fecha con turnos de cada servicio, con otras dos las
+ * availabilities y recurrencias, y los turnos se escriben con COPY. Las particiones se ejecutan
+ * en paralelo con el PartitionedJobRunner.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookingExtensionProcessorImpl implements BookingExtensionProcessor {
+
+	/** The booking repository. */
+	private final BookingRepository bookingRepository;
+
+	/** The service repository. */
+	private final ServiceRepository serviceRepository;
+
+	/** The availability repository. */
+	private final AvailabilityRepository availabilityRepository;
+
+	/** The recurrence repository. */
+	private final RecurrenceRepository recurrenceRepository;
+
+	/** The booking bulk writer. */
+	private final BookingBulkWriter bookingBulkWriter;
+
+	/** The slot engine service. */
+	private final SlotEngineService slotEngineService;
+
+	/** The recurrence service. */
+	private final RecurrenceService recurrenceService;
+
+	/** The transaction manager. */
+	private final PlatformTransactionManager transactionManager;
+
+	/** Ancho del rango de ids de cada partición (unidad de trabajo y de reintento). */
+	@Value("${app.scheduling.add-bookings-page-size:10}")
+	private int chunkSize;
+
+	@Override
+	public List<JobPartition> partitions() {
+		// Rangos de ids de ancho fijo: agregar o desactivar un servicio durante el día no
+		// cambia la key de las demás particiones ni invalida sus checkpoints
+		long width = Math.max(1, chunkSize);
+		List<JobPartition> partitions = new ArrayList<>();
+		long current = -1;
+		for (Long id : serviceRepository.findAllActiveIds()) {
+			long range = id / width;
+			if (range != current) {
+				partitions.add(JobPartition.ofRange(range * width, (range + 1) * width - 1));
+				current = range;
+			}
+		}
+		return partitions;
+	}
+
+	@Override
+	public PartitionResult extendPartition(JobPartition partition, LocalDate runDate, Set<LocalDate> holidays) {
+		// Última fecha con turnos, availabilities y recurrencias del rango en tres consultas
+		Map<Long, LocalDate> lastDates = new HashMap<>();
+		for (Object[] row : bookingRepository.findLastBookingDatePerActiveService(partition.getFromId(),
+				partition.getToId())) {
+			lastDates.put(((Number) row[0]).longValue(), toLocalDate(row[1]));
+		}
+		List<ServiceEntity> services = serviceRepository.findActiveByIdBetween(partition.getFromId(),
+				partition.getToId());
+		if (services.isEmpty()) {
+			return new PartitionResult(0, 0);
+		}
+		List<Long> serviceIds = services.stream().map(ServiceEntity::getId).toList();
+		Map<Long, List<AvailabilityEntity>> availabilities = availabilityRepository.findByServiceIdIn(serviceIds)
+				.stream().collect(Collectors.groupingBy(AvailabilityEntity::getServiceId));
+		Map<Long, List<Recurrence>> recurrences = recurrenceRepository.findActiveByServiceIdIn(serviceIds).stream()
+				.collect(Collectors.groupingBy(r -> r.getService().getId()));
+
+		// Los errores de un servicio no cortan la partición
+		long success = 0;
+		long error = 0;
+		long bookings = 0;
+		for (ServiceEntity service : services) {
+			try {
+				bookings += extendService(service, lastDates.get(service.getId()),
+						availabilities.getOrDefault(service.getId(), Collections.emptyList()),
+						recurrences.getOrDefault(service.getId(), Collections.emptyList()), runDate, holidays);
+				success++;
+			} catch (Exception e) {
+				log.error("Error extendiendo bookings para servicio {}", service.getId(), e);
+				error++;
+			}
+		}
+		log.info("ADD_NEW_BOOKINGS partición {}: {} servicios, {} turnos generados", partition, services.size(),
+				bookings);
+		return new PartitionResult(success, error);
+	}
+
+	/**
+	 * Genera los días faltantes del servicio hasta su horizonte. Los turnos y
+	 * las recurrencias se escriben en una sola transacción: si algo falla no
+	 * queda nada y el servicio se reintenta completo en la próxima corrida.
+	 *
+	 * @return the number of bookings written
+	 */
+	private long extendService(ServiceEntity service, LocalDate lastDate, List<AvailabilityEntity> availabilities,
+			List<Recurrence> recurrences, LocalDate runDate, Set<LocalDate> holidays) {
+		LocalDate horizon = runDate.plusDays(service.getFutureDays() != null ? service.getFutureDays() : 0);
+		boolean virtual = slotEngineService.isVirtualSlotsEnabled();
+
+		// Con turnos virtuales la última fecha no es un checkpoint (una reserva materializa
+		// días sueltos): se recorre toda la ventana y se omiten los horarios ya materializados
+		LocalDate from = lastDate != null && !virtual ? lastDate.plusDays(1) : runDate.plusDays(1);
+		if (from.isAfter(horizon) || availabilities.isEmpty() || (virtual && recurrences.isEmpty())) {
+			return 0;
+		}
+
+		int duration = service.getDurationMinutes();
+		int offset = service.getOffsetMinutes() != null ? service.getOffsetMinutes() : 0;
+		List<LocalDateTime> starts = new ArrayList<>();
+		for (LocalDate date = from; !date.isAfter(horizon); date = date.plusDays(1)) {
+			if (holidays == null || !holidays.contains(date)) {
+				starts.addAll(SlotEngineServiceImpl.computeSlotStarts(date, availabilities, duration, offset));
+			}
+		}
+		Map<LocalDateTime, Recurrence> recurrenceBySlot = matchRecurrences(recurrences, starts);
+
+		if (virtual) {
+			// Solo se materializan los horarios tomados por recurrencias
+			starts.retainAll(recurrenceBySlot.keySet());
+			if (!starts.isEmpty()) {
+				Set<LocalDateTime> existing = new HashSet<>(bookingRepository.findStartTimesByServiceIdAndRange(
+						service.getId(), from.atStartOfDay(), horizon.plusDays(1).atStartOfDay()));
+				starts.removeIf(existing::contains);
+			}
+			recurrenceBySlot.keySet().retainAll(starts);
+		}
+		if (starts.isEmpty()) {
+			return 0;
+		}
+
+		Long written = new TransactionTemplate(transactionManager).execute(status -> {
+			long rows = bookingBulkWriter.writeFreeBookings(service.getId(), starts, duration, service.getCapacity());
+			applyRecurrences(service, recurrenceBySlot, from, horizon);
+			return rows;
+		});
+		return written != null ? written : 0;
+	}
+
+	/**
+	 * Recurrencia vigente de cada horario que coincide con su día y hora.
+	 */
+	private Map<LocalDateTime, Recurrence> matchRecurrences(List<Recurrence> recurrences,
+			List<LocalDateTime> starts) {
+		Map<LocalDateTime, Recurrence> recurrenceBySlot = new HashMap<>();
+		if (recurrences.isEmpty()) {
+			return recurrenceBySlot;
+		}
+		for (LocalDateTime start : starts) {
+			for (Recurrence recurrence : recurrences) {
+				if (recurrence.getDayOfWeek() == start.getDayOfWeek().getValue()
+						&& recurrence.getTimeSlot().equals(start.toLocalTime())
+						&& recurrenceService.isRecurrenceValidForDate(recurrence, start.toLocalDate())) {
+					recurrenceBySlot.putIfAbsent(start, recurrence);
+				}
+			}
+		}
+		return recurrenceBySlot;
+	}
+
+	/**
+	 * Asigna a los clientes con recurrencia los turnos recién generados que
+	 * coinciden con su día y horario. Corre en la transacción del COPY.
+	 */
+	private void applyRecurrences(ServiceEntity service, Map<LocalDateTime, Recurrence> recurrenceBySlot,
+			LocalDate from, LocalDate to) {
+		if (recurrenceBySlot.isEmpty()) {
+			return;
+		}
+		List<Booking> matching = bookingRepository.findByServiceIdAndDateRange(service.getId(),
+				from.atStartOfDay(), to.plusDays(1).atStartOfDay()).stream()
+				.filter(b -> b.getStatus() == BookingStatus.FREE && b.getRecurrence() == null)
+				.filter(b -> recurrenceBySlot.containsKey(b.getStartTime()))
+				.toList();
+		for (Booking booking : matching) {
+			Recurrence recurrence = recurrenceBySlot.get(booking.getStartTime());
+			booking.addBookingClient(
+					BookingClient.builder().booking(booking).client(recurrence.getClient()).build());
+			booking.setRecurrence(recurrence);
+			booking.setUpdatedAt(DateUtils.getCurrentDateTime());
+		}
+		bookingRepository.saveAll(matching);
+		log.debug("Servicio {}: {} recurrencias aplicadas", service.getId(), matching.size());
+	}
+
+	/** Según driver y dialecto, la columna date llega como java.sql.Date o LocalDate. */
+	private static LocalDate toLocalDate(Object value) {
+		if (value instanceof java.sql.Date date) {
+			return date.toLocalDate();
+		}
+		return (LocalDate) value;
+	}
+}
@@ -119,7 +119,7 @@ public class UserProcessImpl  implements UserProcess{
 		String passwordUser = Utils.buildPassword(user.getFullName(), user.getPhone());
 		log.error("Password inicial: "+ passwordUser);
 		user.setPassword(passwordEncoder.encode(passwordUser));
-		notificationFactory.sendAsync(buildRequest(user,passwordUser));
+		notificationFactory.enqueue(buildRequest(user,passwordUser));
 		return userRepository.save(user);
 
 	}
@@ -0,0 +1,69 @@
+package com.waturnos.utils;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+
+import com.waturnos.dto.beans.AvailabilityDTO;
+import com.waturnos.entity.AvailabilityEntity;
+import com.waturnos.entity.Booking;
+
+/**
+ * Comparaciones sobre los horarios de atención (availability) de un servicio,
+ * compartidas por la edición del servicio y el proceso de turnos afectados.
+ */
+public final class AvailabilityUtils {
+
+	private AvailabilityUtils() {
+	}
+
+	/**
+	 * Verifica si un booking está dentro de los rangos de availability.
+	 *
+	 * @param booking        el booking a verificar
+	 * @param availabilities la lista de availability
+	 * @return true si el booking está cubierto, false si queda fuera
+	 */
+	public static boolean isBookingWithinAvailability(Booking booking, List<AvailabilityDTO> availabilities) {
+		DayOfWeek bookingDay = booking.getStartTime().getDayOfWeek();
+		LocalTime bookingStartTime = booking.getStartTime().toLocalTime();
+		LocalTime bookingEndTime = booking.getEndTime().toLocalTime();
+
+		// Buscar si existe un availability para ese día que cubra el horario
+		return availabilities.stream()
+				.filter(av -> av.getDayOfWeek() == bookingDay.getValue())
+				.anyMatch(av -> {
+					// El booking debe estar completamente dentro del rango
+					return !bookingStartTime.isBefore(av.getStartTime()) &&
+						   !bookingEndTime.isAfter(av.getEndTime());
+				});
+	}
+
+	/**
+	 * Verifica si hubo cambios en la configuración de availability.
+	 *
+	 * @param current la availability guardada
+	 * @param newList la availability recibida
+	 * @return true si difieren
+	 */
+	public static boolean hasAvailabilityChanged(List<AvailabilityEntity> current, List<AvailabilityDTO> newList) {
+		if (current.size() != newList.size()) {
+			return true;
+		}
+
+		// Comparar cada elemento
+		for (AvailabilityEntity currentAv : current) {
+			boolean found = newList.stream().anyMatch(newAv ->
+				newAv.getDayOfWeek() == currentAv.getDayOfWeek() &&
+				newAv.getStartTime().equals(currentAv.getStartTime()) &&
+				newAv.getEndTime().equals(currentAv.getEndTime())
+			);
+
+			if (!found) {
+				return true; // Hubo un cambio
+			}
+		}
+
+		return false;
+	}
+}
@@ -0,0 +1,49 @@
+package com.waturnos.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import com.waturnos.service.exceptions.ErrorCode;
+import com.waturnos.service.exceptions.ServiceException;
+
+/**
+ * Cursor de paginación por clave (fecha, id). El cliente lo recibe opaco y lo
+ * devuelve para pedir la página siguiente; la consulta sigue desde la última
+ * fila entregada en lugar de saltear OFFSET filas.
+ *
+ * @param date the date of the last row
+ * @param id   the id of the last row
+ */
+public record KeysetCursor(LocalDateTime date, Long id) {
+
+	/**
+	 * Codifica el cursor.
+	 *
+	 * @return the opaque cursor
+	 */
+	public String encode() {
+		String raw = date + "|" + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Decodifica un cursor recibido del cliente.
+	 *
+	 * @param cursor the opaque cursor, may be null
+	 * @return the cursor, or null if none was given
+	 */
+	public static KeysetCursor decode(String cursor) {
+		if (cursor == null || cursor.isBlank()) {
+			return null;
+		}
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			int separator = raw.indexOf('|');
+			return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)),
+					Long.valueOf(raw.substring(separator + 1)));
+		} catch (RuntimeException e) {
+			throw new ServiceException(ErrorCode.BAD_REQUEST, "Invalid cursor");
+		}
+	}
+}
@@ -4,6 +4,9 @@
 CREATE SCHEMA IF NOT EXISTS waturnos_schema;
 SET search_path TO waturnos_schema;
 
+-- Índices GiST con columnas escalares (waitlist_entries.time_window)
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
 DO
 $$
 DECLARE
@@ -140,6 +143,7 @@ CREATE TABLE service (
 ALTER TABLE service 
   ADD COLUMN wait_list BOOLEAN NOT NULL DEFAULT FALSE,
   ADD COLUMN wait_list_time INTEGER DEFAULT 15, -- minutos por defecto
+  ADD COLUMN wait_list_fan_out INTEGER NOT NULL DEFAULT 1, -- clientes avisados a la vez al liberarse un turno
   ADD COLUMN offset_minutes INTEGER NOT NULL DEFAULT 0, -- tiempo adicional entre turnos
   ADD COLUMN deleted BOOLEAN DEFAULT FALSE, -- soft delete flag
   ADD COLUMN is_basic BOOLEAN NOT NULL DEFAULT FALSE, -- indica si es un servicio básico
@@ -148,6 +152,7 @@ ALTER TABLE service
 -- Agregar comentarios
 COMMENT ON COLUMN service.wait_list IS 'Habilita lista de espera para este servicio';
 COMMENT ON COLUMN service.wait_list_time IS 'Minutos que tiene el cliente para reservar cuando se notifica';
+COMMENT ON COLUMN service.wait_list_fan_out IS 'Clientes de la lista de espera avisados a la vez; reserva el primero';
 COMMENT ON COLUMN service.deleted IS 'Soft delete flag - TRUE cuando el servicio está marcado para borrado';
 COMMENT ON COLUMN service.offset_minutes IS 'Tiempo adicional entre turnos (ej: 15 min para preparar gabinete)';
 COMMENT ON COLUMN service.is_basic IS 'Indica si el servicio es básico o no';
@@ -245,6 +250,10 @@ CREATE TABLE notification (
     status VARCHAR(50),
     channel VARCHAR(50),
     related_booking_id BIGINT REFERENCES booking(id) ON DELETE SET NULL,
+    payload TEXT,                -- NotificationRequest en json (outbox)
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP,
+    last_error TEXT,
     sent_at TIMESTAMP,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
@@ -352,16 +361,22 @@ CREATE TABLE waitlist_entries (
   
   -- Para tipo SPECIFIC
   specific_booking_id BIGINT REFERENCES booking(id) ON DELETE SET NULL,
+
+  -- Turno ofrecido mientras está NOTIFIED (también para TIME_WINDOW)
+  notified_booking_id BIGINT REFERENCES booking(id) ON DELETE SET NULL,
   
   -- Para ambos tipos
   date DATE NOT NULL,
   time_from TIME NOT NULL,
   time_to TIME NOT NULL,
+  -- Franja como rango (ambos extremos incluidos) para el índice GiST; NULL si está invertida
+  time_window TSRANGE GENERATED ALWAYS AS (
+    CASE WHEN time_from <= time_to THEN tsrange(date + time_from, date + time_to, '[]') END
+  ) STORED,
   
-  -- Estado y posición
+  -- Estado (la posición se deriva del orden de llegada: created_at, id)
   status VARCHAR(20) NOT NULL DEFAULT 'WAITING' 
     CHECK (status IN ('WAITING', 'NOTIFIED', 'EXPIRED', 'FULFILLED', 'CANCELLED')),
-  position INTEGER NOT NULL,
   
   -- Tiempos
   expiration_minutes INTEGER NOT NULL, -- Cuántos minutos tiene para reservar
@@ -374,17 +389,22 @@ CREATE TABLE waitlist_entries (
 );
 
 -- Índices para waitlist_entries
-CREATE INDEX idx_waitlist_service ON waitlist_entries(service_id, status, position);
+CREATE INDEX idx_waitlist_service ON waitlist_entries(service_id, status, created_at, id);
 CREATE INDEX idx_waitlist_client ON waitlist_entries(client_id, status);
 CREATE INDEX idx_waitlist_booking ON waitlist_entries(specific_booking_id);
+CREATE INDEX idx_waitlist_notified_booking ON waitlist_entries(notified_booking_id) WHERE status = 'NOTIFIED';
 CREATE INDEX idx_waitlist_status ON waitlist_entries(status, expires_at);
+CREATE INDEX idx_waitlist_time_window ON waitlist_entries USING GIST (service_id, time_window)
+  WHERE status = 'WAITING' AND type = 'TIME_WINDOW';
 
 -- Índice único por nombre + padre
 CREATE UNIQUE INDEX uk_category_name_parent
 ON categories (name, parent_id);
 
+-- Particionada por mes; AuditPartitionManager crea las particiones siguientes
+-- y elimina las que superan la retención
 CREATE TABLE IF NOT EXISTS audit (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGSERIAL NOT NULL,
     event_date TIMESTAMP NOT NULL,
     event VARCHAR(100) NOT NULL,
     username VARCHAR(150),
@@ -402,14 +422,26 @@ CREATE TABLE IF NOT EXISTS audit (
     request_id VARCHAR(64),
     service_id BIGINT,
     service_name VARCHAR(255),
-    object VARCHAR(80)
-);
+    object VARCHAR(80),
+    PRIMARY KEY (id, event_date)
+) PARTITION BY RANGE (event_date);
+
+CREATE TABLE IF NOT EXISTS audit_default PARTITION OF audit DEFAULT;
+
+DO $$
+DECLARE
+    month DATE := date_trunc('month', now())::date;
+BEGIN
+    FOR i IN 0..2 LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF audit FOR VALUES FROM (%L) TO (%L)',
+            'audit_' || to_char(month, 'YYYY_MM'), month, (month + INTERVAL '1 month')::date);
+        month := (month + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
 
-CREATE INDEX IF NOT EXISTS idx_audit_date ON audit(event_date);
-CREATE INDEX IF NOT EXISTS idx_audit_org ON audit(organization_id);
-CREATE INDEX IF NOT EXISTS idx_audit_event ON audit(event);
-CREATE INDEX IF NOT EXISTS idx_audit_service ON audit(service_id);
-CREATE INDEX IF NOT EXISTS idx_audit_provider ON audit(provider_id);
+CREATE INDEX IF NOT EXISTS idx_audit_org_date ON audit(organization_id, event_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_org_email_date ON audit(organization_id, email, event_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_service_date ON audit(service_id, event_date DESC, id DESC);
 
 
 
@@ -459,6 +491,9 @@ CREATE INDEX IF NOT EXISTS idx_booking_overbooking ON booking(is_overbooking);
 -- Crear índice compuesto para queries comunes (servicio + overbooking)
 CREATE INDEX IF NOT EXISTS idx_booking_service_overbooking ON booking(service_id, is_overbooking);
 
+-- Un único turno regular por servicio y horario (permite materializar turnos virtuales con ON CONFLICT)
+CREATE UNIQUE INDEX IF NOT EXISTS uq_booking_service_slot ON booking(service_id, start_time) WHERE is_overbooking = false;
+
 
 -- BOOKING_CLIENT
 CREATE INDEX idx_booking_client_booking ON booking_client(booking_id);
@@ -479,6 +514,8 @@ CREATE INDEX idx_payment_status ON payment(status);
 CREATE INDEX idx_notification_booking ON notification(related_booking_id);
 CREATE INDEX idx_notification_channel ON notification(channel);
 CREATE INDEX idx_notification_status ON notification(status);
+CREATE INDEX idx_notification_outbox ON notification(channel, next_attempt_at) WHERE status IN ('PENDING', 'SENDING');
+CREATE INDEX idx_notification_sent ON notification(sent_at) WHERE status = 'SENT';
 
 -- AVAILABILITY
 CREATE INDEX idx_availability_service ON availability(service_id);
@@ -498,7 +535,7 @@ CREATE INDEX idx_clientprops_key ON client_props(key);
 CREATE TABLE IF NOT EXISTS sync_task (
     id BIGSERIAL PRIMARY KEY,
     schedule_type VARCHAR(80) NOT NULL,
-    status VARCHAR(20) NOT NULL, -- SUCCESS | FAIL
+    status VARCHAR(20) NOT NULL, -- SUCCESS | FAIL | IN_PROGRESS
     details TEXT,               -- resumen en json: {"successCount":n, "errorCount":m}
     last_execution_date DATE NOT NULL,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
@@ -507,6 +544,42 @@ CREATE TABLE IF NOT EXISTS sync_task (
 -- Unicidad por tarea y día
 CREATE UNIQUE INDEX IF NOT EXISTS uq_sync_task_type_date ON sync_task(schedule_type, last_execution_date);
 
+-- Tabla: sync_task_partition (checkpoint por partición de cada tarea programada)
+CREATE TABLE IF NOT EXISTS sync_task_partition (
+    id BIGSERIAL PRIMARY KEY,
+    schedule_type VARCHAR(80) NOT NULL,
+    execution_date DATE NOT NULL,
+    partition_key VARCHAR(80) NOT NULL,
+    status VARCHAR(20) NOT NULL, -- SUCCESS | FAIL | IN_PROGRESS
+    success_count BIGINT NOT NULL DEFAULT 0,
+    error_count BIGINT NOT NULL DEFAULT 0,
+    attempts INT NOT NULL DEFAULT 0,
+    details TEXT,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_sync_task_partition ON sync_task_partition(schedule_type, execution_date, partition_key);
+
+-- Tabla: scheduler_lease (un líder por job / partición entre réplicas)
+CREATE TABLE IF NOT EXISTS scheduler_lease (
+    name VARCHAR(200) PRIMARY KEY,
+    owner VARCHAR(200) NOT NULL,
+    acquired_at TIMESTAMPTZ NOT NULL,
+    expires_at TIMESTAMPTZ NOT NULL
+);
+
+-- Tabla: deadline (vencimientos de waitlist y tokens, ver DeadlineScheduler)
+CREATE TABLE IF NOT EXISTS deadline (
+    id BIGSERIAL PRIMARY KEY,
+    type VARCHAR(40) NOT NULL,
+    ref_id BIGINT NOT NULL,
+    due_at TIMESTAMP NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_deadline_type_ref UNIQUE (type, ref_id)
+);
+CREATE INDEX IF NOT EXISTS idx_deadline_due_at ON deadline(due_at);
+
 
 
 DO $$
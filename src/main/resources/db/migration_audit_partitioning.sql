@@ -0,0 +1,75 @@
+-- Migración de la tabla audit a particiones mensuales por event_date
+-- Este script debe ejecutarse una sola vez en bases de datos existentes.
+-- Las particiones siguientes las crea la aplicación (AuditPartitionManager).
+-- Sólo si se configura app.audit.partitions.retention-months (por defecto 0,
+-- sin límite) elimina también las particiones más antiguas, incluida la
+-- historia copiada aquí.
+
+BEGIN;
+
+ALTER TABLE audit RENAME TO audit_legacy;
+ALTER SEQUENCE audit_id_seq RENAME TO audit_legacy_id_seq;
+DROP INDEX IF EXISTS idx_audit_date;
+DROP INDEX IF EXISTS idx_audit_org;
+DROP INDEX IF EXISTS idx_audit_event;
+DROP INDEX IF EXISTS idx_audit_service;
+DROP INDEX IF EXISTS idx_audit_provider;
+
+-- La clave primaria de una tabla particionada debe incluir la columna de partición
+CREATE TABLE audit (
+    id BIGSERIAL NOT NULL,
+    event_date TIMESTAMP NOT NULL,
+    event VARCHAR(100) NOT NULL,
+    username VARCHAR(150),
+    email VARCHAR(200),
+    organization_id BIGINT,
+    organization_name VARCHAR(200),
+    provider_id BIGINT,
+    provider_name VARCHAR(200),
+    role VARCHAR(50),
+    success BOOLEAN NOT NULL,
+    error_message TEXT,
+    method_signature VARCHAR(255),
+    duration_ms BIGINT,
+    ip_address VARCHAR(64),
+    request_id VARCHAR(64),
+    service_id BIGINT,
+    service_name VARCHAR(255),
+    object VARCHAR(80),
+    PRIMARY KEY (id, event_date)
+) PARTITION BY RANGE (event_date);
+
+-- Recibe filas fuera de las particiones mensuales; debe quedar vacía
+CREATE TABLE audit_default PARTITION OF audit DEFAULT;
+
+-- Particiones desde el primer mes con datos hasta dos meses adelante
+DO $$
+DECLARE
+    month DATE := date_trunc('month', COALESCE((SELECT MIN(event_date) FROM audit_legacy), now()))::date;
+    last_month DATE := (date_trunc('month', now()) + INTERVAL '2 months')::date;
+BEGIN
+    WHILE month <= last_month LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF audit FOR VALUES FROM (%L) TO (%L)',
+            'audit_' || to_char(month, 'YYYY_MM'), month, (month + INTERVAL '1 month')::date);
+        month := (month + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+-- Índices de la consulta por organización / email / servicio, ordenada por (event_date, id)
+CREATE INDEX IF NOT EXISTS idx_audit_org_date ON audit(organization_id, event_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_org_email_date ON audit(organization_id, email, event_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_service_date ON audit(service_id, event_date DESC, id DESC);
+
+INSERT INTO audit (id, event_date, event, username, email, organization_id, organization_name, provider_id,
+    provider_name, role, success, error_message, method_signature, duration_ms, ip_address, request_id,
+    service_id, service_name, object)
+SELECT id, event_date, event, username, email, organization_id, organization_name, provider_id,
+    provider_name, role, success, error_message, method_signature, duration_ms, ip_address, request_id,
+    service_id, service_name, object
+FROM audit_legacy;
+
+SELECT setval('audit_id_seq', COALESCE((SELECT MAX(id) FROM audit), 0) + 1, false);
+
+DROP TABLE audit_legacy;
+
+COMMIT;
@@ -0,0 +1,29 @@
+-- Migración para el scheduler de vencimientos (reemplaza el barrido por minuto de la waitlist)
+-- Este script debe ejecutarse una sola vez en bases de datos existentes
+
+-- Un vencimiento por entidad y tipo. Cada réplica los carga en memoria y el que
+-- logra borrar la fila ejecuta la acción
+CREATE TABLE IF NOT EXISTS deadline (
+    id BIGSERIAL PRIMARY KEY,
+    type VARCHAR(40) NOT NULL,
+    ref_id BIGINT NOT NULL,
+    due_at TIMESTAMP NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_deadline_type_ref UNIQUE (type, ref_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_deadline_due_at ON deadline(due_at);
+
+-- Vencimientos de lo que ya estaba pendiente al migrar
+INSERT INTO deadline (type, ref_id, due_at)
+SELECT 'WAITLIST_EXPIRY', id, expires_at FROM waitlist_entries WHERE status = 'NOTIFIED' AND expires_at IS NOT NULL
+ON CONFLICT (type, ref_id) DO NOTHING;
+
+INSERT INTO deadline (type, ref_id, due_at)
+SELECT 'ACCESS_TOKEN', id, expiry_date FROM access_token
+ON CONFLICT (type, ref_id) DO NOTHING;
+
+INSERT INTO deadline (type, ref_id, due_at)
+SELECT 'PASSWORD_RESET', id, expiry_date FROM password_reset_token
+ON CONFLICT (type, ref_id) DO NOTHING;
@@ -0,0 +1,15 @@
+-- Migración para usar la tabla notification como outbox
+-- Este script debe ejecutarse una sola vez en bases de datos existentes
+
+ALTER TABLE notification ADD COLUMN IF NOT EXISTS payload TEXT;
+ALTER TABLE notification ADD COLUMN IF NOT EXISTS attempts INT NOT NULL DEFAULT 0;
+ALTER TABLE notification ADD COLUMN IF NOT EXISTS next_attempt_at TIMESTAMP;
+ALTER TABLE notification ADD COLUMN IF NOT EXISTS last_error TEXT;
+
+-- El dispatcher busca las pendientes de cada canal por fecha de próximo intento
+CREATE INDEX IF NOT EXISTS idx_notification_outbox
+  ON notification(channel, next_attempt_at) WHERE status IN ('PENDING', 'SENDING');
+
+-- El dispatcher borra las enviadas más viejas que retention-days
+CREATE INDEX IF NOT EXISTS idx_notification_sent
+  ON notification(sent_at) WHERE status = 'SENT';
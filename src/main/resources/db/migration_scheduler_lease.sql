@@ -0,0 +1,17 @@
+-- Migración para la elección de líder de las tareas programadas
+-- Este script debe ejecutarse una sola vez en bases de datos existentes
+
+-- Un lease por job (y por partición de job). Una réplica ejecuta el job sólo si
+-- toma el lease; si muere, otra lo toma cuando vence expires_at. Las columnas
+-- son TIMESTAMPTZ para compararlas con now() sin depender del TimeZone de la sesión
+CREATE TABLE IF NOT EXISTS scheduler_lease (
+    name VARCHAR(200) PRIMARY KEY,
+    owner VARCHAR(200) NOT NULL,
+    acquired_at TIMESTAMPTZ NOT NULL,
+    expires_at TIMESTAMPTZ NOT NULL
+);
+
+-- Bases donde la tabla se creó con TIMESTAMP sin zona
+ALTER TABLE scheduler_lease
+    ALTER COLUMN acquired_at TYPE TIMESTAMPTZ,
+    ALTER COLUMN expires_at TYPE TIMESTAMPTZ;
@@ -0,0 +1,20 @@
+-- Migración para el checkpoint por partición de las tareas programadas
+-- Este script debe ejecutarse una sola vez en bases de datos existentes
+
+-- Cada tarea nocturna se divide en particiones; se registra el estado de cada
+-- una para reintentar sólo las que fallaron
+CREATE TABLE IF NOT EXISTS sync_task_partition (
+    id BIGSERIAL PRIMARY KEY,
+    schedule_type VARCHAR(80) NOT NULL,
+    execution_date DATE NOT NULL,
+    partition_key VARCHAR(80) NOT NULL,
+    status VARCHAR(20) NOT NULL, -- SUCCESS | FAIL | IN_PROGRESS
+    success_count BIGINT NOT NULL DEFAULT 0,
+    error_count BIGINT NOT NULL DEFAULT 0,
+    attempts INT NOT NULL DEFAULT 0,
+    details TEXT,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_sync_task_partition
+  ON sync_task_partition(schedule_type, execution_date, partition_key);
@@ -0,0 +1,41 @@
+-- Migración para soportar turnos virtuales (app.booking.virtual-slots)
+-- Este script debe ejecutarse una sola vez en bases de datos existentes
+
+-- El generador anterior cerraba cada bloque de 30 días en forma inclusiva y el
+-- bloque siguiente volvía a generar ese mismo día: los servicios con
+-- future_days > 30 ya tienen turnos duplicados. Antes del índice se eliminan
+-- los duplicados sin clientes ni propiedades, conservando el turno en uso o, si
+-- ninguno lo está, el de menor id.
+DELETE FROM booking b
+WHERE b.is_overbooking = false
+  AND NOT EXISTS (SELECT 1 FROM booking_client bc WHERE bc.booking_id = b.id)
+  AND NOT EXISTS (SELECT 1 FROM booking_props bp WHERE bp.booking_id = b.id)
+  AND EXISTS (
+    SELECT 1 FROM booking o
+    WHERE o.service_id = b.service_id
+      AND o.start_time = b.start_time
+      AND o.is_overbooking = false
+      AND o.id <> b.id
+      AND (o.id < b.id
+           OR EXISTS (SELECT 1 FROM booking_client bc WHERE bc.booking_id = o.id)
+           OR EXISTS (SELECT 1 FROM booking_props bp WHERE bp.booking_id = o.id)));
+
+-- Si el índice falla, quedan duplicados con clientes en ambos turnos; se listan con:
+-- SELECT service_id, start_time, count(*) FROM booking WHERE is_overbooking = false
+-- GROUP BY service_id, start_time HAVING count(*) > 1;
+
+-- Un único turno regular por servicio y horario, con o sin turnos virtuales: la
+-- capacidad de un horario está en free_slots de su único turno. Permite
+-- materializar un turno virtual con INSERT ... ON CONFLICT DO NOTHING sin
+-- duplicados entre requests concurrentes
+CREATE UNIQUE INDEX IF NOT EXISTS uq_booking_service_slot
+  ON booking(service_id, start_time) WHERE is_overbooking = false;
+
+-- Opcional, una vez activado app.booking.virtual-slots: eliminar los turnos FREE
+-- pre-generados que nunca fueron tomados
+-- DELETE FROM booking b
+-- WHERE b.status = 'FREE'
+--   AND b.recurrence_id IS NULL
+--   AND b.is_overbooking = false
+--   AND NOT EXISTS (SELECT 1 FROM booking_client bc WHERE bc.booking_id = b.id)
+--   AND NOT EXISTS (SELECT 1 FROM booking_props bp WHERE bp.booking_id = b.id);
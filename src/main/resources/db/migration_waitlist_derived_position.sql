@@ -0,0 +1,9 @@
+-- Migración: la posición en la waitlist pasa a derivarse al leer
+-- Este script debe ejecutarse una sola vez en bases de datos existentes
+
+-- La posición es el orden de llegada (created_at, id) entre las entradas WAITING
+-- del servicio; ya no se renumera en cada cancelación
+ALTER TABLE waitlist_entries DROP COLUMN IF EXISTS position;
+
+DROP INDEX IF EXISTS idx_waitlist_service;
+CREATE INDEX idx_waitlist_service ON waitlist_entries(service_id, status, created_at, id);
@@ -0,0 +1,13 @@
+-- Migración: aviso simultáneo a varios clientes de la lista de espera
+-- Este script debe ejecutarse una sola vez en bases de datos existentes
+
+-- Clientes avisados a la vez al liberarse un turno (1 = de a uno, como hasta ahora)
+ALTER TABLE service ADD COLUMN IF NOT EXISTS wait_list_fan_out INTEGER NOT NULL DEFAULT 1;
+COMMENT ON COLUMN service.wait_list_fan_out IS 'Clientes de la lista de espera avisados a la vez; reserva el primero';
+
+-- Turno ofrecido a cada entrada NOTIFIED, para liberar al resto cuando uno reserva
+ALTER TABLE waitlist_entries ADD COLUMN IF NOT EXISTS notified_booking_id BIGINT REFERENCES booking(id) ON DELETE SET NULL;
+CREATE INDEX IF NOT EXISTS idx_waitlist_notified_booking ON waitlist_entries(notified_booking_id) WHERE status = 'NOTIFIED';
+
+UPDATE waitlist_entries SET notified_booking_id = specific_booking_id
+WHERE status = 'NOTIFIED' AND type = 'SPECIFIC';
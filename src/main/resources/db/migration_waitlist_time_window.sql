@@ -0,0 +1,14 @@
+-- Migración: índice de intervalos para buscar candidatos TIME_WINDOW de la waitlist
+-- Este script debe ejecutarse una sola vez en bases de datos existentes
+
+-- btree_gist permite combinar service_id (escalar) y el rango en un mismo índice GiST
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Franja como rango (ambos extremos incluidos); NULL si está invertida, como
+-- antes no coincidía con ningún horario
+ALTER TABLE waitlist_entries ADD COLUMN IF NOT EXISTS time_window TSRANGE GENERATED ALWAYS AS (
+  CASE WHEN time_from <= time_to THEN tsrange(date + time_from, date + time_to, '[]') END
+) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_waitlist_time_window ON waitlist_entries USING GIST (service_id, time_window)
+  WHERE status = 'WAITING' AND type = 'TIME_WINDOW';
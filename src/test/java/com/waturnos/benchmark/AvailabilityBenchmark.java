@@ -0,0 +1,108 @@
+package com.waturnos.benchmark;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+
+import com.waturnos.dto.beans.AvailabilityDTO;
+import com.waturnos.entity.AvailabilityEntity;
+import com.waturnos.entity.Booking;
+import com.waturnos.utils.AvailabilityUtils;
+
+/**
+ * Edición de la availability de un servicio: detectar si cambió y buscar los
+ * turnos futuros que quedan fuera del nuevo horario.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AvailabilityBenchmark {
+
+	/** Turnos futuros del servicio contra una availability que recorta la tarde una hora. */
+	@State(Scope.Benchmark)
+	public static class Bookings {
+
+		@Param({ "5", "15", "60" })
+		private int slotMinutes;
+
+		@Param({ "30", "90", "365" })
+		private int days;
+
+		private List<Booking> bookings;
+		private List<AvailabilityDTO> newAvailability;
+
+		@Setup
+		public void setUp() {
+			bookings = new ArrayList<>();
+			for (LocalDateTime start : SyntheticProvider.slotStarts(slotMinutes, days)) {
+				bookings.add(Booking.builder().startTime(start).endTime(start.plusMinutes(slotMinutes)).build());
+			}
+			newAvailability = SyntheticProvider.toDTOs(SyntheticProvider.availabilities(1L));
+			newAvailability.stream()
+					.filter(av -> av.getEndTime().equals(SyntheticProvider.AFTERNOON_END))
+					.forEach(av -> av.setEndTime(LocalTime.of(19, 0)));
+		}
+	}
+
+	/** Availability guardada y recibida iguales: el peor caso, recorre todo. */
+	@State(Scope.Benchmark)
+	public static class Ranges {
+
+		@Param({ "12", "48", "168" })
+		private int ranges;
+
+		private List<AvailabilityEntity> current;
+		private List<AvailabilityDTO> received;
+
+		@Setup
+		public void setUp() {
+			current = new ArrayList<>(ranges);
+			for (int i = 0; i < ranges; i++) {
+				LocalTime start = LocalTime.of(0, 0).plusMinutes(i / 7 * 8L);
+				current.add(AvailabilityEntity.builder().dayOfWeek(i % 7 + 1).startTime(start)
+						.endTime(start.plusMinutes(5)).build());
+			}
+			received = SyntheticProvider.toDTOs(current);
+			// Mismo contenido en otro orden, como llega del front
+			Collections.reverse(received);
+		}
+	}
+
+	@Benchmark
+	public int bookingsOutsideAvailability(Bookings state) {
+		int outside = 0;
+		for (Booking booking : state.bookings) {
+			if (!AvailabilityUtils.isBookingWithinAvailability(booking, state.newAvailability)) {
+				outside++;
+			}
+		}
+		return outside;
+	}
+
+	@Benchmark
+	public boolean availabilityChanged(Ranges state) {
+		return AvailabilityUtils.hasAvailabilityChanged(state.current, state.received);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		BenchmarkRunner.main(new String[] { AvailabilityBenchmark.class.getSimpleName() });
+	}
+}
@@ -0,0 +1,34 @@
+package com.waturnos.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Corre los benchmarks JMH del paquete y deja los resultados en JSON, para
+ * compararlos entre versiones.
+ *
+ * <pre>
+ * mvn -Pbenchmark verify                                   # todos
+ * mvn -Pbenchmark verify -Djmh.include=SlotGeneration      # sólo los que matcheen
+ * mvn -Pbenchmark verify -Djmh.result=target/base.json     # otro archivo de salida
+ * </pre>
+ */
+public final class BenchmarkRunner {
+
+	private BenchmarkRunner() {
+	}
+
+	/**
+	 * @param args regex de los benchmarks a correr (por defecto, todos)
+	 */
+	public static void main(String[] args) throws RunnerException {
+		String include = args.length > 0 && !args[0].isBlank() ? args[0] : "com.waturnos.benchmark.*Benchmark";
+		new Runner(new OptionsBuilder()
+				.include(include)
+				.resultFormat(ResultFormatType.JSON)
+				.result(System.getProperty("jmh.result", "target/jmh-result.json"))
+				.build()).run();
+	}
+}
@@ -0,0 +1,194 @@
+package com.waturnos.benchmark;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.waturnos.dto.response.CountBookingDTO;
+import com.waturnos.dto.response.ServiceWithBookingsDTO;
+import com.waturnos.entity.ServiceEntity;
+import com.waturnos.enums.BookingStatus;
+import com.waturnos.mapper.ServiceBookingMapper;
+import com.waturnos.repository.BookingRepository;
+import com.waturnos.repository.ServiceRepository;
+import com.waturnos.repository.projection.BookingRangeView;
+import com.waturnos.service.SlotEngineService;
+import com.waturnos.service.impl.BookingServiceImpl;
+
+/**
+ * Armado de las respuestas del calendario del prestador: el agrupado por día y
+ * servicio de findByRange (el repositorio devuelve los chunks desde memoria) y
+ * el paso de los conteos crudos por día y estado a CountBookingDTO.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingGroupingBenchmark {
+
+	private static final long PROVIDER_ID = 1L;
+	private static final int SERVICES = 3;
+	private static final BookingStatus[] STATUSES = { BookingStatus.FREE, BookingStatus.RESERVED,
+			BookingStatus.COMPLETED, BookingStatus.CANCELLED, BookingStatus.NO_SHOW };
+
+	/** Prestador con tres servicios de igual duración y un turno de cada cinco reservado. */
+	@State(Scope.Benchmark)
+	public static class Calendar {
+
+		@Param({ "5", "15", "60" })
+		private int slotMinutes;
+
+		@Param({ "30", "90", "365" })
+		private int days;
+
+		private BookingServiceImpl bookingService;
+		private LocalDate from;
+		private LocalDate to;
+
+		@Setup
+		public void setUp() {
+			List<ServiceEntity> services = new ArrayList<>();
+			List<RangeRow> rows = new ArrayList<>();
+			for (long serviceId = 1; serviceId <= SERVICES; serviceId++) {
+				services.add(SyntheticProvider.service(serviceId, slotMinutes, days));
+				List<LocalDateTime> starts = SyntheticProvider.slotStarts(slotMinutes, days);
+				for (int i = 0; i < starts.size(); i++) {
+					rows.add(new RangeRow(serviceId, starts.get(i), starts.get(i).plusMinutes(slotMinutes),
+							i % 5 == 0 ? BookingStatus.RESERVED : BookingStatus.FREE));
+				}
+			}
+			// Orden de la consulta: startTime, id
+			rows.sort(Comparator.comparing(RangeRow::getStartTime).thenComparing(RangeRow::getServiceId));
+			for (int i = 0; i < rows.size(); i++) {
+				rows.get(i).id = i + 1L;
+			}
+
+			BookingRepository bookingRepository = mock(BookingRepository.class, withSettings().stubOnly());
+			when(bookingRepository.findRangeChunk(anyLong(), isNull(), any(), any(), any(), anyLong(), any()))
+					.thenAnswer(invocation -> {
+						// Los ids son la posición + 1: el keyset es un subList
+						int first = (int) Math.max(0, invocation.<Long>getArgument(5));
+						int max = invocation.<Limit>getArgument(6).max();
+						return List.<BookingRangeView>copyOf(rows.subList(first, Math.min(rows.size(), first + max)));
+					});
+			ServiceRepository serviceRepository = mock(ServiceRepository.class, withSettings().stubOnly());
+			when(serviceRepository.findByUserId(PROVIDER_ID)).thenReturn(services);
+
+			bookingService = new BookingServiceImpl(bookingRepository, null, serviceRepository, null, null, null,
+					new ServiceBookingMapper(), null, null, null, null, null,
+					mock(SlotEngineService.class, withSettings().stubOnly()), null, null);
+			ReflectionTestUtils.setField(bookingService, "rangeChunkSize", 500);
+			ReflectionTestUtils.setField(bookingService, "rangeMaxDays", days);
+			from = SyntheticProvider.FIRST_DAY;
+			to = from.plusDays(days - 1L);
+		}
+	}
+
+	/** Filas (fecha, estado, conteo) como las devuelve countBookingsByDayAndStatus. */
+	@State(Scope.Benchmark)
+	public static class Counts {
+
+		@Param({ "30", "90", "365" })
+		private int days;
+
+		private List<Object[]> rawCounts;
+
+		@Setup
+		public void setUp() {
+			rawCounts = new ArrayList<>(days * STATUSES.length);
+			for (int i = 0; i < days; i++) {
+				java.sql.Date date = java.sql.Date.valueOf(SyntheticProvider.FIRST_DAY.plusDays(i));
+				for (BookingStatus status : STATUSES) {
+					rawCounts.add(new Object[] { date, status.name(), (long) (i % 40 + status.ordinal()) });
+				}
+			}
+		}
+	}
+
+	@Benchmark
+	public Map<LocalDate, List<ServiceWithBookingsDTO>> findByRange(Calendar state) {
+		return state.bookingService.findByRange(PROVIDER_ID, state.from, state.to, null);
+	}
+
+	@Benchmark
+	public List<CountBookingDTO> rawCountsToDTO(Counts state) {
+		return BookingServiceImpl.rawCountsToDTO(state.rawCounts);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		BenchmarkRunner.main(new String[] { BookingGroupingBenchmark.class.getSimpleName() });
+	}
+
+	/** Fila de la proyección del calendario. */
+	private static final class RangeRow implements BookingRangeView {
+		private Long id;
+		private final Long serviceId;
+		private final LocalDateTime startTime;
+		private final LocalDateTime endTime;
+		private final BookingStatus status;
+
+		private RangeRow(Long serviceId, LocalDateTime startTime, LocalDateTime endTime, BookingStatus status) {
+			this.serviceId = serviceId;
+			this.startTime = startTime;
+			this.endTime = endTime;
+			this.status = status;
+		}
+
+		@Override
+		public Long getId() {
+			return id;
+		}
+
+		@Override
+		public Long getServiceId() {
+			return serviceId;
+		}
+
+		@Override
+		public LocalDateTime getStartTime() {
+			return startTime;
+		}
+
+		@Override
+		public LocalDateTime getEndTime() {
+			return endTime;
+		}
+
+		@Override
+		public BookingStatus getStatus() {
+			return status;
+		}
+
+		@Override
+		public Boolean getIsOverbooking() {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,86 @@
+package com.waturnos.benchmark;
+
+import java.security.Key;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.waturnos.security.JwtClaims;
+import com.waturnos.security.JwtUtil;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Costo de validar un token por request: parser nuevo en cada llamada (como
+ * antes), parser compartido y JwtUtil.getClaims completo.
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.waturnos.benchmark.JwtParseBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtParseBenchmark {
+
+	private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret";
+
+	private Key key;
+	private JwtParser parser;
+	private JwtUtil jwtUtil;
+	private String token;
+
+	@Setup
+	public void setUp() {
+		key = Keys.hmacShaKeyFor(SECRET.getBytes());
+		parser = Jwts.parserBuilder().setSigningKey(key).build();
+		jwtUtil = new JwtUtil();
+		ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+		ReflectionTestUtils.setField(jwtUtil, "expirationMs", 3_600_000L);
+		jwtUtil.init();
+		token = jwtUtil.generateClientToken("cliente@test.com", 10L, 20L);
+	}
+
+	@Benchmark
+	public Claims parserPerCall() {
+		return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+	}
+
+	@Benchmark
+	public Claims sharedParser() {
+		return parser.parseClaimsJws(token).getBody();
+	}
+
+	@Benchmark
+	public JwtClaims jwtUtilGetClaims() {
+		return jwtUtil.getClaims(token);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(JwtParseBenchmark.class.getSimpleName())
+				.resultFormat(ResultFormatType.JSON)
+				.result("target/jmh-jwt.json")
+				.build()).run();
+	}
+}
@@ -0,0 +1,102 @@
+package com.waturnos.benchmark;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+
+import com.waturnos.entity.AvailabilityEntity;
+import com.waturnos.entity.ServiceEntity;
+import com.waturnos.repository.BookingRepository;
+import com.waturnos.service.RecurrenceService;
+import com.waturnos.service.SlotEngineService;
+import com.waturnos.service.impl.BookingGeneratorServiceImpl;
+import com.waturnos.service.impl.ServiceEntityServiceImpl;
+import com.waturnos.service.process.BookingBulkWriter;
+
+/**
+ * Generación de turnos: el armado por chunks de BookingGeneratorServiceImpl
+ * (con el COPY reemplazado por un writer que sólo cuenta) y la expansión diaria
+ * de ServiceEntityServiceImpl, que crea una entidad Booking por turno.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SlotGenerationBenchmark {
+
+	@Param({ "5", "15", "60" })
+	private int slotMinutes;
+
+	@Param({ "30", "90", "365" })
+	private int days;
+
+	private ServiceEntity service;
+	private List<AvailabilityEntity> availabilities;
+	private Set<LocalDate> unavailabilities;
+	private BookingGeneratorServiceImpl generator;
+	private long written;
+
+	@Setup
+	public void setUp() {
+		SyntheticProvider.quietLogs(BookingGeneratorServiceImpl.class);
+		service = SyntheticProvider.service(1L, slotMinutes, days);
+		availabilities = SyntheticProvider.availabilities(1L);
+		// Un feriado por mes
+		unavailabilities = Set.of(LocalDate.now().plusDays(10), LocalDate.now().plusDays(40),
+				LocalDate.now().plusDays(70));
+
+		BookingBulkWriter writer = mock(BookingBulkWriter.class, withSettings().stubOnly());
+		when(writer.writeFreeBookings(anyLong(), anyList(), anyInt(), anyInt())).thenAnswer(invocation -> {
+			long rows = invocation.<List<?>>getArgument(1).size();
+			written += rows;
+			return rows;
+		});
+		SlotEngineService slotEngineService = mock(SlotEngineService.class, withSettings().stubOnly());
+		generator = new BookingGeneratorServiceImpl(writer, mock(RecurrenceService.class, withSettings().stubOnly()),
+				mock(BookingRepository.class, withSettings().stubOnly()), slotEngineService);
+	}
+
+	@Benchmark
+	public long generatorChunks() {
+		written = 0;
+		generator.generateBookingsAsync(service, availabilities, unavailabilities);
+		return written;
+	}
+
+	@Benchmark
+	public long dailyExpansion() {
+		long total = 0;
+		LocalDate date = SyntheticProvider.FIRST_DAY;
+		for (int i = 0; i < days; i++) {
+			total += ServiceEntityServiceImpl.buildFreeBookings(service, date.plusDays(i), availabilities).size();
+		}
+		return total;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		BenchmarkRunner.main(new String[] { SlotGenerationBenchmark.class.getSimpleName() });
+	}
+}
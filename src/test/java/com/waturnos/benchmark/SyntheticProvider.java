@@ -0,0 +1,98 @@
+package com.waturnos.benchmark;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.LoggerFactory;
+
+import com.waturnos.dto.beans.AvailabilityDTO;
+import com.waturnos.entity.AvailabilityEntity;
+import com.waturnos.entity.ServiceEntity;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+
+/**
+ * Datos sintéticos de los benchmarks: servicios de lunes a sábado, 08:00 a
+ * 13:00 y 14:00 a 20:00, con turnos de la duración pedida y sin offset.
+ */
+final class SyntheticProvider {
+
+	static final LocalTime MORNING_START = LocalTime.of(8, 0);
+	static final LocalTime MORNING_END = LocalTime.of(13, 0);
+	static final LocalTime AFTERNOON_START = LocalTime.of(14, 0);
+	static final LocalTime AFTERNOON_END = LocalTime.of(20, 0);
+
+	/** Lunes 2 de marzo: el rango empieza siempre en el mismo día de la semana. */
+	static final LocalDate FIRST_DAY = LocalDate.of(2026, 3, 2);
+
+	private SyntheticProvider() {
+	}
+
+	static ServiceEntity service(long id, int slotMinutes, int days) {
+		return ServiceEntity.builder()
+				.id(id)
+				.name("Servicio " + id)
+				.description("Servicio sintético de " + slotMinutes + " minutos")
+				.price(1000d)
+				.durationMinutes(slotMinutes)
+				.offsetMinutes(0)
+				.capacity(1)
+				.futureDays(days)
+				.build();
+	}
+
+	static List<AvailabilityEntity> availabilities(long serviceId) {
+		List<AvailabilityEntity> availabilities = new ArrayList<>();
+		for (int day = 1; day <= 6; day++) {
+			availabilities.add(AvailabilityEntity.builder().serviceId(serviceId).dayOfWeek(day)
+					.startTime(MORNING_START).endTime(MORNING_END).build());
+			availabilities.add(AvailabilityEntity.builder().serviceId(serviceId).dayOfWeek(day)
+					.startTime(AFTERNOON_START).endTime(AFTERNOON_END).build());
+		}
+		return availabilities;
+	}
+
+	static List<AvailabilityDTO> toDTOs(List<AvailabilityEntity> availabilities) {
+		List<AvailabilityDTO> dtos = new ArrayList<>(availabilities.size());
+		for (AvailabilityEntity availability : availabilities) {
+			AvailabilityDTO dto = new AvailabilityDTO();
+			dto.setDayOfWeek(availability.getDayOfWeek());
+			dto.setStartTime(availability.getStartTime());
+			dto.setEndTime(availability.getEndTime());
+			dtos.add(dto);
+		}
+		return dtos;
+	}
+
+	/** Inicios de turno del rango, día por día, como los genera el servicio. */
+	static List<LocalDateTime> slotStarts(int slotMinutes, int days) {
+		List<LocalDateTime> starts = new ArrayList<>();
+		for (int i = 0; i < days; i++) {
+			LocalDate date = FIRST_DAY.plusDays(i);
+			if (date.getDayOfWeek().getValue() == 7) {
+				continue;
+			}
+			addDay(starts, date, MORNING_START, MORNING_END, slotMinutes);
+			addDay(starts, date, AFTERNOON_START, AFTERNOON_END, slotMinutes);
+		}
+		return starts;
+	}
+
+	/** Evita que el log de INFO de los servicios mida más que el propio código. */
+	static void quietLogs(Class<?>... types) {
+		for (Class<?> type : types) {
+			((Logger) LoggerFactory.getLogger(type)).setLevel(Level.WARN);
+		}
+	}
+
+	private static void addDay(List<LocalDateTime> starts, LocalDate date, LocalTime from, LocalTime to,
+			int slotMinutes) {
+		for (LocalTime time = from; !time.plusMinutes(slotMinutes).isAfter(to); time = time.plusMinutes(slotMinutes)) {
+			starts.add(LocalDateTime.of(date, time));
+		}
+	}
+}
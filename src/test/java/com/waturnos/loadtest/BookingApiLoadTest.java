@@ -0,0 +1,310 @@
+package com.waturnos.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.waturnos.loadtest.LoadMix.Operation;
+import com.waturnos.security.JwtUtil;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Prueba de carga de la API de turnos contra Postgres embebido: levanta la
+ * aplicación completa, siembra organizaciones, servicios, clientes y turnos,
+ * y corre cada mezcla de {@link LoadMix} con N hilos. Informa p50/p99,
+ * throughput y espera por conexión del pool por operación, deja el resultado
+ * en target/loadtest/result.json y falla si empeora respecto de la baseline.
+ *
+ * <pre>
+ * mvn -Pload-test test
+ * mvn -Pload-test test -Dloadtest.organizations=50 -Dloadtest.threads=64
+ * cp target/loadtest/result.json src/test/resources/loadtest/baseline.json   # nueva baseline
+ * </pre>
+ */
+@Tag("load")
+@ActiveProfiles("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Slf4j
+class BookingApiLoadTest {
+
+    private static final LoadTestSettings SETTINGS = LoadTestSettings.fromSystemProperties();
+    private static final String CONNECTION_WAIT = "app.request.connection.wait";
+    private static final int BROWSE_DAYS = 7;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws Exception {
+        LoadTestDatabase.start();
+        LoadTestDatabase.seed(SETTINGS);
+        registry.add("spring.datasource.url", LoadTestDatabase::jdbcUrl);
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        LoadTestDatabase.stop();
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${server.servlet.context-path:}")
+    private String contextPath;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5)).build();
+
+    private String baseUrl;
+    private final List<Account> providers = new ArrayList<>();
+    private final Map<Long, Account> providerByOrganization = new HashMap<>();
+    private final Map<Long, List<Account>> clientsByOrganization = new HashMap<>();
+    private final Queue<Target> freeBookings = new ConcurrentLinkedQueue<>();
+    private final Queue<Target> reservedBookings = new ConcurrentLinkedQueue<>();
+
+    @Test
+    void bookingApiUnderLoad() throws Exception {
+        String startedAt = LocalDateTime.now().toString();
+        baseUrl = "http://localhost:" + port + contextPath;
+        loadWorkingSet();
+
+        Map<String, LoadReport.MixResult> results = new LinkedHashMap<>();
+        for (LoadMix mix : SETTINGS.mixes()) {
+            log.info("{}: calentamiento de {} s", mix, SETTINGS.warmupSeconds());
+            runPhase(mix, SETTINGS.warmupSeconds());
+            log.info("{}: medición de {} s con {} hilos", mix, SETTINGS.durationSeconds(), SETTINGS.threads());
+            results.put(mix.name(), runPhase(mix, SETTINGS.durationSeconds()));
+        }
+
+        LoadReport report = new LoadReport(startedAt, SETTINGS, results);
+        log.info("Resultado de la prueba de carga:{}", report.toTable());
+        File output = new File(SETTINGS.output());
+        output.getParentFile().mkdirs();
+        objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(output, report);
+
+        File baselineFile = new File(SETTINGS.baseline());
+        if (!baselineFile.exists()) {
+            log.info("Sin baseline en {}: copiar {} para usarlo como referencia", baselineFile, output);
+            return;
+        }
+        LoadReport baseline = objectMapper.readValue(baselineFile, LoadReport.class);
+        List<String> regressions = report.regressionsAgainst(baseline, SETTINGS.tolerance());
+        assertTrue(regressions.isEmpty(),
+                "Regresiones contra " + baselineFile + ":\n" + String.join("\n", regressions));
+    }
+
+    /**
+     * Corre la mezcla durante los segundos indicados.
+     */
+    private LoadReport.MixResult runPhase(LoadMix mix, int seconds) throws InterruptedException {
+        Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+        Map<Operation, double[]> waitBefore = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new LatencyRecorder());
+            waitBefore.put(operation, connectionWait(operation));
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService workers = Executors.newFixedThreadPool(SETTINGS.threads());
+        for (int i = 0; i < SETTINGS.threads(); i++) {
+            workers.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    Operation operation = mix.next();
+                    execute(operation, recorders.get(operation));
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        Map<String, LoadReport.EndpointResult> endpoints = new LinkedHashMap<>();
+        long requests = 0;
+        for (Operation operation : Operation.values()) {
+            double[] before = waitBefore.get(operation);
+            double[] after = connectionWait(operation);
+            double count = after[0] - before[0];
+            double waitMs = count > 0 ? (after[1] - before[1]) / count : 0;
+            LoadReport.EndpointResult result = recorders.get(operation).result(elapsed, waitMs);
+            endpoints.put(operation.name(), result);
+            requests += result.requests();
+        }
+        return new LoadReport.MixResult(elapsed, requests / elapsed, endpoints);
+    }
+
+    private void execute(Operation operation, LatencyRecorder recorder) {
+        Call call = prepare(operation);
+        if (call == null) {
+            recorder.skip();
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            HttpResponse<Void> response = http.send(call.request, HttpResponse.BodyHandlers.discarding());
+            recorder.record(System.nanoTime() - start);
+            if (response.statusCode() / 100 != 2) {
+                recorder.error();
+            } else if (operation == Operation.ASSIGN || operation == Operation.PUBLIC_RESERVE) {
+                // Turno reservado: queda disponible para las cancelaciones
+                reservedBookings.add(call.target);
+            }
+        } catch (IOException e) {
+            recorder.record(System.nanoTime() - start);
+            recorder.error();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Arma la request de la operación con datos del working set, o null si no
+     * quedan turnos para ella.
+     */
+    private Call prepare(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (operation == Operation.BROWSE) {
+            Account provider = providers.get(random.nextInt(providers.size()));
+            LocalDate from = LocalDate.now().plusDays(1 + random.nextInt(Math.max(1, SETTINGS.days() - BROWSE_DAYS)));
+            return new Call(authorized(provider, "/bookings/range?providerId=" + provider.id + "&startDate=" + from
+                    + "&endDate=" + from.plusDays(BROWSE_DAYS - 1)).GET().build(), null);
+        }
+        Target target = operation == Operation.CANCEL ? reservedBookings.poll() : freeBookings.poll();
+        if (target == null) {
+            return null;
+        }
+        Account provider = providerByOrganization.get(target.organizationId);
+        Account client = randomClient(target.organizationId);
+        HttpRequest request = switch (operation) {
+        case ASSIGN -> authorized(provider, "/bookings/assign")
+                .POST(json("{\"id\":" + target.bookingId + ",\"clientId\":" + client.id + "}")).build();
+        case CANCEL -> authorized(provider, "/bookings/cancel")
+                .POST(json("{\"id\":" + target.bookingId + ",\"reason\":\"Prueba de carga\"}")).build();
+        default -> authorized(client, "/public/bookings/reserve?bookingId=" + target.bookingId + "&clientId="
+                + client.id).POST(HttpRequest.BodyPublishers.noBody()).build();
+        };
+        return new Call(request, target);
+    }
+
+    private HttpRequest.Builder authorized(Account account, String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + account.token).header("Content-Type", "application/json");
+    }
+
+    private static HttpRequest.BodyPublisher json(String body) {
+        return HttpRequest.BodyPublishers.ofString(body);
+    }
+
+    private Account randomClient(Long organizationId) {
+        List<Account> clients = clientsByOrganization.get(organizationId);
+        return clients.get(ThreadLocalRandom.current().nextInt(clients.size()));
+    }
+
+    /**
+     * Cantidad y espera total (ms) del timer de espera por conexión del endpoint.
+     */
+    private double[] connectionWait(Operation operation) {
+        Timer timer = meterRegistry.find(CONNECTION_WAIT).tag("endpoint", operation.endpoint).timer();
+        return timer == null ? new double[2]
+                : new double[] { timer.count(), timer.totalTime(TimeUnit.MILLISECONDS) };
+    }
+
+    /**
+     * Prestadores y clientes con su token, y los turnos libres y reservados en
+     * orden aleatorio.
+     */
+    private void loadWorkingSet() {
+        SingleConnectionDataSource dataSource = LoadTestDatabase.dataSource();
+        try {
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+            jdbc.query("SELECT id, email, organization_id FROM users WHERE role = 'PROVIDER'", row -> {
+                Account provider = new Account(row.getLong("id"),
+                        jwtUtil.generateToken(row.getString("email"), "PROVIDER"));
+                providers.add(provider);
+                providerByOrganization.put(row.getLong("organization_id"), provider);
+            });
+            jdbc.query("""
+                    SELECT c.id, c.email, co.organization_id
+                    FROM client c JOIN client_organization co ON co.client_id = c.id
+                    """, row -> {
+                long clientId = row.getLong("id");
+                long organizationId = row.getLong("organization_id");
+                clientsByOrganization.computeIfAbsent(organizationId, k -> new ArrayList<>()).add(new Account(clientId,
+                        jwtUtil.generateClientToken(row.getString("email"), clientId, organizationId)));
+            });
+            String targets = """
+                    SELECT b.id, u.organization_id
+                    FROM booking b JOIN service s ON s.id = b.service_id JOIN users u ON u.id = s.user_id
+                    WHERE b.status = ? ORDER BY random()
+                    """;
+            jdbc.query(targets, row -> {
+                freeBookings.add(new Target(row.getLong(1), row.getLong(2)));
+            }, "FREE");
+            jdbc.query(targets, row -> {
+                reservedBookings.add(new Target(row.getLong(1), row.getLong(2)));
+            }, "RESERVED");
+        } finally {
+            dataSource.destroy();
+        }
+        log.info("Working set: {} prestadores, {} turnos libres, {} reservados", providers.size(),
+                freeBookings.size(), reservedBookings.size());
+    }
+
+    /** Prestador o cliente con su token. */
+    private record Account(long id, String token) {
+    }
+
+    /** Turno sobre el que operar y su organización. */
+    private record Target(long bookingId, long organizationId) {
+    }
+
+    /** Request a enviar y el turno que toca, si corresponde. */
+    private record Call(HttpRequest request, Target target) {
+    }
+}
@@ -0,0 +1,55 @@
+package com.waturnos.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencias de una operación dentro de una fase. Guarda todas las muestras
+ * (unas decenas de miles por fase) para calcular percentiles exactos.
+ */
+final class LatencyRecorder {
+
+    private long[] samples = new long[4096];
+    private int size;
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+
+    synchronized void record(long nanos) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = nanos;
+    }
+
+    void error() {
+        errors.increment();
+    }
+
+    /** Sin datos para la operación (p. ej. no quedan turnos libres): no se envió la request. */
+    void skip() {
+        skipped.increment();
+    }
+
+    /**
+     * Resumen de la fase.
+     *
+     * @param seconds          duración medida de la fase
+     * @param connectionWaitMs espera media por conexión del pool, de la instrumentación
+     * @return the result
+     */
+    synchronized LoadReport.EndpointResult result(double seconds, double connectionWaitMs) {
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        return new LoadReport.EndpointResult(size, errors.sum(), skipped.sum(), size / seconds,
+                percentileMs(sorted, 0.50), percentileMs(sorted, 0.99), size > 0 ? sorted[size - 1] / 1e6 : 0,
+                connectionWaitMs);
+    }
+
+    private static double percentileMs(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,50 @@
+package com.waturnos.loadtest;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Mezclas de tráfico: peso relativo de cada operación.
+ */
+enum LoadMix {
+
+    /** Día normal: prestadores mirando la agenda, pocas altas y bajas. */
+    BROWSE_HEAVY(70, 15, 10, 5),
+
+    /** Apertura de agenda o promoción: muchas reservas y cancelaciones con lista de espera. */
+    BOOKING_PEAK(40, 30, 15, 15);
+
+    private final int[] cumulative = new int[Operation.values().length];
+
+    LoadMix(int browse, int assign, int cancel, int publicReserve) {
+        int[] weights = { browse, assign, cancel, publicReserve };
+        int total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            total += weights[i];
+            cumulative[i] = total;
+        }
+    }
+
+    Operation next() {
+        int value = ThreadLocalRandom.current().nextInt(cumulative[cumulative.length - 1]);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (value < cumulative[i]) {
+                return Operation.values()[i];
+            }
+        }
+        return Operation.BROWSE;
+    }
+
+    /** Operaciones de la API medidas, con el endpoint con el que las etiqueta la instrumentación. */
+    enum Operation {
+        BROWSE("BookingController.getBookingsByRange"),
+        ASSIGN("BookingController.assingBooking"),
+        CANCEL("BookingController.cancelBooking"),
+        PUBLIC_RESERVE("BookingControllerStateless.reserveBookingAfterCancel");
+
+        final String endpoint;
+
+        Operation(String endpoint) {
+            this.endpoint = endpoint;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.waturnos.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resultado de una corrida, serializado a JSON. Una corrida guardada como
+ * baseline sirve para detectar regresiones en las siguientes.
+ */
+record LoadReport(String startedAt, LoadTestSettings settings, Map<String, MixResult> mixes) {
+
+    /** Resultado de una mezcla de tráfico. */
+    record MixResult(double seconds, double throughput, Map<String, EndpointResult> endpoints) {
+    }
+
+    /** Resultado de una operación dentro de una mezcla; tiempos en milisegundos. */
+    record EndpointResult(long requests, long errors, long skipped, double throughput, double p50Ms, double p99Ms,
+            double maxMs, double connectionWaitMs) {
+    }
+
+    /**
+     * Compara contra una corrida anterior: es regresión un p99 más alto o un
+     * throughput más bajo que el de la baseline en más de la tolerancia.
+     *
+     * @param baseline  the baseline run
+     * @param tolerance fracción tolerada (0.2 = 20 %)
+     * @return una línea por regresión, vacía si no hay
+     */
+    List<String> regressionsAgainst(LoadReport baseline, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        mixes.forEach((mix, result) -> {
+            MixResult before = baseline.mixes().get(mix);
+            if (before == null) {
+                return;
+            }
+            result.endpoints().forEach((operation, now) -> {
+                EndpointResult then = before.endpoints().get(operation);
+                if (then == null || then.requests() == 0 || now.requests() == 0) {
+                    return;
+                }
+                if (now.p99Ms() > then.p99Ms() * (1 + tolerance)) {
+                    regressions.add(String.format("%s %s: p99 %.1f ms (baseline %.1f ms)", mix, operation,
+                            now.p99Ms(), then.p99Ms()));
+                }
+                if (now.throughput() < then.throughput() * (1 - tolerance)) {
+                    regressions.add(String.format("%s %s: %.1f req/s (baseline %.1f req/s)", mix, operation,
+                            now.throughput(), then.throughput()));
+                }
+            });
+        });
+        return regressions;
+    }
+
+    /**
+     * Tabla legible para el log.
+     *
+     * @return the table
+     */
+    String toTable() {
+        StringBuilder table = new StringBuilder();
+        mixes.forEach((mix, result) -> {
+            table.append(String.format("%n%s: %.0f req/s en %.0f s%n", mix, result.throughput(), result.seconds()));
+            table.append(String.format("  %-15s %9s %7s %7s %9s %9s %9s %9s %11s%n", "operación", "requests",
+                    "errores", "omitid.", "req/s", "p50 ms", "p99 ms", "max ms", "espera cx"));
+            result.endpoints().forEach((operation, endpoint) -> table.append(String.format(
+                    "  %-15s %9d %7d %7d %9.1f %9.1f %9.1f %9.1f %11.2f%n", operation, endpoint.requests(),
+                    endpoint.errors(), endpoint.skipped(), endpoint.throughput(), endpoint.p50Ms(),
+                    endpoint.p99Ms(), endpoint.maxMs(), endpoint.connectionWaitMs())));
+        });
+        return table.toString();
+    }
+}
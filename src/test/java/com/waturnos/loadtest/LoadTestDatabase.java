@@ -0,0 +1,173 @@
+package com.waturnos.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Postgres embebido (binarios de Maven, sin Docker) con el esquema de
+ * db/01_init_schema.sql y datos sintéticos generados en SQL con
+ * generate_series.
+ */
+@Slf4j
+final class LoadTestDatabase {
+
+    static final String SCHEMA = "waturnos_schema";
+    static final String ZONE = "America/Argentina/Buenos_Aires";
+
+    private static EmbeddedPostgres postgres;
+
+    private LoadTestDatabase() {
+    }
+
+    static synchronized void start() throws IOException, SQLException {
+        if (postgres != null) {
+            return;
+        }
+        postgres = EmbeddedPostgres.builder().start();
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+                Statement statement = connection.createStatement();
+                InputStream schema = LoadTestDatabase.class.getResourceAsStream("/db/01_init_schema.sql")) {
+            // El driver ejecuta el script entero (incluye bloques DO $$ ... $$)
+            statement.execute(new String(schema.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        log.info("Postgres embebido en {}", jdbcUrl());
+    }
+
+    static synchronized void stop() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+            postgres = null;
+        }
+    }
+
+    static String jdbcUrl() {
+        return postgres.getJdbcUrl("postgres", "postgres") + "&currentSchema=" + SCHEMA;
+    }
+
+    /**
+     * Conexión propia de la prueba, fuera del pool de la aplicación. Cerrarla
+     * con {@link SingleConnectionDataSource#destroy()}.
+     */
+    static SingleConnectionDataSource dataSource() {
+        return new SingleConnectionDataSource(jdbcUrl(), "postgres", "postgres", true);
+    }
+
+    /**
+     * Organizaciones con un prestador, sede, servicios de lunes a sábado
+     * (08-13 y 14-20), clientes y turnos desde mañana. Uno de cada cuatro
+     * turnos queda reservado y, en los servicios con lista de espera (los
+     * impares), con otro cliente esperando.
+     */
+    static void seed(LoadTestSettings settings) {
+        SingleConnectionDataSource dataSource = dataSource();
+        try {
+            seed(new JdbcTemplate(dataSource), settings);
+        } finally {
+            dataSource.destroy();
+        }
+    }
+
+    private static void seed(JdbcTemplate jdbc, LoadTestSettings settings) {
+        long start = System.currentTimeMillis();
+
+        jdbc.update("""
+                INSERT INTO organization (name, status, active, simple_organization, timezone, default_language)
+                SELECT 'Organización ' || g, 'ACTIVE', true, true, ?, 'es' FROM generate_series(1, ?) g
+                """, ZONE, settings.organizations());
+        jdbc.update("""
+                INSERT INTO location (organization_id, name, address, main)
+                SELECT id, 'Sede ' || id, 'Calle ' || id, true FROM organization
+                """);
+        jdbc.update("""
+                INSERT INTO users (full_name, email, organization_id, active, role, creator)
+                SELECT 'Prestador ' || id, 'provider' || id || '@loadtest.local', id, true, 'PROVIDER', 'loadtest'
+                FROM organization
+                """);
+        jdbc.update("""
+                INSERT INTO service (name, description, duration_minutes, price, future_days, user_id, location_id,
+                                     capacity, wait_list, creator)
+                SELECT 'Servicio ' || u.id || '-' || g, 'Servicio de carga', ?, 1000, ?, u.id, l.id, 1, g % 2 = 1,
+                       'loadtest'
+                FROM users u
+                JOIN location l ON l.organization_id = u.organization_id
+                CROSS JOIN generate_series(1, ?) g
+                WHERE u.role = 'PROVIDER'
+                """, settings.slotMinutes(), settings.days(), settings.servicesPerOrganization());
+        jdbc.update("""
+                INSERT INTO availability (day_of_week, start_time, end_time, service_id)
+                SELECT d, r.from_time, r.to_time, s.id
+                FROM service s
+                CROSS JOIN generate_series(1, 6) d
+                CROSS JOIN (VALUES (TIME '08:00', TIME '13:00'), (TIME '14:00', TIME '20:00')) r(from_time, to_time)
+                """);
+        jdbc.update("""
+                INSERT INTO booking (start_time, end_time, status, service_id, free_slots, is_overbooking)
+                SELECT (g.d::date + a.start_time + make_interval(mins => n * s.duration_minutes)) AT TIME ZONE ?,
+                       (g.d::date + a.start_time + make_interval(mins => (n + 1) * s.duration_minutes)) AT TIME ZONE ?,
+                       'FREE', s.id, s.capacity, false
+                FROM service s
+                JOIN availability a ON a.service_id = s.id
+                CROSS JOIN generate_series((current_date + 1)::timestamp, (current_date + ?)::timestamp,
+                        interval '1 day') g(d)
+                CROSS JOIN LATERAL generate_series(0,
+                        (extract(epoch FROM a.end_time - a.start_time) / 60 / s.duration_minutes)::int - 1) n
+                WHERE extract(isodow FROM g.d) = a.day_of_week
+                ORDER BY 1, s.id
+                """, ZONE, ZONE, settings.days());
+        // dni = organización * 1.000.000 + número de cliente, para unir sin tablas auxiliares
+        jdbc.update("""
+                INSERT INTO client (full_name, email, phone, dni, creator)
+                SELECT 'Cliente ' || o.id || '-' || g, 'client' || o.id || '-' || g || '@loadtest.local',
+                       '11' || lpad(g::text, 8, '0'), (o.id * 1000000 + g)::text, 'loadtest'
+                FROM organization o
+                CROSS JOIN generate_series(1, ?) g
+                """, settings.clientsPerOrganization());
+        jdbc.update("""
+                INSERT INTO client_organization (client_id, organization_id)
+                SELECT id, dni::bigint / 1000000 FROM client
+                """);
+        jdbc.update("UPDATE booking SET status = 'RESERVED', free_slots = 0 WHERE id % 4 = 0");
+        jdbc.update("""
+                INSERT INTO booking_client (booking_id, client_id)
+                SELECT b.id, c.id
+                FROM booking b
+                JOIN service s ON s.id = b.service_id
+                JOIN users u ON u.id = s.user_id
+                JOIN client c ON c.dni = (u.organization_id * 1000000 + 1 + b.id % ?)::text
+                WHERE b.status = 'RESERVED'
+                """, settings.clientsPerOrganization());
+        jdbc.update("""
+                INSERT INTO waitlist_entries (client_id, service_id, provider_id, organization_id, type,
+                                              specific_booking_id, date, time_from, time_to, status,
+                                              expiration_minutes)
+                SELECT c.id, s.id, u.id, u.organization_id, 'SPECIFIC', b.id, (b.start_time AT TIME ZONE ?)::date,
+                       (b.start_time AT TIME ZONE ?)::time, (b.end_time AT TIME ZONE ?)::time, 'WAITING',
+                       s.wait_list_time
+                FROM booking b
+                JOIN service s ON s.id = b.service_id
+                JOIN users u ON u.id = s.user_id
+                JOIN client c ON c.dni = (u.organization_id * 1000000 + 1 + (b.id + 7) % ?)::text
+                WHERE b.status = 'RESERVED' AND s.wait_list
+                """, ZONE, ZONE, ZONE, settings.clientsPerOrganization());
+        jdbc.execute("ANALYZE");
+
+        log.info("Datos de carga: {} organizaciones, {} servicios, {} clientes, {} turnos ({} reservados) en {} ms",
+                settings.organizations(), count(jdbc, "service"), count(jdbc, "client"), count(jdbc, "booking"),
+                jdbc.queryForObject("SELECT count(*) FROM booking WHERE status = 'RESERVED'", Long.class),
+                System.currentTimeMillis() - start);
+    }
+
+    private static long count(JdbcTemplate jdbc, String table) {
+        return jdbc.queryForObject("SELECT count(*) FROM " + table, Long.class);
+    }
+}
@@ -0,0 +1,40 @@
+package com.waturnos.loadtest;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Parámetros de la prueba de carga, tomados de propiedades de sistema
+ * (-Dloadtest.organizations=20 ...) para poder variar el volumen sin tocar código.
+ */
+record LoadTestSettings(
+        int organizations,
+        int servicesPerOrganization,
+        int clientsPerOrganization,
+        int days,
+        int slotMinutes,
+        int threads,
+        int warmupSeconds,
+        int durationSeconds,
+        List<LoadMix> mixes,
+        String baseline,
+        String output,
+        double tolerance) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.organizations", 10),
+                Integer.getInteger("loadtest.services-per-organization", 3),
+                Integer.getInteger("loadtest.clients-per-organization", 200),
+                Integer.getInteger("loadtest.days", 60),
+                Integer.getInteger("loadtest.slot-minutes", 30),
+                Integer.getInteger("loadtest.threads", 32),
+                Integer.getInteger("loadtest.warmup-seconds", 10),
+                Integer.getInteger("loadtest.duration-seconds", 60),
+                Arrays.stream(System.getProperty("loadtest.mixes", "BROWSE_HEAVY,BOOKING_PEAK").split(","))
+                        .map(String::trim).map(LoadMix::valueOf).toList(),
+                System.getProperty("loadtest.baseline", "src/test/resources/loadtest/baseline.json"),
+                System.getProperty("loadtest.output", "target/loadtest/result.json"),
+                Double.parseDouble(System.getProperty("loadtest.tolerance", "0.20")));
+    }
+}
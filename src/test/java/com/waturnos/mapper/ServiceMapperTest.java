@@ -0,0 +1,37 @@
+package com.waturnos.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import com.waturnos.dto.beans.ServiceDTO;
+import com.waturnos.entity.ServiceEntity;
+
+/**
+ * Test unitario de ServiceMapper sobre la implementación generada por MapStruct.
+ */
+class ServiceMapperTest {
+
+    private final ServiceMapper mapper = new ServiceMapperImpl();
+
+    @Test
+    void toEntity_withoutWaitListFanOut_keepsDefault() {
+        ServiceDTO dto = new ServiceDTO();
+        dto.setName("Corte");
+        dto.setDurationMinutes(30);
+
+        ServiceEntity entity = mapper.toEntity(dto);
+
+        // La columna es NOT NULL: un alta sin el campo no debe mandar null
+        assertEquals(1, entity.getWaitListFanOut());
+    }
+
+    @Test
+    void toEntity_withWaitListFanOut_mapsValue() {
+        ServiceDTO dto = new ServiceDTO();
+        dto.setName("Corte");
+        dto.setWaitListFanOut(3);
+
+        assertEquals(3, mapper.toEntity(dto).getWaitListFanOut());
+    }
+}
@@ -0,0 +1,87 @@
+package com.waturnos.notification;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.waturnos.notification.mail.SmtpTransportPool;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * Test del pool de conexiones SMTP contra un servidor GreenMail local.
+ */
+class SmtpTransportPoolTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private JavaMailSenderImpl mailSender;
+    private SmtpTransportPool pool;
+
+    @BeforeEach
+    void setUp() {
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+        pool = new SmtpTransportPool(mailSender);
+        ReflectionTestUtils.setField(pool, "poolSize", 1);
+        ReflectionTestUtils.setField(pool, "maxMessagesPerConnection", 2);
+        ReflectionTestUtils.setField(pool, "idleTimeoutSeconds", 60L);
+        ReflectionTestUtils.invokeMethod(pool, "init");
+    }
+
+    @Test
+    void send_reusesConnectionUpToMessageCap() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            pool.send(message("cliente" + i + "@test.com"));
+        }
+
+        assertEquals(5, greenMail.getReceivedMessages().length);
+        // 5 mensajes con tope de 2 por conexión: 3 conexiones en lugar de 5
+        assertTrue(pool.describeStats().contains("conexiones=3"), pool.describeStats());
+    }
+
+    @Test
+    void send_batchGoesThroughOneConnection() throws Exception {
+        ReflectionTestUtils.setField(pool, "maxMessagesPerConnection", 100);
+
+        pool.send(message("a@test.com"), message("b@test.com"), message("c@test.com"));
+
+        assertEquals(3, greenMail.getReceivedMessages().length);
+        assertTrue(pool.describeStats().contains("conexiones=1"), pool.describeStats());
+    }
+
+    @Test
+    void sendAll_failedMessageDoesNotStopTheBatch() throws Exception {
+        MimeMessage withoutRecipients = mailSender.createMimeMessage();
+        withoutRecipients.setFrom("no-reply@turnero.com");
+        withoutRecipients.setText("Sin destinatario");
+
+        List<MessagingException> errors = pool.sendAll(
+                List.of(message("a@test.com"), withoutRecipients, message("b@test.com")));
+
+        assertNull(errors.get(0));
+        assertNotNull(errors.get(1));
+        assertNull(errors.get(2));
+        assertEquals(2, greenMail.getReceivedMessages().length);
+    }
+
+    private MimeMessage message(String to) throws Exception {
+        MimeMessage message = mailSender.createMimeMessage();
+        message.setFrom("no-reply@turnero.com");
+        message.setRecipients(MimeMessage.RecipientType.TO, to);
+        message.setSubject("Recordatorio");
+        message.setText("Turno de mañana");
+        return message;
+    }
+}
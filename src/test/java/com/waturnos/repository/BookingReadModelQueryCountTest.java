@@ -0,0 +1,141 @@
+package com.waturnos.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.waturnos.entity.Booking;
+import com.waturnos.entity.BookingClient;
+import com.waturnos.entity.Category;
+import com.waturnos.entity.Client;
+import com.waturnos.entity.Location;
+import com.waturnos.entity.Organization;
+import com.waturnos.entity.ServiceEntity;
+import com.waturnos.entity.User;
+import com.waturnos.enums.BookingStatus;
+import com.waturnos.enums.UserRole;
+import com.waturnos.repository.projection.BookingRangeView;
+import com.waturnos.repository.projection.ClientUpcomingBookingView;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Cada listado de turnos debe resolverse en una cantidad fija de consultas,
+ * sin importar cuántos turnos o clientes devuelva (sin N+1).
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true" })
+class BookingReadModelQueryCountTest {
+
+    private static final int BOOKINGS = 5;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private Statistics statistics;
+    private Long serviceId;
+    private Long providerId;
+    private Long categoryId;
+    private Long clientId;
+    private Long bookingId;
+    private LocalDateTime day;
+
+    @BeforeEach
+    void setUp() {
+        day = LocalDateTime.now().plusDays(1).withHour(9).withMinute(0).withSecond(0).withNano(0);
+
+        Organization organization = em.persist(Organization.builder().name("Org").build());
+        Location location = em.persist(Location.builder().name("Sede").organization(organization).build());
+        Category category = em.persist(Category.builder().name("Peluquería").build());
+        User provider = new User();
+        provider.setFullName("Prestador");
+        provider.setEmail("prestador@test.com");
+        provider.setRole(UserRole.PROVIDER);
+        provider.setOrganization(organization);
+        provider = em.persist(provider);
+        ServiceEntity service = em.persist(ServiceEntity.builder().name("Corte").durationMinutes(30)
+                .user(provider).location(location).type(category).build());
+        Client client = em.persist(Client.builder().fullName("Cliente").email("cliente@test.com").build());
+
+        for (int i = 0; i < BOOKINGS; i++) {
+            Booking booking = Booking.builder().service(service).startTime(day.plusMinutes(30L * i))
+                    .endTime(day.plusMinutes(30L * i + 30)).status(BookingStatus.RESERVED).freeSlots(0).build();
+            booking = em.persist(booking);
+            BookingClient bookingClient = new BookingClient();
+            bookingClient.setBooking(booking);
+            bookingClient.setClient(client);
+            booking.getBookingClients().add(em.persist(bookingClient));
+            bookingId = booking.getId();
+        }
+        em.flush();
+        em.clear();
+
+        serviceId = service.getId();
+        providerId = provider.getId();
+        categoryId = category.getId();
+        clientId = client.getId();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findDetailsById_loadsClientsInOneQuery() {
+        Booking booking = bookingRepository.findDetailsById(bookingId).orElseThrow();
+        booking.getBookingClients().forEach(bc -> assertNotNull(bc.getClient().getFullName()));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findWithRecurrenceByServiceId_isOneQuery() {
+        List<Booking> bookings = bookingRepository.findWithRecurrenceByServiceId(serviceId);
+        bookings.forEach(b -> {
+            assertEquals(serviceId, b.getService().getId());
+            assertNull(b.getRecurrence());
+        });
+
+        assertEquals(BOOKINGS, bookings.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findUpcomingBookingsByClient_isOneQuery() {
+        List<ClientUpcomingBookingView> bookings = bookingRepository.findUpcomingBookingsByClient(clientId,
+                day.minusHours(1), null, null);
+        bookings.forEach(b -> {
+            assertEquals("Corte", b.getServiceName());
+            assertEquals("Prestador", b.getProviderName());
+            assertEquals("Org", b.getOrganizationName());
+        });
+
+        assertEquals(BOOKINGS, bookings.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findByProviderAndTypeAndDateRange_isOneQuery() {
+        List<BookingRangeView> bookings = bookingRepository.findByProviderAndTypeAndDateRange(providerId, categoryId,
+                day.toLocalDate().atStartOfDay(), day.toLocalDate().plusDays(1).atStartOfDay());
+        bookings.forEach(b -> assertEquals(serviceId, b.getServiceId()));
+
+        assertEquals(BOOKINGS, bookings.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,129 @@
+package com.waturnos.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.waturnos.entity.Booking;
+import com.waturnos.entity.Category;
+import com.waturnos.entity.Location;
+import com.waturnos.entity.Organization;
+import com.waturnos.entity.ServiceEntity;
+import com.waturnos.entity.User;
+import com.waturnos.enums.BookingStatus;
+import com.waturnos.enums.UserRole;
+
+/**
+ * UPDATE condicional de la reserva atómica: descuenta un lugar solo si queda
+ * alguno y mueve el estado según los lugares restantes, sin tocar turnos que
+ * no están disponibles (cancelados, bloqueados).
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect" })
+class BookingTakeFreeSlotTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private ServiceEntity service;
+    private LocalDateTime day;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        day = LocalDateTime.now().plusDays(1).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        now = LocalDateTime.now().withNano(0);
+
+        Organization organization = em.persist(Organization.builder().name("Org").build());
+        Location location = em.persist(Location.builder().name("Sede").organization(organization).build());
+        Category category = em.persist(Category.builder().name("Peluquería").build());
+        User provider = new User();
+        provider.setFullName("Prestador");
+        provider.setEmail("prestador@test.com");
+        provider.setRole(UserRole.PROVIDER);
+        provider.setOrganization(organization);
+        provider = em.persist(provider);
+        service = em.persist(ServiceEntity.builder().name("Clase").durationMinutes(60)
+                .user(provider).location(location).type(category).build());
+    }
+
+    @Test
+    void takeFreeSlot_withSlotsLeft_isPartiallyReserved() {
+        Long id = persistBooking(BookingStatus.FREE, 2);
+
+        assertEquals(1, bookingRepository.takeFreeSlot(id, now));
+
+        Booking booking = reload(id);
+        assertEquals(BookingStatus.PARTIALLY_RESERVED, booking.getStatus());
+        assertEquals(1, booking.getFreeSlots());
+        assertEquals(now, booking.getUpdatedAt());
+    }
+
+    @Test
+    void takeFreeSlot_lastSlot_isReserved() {
+        Long id = persistBooking(BookingStatus.PARTIALLY_RESERVED, 1);
+
+        assertEquals(1, bookingRepository.takeFreeSlot(id, now));
+
+        Booking booking = reload(id);
+        assertEquals(BookingStatus.RESERVED, booking.getStatus());
+        assertEquals(0, booking.getFreeSlots());
+    }
+
+    @Test
+    void takeFreeSlot_lastSlotAfterCancel_isReservedAfterCancel() {
+        Long id = persistBooking(BookingStatus.FREE_AFTER_CANCEL, 1);
+
+        assertEquals(1, bookingRepository.takeFreeSlot(id, now));
+
+        Booking booking = reload(id);
+        assertEquals(BookingStatus.RESERVED_AFTER_CANCEL, booking.getStatus());
+        assertEquals(0, booking.getFreeSlots());
+    }
+
+    @Test
+    void takeFreeSlot_cancelledBooking_keepsStatus() {
+        // Un turno cancelado conserva sus lugares liberados, pero no cambia de estado
+        Long id = persistBooking(BookingStatus.CANCELLED, 1);
+
+        assertEquals(1, bookingRepository.takeFreeSlot(id, now));
+
+        Booking booking = reload(id);
+        assertEquals(BookingStatus.CANCELLED, booking.getStatus());
+        assertEquals(0, booking.getFreeSlots());
+    }
+
+    @Test
+    void takeFreeSlot_noSlotsLeft_updatesNothing() {
+        Long id = persistBooking(BookingStatus.RESERVED, 0);
+
+        assertEquals(0, bookingRepository.takeFreeSlot(id, now));
+
+        Booking booking = reload(id);
+        assertEquals(BookingStatus.RESERVED, booking.getStatus());
+        assertEquals(0, booking.getFreeSlots());
+    }
+
+    private Long persistBooking(BookingStatus status, int freeSlots) {
+        Booking booking = em.persist(Booking.builder().service(service).startTime(day).endTime(day.plusHours(1))
+                .status(status).freeSlots(freeSlots).build());
+        em.flush();
+        em.clear();
+        return booking.getId();
+    }
+
+    private Booking reload(Long id) {
+        em.clear();
+        return em.find(Booking.class, id);
+    }
+}
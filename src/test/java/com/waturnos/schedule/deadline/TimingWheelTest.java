@@ -0,0 +1,71 @@
+package com.waturnos.schedule.deadline;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test unitario de TimingWheel: cada elemento vence en el primer tick igual o
+ * posterior a su hora, también los que pasan por los niveles superiores.
+ */
+class TimingWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    @Test
+    void testAdd_AlreadyDueIsRejected() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 8, START);
+
+        assertFalse(wheel.add(START - 1, "vencido"));
+        assertFalse(wheel.add(START, "ahora"));
+        assertTrue(wheel.add(START + 1, "siguiente tick"));
+    }
+
+    @Test
+    void testAdvance_FiresOnFirstTickAfterExpiration() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 8, START);
+        wheel.add(START + 2500, "a");
+        List<String> due = new ArrayList<>();
+
+        wheel.advance(START + 2999, due);
+        assertTrue(due.isEmpty());
+
+        wheel.advance(START + 3000, due);
+        assertEquals(List.of("a"), due);
+    }
+
+    @Test
+    void testAdvance_CascadesFromUpperLevels() {
+        // Primer nivel: 8 s; segundo: 64 s; tercero: 512 s
+        TimingWheel<Long> wheel = new TimingWheel<>(1000, 8, START);
+        long[] expirations = { 5_000, 9_000, 62_500, 64_000, 100_000, 600_000, 4_000_000 };
+        for (long expiration : expirations) {
+            assertTrue(wheel.add(START + expiration, expiration));
+        }
+
+        for (long expiration : expirations) {
+            long firesAt = START + (expiration + 999) / 1000 * 1000;
+            List<Long> due = new ArrayList<>();
+            wheel.advance(firesAt - 1, due);
+            assertFalse(due.contains(expiration), "vence antes de tiempo: " + expiration);
+            wheel.advance(firesAt, due);
+            assertEquals(List.of(expiration), due, "no vence a su hora: " + expiration);
+        }
+    }
+
+    @Test
+    void testAdvance_SameSlotFiresTogether() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 8, START);
+        wheel.add(START + 30_100, "a");
+        wheel.add(START + 30_900, "b");
+        List<String> due = new ArrayList<>();
+
+        wheel.advance(START + 31_000, due);
+
+        assertEquals(2, due.size());
+        assertTrue(due.containsAll(List.of("a", "b")));
+    }
+}
@@ -0,0 +1,222 @@
+package com.waturnos.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.MessageSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.waturnos.entity.Booking;
+import com.waturnos.entity.BookingClient;
+import com.waturnos.entity.Client;
+import com.waturnos.entity.ClientOrganization;
+import com.waturnos.entity.Organization;
+import com.waturnos.entity.ServiceEntity;
+import com.waturnos.entity.User;
+import com.waturnos.entity.WaitlistEntry;
+import com.waturnos.enums.BookingStatus;
+import com.waturnos.mapper.ServiceBookingMapper;
+import com.waturnos.notification.factory.NotificationFactory;
+import com.waturnos.repository.BookingPropsRepository;
+import com.waturnos.repository.BookingRepository;
+import com.waturnos.repository.ClientOrganizationRepository;
+import com.waturnos.repository.ClientRepository;
+import com.waturnos.repository.ServiceRepository;
+import com.waturnos.repository.WaitlistEntryRepository;
+import com.waturnos.security.SecurityAccessEntity;
+import com.waturnos.service.exceptions.ErrorCode;
+import com.waturnos.service.exceptions.ServiceException;
+import com.waturnos.service.impl.BookingServiceImpl;
+import com.waturnos.service.impl.ProviderExclusivityCache;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Test unitario de BookingService: cancelación y reserva atómica de lugares.
+ */
+@ExtendWith(MockitoExtension.class)
+class BookingServiceTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private ServiceRepository serviceRepository;
+
+    @Mock
+    private SecurityAccessEntity securityAccessEntity;
+
+    @Mock
+    private ClientOrganizationRepository clientOrganizationRepository;
+
+    @Mock
+    private NotificationFactory notificationFactory;
+
+    @Mock
+    private ServiceBookingMapper mapper;
+
+    @Mock
+    private MessageSource messageSource;
+
+    @Mock
+    private WaitlistService waitlistService;
+
+    @Mock
+    private ProviderExclusivityCache providerExclusivityCache;
+
+    @Mock
+    private WaitlistEntryRepository waitlistRepo;
+
+    @Mock
+    private BookingPropsRepository bookingPropsRepository;
+
+    @Mock
+    private SlotEngineService slotEngineService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ReservationLockManager reservationLockManager;
+
+    @InjectMocks
+    private BookingServiceImpl bookingService;
+
+    private Organization testOrg;
+    private ServiceEntity testService;
+    private Client testClient;
+    private Booking testBooking;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bookingService, "dateFormaEmail", "dd/MM/yyyy HH:mm");
+
+        testOrg = new Organization();
+        testOrg.setId(1L);
+
+        User provider = new User();
+        provider.setId(1L);
+        provider.setOrganization(testOrg);
+
+        testService = new ServiceEntity();
+        testService.setId(1L);
+        testService.setName("Consulta General");
+        testService.setCapacity(1);
+        testService.setWaitList(true);
+        testService.setUser(provider);
+
+        testClient = new Client();
+        testClient.setId(1L);
+        testClient.setFullName("Juan Pérez");
+        testClient.setEmail("juan@example.com");
+
+        testBooking = new Booking();
+        testBooking.setId(1L);
+        testBooking.setService(testService);
+        testBooking.setStartTime(LocalDateTime.of(2025, 12, 1, 10, 0));
+        testBooking.setEndTime(LocalDateTime.of(2025, 12, 1, 10, 30));
+        testBooking.setStatus(BookingStatus.FREE);
+        testBooking.setFreeSlots(1);
+    }
+
+    @Test
+    void testCancelFullBooking_ReleasesSeatForWaitlistClaim() {
+        // Arrange: turno de capacidad 1 tomado por un cliente, con otro en espera
+        testBooking.setStatus(BookingStatus.RESERVED);
+        testBooking.setFreeSlots(0);
+        testBooking.getBookingClients().add(BookingClient.builder().booking(testBooking).client(testClient).build());
+
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(testBooking));
+        when(serviceRepository.findById(1L)).thenReturn(Optional.of(testService));
+        when(waitlistRepo.findCandidatesForBooking(anyLong(), any(), any(), anyLong()))
+            .thenReturn(List.of(new WaitlistEntry()));
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        bookingService.cancelBooking(1L, "No puedo asistir");
+
+        // Assert: el lugar vuelve al turno y el cliente cancelado recibe el aviso
+        assertEquals(BookingStatus.CANCELLED, testBooking.getStatus());
+        assertEquals(1, testBooking.getFreeSlots());
+        assertTrue(testBooking.getBookingClients().isEmpty());
+        verify(waitlistService).notifyNextInLine(testBooking);
+        verify(notificationFactory).enqueue(any());
+
+        // Arrange: un avisado de la waitlist reclama el turno
+        Client waiting = new Client();
+        waiting.setId(2L);
+        waiting.setFullName("Ana Gómez");
+        waiting.setEmail("ana@example.com");
+        when(clientRepository.findById(2L)).thenReturn(Optional.of(waiting));
+        when(clientOrganizationRepository.findByClientIdAndOrganizationId(2L, 1L))
+            .thenReturn(Optional.of(ClientOrganization.builder().organization(testOrg).client(waiting).build()));
+        when(bookingRepository.insertBookingClient(1L, 2L)).thenReturn(1);
+        when(bookingRepository.takeFreeSlot(eq(1L), any(LocalDateTime.class))).thenReturn(1);
+
+        // Act
+        Booking claimed = bookingService.reserveBookingAfterCancel(1L, 2L);
+
+        // Assert
+        assertEquals(BookingStatus.RESERVED_AFTER_CANCEL, claimed.getStatus());
+        verify(bookingRepository).takeFreeSlot(eq(1L), any(LocalDateTime.class));
+        verify(waitlistService).fulfillWaitlist(claimed, 2L);
+    }
+
+    @Test
+    void testAssignBooking_ClientAlreadyRegistered_ThrowsAlreadyReserved() {
+        // Arrange
+        stubAssignBooking();
+        when(bookingRepository.insertBookingClient(1L, 1L)).thenReturn(0);
+
+        // Act
+        ServiceException ex = assertThrows(ServiceException.class,
+            () -> bookingService.assignBookingToClient(1L, 1L));
+
+        // Assert: no se descuenta ningún lugar
+        assertEquals(ErrorCode.BOOKING_ALREADY_RESERVED_BYCLIENT, ex.getErrorCode());
+        verify(bookingRepository, never()).takeFreeSlot(anyLong(), any());
+        verify(notificationFactory, never()).enqueue(any());
+    }
+
+    @Test
+    void testAssignBooking_SlotTakenConcurrently_ThrowsSlotTaken() {
+        // Arrange: el pre-check ve un lugar libre, pero otra reserva lo tomó antes del UPDATE
+        stubAssignBooking();
+        when(bookingRepository.insertBookingClient(1L, 1L)).thenReturn(1);
+        when(bookingRepository.takeFreeSlot(eq(1L), any(LocalDateTime.class))).thenReturn(0);
+
+        // Act
+        ServiceException ex = assertThrows(ServiceException.class,
+            () -> bookingService.assignBookingToClient(1L, 1L));
+
+        // Assert: el turno se relee recién con el lock tomado
+        assertEquals(ErrorCode.BOOKING_SLOT_TAKEN, ex.getErrorCode());
+        InOrder inOrder = inOrder(reservationLockManager, entityManager);
+        inOrder.verify(reservationLockManager).acquire(1L, testBooking.getStartTime());
+        inOrder.verify(entityManager).refresh(testBooking);
+        verify(notificationFactory, never()).enqueue(any());
+        verify(waitlistService, never()).fulfillWaitlist(any(), anyLong());
+    }
+
+    private void stubAssignBooking() {
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(testBooking));
+        when(clientOrganizationRepository.findByClientIdAndOrganizationId(1L, 1L))
+            .thenReturn(Optional.of(ClientOrganization.builder().organization(testOrg).client(testClient).build()));
+        when(clientRepository.findById(1L)).thenReturn(Optional.of(testClient));
+    }
+}
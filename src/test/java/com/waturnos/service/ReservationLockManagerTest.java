@@ -0,0 +1,148 @@
+package com.waturnos.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.ToLongFunction;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.waturnos.dto.response.LockStripeStatsDTO;
+import com.waturnos.repository.BookingRepository;
+import com.waturnos.service.exceptions.ErrorCode;
+import com.waturnos.service.exceptions.ServiceException;
+import com.waturnos.service.impl.ReservationLockManagerImpl;
+
+/**
+ * Test unitario de ReservationLockManager: timeout del stripe local y del
+ * advisory lock, y liberación del stripe al terminar la transacción.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReservationLockManagerTest {
+
+    private static final LocalDateTime SLOT = LocalDateTime.of(2025, 12, 1, 10, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @InjectMocks
+    private ReservationLockManagerImpl lockManager;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(lockManager, "stripeCount", 4);
+        ReflectionTestUtils.setField(lockManager, "waitMillis", 50L);
+        ReflectionTestUtils.invokeMethod(lockManager, "init");
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        completeTransaction();
+    }
+
+    @Test
+    void testAcquire_FreeStripe_TakesBothLocks() {
+        // Arrange
+        when(bookingRepository.tryAdvisoryXactLock(anyInt(), anyInt())).thenReturn(true);
+
+        // Act
+        lockManager.acquire(1L, SLOT);
+
+        // Assert: queda registrada la liberación al terminar la transacción
+        assertEquals(1, TransactionSynchronizationManager.getSynchronizations().size());
+        assertEquals(1, total(LockStripeStatsDTO::getAcquired));
+        assertEquals(0, total(LockStripeStatsDTO::getTimeouts));
+    }
+
+    @Test
+    void testAcquire_StripeHeldByOtherThread_ThrowsBusy() throws Exception {
+        // Arrange: este hilo toma el stripe y no termina su transacción
+        when(bookingRepository.tryAdvisoryXactLock(anyInt(), anyInt())).thenReturn(true);
+        lockManager.acquire(1L, SLOT);
+
+        // Act
+        ServiceException ex = acquireInOtherThread(1L, SLOT);
+
+        // Assert
+        assertNotNull(ex);
+        assertEquals(ErrorCode.BOOKING_BUSY, ex.getErrorCode());
+        assertEquals(1, total(LockStripeStatsDTO::getContended));
+        assertEquals(1, total(LockStripeStatsDTO::getTimeouts));
+        verify(bookingRepository, times(1)).tryAdvisoryXactLock(anyInt(), anyInt());
+    }
+
+    @Test
+    void testAcquire_AfterCompletion_ReleasesStripe() throws Exception {
+        // Arrange
+        when(bookingRepository.tryAdvisoryXactLock(anyInt(), anyInt())).thenReturn(true);
+        lockManager.acquire(1L, SLOT);
+
+        // Act: commit de la transacción que tenía el lock
+        completeTransaction();
+
+        // Assert: otro hilo puede reservar el mismo turno
+        assertNull(acquireInOtherThread(1L, SLOT));
+        assertEquals(0, total(LockStripeStatsDTO::getTimeouts));
+    }
+
+    @Test
+    void testAcquire_AdvisoryLockHeldByOtherNode_ThrowsBusy() {
+        // Arrange: otra réplica tiene el advisory lock del turno
+        when(bookingRepository.tryAdvisoryXactLock(anyInt(), anyInt())).thenReturn(false);
+
+        // Act
+        ServiceException ex = assertThrows(ServiceException.class, () -> lockManager.acquire(1L, SLOT));
+
+        // Assert: se reintentó hasta el deadline y el stripe se libera igual al terminar
+        assertEquals(ErrorCode.BOOKING_BUSY, ex.getErrorCode());
+        verify(bookingRepository, atLeast(2)).tryAdvisoryXactLock(anyInt(), anyInt());
+        assertEquals(1, total(LockStripeStatsDTO::getTimeouts));
+        assertEquals(1, TransactionSynchronizationManager.getSynchronizations().size());
+    }
+
+    /**
+     * Intenta el lock desde otro hilo con su propia transacción, que se
+     * completa al terminar. Devuelve la excepción o null si lo obtuvo.
+     */
+    private ServiceException acquireInOtherThread(Long serviceId, LocalDateTime startTime) throws Exception {
+        CompletableFuture<ServiceException> result = CompletableFuture.supplyAsync(() -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                lockManager.acquire(serviceId, startTime);
+                return null;
+            } catch (ServiceException e) {
+                return e;
+            } finally {
+                completeTransaction();
+            }
+        });
+        return result.get();
+    }
+
+    private static void completeTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+
+    private long total(ToLongFunction<LockStripeStatsDTO> metric) {
+        return lockManager.getStripeStats().stream().mapToLong(metric).sum();
+    }
+}
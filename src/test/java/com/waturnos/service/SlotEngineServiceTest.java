@@ -0,0 +1,80 @@
+package com.waturnos.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.waturnos.entity.AvailabilityEntity;
+import com.waturnos.entity.Booking;
+import com.waturnos.entity.ServiceEntity;
+import com.waturnos.repository.AvailabilityRepository;
+import com.waturnos.repository.BookingRepository;
+import com.waturnos.repository.ServiceRepository;
+import com.waturnos.repository.UnavailabilityRepository;
+import com.waturnos.service.impl.SlotEngineServiceImpl;
+
+/**
+ * Test unitario del cálculo de turnos del motor de turnos virtuales.
+ */
+class SlotEngineServiceTest {
+
+    /** Lunes. */
+    private static final LocalDate MONDAY = LocalDate.of(2025, 6, 2);
+
+    @Test
+    void computeSlotStarts_respectsDurationAndOffset() {
+        AvailabilityEntity av = availability(1, LocalTime.of(9, 0), LocalTime.of(11, 0));
+
+        List<LocalDateTime> starts = SlotEngineServiceImpl.computeSlotStarts(MONDAY, List.of(av), 30, 10);
+
+        assertEquals(List.of(MONDAY.atTime(9, 0), MONDAY.atTime(9, 40), MONDAY.atTime(10, 20)), starts);
+    }
+
+    @Test
+    void computeSlotStarts_ignoresOtherDaysOfWeek() {
+        AvailabilityEntity av = availability(2, LocalTime.of(9, 0), LocalTime.of(11, 0));
+
+        assertTrue(SlotEngineServiceImpl.computeSlotStarts(MONDAY, List.of(av), 30, 0).isEmpty());
+    }
+
+    @Test
+    void computeSlotStarts_doesNotCrossMidnight() {
+        AvailabilityEntity av = availability(1, LocalTime.of(23, 0), LocalTime.of(23, 59));
+
+        List<LocalDateTime> starts = SlotEngineServiceImpl.computeSlotStarts(MONDAY, List.of(av), 30, 0);
+
+        assertEquals(List.of(MONDAY.atTime(23, 0)), starts);
+    }
+
+    @Test
+    void buildVirtualSlots_skipsSlotsAlreadyStartedToday() {
+        LocalDate today = LocalDate.now();
+        AvailabilityRepository availabilityRepository = mock(AvailabilityRepository.class);
+        when(availabilityRepository.findByServiceIdIn(anyCollection())).thenReturn(
+                List.of(availability(today.getDayOfWeek().getValue(), LocalTime.MIN, LocalTime.of(23, 59))));
+        SlotEngineServiceImpl engine = new SlotEngineServiceImpl(availabilityRepository,
+                mock(UnavailabilityRepository.class), mock(UnavailabilityService.class),
+                mock(BookingRepository.class), mock(ServiceRepository.class));
+        ReflectionTestUtils.setField(engine, "virtualSlots", true);
+        ServiceEntity service = ServiceEntity.builder().id(1L).durationMinutes(30).futureDays(7).capacity(1)
+                .build();
+
+        LocalDateTime before = LocalDateTime.now();
+        List<Booking> slots = engine.buildVirtualSlots(List.of(service), Collections.emptyMap(), today, today);
+
+        assertTrue(slots.stream().allMatch(slot -> slot.getStartTime().isAfter(before)));
+    }
+
+    private AvailabilityEntity availability(int dayOfWeek, LocalTime start, LocalTime end) {
+        return AvailabilityEntity.builder().dayOfWeek(dayOfWeek).startTime(start).endTime(end).serviceId(1L).build();
+    }
+}
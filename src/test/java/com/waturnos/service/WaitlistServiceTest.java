@@ -10,6 +10,7 @@ import java.time.LocalTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -27,6 +28,7 @@ import com.waturnos.entity.ServiceEntity;
 import com.waturnos.entity.User;
 import com.waturnos.entity.WaitlistEntry;
 import com.waturnos.enums.BookingStatus;
+import com.waturnos.enums.DeadlineType;
 import com.waturnos.enums.WaitlistStatus;
 import com.waturnos.enums.WaitlistType;
 import com.waturnos.notification.factory.NotificationFactory;
@@ -36,6 +38,7 @@ import com.waturnos.repository.OrganizationRepository;
 import com.waturnos.repository.ServiceRepository;
 import com.waturnos.repository.UserRepository;
 import com.waturnos.repository.WaitlistEntryRepository;
+import com.waturnos.repository.projection.WaitlistPositionView;
 import com.waturnos.service.exceptions.ServiceException;
 import com.waturnos.service.impl.WaitlistServiceImpl;
 
@@ -67,6 +70,9 @@ class WaitlistServiceTest {
     @Mock
     private NotificationFactory notificationFactory;
     
+    @Mock
+    private DeadlineService deadlineService;
+    
     @InjectMocks
     private WaitlistServiceImpl waitlistService;
     
@@ -131,8 +137,8 @@ class WaitlistServiceTest {
             anyLong(), anyLong(), any(LocalDate.class), any(WaitlistStatus.class)))
             .thenReturn(false);
         
-        when(waitlistRepo.countByServiceIdAndStatus(anyLong(), any(WaitlistStatus.class)))
-            .thenReturn(2);
+        when(waitlistRepo.findWaitingPositions(Set.of(1L), List.of(1L)))
+            .thenReturn(List.of(position(1L, 3L)));
         
         when(waitlistRepo.save(any(WaitlistEntry.class))).thenAnswer(invocation -> {
             WaitlistEntry entry = invocation.getArgument(0);
@@ -148,7 +154,7 @@ class WaitlistServiceTest {
         assertEquals(1L, result.getId());
         assertEquals(1L, result.getClientId());
         assertEquals(1L, result.getServiceId());
-        assertEquals(3, result.getPosition()); // 2 existentes + 1 = posición 3
+        assertEquals(3, result.getPosition()); // 2 esperando antes = posición 3
         assertEquals(WaitlistStatus.WAITING, result.getStatus());
         assertEquals(WaitlistType.SPECIFIC, result.getType());
         
@@ -237,6 +243,8 @@ class WaitlistServiceTest {
         when(waitlistRepo.findByClientIdAndStatusIn(
             eq(1L), any()))
             .thenReturn(entries);
+        when(waitlistRepo.findWaitingPositions(Set.of(1L), List.of(1L)))
+            .thenReturn(List.of(position(1L, 1L)));
         
         // Act
         List<WaitlistEntryDTO> result = waitlistService.getMyWaitlist(1L, null);
@@ -274,6 +282,8 @@ class WaitlistServiceTest {
         verify(waitlistRepo, times(1)).save(argThat(e -> 
             e.getStatus() == WaitlistStatus.CANCELLED
         ));
+        // Cancelar no renumera al resto de la cola
+        verify(waitlistRepo, times(1)).save(any(WaitlistEntry.class));
     }
     
     @Test
@@ -309,8 +319,148 @@ class WaitlistServiceTest {
             e.getNotifiedAt() != null &&
             e.getExpiresAt() != null
         ));
+        verify(deadlineService).schedule(eq(DeadlineType.WAITLIST_EXPIRY), eq(1L), any(LocalDateTime.class));
+        
+        verify(notificationFactory, times(1)).enqueue(any());
+    }
+    
+    @Test
+    void testNotifyNextInLine_FanOutNotifiesTopCandidates() {
+        // Arrange
+        testService.setWaitListFanOut(3);
+        WaitlistEntry first = waitingEntry(1L);
+        WaitlistEntry second = waitingEntry(2L);
+        
+        when(waitlistRepo.findTopCandidatesForBooking(
+            anyLong(), any(LocalDate.class), any(LocalTime.class), anyLong(), eq(3)))
+            .thenReturn(Arrays.asList(first, second));
+        
+        // Act
+        waitlistService.notifyNextInLine(testBooking);
+        
+        // Assert
+        assertEquals(WaitlistStatus.NOTIFIED, first.getStatus());
+        assertEquals(WaitlistStatus.NOTIFIED, second.getStatus());
+        assertEquals(first.getExpiresAt(), second.getExpiresAt());
+        assertSame(testBooking, second.getNotifiedBooking());
+        verify(deadlineService).schedule(eq(DeadlineType.WAITLIST_OFFER_EXPIRY), eq(testBooking.getId()),
+            any(LocalDateTime.class));
+        verify(deadlineService, never()).schedule(eq(DeadlineType.WAITLIST_EXPIRY), anyLong(), any());
+        verify(notificationFactory, times(2)).enqueue(any());
+    }
+    
+    @Test
+    void testFulfillWaitlist_FanOutReleasesOtherNotified() {
+        // Arrange
+        WaitlistEntry winner = waitingEntry(1L);
+        winner.setStatus(WaitlistStatus.NOTIFIED);
+        winner.setSpecificBooking(testBooking);
+        winner.setNotifiedBooking(testBooking);
+        WaitlistEntry loser = waitingEntry(2L);
+        loser.setStatus(WaitlistStatus.NOTIFIED);
+        loser.setNotifiedBooking(testBooking);
+        loser.setExpiresAt(LocalDateTime.now().plusMinutes(15));
+        
+        when(waitlistRepo.findByClientIdAndServiceIdAndStatusAndDate(
+            eq(1L), eq(1L), eq(WaitlistStatus.NOTIFIED), any(LocalDate.class)))
+            .thenReturn(Optional.of(winner));
+        when(waitlistRepo.findByNotifiedBookingIdAndStatus(testBooking.getId(), WaitlistStatus.NOTIFIED))
+            .thenReturn(Arrays.asList(winner, loser));
+        
+        // Act
+        waitlistService.fulfillWaitlist(testBooking, 1L);
+        
+        // Assert
+        assertEquals(WaitlistStatus.FULFILLED, winner.getStatus());
+        assertEquals(WaitlistStatus.WAITING, loser.getStatus());
+        assertNull(loser.getExpiresAt());
+        assertNull(loser.getNotifiedBooking());
+        verify(deadlineService).cancel(DeadlineType.WAITLIST_OFFER_EXPIRY, testBooking.getId());
+    }
+    
+    @Test
+    void testExpireOffer_NoNotifiedLeft_ReoffersFreeBooking() {
+        // Arrange
+        testService.setWaitListFanOut(3);
+        testBooking.setFreeSlots(1);
+        WaitlistEntry next = waitingEntry(2L);
+        
+        when(waitlistRepo.findByNotifiedBookingIdAndStatus(testBooking.getId(), WaitlistStatus.NOTIFIED))
+            .thenReturn(List.of());
+        when(bookingRepo.findById(testBooking.getId())).thenReturn(Optional.of(testBooking));
+        when(waitlistRepo.findTopCandidatesForBooking(
+            anyLong(), any(LocalDate.class), any(LocalTime.class), anyLong(), eq(3)))
+            .thenReturn(List.of(next));
+        
+        // Act
+        waitlistService.expireOffer(testBooking.getId());
+        
+        // Assert
+        assertEquals(WaitlistStatus.NOTIFIED, next.getStatus());
+        assertSame(testBooking, next.getNotifiedBooking());
+        verify(deadlineService).schedule(eq(DeadlineType.WAITLIST_OFFER_EXPIRY), eq(testBooking.getId()),
+            any(LocalDateTime.class));
+    }
+    
+    @Test
+    void testExpireOffer_NoNotifiedLeft_FullBookingIsNotReoffered() {
+        // Arrange
+        testBooking.setFreeSlots(0);
+        
+        when(waitlistRepo.findByNotifiedBookingIdAndStatus(testBooking.getId(), WaitlistStatus.NOTIFIED))
+            .thenReturn(List.of());
+        when(bookingRepo.findById(testBooking.getId())).thenReturn(Optional.of(testBooking));
+        
+        // Act
+        waitlistService.expireOffer(testBooking.getId());
         
-        verify(notificationFactory, times(1)).sendAsync(any());
+        // Assert
+        verify(deadlineService, never()).schedule(any(), anyLong(), any());
+        verify(notificationFactory, never()).enqueue(any());
+    }
+    
+    @Test
+    void testExpireNotification_NotifiesNextInLine() {
+        // Arrange
+        WaitlistEntry expired = new WaitlistEntry();
+        expired.setId(1L);
+        expired.setClient(testClient);
+        expired.setService(testService);
+        expired.setStatus(WaitlistStatus.NOTIFIED);
+        expired.setType(WaitlistType.SPECIFIC);
+        expired.setSpecificBooking(testBooking);
+        expired.setDate(LocalDate.of(2025, 12, 1));
+        expired.setExpiresAt(LocalDateTime.now().minusSeconds(1));
+        
+        when(waitlistRepo.findById(1L)).thenReturn(Optional.of(expired));
+        when(waitlistRepo.findCandidatesForBooking(
+            anyLong(), any(LocalDate.class), any(LocalTime.class), anyLong()))
+            .thenReturn(List.of());
+        
+        // Act
+        waitlistService.expireNotification(1L);
+        
+        // Assert
+        assertEquals(WaitlistStatus.EXPIRED, expired.getStatus());
+        verify(waitlistRepo).save(expired);
+        verify(waitlistRepo).findCandidatesForBooking(
+            eq(testService.getId()), any(LocalDate.class), any(LocalTime.class), eq(testBooking.getId()));
+    }
+    
+    @Test
+    void testExpireNotification_IgnoresFulfilledEntry() {
+        // Arrange
+        WaitlistEntry fulfilled = new WaitlistEntry();
+        fulfilled.setId(1L);
+        fulfilled.setStatus(WaitlistStatus.FULFILLED);
+        when(waitlistRepo.findById(1L)).thenReturn(Optional.of(fulfilled));
+        
+        // Act
+        waitlistService.expireNotification(1L);
+        
+        // Assert
+        verify(waitlistRepo, never()).save(any());
+        verify(waitlistRepo, never()).findCandidatesForBooking(anyLong(), any(), any(), anyLong());
     }
     
     @Test
@@ -343,4 +493,32 @@ class WaitlistServiceTest {
             e.getStatus() == WaitlistStatus.FULFILLED
         ));
     }
+    
+    private static WaitlistPositionView position(Long id, Long position) {
+        return new WaitlistPositionView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+            
+            @Override
+            public Long getPosition() {
+                return position;
+            }
+        };
+    }
+    
+    private WaitlistEntry waitingEntry(Long id) {
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setId(id);
+        entry.setClient(testClient);
+        entry.setService(testService);
+        entry.setUser(testProvider);
+        entry.setOrganization(testOrg);
+        entry.setStatus(WaitlistStatus.WAITING);
+        entry.setType(WaitlistType.SPECIFIC);
+        entry.setExpirationMinutes(15);
+        entry.setDate(LocalDate.of(2025, 12, 1));
+        return entry;
+    }
 }